@@ -1,7 +1,69 @@
 package woowacourse.auth.application;
 
+import io.jsonwebtoken.Claims;
 import org.springframework.stereotype.Service;
+import woowacourse.auth.dto.LoginCustomer;
+import woowacourse.auth.dto.SignUpRequest;
+import woowacourse.auth.dto.TokenRequest;
+import woowacourse.auth.dto.TokenResponse;
+import woowacourse.auth.exception.InvalidLoginException;
+import woowacourse.auth.exception.InvalidTokenException;
+import woowacourse.auth.support.JwtTokenProvider;
+import woowacourse.auth.support.PasswordEncoder;
+import woowacourse.shoppingcart.dao.CustomerDao;
+import woowacourse.shoppingcart.domain.Customer;
+
+import java.util.Optional;
+import java.util.UUID;
 
 @Service
 public class AuthService {
+    private final JwtTokenProvider jwtTokenProvider;
+    private final CustomerDao customerDao;
+    private final PasswordEncoder passwordEncoder;
+    // 없는 고객이어도 해시를 한 번 계산해 응답 시간으로 가입 여부를 알 수 없게 한다.
+    private final String unknownCustomerPassword;
+
+    public AuthService(JwtTokenProvider jwtTokenProvider, CustomerDao customerDao, PasswordEncoder passwordEncoder) {
+        this.jwtTokenProvider = jwtTokenProvider;
+        this.customerDao = customerDao;
+        this.passwordEncoder = passwordEncoder;
+        this.unknownCustomerPassword = passwordEncoder.encode(UUID.randomUUID().toString());
+    }
+
+    public Long signUp(SignUpRequest signUpRequest) {
+        return customerDao.save(signUpRequest.getUserName(), passwordEncoder.encode(signUpRequest.getPassword()));
+    }
+
+    /**
+     * 비밀번호 없이 만들어진 고객은 로그인할 수 없다.
+     */
+    public TokenResponse login(TokenRequest tokenRequest) {
+        Optional<Customer> customer = customerDao.findByUserName(tokenRequest.getUserName())
+                .filter(found -> found.getPassword() != null);
+        String encodedPassword = customer.map(Customer::getPassword).orElse(unknownCustomerPassword);
+        boolean matches = passwordEncoder.matches(tokenRequest.getPassword(), encodedPassword);
+        if (customer.isEmpty() || !matches) {
+            throw new InvalidLoginException();
+        }
+        return new TokenResponse(jwtTokenProvider.createToken(customer.get().getId(), customer.get().getUserName()));
+    }
+
+    public LoginCustomer findLoginCustomer(String token) {
+        if (token == null) {
+            throw new InvalidTokenException();
+        }
+        Claims claims = jwtTokenProvider.findValidClaims(token)
+                .orElseThrow(InvalidTokenException::new);
+        Long customerId = claims.get(JwtTokenProvider.CUSTOMER_ID_CLAIM, Long.class);
+        if (customerId == null) {
+            throw new InvalidTokenException();
+        }
+        return new LoginCustomer(customerId, claims.getSubject());
+    }
+
+    public void logout(String token) {
+        findLoginCustomer(token);
+        jwtTokenProvider.revoke(token);
+    }
 }
@@ -0,0 +1,22 @@
+package woowacourse.auth.dto;
+
+public class LoginCustomer {
+    private Long id;
+    private String userName;
+
+    public LoginCustomer() {
+    }
+
+    public LoginCustomer(Long id, String userName) {
+        this.id = id;
+        this.userName = userName;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getUserName() {
+        return userName;
+    }
+}
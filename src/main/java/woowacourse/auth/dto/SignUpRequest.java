@@ -0,0 +1,29 @@
+package woowacourse.auth.dto;
+
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.Size;
+
+public class SignUpRequest {
+    @NotBlank
+    @Size(max = 255)
+    private String userName;
+    @NotBlank
+    @Size(min = 8, max = 64)
+    private String password;
+
+    public SignUpRequest() {
+    }
+
+    public SignUpRequest(String userName, String password) {
+        this.userName = userName;
+        this.password = password;
+    }
+
+    public String getUserName() {
+        return userName;
+    }
+
+    public String getPassword() {
+        return password;
+    }
+}
@@ -1,19 +1,23 @@
 package woowacourse.auth.dto;
 
+import javax.validation.constraints.NotBlank;
+
 public class TokenRequest {
-    private String email;
+    @NotBlank
+    private String userName;
+    @NotBlank
     private String password;
 
     public TokenRequest() {
     }
 
-    public TokenRequest(String email, String password) {
-        this.email = email;
+    public TokenRequest(String userName, String password) {
+        this.userName = userName;
         this.password = password;
     }
 
-    public String getEmail() {
-        return email;
+    public String getUserName() {
+        return userName;
     }
 
     public String getPassword() {
@@ -0,0 +1,10 @@
+package woowacourse.auth.exception;
+
+import woowacourse.shoppingcart.exception.DomainException;
+import woowacourse.shoppingcart.exception.ErrorCode;
+
+public class InvalidLoginException extends DomainException {
+    public InvalidLoginException() {
+        super(ErrorCode.INVALID_LOGIN, "이름 또는 비밀번호가 올바르지 않습니다.");
+    }
+}
@@ -0,0 +1,14 @@
+package woowacourse.auth.exception;
+
+import woowacourse.shoppingcart.exception.DomainException;
+import woowacourse.shoppingcart.exception.ErrorCode;
+
+public class InvalidTokenException extends DomainException {
+    public InvalidTokenException() {
+        this("유효하지 않은 토큰입니다.");
+    }
+
+    public InvalidTokenException(final String msg) {
+        super(ErrorCode.INVALID_TOKEN, msg);
+    }
+}
@@ -0,0 +1,10 @@
+package woowacourse.auth.exception;
+
+import woowacourse.shoppingcart.exception.DomainException;
+import woowacourse.shoppingcart.exception.ErrorCode;
+
+public class NotAdminException extends DomainException {
+    public NotAdminException() {
+        super(ErrorCode.NOT_ADMIN, "관리자만 사용할 수 있습니다.");
+    }
+}
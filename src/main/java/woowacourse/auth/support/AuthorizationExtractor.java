@@ -5,24 +5,39 @@ import java.util.Enumeration;
 
 public class AuthorizationExtractor {
     public static final String AUTHORIZATION = "Authorization";
-    public static String BEARER_TYPE = "Bearer";
-    public static final String ACCESS_TOKEN_TYPE = AuthorizationExtractor.class.getSimpleName() + ".ACCESS_TOKEN_TYPE";
+    public static final String BEARER_TYPE = "Bearer";
 
     public static String extract(HttpServletRequest request) {
         Enumeration<String> headers = request.getHeaders(AUTHORIZATION);
         while (headers.hasMoreElements()) {
-            String value = headers.nextElement();
-            if ((value.toLowerCase().startsWith(BEARER_TYPE.toLowerCase()))) {
-                String authHeaderValue = value.substring(BEARER_TYPE.length()).trim();
-                request.setAttribute(ACCESS_TOKEN_TYPE, value.substring(0, BEARER_TYPE.length()).trim());
-                int commaIndex = authHeaderValue.indexOf(',');
-                if (commaIndex > 0) {
-                    authHeaderValue = authHeaderValue.substring(0, commaIndex);
-                }
-                return authHeaderValue;
+            String token = extract(headers.nextElement());
+            if (token != null) {
+                return token;
             }
         }
 
         return null;
     }
+
+    // 헤더 값을 복사하지 않고 토큰 구간의 시작/끝 인덱스만 찾은 뒤, 마지막에 한 번만 잘라낸다.
+    public static String extract(String value) {
+        if (!value.regionMatches(true, 0, BEARER_TYPE, 0, BEARER_TYPE.length())) {
+            return null;
+        }
+
+        int start = BEARER_TYPE.length();
+        int end = value.length();
+        while (start < end && value.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && value.charAt(end - 1) <= ' ') {
+            end--;
+        }
+
+        int commaIndex = value.indexOf(',', start);
+        if (commaIndex > start && commaIndex < end) {
+            end = commaIndex;
+        }
+        return value.substring(start, end);
+    }
 }
@@ -5,21 +5,41 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.util.Date;
+import java.util.Optional;
+import java.util.UUID;
 
 @Component
 public class JwtTokenProvider {
+    public static final String CUSTOMER_ID_CLAIM = "customerId";
+
     @Value("${security.jwt.token.secret-key}")
     private String secretKey;
     @Value("${security.jwt.token.expire-length}")
     private long validityInMilliseconds;
 
+    private final RevokedTokens revokedTokens;
+
+    public JwtTokenProvider(RevokedTokens revokedTokens) {
+        this.revokedTokens = revokedTokens;
+    }
+
     public String createToken(String payload) {
-        Claims claims = Jwts.claims().setSubject(payload);
+        return createToken(Jwts.claims().setSubject(payload));
+    }
+
+    public String createToken(Long customerId, String userName) {
+        Claims claims = Jwts.claims().setSubject(userName);
+        claims.put(CUSTOMER_ID_CLAIM, customerId);
+        return createToken(claims);
+    }
+
+    private String createToken(Claims claims) {
         Date now = new Date();
         Date validity = new Date(now.getTime() + validityInMilliseconds);
 
         return Jwts.builder()
                 .setClaims(claims)
+                .setId(UUID.randomUUID().toString())
                 .setIssuedAt(now)
                 .setExpiration(validity)
                 .signWith(SignatureAlgorithm.HS256, secretKey)
@@ -31,13 +51,27 @@ public class JwtTokenProvider {
     }
 
     public boolean validateToken(String token) {
-        try {
-            Jws<Claims> claims = Jwts.parser().setSigningKey(secretKey).parseClaimsJws(token);
+        return findValidClaims(token).isPresent();
+    }
 
-            return !claims.getBody().getExpiration().before(new Date());
+    public Optional<Claims> findValidClaims(String token) {
+        try {
+            Claims claims = Jwts.parser().setSigningKey(secretKey).parseClaimsJws(token).getBody();
+            if (claims.getExpiration().before(new Date())) {
+                return Optional.empty();
+            }
+            if (claims.getId() != null && revokedTokens.isRevoked(claims.getId(), claims.getExpiration())) {
+                return Optional.empty();
+            }
+            return Optional.of(claims);
         } catch (JwtException | IllegalArgumentException e) {
-            return false;
+            return Optional.empty();
         }
     }
-}
 
+    public void revoke(String token) {
+        findValidClaims(token)
+                .filter(claims -> claims.getId() != null)
+                .ifPresent(claims -> revokedTokens.revoke(claims.getId(), claims.getExpiration()));
+    }
+}
@@ -0,0 +1,52 @@
+package woowacourse.auth.support;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 만료 전에 폐기된 토큰 id 목록.
+ * 토큰 id 는 만료 시각이 속한 시간 버킷에 저장되고, 버킷의 모든 토큰이 만료되면 버킷째로 버린다.
+ * 따라서 보관하는 id 는 최근 expire-length 동안 폐기된 토큰으로 한정된다.
+ */
+@Component
+public class RevokedTokens {
+    private final long bucketMillis;
+    private final Map<Long, Set<String>> buckets = new ConcurrentHashMap<>();
+
+    public RevokedTokens(@Value("${security.jwt.token.expire-length}") long validityInMilliseconds,
+                         @Value("${security.jwt.token.revocation-bucket-count}") int bucketCount) {
+        this.bucketMillis = Math.max(1L, validityInMilliseconds / bucketCount);
+    }
+
+    public void revoke(String tokenId, Date expiration) {
+        long now = System.currentTimeMillis();
+        purgeExpired(now);
+        if (expiration.getTime() <= now) {
+            return;
+        }
+        buckets.computeIfAbsent(bucketOf(expiration), bucket -> ConcurrentHashMap.newKeySet())
+                .add(tokenId);
+    }
+
+    public boolean isRevoked(String tokenId, Date expiration) {
+        Set<String> tokenIds = buckets.get(bucketOf(expiration));
+        return tokenIds != null && tokenIds.contains(tokenId);
+    }
+
+    void purgeExpired(long now) {
+        buckets.keySet().removeIf(bucket -> (bucket + 1) * bucketMillis <= now);
+    }
+
+    int bucketCount() {
+        return buckets.size();
+    }
+
+    private long bucketOf(Date expiration) {
+        return expiration.getTime() / bucketMillis;
+    }
+}
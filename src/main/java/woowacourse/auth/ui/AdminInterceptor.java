@@ -0,0 +1,40 @@
+package woowacourse.auth.ui;
+
+import org.springframework.web.cors.CorsUtils;
+import org.springframework.web.servlet.HandlerInterceptor;
+import woowacourse.auth.application.AuthService;
+import woowacourse.auth.dto.LoginCustomer;
+import woowacourse.auth.exception.NotAdminException;
+import woowacourse.auth.support.AuthorizationExtractor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.Set;
+
+/**
+ * 관리자 API 는 유효한 토큰을 가진 관리자 이름의 고객만 부를 수 있다.
+ * 관리자 이름이 하나도 설정되지 않으면 아무도 부를 수 없다.
+ */
+public class AdminInterceptor implements HandlerInterceptor {
+    private final AuthService authService;
+    private final Set<String> adminUserNames;
+
+    public AdminInterceptor(final AuthService authService, final Set<String> adminUserNames) {
+        this.authService = authService;
+        this.adminUserNames = Set.copyOf(adminUserNames);
+    }
+
+    @Override
+    public boolean preHandle(final HttpServletRequest request, final HttpServletResponse response,
+                             final Object handler) {
+        if (CorsUtils.isPreFlightRequest(request)) {
+            return true;
+        }
+        final LoginCustomer loginCustomer = authService.findLoginCustomer(AuthorizationExtractor.extract(request));
+        request.setAttribute(AuthenticationPrincipalArgumentResolver.LOGIN_CUSTOMER, loginCustomer);
+        if (!adminUserNames.contains(loginCustomer.getUserName())) {
+            throw new NotAdminException();
+        }
+        return true;
+    }
+}
@@ -5,10 +5,16 @@ import org.springframework.web.bind.support.WebDataBinderFactory;
 import org.springframework.web.context.request.NativeWebRequest;
 import org.springframework.web.method.support.HandlerMethodArgumentResolver;
 import org.springframework.web.method.support.ModelAndViewContainer;
+import woowacourse.auth.dto.LoginCustomer;
 import woowacourse.auth.support.AuthenticationPrincipal;
 import woowacourse.auth.application.AuthService;
+import woowacourse.auth.support.AuthorizationExtractor;
+
+import javax.servlet.http.HttpServletRequest;
 
 public class AuthenticationPrincipalArgumentResolver implements HandlerMethodArgumentResolver {
+    public static final String LOGIN_CUSTOMER = AuthenticationPrincipalArgumentResolver.class.getName() + ".LOGIN_CUSTOMER";
+
     private AuthService authService;
 
     public AuthenticationPrincipalArgumentResolver(AuthService authService) {
@@ -21,9 +27,17 @@ public class AuthenticationPrincipalArgumentResolver implements HandlerMethodArg
     }
 
     // parameter에 @AuthenticationPrincipal이 붙어있는 경우 동작
+    // 한 요청 안에서는 토큰을 한 번만 검증하고, 결과를 request attribute 에 저장해 재사용한다.
     @Override
     public Object resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer, NativeWebRequest webRequest, WebDataBinderFactory binderFactory) {
-        // TODO: 유효한 로그인인 경우 로그인한 사용자 객체를 만들어서 응답하기
-        return null;
+        HttpServletRequest request = webRequest.getNativeRequest(HttpServletRequest.class);
+        Object loginCustomer = request.getAttribute(LOGIN_CUSTOMER);
+        if (loginCustomer instanceof LoginCustomer) {
+            return loginCustomer;
+        }
+
+        LoginCustomer resolved = authService.findLoginCustomer(AuthorizationExtractor.extract(request));
+        request.setAttribute(LOGIN_CUSTOMER, resolved);
+        return resolved;
     }
 }
@@ -0,0 +1,118 @@
+package woowacourse.shoppingcart.application;
+
+import woowacourse.shoppingcart.dao.OrderDao;
+import woowacourse.shoppingcart.dao.OrdersDetailDao;
+import woowacourse.shoppingcart.dao.ProductDao;
+import woowacourse.shoppingcart.domain.BestSeller;
+import woowacourse.shoppingcart.domain.OrderDetail;
+import woowacourse.shoppingcart.exception.InvalidProductException;
+import woowacourse.shoppingcart.support.BestSellerCounter;
+import woowacourse.shoppingcart.support.CustomerShards;
+import woowacourse.shoppingcart.support.ParallelRangeScan;
+import woowacourse.shoppingcart.support.RebuildFence;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 주문이 커밋될 때마다 늘려 온 판매 수량으로 많이 팔린 상품을 조회한다.
+ * 서버가 뜰 때는 카운터를 비우고 그때의 샤드별 최대 orders id 까지 구간을 나눠 병렬로 읽어 수량을 다시 쌓는다.
+ * 다시 쌓는 동안 커밋된 주문은 그 id 이하면 다시 쌓기가 읽으므로 세지 않고, 더 크면 커밋 시점에 더한다.
+ * DB 에서 보관 파일로 옮긴 주문도 보관 파일에서 읽어 더한다.
+ */
+public class BestSellerService {
+    private final BestSellerCounter bestSellerCounter;
+    private final OrderDao orderDao;
+    private final OrdersDetailDao ordersDetailDao;
+    private final ProductDao productDao;
+    private final CustomerShards customerShards;
+    private final ParallelRangeScan rebuildScan;
+    private final OrderArchiver orderArchiver;
+    private final RebuildFence rebuildFence = new RebuildFence();
+
+    public BestSellerService(final BestSellerCounter bestSellerCounter, final OrderDao orderDao,
+                             final OrdersDetailDao ordersDetailDao, final ProductDao productDao,
+                             final CustomerShards customerShards, final ParallelRangeScan rebuildScan,
+                             final OrderArchiver orderArchiver) {
+        this.bestSellerCounter = bestSellerCounter;
+        this.orderDao = orderDao;
+        this.ordersDetailDao = ordersDetailDao;
+        this.productDao = productDao;
+        this.customerShards = customerShards;
+        this.rebuildScan = rebuildScan;
+        this.orderArchiver = orderArchiver;
+    }
+
+    /**
+     * 카운터에는 삭제된 상품도 남아 있으므로, 삭제된 상품을 빼고 limit 개가 찰 때까지 두 배씩 더 꺼내 본다.
+     */
+    public List<BestSeller> findBestSellers(final int limit) {
+        int fetchSize = limit;
+        while (true) {
+            final List<BestSeller> candidates = bestSellerCounter.top(fetchSize);
+            final List<BestSeller> bestSellers = withNames(candidates, limit);
+            if (bestSellers.size() == limit || candidates.size() < fetchSize) {
+                return bestSellers;
+            }
+            fetchSize *= 2;
+        }
+    }
+
+    private List<BestSeller> withNames(final List<BestSeller> candidates, final int limit) {
+        final List<BestSeller> bestSellers = new ArrayList<>();
+        for (final BestSeller bestSeller : candidates) {
+            if (bestSellers.size() == limit) {
+                break;
+            }
+            try {
+                bestSellers.add(bestSeller.withName(productDao.findProductById(bestSeller.getProductId()).getName()));
+            } catch (final InvalidProductException ignored) {
+            }
+        }
+        return bestSellers;
+    }
+
+    /**
+     * 커밋된 주문의 수량을 더한다. 다시 쌓는 중이면 다시 쌓기가 읽을 주문은 건너뛴다.
+     */
+    public void countOrder(final int shard, final long orderId, final Map<Long, Integer> quantityByProductId) {
+        rebuildFence.countUnlessRebuilding(shard, orderId, () -> quantityByProductId.forEach(bestSellerCounter::add));
+    }
+
+    /**
+     * @return 읽은 주문 상세 수 (보관 파일 포함)
+     */
+    public long rebuild() {
+        final long[] upperIds = rebuildFence.begin(customerShards.size(), bestSellerCounter::clear,
+                orderDao::findMaxIdAt);
+        try {
+            final long[] fromIds = new long[upperIds.length];
+            for (int shard = 0; shard < upperIds.length; shard++) {
+                fromIds[shard] = upperIds[shard] == 0 ? 0 : orderDao.findMinIdAt(shard);
+            }
+            final LongAdder rows = new LongAdder();
+            rebuildScan.run(fromIds, upperIds, (shard, fromId, toId) -> scan(shard, fromId, toId, rows));
+            orderArchiver.forEachArchivedOrder(order -> {
+                for (final OrderDetail orderDetail : order.getOrderDetails()) {
+                    bestSellerCounter.add(orderDetail.getProductId(), orderDetail.getQuantity());
+                    rows.increment();
+                }
+            });
+            return rows.sum();
+        } finally {
+            rebuildFence.end();
+        }
+    }
+
+    private void scan(final int shard, final long fromOrderId, final long toOrderId, final LongAdder rows) {
+        final Map<Long, Long> quantities = new HashMap<>();
+        ordersDetailDao.findProductQuantitiesAt(shard, fromOrderId, toOrderId, (productId, quantity) -> {
+            quantities.merge(productId, (long) quantity, Long::sum);
+            rows.increment();
+        });
+        quantities.forEach(bestSellerCounter::add);
+    }
+}
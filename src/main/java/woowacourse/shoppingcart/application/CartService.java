@@ -4,13 +4,12 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import woowacourse.shoppingcart.dao.CartItemDao;
 import woowacourse.shoppingcart.dao.CustomerDao;
-import woowacourse.shoppingcart.dao.ProductDao;
 import woowacourse.shoppingcart.domain.Cart;
-import woowacourse.shoppingcart.domain.Product;
+import woowacourse.shoppingcart.domain.CartSummary;
 import woowacourse.shoppingcart.exception.InvalidProductException;
 import woowacourse.shoppingcart.exception.NotInCustomerCartItemException;
+import woowacourse.shoppingcart.support.CustomerShards;
 
-import java.util.ArrayList;
 import java.util.List;
 
 @Service
@@ -19,48 +18,47 @@ public class CartService {
 
     private final CartItemDao cartItemDao;
     private final CustomerDao customerDao;
-    private final ProductDao productDao;
+    private final CustomerShards customerShards;
 
-    public CartService(final CartItemDao cartItemDao, final CustomerDao customerDao, final ProductDao productDao) {
+    public CartService(final CartItemDao cartItemDao, final CustomerDao customerDao,
+                       final CustomerShards customerShards) {
         this.cartItemDao = cartItemDao;
         this.customerDao = customerDao;
-        this.productDao = productDao;
+        this.customerShards = customerShards;
     }
 
+    @Transactional(readOnly = true)
     public List<Cart> findCartsByCustomerName(final String customerName) {
-        final List<Long> cartIds = findCartIdsByCustomerName(customerName);
-
-        final List<Cart> carts = new ArrayList<>();
-        for (final Long cartId : cartIds) {
-            final Long productId = cartItemDao.findProductIdById(cartId);
-            final Product product = productDao.findProductById(productId);
-            carts.add(new Cart(cartId, product));
-        }
-        return carts;
+        final Long customerId = customerDao.findIdByUserName(customerName);
+        return cartItemDao.findCartsByCustomerId(customerId);
     }
 
-    private List<Long> findCartIdsByCustomerName(final String customerName) {
+    @Transactional(readOnly = true)
+    public CartSummary findCartSummaryByCustomerName(final String customerName) {
         final Long customerId = customerDao.findIdByUserName(customerName);
-        return cartItemDao.findIdsByCustomerId(customerId);
+        return cartItemDao.findSummaryByCustomerId(customerId);
     }
 
     public Long addCart(final Long productId, final String customerName) {
         final Long customerId = customerDao.findIdByUserName(customerName);
         try {
-            return cartItemDao.addCartItem(customerId, productId);
+            return customerShards.inTransaction(customerId, () -> cartItemDao.addCartItem(customerId, productId));
         } catch (Exception e) {
             throw new InvalidProductException();
         }
     }
 
     public void deleteCart(final String customerName, final Long cartId) {
-        validateCustomerCart(cartId, customerName);
-        cartItemDao.deleteCartItem(cartId);
+        final Long customerId = customerDao.findIdByUserName(customerName);
+        customerShards.inTransaction(customerId, () -> {
+            validateCustomerCart(customerId, cartId);
+            cartItemDao.deleteCartItem(customerId, cartId);
+            return null;
+        });
     }
 
-    private void validateCustomerCart(final Long cartId, final String customerName) {
-        final List<Long> cartIds = findCartIdsByCustomerName(customerName);
-        if (cartIds.contains(cartId)) {
+    private void validateCustomerCart(final Long customerId, final Long cartId) {
+        if (cartItemDao.isValidCartItemId(customerId, cartId)) {
             return;
         }
         throw new NotInCustomerCartItemException();
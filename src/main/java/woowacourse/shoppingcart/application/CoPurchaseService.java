@@ -0,0 +1,131 @@
+package woowacourse.shoppingcart.application;
+
+import woowacourse.shoppingcart.dao.OrderDao;
+import woowacourse.shoppingcart.dao.OrdersDetailDao;
+import woowacourse.shoppingcart.dao.ProductDao;
+import woowacourse.shoppingcart.domain.CoPurchase;
+import woowacourse.shoppingcart.domain.OrderDetail;
+import woowacourse.shoppingcart.exception.InvalidProductException;
+import woowacourse.shoppingcart.support.CoPurchaseCounter;
+import woowacourse.shoppingcart.support.CustomerShards;
+import woowacourse.shoppingcart.support.ParallelRangeScan;
+import woowacourse.shoppingcart.support.RebuildFence;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 함께 많이 산 상품을 조회한다.
+ * 서버가 뜰 때는 카운터를 비우고 그때의 샤드별 최대 orders id 까지 구간을 나눠 병렬로 읽어 주문별 상품 목록으로 다시 쌓는다.
+ * 다시 쌓는 동안 커밋된 주문은 그 id 이하면 다시 쌓기가 읽으므로 세지 않고, 더 크면 커밋 시점에 더한다.
+ * DB 에서 보관 파일로 옮긴 주문도 보관 파일에서 읽어 더한다.
+ */
+public class CoPurchaseService {
+    private final CoPurchaseCounter coPurchaseCounter;
+    private final OrderDao orderDao;
+    private final OrdersDetailDao ordersDetailDao;
+    private final ProductDao productDao;
+    private final CustomerShards customerShards;
+    private final ParallelRangeScan rebuildScan;
+    private final OrderArchiver orderArchiver;
+    private final RebuildFence rebuildFence = new RebuildFence();
+
+    public CoPurchaseService(final CoPurchaseCounter coPurchaseCounter, final OrderDao orderDao,
+                             final OrdersDetailDao ordersDetailDao, final ProductDao productDao,
+                             final CustomerShards customerShards, final ParallelRangeScan rebuildScan,
+                             final OrderArchiver orderArchiver) {
+        this.coPurchaseCounter = coPurchaseCounter;
+        this.orderDao = orderDao;
+        this.ordersDetailDao = ordersDetailDao;
+        this.productDao = productDao;
+        this.customerShards = customerShards;
+        this.rebuildScan = rebuildScan;
+        this.orderArchiver = orderArchiver;
+    }
+
+    /**
+     * 카운터에는 삭제된 상품도 남아 있으므로, 삭제된 상품을 빼고 limit 개가 찰 때까지 두 배씩 더 꺼내 본다.
+     */
+    public List<CoPurchase> findCoPurchases(final Long productId, final int limit) {
+        int fetchSize = limit;
+        while (true) {
+            final List<CoPurchase> candidates = coPurchaseCounter.top(productId, fetchSize);
+            final List<CoPurchase> coPurchases = withNames(candidates, limit);
+            if (coPurchases.size() == limit || candidates.size() < fetchSize) {
+                return coPurchases;
+            }
+            fetchSize *= 2;
+        }
+    }
+
+    private List<CoPurchase> withNames(final List<CoPurchase> candidates, final int limit) {
+        final List<CoPurchase> coPurchases = new ArrayList<>();
+        for (final CoPurchase coPurchase : candidates) {
+            if (coPurchases.size() == limit) {
+                break;
+            }
+            try {
+                coPurchases.add(coPurchase.withName(productDao.findProductById(coPurchase.getProductId()).getName()));
+            } catch (final InvalidProductException ignored) {
+            }
+        }
+        return coPurchases;
+    }
+
+    /**
+     * 커밋된 주문을 더한다. 다시 쌓는 중이면 다시 쌓기가 읽을 주문은 건너뛴다.
+     */
+    public void countOrder(final int shard, final long orderId, final Collection<Long> productIds) {
+        rebuildFence.countUnlessRebuilding(shard, orderId, () -> coPurchaseCounter.addOrder(productIds));
+    }
+
+    /**
+     * @return 다시 쌓은 주문 수 (보관 파일 포함)
+     */
+    public long rebuild() {
+        final long[] upperIds = rebuildFence.begin(customerShards.size(), coPurchaseCounter::clear,
+                orderDao::findMaxIdAt);
+        try {
+            final long[] fromIds = new long[upperIds.length];
+            for (int shard = 0; shard < upperIds.length; shard++) {
+                fromIds[shard] = upperIds[shard] == 0 ? 0 : orderDao.findMinIdAt(shard);
+            }
+            final LongAdder orders = new LongAdder();
+            rebuildScan.run(fromIds, upperIds, (shard, fromId, toId) -> scan(shard, fromId, toId, orders));
+            final List<Long> productIds = new ArrayList<>();
+            orderArchiver.forEachArchivedOrder(order -> {
+                for (final OrderDetail orderDetail : order.getOrderDetails()) {
+                    productIds.add(orderDetail.getProductId());
+                }
+                addOrder(productIds, orders);
+            });
+            return orders.sum();
+        } finally {
+            rebuildFence.end();
+        }
+    }
+
+    private void scan(final int shard, final long fromOrderId, final long toOrderId, final LongAdder orders) {
+        final List<Long> productIds = new ArrayList<>();
+        final long[] currentOrderId = {0};
+        ordersDetailDao.findProductIdsByOrderIdAt(shard, fromOrderId, toOrderId, (orderId, productId) -> {
+            if (orderId != currentOrderId[0]) {
+                addOrder(productIds, orders);
+                currentOrderId[0] = orderId;
+            }
+            productIds.add(productId);
+        });
+        addOrder(productIds, orders);
+    }
+
+    private void addOrder(final List<Long> productIds, final LongAdder orders) {
+        if (productIds.isEmpty()) {
+            return;
+        }
+        coPurchaseCounter.addOrder(productIds);
+        orders.increment();
+        productIds.clear();
+    }
+}
@@ -0,0 +1,62 @@
+package woowacourse.shoppingcart.application;
+
+import woowacourse.shoppingcart.dao.CartItemDao;
+import woowacourse.shoppingcart.support.CustomerShards;
+
+/**
+ * 삭제된 상품을 담은 장바구니 행을 샤드마다 batchSize 개씩 지운다.
+ * 한 번 실행할 때 샤드마다 최대 maxBatches 번까지만 지우고, 묶음 사이에는 pauseMillis 만큼 쉬어 다른 요청이 잠금을 오래 기다리지 않게 한다.
+ * 주문 내역과 보관 주문이 상품을 계속 참조하므로 상품 행 자체는 지우지 않는다.
+ */
+public class DeletedProductPurger {
+    private final CartItemDao cartItemDao;
+    private final CustomerShards customerShards;
+    private final int batchSize;
+    private final int maxBatches;
+    private final long pauseMillis;
+
+    public DeletedProductPurger(final CartItemDao cartItemDao, final CustomerShards customerShards,
+                                final int batchSize, final int maxBatches, final long pauseMillis) {
+        if (batchSize <= 0 || maxBatches <= 0) {
+            throw new IllegalArgumentException("batchSize 와 maxBatches 는 양수여야 합니다.");
+        }
+        this.cartItemDao = cartItemDao;
+        this.customerShards = customerShards;
+        this.batchSize = batchSize;
+        this.maxBatches = maxBatches;
+        this.pauseMillis = pauseMillis;
+    }
+
+    /**
+     * @return 지운 장바구니 행 수
+     */
+    public int purge() {
+        int purged = 0;
+        for (int shard = 0; shard < customerShards.size(); shard++) {
+            purged += purgeAt(shard);
+        }
+        return purged;
+    }
+
+    private int purgeAt(final int shard) {
+        int purged = 0;
+        for (int batch = 0; batch < maxBatches; batch++) {
+            final int deleted = cartItemDao.deleteCartItemsOfDeletedProductsAt(shard, batchSize);
+            purged += deleted;
+            if (deleted < batchSize || !pause()) {
+                break;
+            }
+        }
+        return purged;
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(pauseMillis);
+            return true;
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
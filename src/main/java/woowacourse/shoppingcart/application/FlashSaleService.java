@@ -0,0 +1,66 @@
+package woowacourse.shoppingcart.application;
+
+import woowacourse.shoppingcart.dao.CustomerDao;
+import woowacourse.shoppingcart.domain.OrderTicket;
+import woowacourse.shoppingcart.dto.OrderRequest;
+import woowacourse.shoppingcart.exception.InvalidOrderException;
+import woowacourse.shoppingcart.exception.OrderQueueFullException;
+import woowacourse.shoppingcart.support.AdmissionQueue;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 주문을 바로 저장하지 않고 대기열에 접수한 뒤 접수 번호로 결과를 조회하게 한다.
+ * 결과가 나온 접수 번호는 ticketTtlMillis 가 지나면 지운다. 결과가 나오지 않은 채 ticketTtlMillis 가 지난 접수 번호도 지운다.
+ */
+public class FlashSaleService {
+    private final CustomerDao customerDao;
+    private final AdmissionQueue<OrderTicket> orderAdmissionQueue;
+    private final long ticketTtlMillis;
+    private final Map<String, OrderTicket> tickets = new ConcurrentHashMap<>();
+    private final AtomicLong nextSweepMillis;
+
+    public FlashSaleService(final CustomerDao customerDao, final AdmissionQueue<OrderTicket> orderAdmissionQueue,
+                            final long ticketTtlMillis) {
+        this.customerDao = customerDao;
+        this.orderAdmissionQueue = orderAdmissionQueue;
+        this.ticketTtlMillis = ticketTtlMillis;
+        this.nextSweepMillis = new AtomicLong(System.currentTimeMillis() + ticketTtlMillis);
+    }
+
+    /**
+     * @throws OrderQueueFullException 대기열이 가득 찬 경우
+     */
+    public OrderTicket admit(final List<OrderRequest> orderDetailRequests, final String customerName) {
+        sweepIfDue(System.currentTimeMillis());
+        final Long customerId = customerDao.findIdByUserName(customerName);
+        final OrderTicket ticket = new OrderTicket(UUID.randomUUID().toString(), customerName, customerId,
+                orderDetailRequests);
+        tickets.put(ticket.getId(), ticket);
+        if (!orderAdmissionQueue.offer(ticket)) {
+            tickets.remove(ticket.getId());
+            throw new OrderQueueFullException();
+        }
+        return ticket;
+    }
+
+    public OrderTicket findTicket(final String customerName, final String ticketId) {
+        final OrderTicket ticket = tickets.get(ticketId);
+        if (ticket == null || !ticket.isOwnedBy(customerName)) {
+            throw new InvalidOrderException("존재하지 않는 주문 접수 번호입니다.");
+        }
+        return ticket;
+    }
+
+    private void sweepIfDue(final long now) {
+        final long due = nextSweepMillis.get();
+        if (now < due || !nextSweepMillis.compareAndSet(due, now + ticketTtlMillis)) {
+            return;
+        }
+        tickets.values().removeIf(ticket -> ticket.isExpiredBefore(now - ticketTtlMillis));
+    }
+}
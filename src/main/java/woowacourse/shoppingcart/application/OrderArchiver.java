@@ -0,0 +1,105 @@
+package woowacourse.shoppingcart.application;
+
+import woowacourse.shoppingcart.dao.OrderDao;
+import woowacourse.shoppingcart.dao.OrdersDetailDao;
+import woowacourse.shoppingcart.domain.ArchivedOrder;
+import woowacourse.shoppingcart.domain.OrderDetail;
+import woowacourse.shoppingcart.support.CustomerShards;
+import woowacourse.shoppingcart.support.OrderArchive;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * 보관 기간이 지난 주문을 orders, orders_detail 에서 보관 파일로 옮긴다.
+ * 샤드마다 기준 시각 이전 주문을 id 순서로 batchSize 개씩 읽어 고객별 파일로 먼저 쓰고, 그 다음 샤드 트랜잭션에서 지운다.
+ * 파일을 쓴 뒤 지우기 전에 실패하면 다음 실행에서 같은 주문을 다시 쓰고, 읽을 때 중복은 하나로 합쳐진다.
+ */
+public class OrderArchiver {
+    private final OrderArchive orderArchive;
+    private final OrderDao orderDao;
+    private final OrdersDetailDao ordersDetailDao;
+    private final CustomerShards customerShards;
+    private final Duration retention;
+    private final int batchSize;
+    private final Clock clock;
+
+    public OrderArchiver(final OrderArchive orderArchive, final OrderDao orderDao,
+                         final OrdersDetailDao ordersDetailDao, final CustomerShards customerShards,
+                         final Duration retention, final int batchSize, final Clock clock) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize 는 양수여야 합니다.");
+        }
+        this.orderArchive = orderArchive;
+        this.orderDao = orderDao;
+        this.ordersDetailDao = ordersDetailDao;
+        this.customerShards = customerShards;
+        this.retention = retention;
+        this.batchSize = batchSize;
+        this.clock = clock;
+    }
+
+    /**
+     * @return 옮긴 주문 수
+     */
+    public long archive() {
+        return archiveBefore(LocalDateTime.now(clock).minus(retention));
+    }
+
+    public long archiveBefore(final LocalDateTime cutoff) {
+        long archived = 0;
+        for (int shard = 0; shard < customerShards.size(); shard++) {
+            List<ArchivedOrder> orders;
+            while (!(orders = orderDao.findOrdersBeforeAt(shard, cutoff, batchSize)).isEmpty()) {
+                archived += archiveBatch(shard, orders);
+            }
+        }
+        return archived;
+    }
+
+    /**
+     * 보관 파일에만 있는 주문을 하나씩 넘긴다. 판매 집계처럼 DB 와 보관 파일을 함께 세는 쪽에서 쓴다.
+     * 지우기 전에 실패해 DB 에도 남은 주문은 DB 를 읽는 쪽이 세므로 건너뛴다.
+     * 샤드의 가장 작은 주문 id 보다 작은 주문은 DB 에 있을 수 없으므로 그 이상인 주문만 DB 에 물어본다.
+     */
+    public void forEachArchivedOrder(final Consumer<ArchivedOrder> action) {
+        final long[] minIds = new long[customerShards.size()];
+        for (int shard = 0; shard < customerShards.size(); shard++) {
+            minIds[shard] = orderDao.findMinIdAt(shard);
+        }
+        orderArchive.forEachCustomer((customerId, orders) -> {
+            final int shard = customerShards.shardOf(customerId);
+            final List<Long> candidates = orders.stream()
+                    .map(ArchivedOrder::getId)
+                    .filter(id -> minIds[shard] != 0 && id >= minIds[shard])
+                    .collect(Collectors.toList());
+            final Set<Long> remaining = orderDao.findIdsAt(shard, customerId, candidates);
+            orders.stream()
+                    .filter(order -> !remaining.contains(order.getId()))
+                    .forEach(action);
+        });
+    }
+
+    private int archiveBatch(final int shard, final List<ArchivedOrder> orders) {
+        final List<Long> orderIds = orders.stream()
+                .map(ArchivedOrder::getId)
+                .collect(Collectors.toList());
+        final Map<Long, List<OrderDetail>> detailsByOrderId =
+                ordersDetailDao.findOrdersDetailsByOrderIdsAt(shard, orderIds);
+        orders.stream()
+                .map(order -> order.withOrderDetails(detailsByOrderId.getOrDefault(order.getId(), List.of())))
+                .collect(Collectors.groupingBy(ArchivedOrder::getCustomerId))
+                .forEach(orderArchive::write);
+
+        return customerShards.inTransactionAt(shard, () -> {
+            ordersDetailDao.deleteOrdersDetailsAt(shard, orderIds);
+            return orderDao.deleteOrdersAt(shard, orderIds);
+        });
+    }
+}
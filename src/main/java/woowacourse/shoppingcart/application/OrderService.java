@@ -1,16 +1,29 @@
 package woowacourse.shoppingcart.application;
 
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import woowacourse.shoppingcart.dao.*;
 import woowacourse.shoppingcart.domain.OrderDetail;
+import woowacourse.shoppingcart.domain.OrderTicket;
 import woowacourse.shoppingcart.dto.OrderRequest;
 import woowacourse.shoppingcart.domain.Orders;
 import woowacourse.shoppingcart.domain.Product;
+import woowacourse.shoppingcart.exception.DomainException;
+import woowacourse.shoppingcart.exception.ErrorCode;
 import woowacourse.shoppingcart.exception.InvalidOrderException;
+import woowacourse.shoppingcart.support.CustomerShards;
+import woowacourse.shoppingcart.support.OrderArchive;
+import woowacourse.shoppingcart.support.StockReservations;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -22,58 +35,142 @@ public class OrderService {
     private final CartItemDao cartItemDao;
     private final CustomerDao customerDao;
     private final ProductDao productDao;
+    private final CustomerShards customerShards;
+    private final StockReservations stockReservations;
+    private final BestSellerService bestSellerService;
+    private final CoPurchaseService coPurchaseService;
+    private final OrderArchive orderArchive;
 
     public OrderService(final OrderDao orderDao, final OrdersDetailDao ordersDetailDao,
-                        final CartItemDao cartItemDao, final CustomerDao customerDao, final ProductDao productDao) {
+                        final CartItemDao cartItemDao, final CustomerDao customerDao, final ProductDao productDao,
+                        final CustomerShards customerShards, final StockReservations stockReservations,
+                        final BestSellerService bestSellerService, final CoPurchaseService coPurchaseService,
+                        final OrderArchive orderArchive) {
         this.orderDao = orderDao;
         this.ordersDetailDao = ordersDetailDao;
         this.cartItemDao = cartItemDao;
         this.customerDao = customerDao;
         this.productDao = productDao;
+        this.customerShards = customerShards;
+        this.stockReservations = stockReservations;
+        this.bestSellerService = bestSellerService;
+        this.coPurchaseService = coPurchaseService;
+        this.orderArchive = orderArchive;
     }
 
     public Long addOrder(final List<OrderRequest> orderDetailRequests, final String customerName) {
         final Long customerId = customerDao.findIdByUserName(customerName);
+        return customerShards.inTransaction(customerId, () -> placeOrder(customerId, orderDetailRequests));
+    }
+
+    /**
+     * 대기열에서 꺼낸 주문을 고객 샤드별로 묶어 샤드마다 한 트랜잭션으로 저장한다.
+     * 묶음 안의 주문 하나라도 실패하면 묶음 전체를 롤백하고 주문마다 따로 다시 저장해, 실패한 주문만 실패로 남긴다.
+     * 재고 예약이 실제로 주문을 저장하는 샤드 트랜잭션을 따르도록 기본 DB 트랜잭션은 열지 않는다.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void addOrders(final List<OrderTicket> tickets) {
+        final Map<Integer, List<OrderTicket>> ticketsByShard = tickets.stream()
+                .collect(Collectors.groupingBy(ticket -> customerShards.shardOf(ticket.getCustomerId())));
+        ticketsByShard.forEach((shard, shardTickets) -> {
+            if (shardTickets.size() > 1 && addOrdersTogether(shard, shardTickets)) {
+                return;
+            }
+            shardTickets.forEach(this::addOrder);
+        });
+    }
+
+    private boolean addOrdersTogether(final int shard, final List<OrderTicket> tickets) {
+        final List<Long> orderIds;
+        try {
+            orderIds = customerShards.inTransactionAt(shard, () -> tickets.stream()
+                    .map(ticket -> placeOrder(ticket.getCustomerId(), ticket.getOrderRequests()))
+                    .collect(Collectors.toList()));
+        } catch (final RuntimeException e) {
+            return false;
+        }
+        for (int i = 0; i < tickets.size(); i++) {
+            tickets.get(i).complete(orderIds.get(i));
+        }
+        return true;
+    }
+
+    private void addOrder(final OrderTicket ticket) {
+        try {
+            ticket.complete(customerShards.inTransaction(ticket.getCustomerId(),
+                    () -> placeOrder(ticket.getCustomerId(), ticket.getOrderRequests())));
+        } catch (final DomainException e) {
+            ticket.fail(e.getErrorCode().name(), e.getMessage());
+        } catch (final RuntimeException e) {
+            ticket.fail(ErrorCode.UNHANDLED.name(), "Unhandled Exception");
+        }
+    }
+
+    private Long placeOrder(final Long customerId, final List<OrderRequest> orderDetailRequests) {
         final Long ordersId = orderDao.addOrders(customerId);
+        final Map<Long, Integer> quantityByProductId = new HashMap<>();
 
         for (final OrderRequest orderDetail : orderDetailRequests) {
             final Long cartId = orderDetail.getCartId();
-            final Long productId = cartItemDao.findProductIdById(cartId);
+            final Long productId = cartItemDao.findProductIdById(customerId, cartId);
             final int quantity = orderDetail.getQuantity();
 
-            ordersDetailDao.addOrdersDetail(ordersId, productId, quantity);
-            cartItemDao.deleteCartItem(cartId);
+            stockReservations.reserveInTransaction(productId, quantity);
+            ordersDetailDao.addOrdersDetail(customerId, ordersId, productId, quantity);
+            cartItemDao.deleteCartItem(customerId, cartId);
+            quantityByProductId.merge(productId, quantity, Integer::sum);
         }
+        countAfterCommit(customerShards.shardOf(customerId), ordersId, quantityByProductId);
 
         return ordersId;
     }
 
-    public Orders findOrderById(final String customerName, final Long orderId) {
-        validateOrderIdByCustomerName(customerName, orderId);
-        return findOrderResponseDtoByOrderId(orderId);
+    private void countAfterCommit(final int shard, final Long ordersId, final Map<Long, Integer> quantityByProductId) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                bestSellerService.countOrder(shard, ordersId, quantityByProductId);
+                coPurchaseService.countOrder(shard, ordersId, quantityByProductId.keySet());
+            }
+        });
     }
 
-    private void validateOrderIdByCustomerName(final String customerName, final Long orderId) {
+    // 보관 파일로 옮겨진 주문은 DB 에 없으므로 보관 파일에서 읽는다.
+    @Transactional(readOnly = true)
+    public Orders findOrderById(final String customerName, final Long orderId) {
         final Long customerId = customerDao.findIdByUserName(customerName);
-
-        if (!orderDao.isValidOrderId(customerId, orderId)) {
-            throw new InvalidOrderException("유저에게는 해당 order_id가 없습니다.");
+        if (orderDao.isValidOrderId(customerId, orderId)) {
+            return findOrderResponseDtoByOrderId(customerId, orderId);
         }
+        return orderArchive.findOrder(customerId, orderId)
+                .map(order -> toOrders(order.getId(), order.getOrderDetails()))
+                .orElseThrow(() -> new InvalidOrderException("유저에게는 해당 order_id가 없습니다."));
     }
 
+    @Transactional(readOnly = true)
     public List<Orders> findOrdersByCustomerName(final String customerName) {
         final Long customerId = customerDao.findIdByUserName(customerName);
         final List<Long> orderIds = orderDao.findOrderIdsByCustomerId(customerId);
+        final Set<Long> hotOrderIds = new HashSet<>(orderIds);
 
-        return orderIds.stream()
-                .map(orderId -> findOrderResponseDtoByOrderId(orderId))
+        final List<Orders> orders = orderArchive.findOrders(customerId).stream()
+                .filter(order -> !hotOrderIds.contains(order.getId()))
+                .map(order -> toOrders(order.getId(), order.getOrderDetails()))
                 .collect(Collectors.toList());
+        orderIds.stream()
+                .map(orderId -> findOrderResponseDtoByOrderId(customerId, orderId))
+                .forEach(orders::add);
+        return orders;
+    }
+
+    private Orders findOrderResponseDtoByOrderId(final Long customerId, final Long orderId) {
+        return toOrders(orderId, ordersDetailDao.findOrdersDetailsByOrderId(customerId, orderId));
     }
 
-    private Orders findOrderResponseDtoByOrderId(final Long orderId) {
+    private Orders toOrders(final Long orderId, final List<OrderDetail> productQuantities) {
         final List<OrderDetail> ordersDetails = new ArrayList<>();
-        for (final OrderDetail productQuantity : ordersDetailDao.findOrdersDetailsByOrderId(orderId)) {
-            final Product product = productDao.findProductById(productQuantity.getProductId());
+        for (final OrderDetail productQuantity : productQuantities) {
+            final Product product = productDao.findProductByIdIncludingDeleted(productQuantity.getProductId());
             final int quantity = productQuantity.getQuantity();
             ordersDetails.add(new OrderDetail(product, quantity));
         }
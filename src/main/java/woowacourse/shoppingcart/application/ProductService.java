@@ -1,9 +1,18 @@
 package woowacourse.shoppingcart.application;
 
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import woowacourse.shoppingcart.dao.CartItemDao;
 import woowacourse.shoppingcart.dao.ProductDao;
 import woowacourse.shoppingcart.domain.Product;
+import woowacourse.shoppingcart.domain.Stock;
+import woowacourse.shoppingcart.exception.InvalidProductException;
+import woowacourse.shoppingcart.support.CustomerShards;
+import woowacourse.shoppingcart.support.SingleFlight;
+import woowacourse.shoppingcart.support.StockReservations;
 
 import java.util.List;
 
@@ -11,24 +20,102 @@ import java.util.List;
 @Transactional(rollbackFor = Exception.class)
 public class ProductService {
     private final ProductDao productDao;
+    private final CartItemDao cartItemDao;
+    private final SingleFlight<Long, Product> productSingleFlight;
+    private final StockReservations stockReservations;
+    private final TransactionTemplate readOnlyTransaction;
+    private final CustomerShards customerShards;
 
-    public ProductService(final ProductDao productDao) {
+    public ProductService(final ProductDao productDao, final CartItemDao cartItemDao,
+                          final SingleFlight<Long, Product> productSingleFlight,
+                          final StockReservations stockReservations,
+                          final PlatformTransactionManager transactionManager,
+                          final CustomerShards customerShards) {
         this.productDao = productDao;
+        this.cartItemDao = cartItemDao;
+        this.customerShards = customerShards;
+        this.productSingleFlight = productSingleFlight;
+        this.stockReservations = stockReservations;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
     }
 
-    public List<Product> findProducts() {
-        return productDao.findProducts();
+    @Transactional(readOnly = true)
+    public List<Product> findProducts(final long afterId, final int limit) {
+        return productDao.findProductsAfter(afterId, limit);
     }
 
     public Long addProduct(final Product product) {
         return productDao.save(product);
     }
 
+    /**
+     * 같은 상품을 동시에 조회하면 DB 조회 한 번의 결과를 나눠 받는다.
+     * 기다리는 호출이 커넥션을 잡고 있지 않도록 트랜잭션은 실제로 조회하는 호출에서만 연다.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
     public Product findProductById(final Long productId) {
-        return productDao.findProductById(productId);
+        return productSingleFlight.execute(productId,
+                () -> readOnlyTransaction.execute(status -> productDao.findProductById(productId)));
     }
 
+    /**
+     * 샤드마다 한 트랜잭션에서 가격과 그 샤드의 장바구니 행 가격, 합계를 함께 바꾼다.
+     * 장바구니에 담고 빼는 쪽은 상품 행을 잠그지 않으므로, 일관성을 맞추는 비용은 드문 가격 변경만 치른다.
+     * 기본 DB 를 먼저 따로 커밋하고 복제본은 그 뒤에 하나씩 바꾼다. 복제본 쪽은 다시 해도 결과가 같으므로,
+     * 중간에 실패하면 같은 요청을 다시 보내거나 {@link woowacourse.shoppingcart.support.ShardRebalancer#syncProducts} 가 맞춘다.
+     * 복제본에만 없는 상품은 고칠 합계도 없으므로 넘어간다.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void updatePrice(final Long productId, final int price) {
+        for (int shard = 0; shard < customerShards.size(); shard++) {
+            final int at = shard;
+            customerShards.inTransactionAt(shard, () -> {
+                final boolean exists = productDao.findPriceForUpdateAt(at, productId).isPresent();
+                if (!exists && at == 0) {
+                    throw new InvalidProductException();
+                }
+                if (exists) {
+                    productDao.updatePriceAt(at, productId, price);
+                    cartItemDao.repriceAt(at, productId, price);
+                }
+                return null;
+            });
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public Stock findStock(final Long productId) {
+        return new Stock(productId, stockReservations.available(productId));
+    }
+
+    /**
+     * 늘린 재고가 메모리에 반영되기 전에 커밋되어 있어야 하므로 트랜잭션 밖에서 바로 반영한다.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void addStock(final Long productId, final int quantity) {
+        if (quantity <= 0) {
+            throw new InvalidProductException("추가할 재고는 1개 이상이어야 합니다.");
+        }
+        stockReservations.restock(productId, quantity, () -> productDao.addStock(productId, quantity));
+    }
+
+    /**
+     * 가격 변경과 같은 순서로 기본 DB 부터 샤드마다 따로 커밋한다. 이미 삭제된 샤드는 합계를 다시 빼지 않는다.
+     * 메모리에 남은 재고 예약은 상품을 내리면서 함께 DB 에 반영한다.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public void deleteProductById(final Long productId) {
-        productDao.delete(productId);
+        for (int shard = 0; shard < customerShards.size(); shard++) {
+            final int at = shard;
+            customerShards.inTransactionAt(shard, () -> {
+                if (productDao.findPriceForUpdateAt(at, productId).isPresent()) {
+                    cartItemDao.removeFromSummariesAt(at, productId);
+                    productDao.deleteAt(at, productId);
+                }
+                return null;
+            });
+        }
+        stockReservations.evict(productId);
     }
 }
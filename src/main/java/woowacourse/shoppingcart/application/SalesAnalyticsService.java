@@ -0,0 +1,138 @@
+package woowacourse.shoppingcart.application;
+
+import woowacourse.shoppingcart.dao.CustomerDao;
+import woowacourse.shoppingcart.dao.OrderDao;
+import woowacourse.shoppingcart.dao.OrdersDetailDao;
+import woowacourse.shoppingcart.dao.ProductDao;
+import woowacourse.shoppingcart.domain.CustomerRevenue;
+import woowacourse.shoppingcart.domain.OrderDetail;
+import woowacourse.shoppingcart.domain.ProductRevenue;
+import woowacourse.shoppingcart.support.CustomerShards;
+import woowacourse.shoppingcart.support.ForkJoinRangeScan;
+import woowacourse.shoppingcart.support.LongLongMap;
+import woowacourse.shoppingcart.support.SalesTotals;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.stream.Collectors;
+
+/**
+ * 상품별·고객별 매출을 집계한다.
+ * 샤드마다 orders id 구간을 fork-join 으로 나눠 읽고, 구간마다 박싱 없는 맵에 모은 뒤 합친다.
+ * 주문 상세에는 주문 당시 가격이 없으므로 매출은 지금 상품 가격으로 계산하며, 삭제된 상품의 매출도 포함한다.
+ * DB 에서 보관 파일로 옮긴 주문은 보관 파일에서 읽어 더한다.
+ */
+public class SalesAnalyticsService {
+    private static final Comparator<ProductRevenue> PRODUCT_ASCENDING = Comparator
+            .comparingLong(ProductRevenue::getRevenue)
+            .thenComparing(ProductRevenue::getProductId, Comparator.reverseOrder());
+    private static final Comparator<CustomerRevenue> CUSTOMER_ASCENDING = Comparator
+            .comparingLong(CustomerRevenue::getRevenue)
+            .thenComparing(CustomerRevenue::getCustomerId, Comparator.reverseOrder());
+
+    private final OrderDao orderDao;
+    private final OrdersDetailDao ordersDetailDao;
+    private final ProductDao productDao;
+    private final CustomerDao customerDao;
+    private final CustomerShards customerShards;
+    private final ForkJoinRangeScan rangeScan;
+    private final OrderArchiver orderArchiver;
+
+    public SalesAnalyticsService(final OrderDao orderDao, final OrdersDetailDao ordersDetailDao,
+                                 final ProductDao productDao, final CustomerDao customerDao,
+                                 final CustomerShards customerShards, final ForkJoinRangeScan rangeScan,
+                                 final OrderArchiver orderArchiver) {
+        this.orderDao = orderDao;
+        this.ordersDetailDao = ordersDetailDao;
+        this.productDao = productDao;
+        this.customerDao = customerDao;
+        this.customerShards = customerShards;
+        this.rangeScan = rangeScan;
+        this.orderArchiver = orderArchiver;
+    }
+
+    /**
+     * @return 매출이 큰 순서, 같으면 상품 id 순서로 limit 개
+     */
+    public List<ProductRevenue> findRevenueByProduct(final int limit) {
+        final LongLongMap prices = new LongLongMap(64);
+        final Map<Long, String> names = new HashMap<>();
+        productDao.findProductsIncludingDeleted(product -> {
+            prices.addTo(product.getId(), product.getPrice());
+            names.put(product.getId(), product.getName());
+        });
+        final SalesTotals totals = scan(prices);
+
+        final LongLongMap quantities = totals.getQuantityByProduct();
+        final PriorityQueue<ProductRevenue> top = new PriorityQueue<>(PRODUCT_ASCENDING);
+        totals.getRevenueByProduct().forEach((productId, revenue) -> offer(top, limit,
+                new ProductRevenue(productId, names.get(productId), quantities.get(productId), revenue),
+                PRODUCT_ASCENDING));
+        return descending(top, PRODUCT_ASCENDING);
+    }
+
+    /**
+     * @return 매출이 큰 순서, 같으면 고객 id 순서로 limit 개
+     */
+    public List<CustomerRevenue> findRevenueByCustomer(final int limit) {
+        final LongLongMap prices = new LongLongMap(64);
+        productDao.findProductsIncludingDeleted(product -> prices.addTo(product.getId(), product.getPrice()));
+        final SalesTotals totals = scan(prices);
+
+        final LongLongMap quantities = totals.getQuantityByCustomer();
+        final PriorityQueue<CustomerRevenue> top = new PriorityQueue<>(CUSTOMER_ASCENDING);
+        totals.getRevenueByCustomer().forEach((customerId, revenue) -> offer(top, limit,
+                new CustomerRevenue(customerId, quantities.get(customerId), revenue), CUSTOMER_ASCENDING));
+        final List<CustomerRevenue> revenues = descending(top, CUSTOMER_ASCENDING);
+
+        final Map<Long, String> userNames = customerDao.findUserNamesByIds(revenues.stream()
+                .map(CustomerRevenue::getCustomerId)
+                .collect(Collectors.toList()));
+        return revenues.stream()
+                .map(revenue -> revenue.withUserName(userNames.get(revenue.getCustomerId())))
+                .collect(Collectors.toList());
+    }
+
+    private SalesTotals scan(final LongLongMap prices) {
+        final long[] fromIds = new long[customerShards.size()];
+        final long[] toIds = new long[customerShards.size()];
+        for (int shard = 0; shard < customerShards.size(); shard++) {
+            toIds[shard] = orderDao.findMaxIdAt(shard);
+            fromIds[shard] = toIds[shard] == 0 ? 0 : orderDao.findMinIdAt(shard);
+        }
+        final SalesTotals totals = rangeScan.run(fromIds, toIds, SalesTotals::new,
+                (shard, fromId, toId, partial) -> ordersDetailDao.findSalesAt(shard, fromId, toId,
+                        (customerId, productId, quantity) ->
+                                partial.add(customerId, productId, quantity, prices.get(productId))),
+                SalesTotals::merge);
+        orderArchiver.forEachArchivedOrder(order -> {
+            for (final OrderDetail orderDetail : order.getOrderDetails()) {
+                totals.add(order.getCustomerId(), orderDetail.getProductId(), orderDetail.getQuantity(),
+                        prices.get(orderDetail.getProductId()));
+            }
+        });
+        return totals;
+    }
+
+    private <T> void offer(final PriorityQueue<T> top, final int limit, final T candidate,
+                           final Comparator<T> ascending) {
+        if (top.size() < limit) {
+            top.add(candidate);
+            return;
+        }
+        if (ascending.compare(candidate, top.peek()) > 0) {
+            top.poll();
+            top.add(candidate);
+        }
+    }
+
+    private <T> List<T> descending(final PriorityQueue<T> top, final Comparator<T> ascending) {
+        final List<T> sorted = new ArrayList<>(top);
+        sorted.sort(ascending.reversed());
+        return sorted;
+    }
+}
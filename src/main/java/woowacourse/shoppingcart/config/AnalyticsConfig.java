@@ -0,0 +1,63 @@
+package woowacourse.shoppingcart.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import woowacourse.shoppingcart.application.OrderArchiver;
+import woowacourse.shoppingcart.application.SalesAnalyticsService;
+import woowacourse.shoppingcart.dao.CustomerDao;
+import woowacourse.shoppingcart.dao.OrderDao;
+import woowacourse.shoppingcart.dao.OrdersDetailDao;
+import woowacourse.shoppingcart.dao.ProductDao;
+import woowacourse.shoppingcart.support.CustomerShards;
+import woowacourse.shoppingcart.support.ForkJoinRangeScan;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.concurrent.ForkJoinPool;
+
+@Configuration
+public class AnalyticsConfig {
+
+    // parallelism 이 0 이면 코어 수만큼 쓴다. 공용 풀을 막지 않도록 집계 전용 풀을 둔다.
+    // 집계 작업은 JDBC 호출에서 막히므로, 가장 작은 커넥션 풀에서 요청 처리 몫으로 reservedConnections 개를 남긴 만큼만 스레드를 둔다.
+    @Bean(destroyMethod = "shutdownNow")
+    public ForkJoinPool analyticsPool(
+            @Value("${shoppingcart.analytics.parallelism}") final int parallelism,
+            @Value("${shoppingcart.analytics.reserved-connections}") final int reservedConnections,
+            final CustomerShards customerShards) {
+        final int requested = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        final int available = smallestPoolSize(customerShards) - reservedConnections;
+        return new ForkJoinPool(Math.max(1, Math.min(requested, available)));
+    }
+
+    private int smallestPoolSize(final CustomerShards customerShards) {
+        int smallest = Integer.MAX_VALUE;
+        for (int shard = 0; shard < customerShards.size(); shard++) {
+            final DataSource dataSource = customerShards.jdbcTemplateAt(shard).getDataSource();
+            try {
+                if (dataSource != null && dataSource.isWrapperFor(HikariDataSource.class)) {
+                    smallest = Math.min(smallest, dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize());
+                }
+            } catch (final SQLException ignored) {
+                // 풀 크기를 알 수 없는 DataSource 는 제한하지 않는다.
+            }
+        }
+        return smallest;
+    }
+
+    @Bean
+    public SalesAnalyticsService salesAnalyticsService(
+            final OrderDao orderDao,
+            final OrdersDetailDao ordersDetailDao,
+            final ProductDao productDao,
+            final CustomerDao customerDao,
+            final CustomerShards customerShards,
+            final ForkJoinPool analyticsPool,
+            final OrderArchiver orderArchiver,
+            @Value("${shoppingcart.analytics.partition-size}") final int partitionSize) {
+        return new SalesAnalyticsService(orderDao, ordersDetailDao, productDao, customerDao, customerShards,
+                new ForkJoinRangeScan(analyticsPool, partitionSize), orderArchiver);
+    }
+}
@@ -0,0 +1,53 @@
+package woowacourse.shoppingcart.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import woowacourse.shoppingcart.application.BestSellerService;
+import woowacourse.shoppingcart.application.OrderArchiver;
+import woowacourse.shoppingcart.dao.OrderDao;
+import woowacourse.shoppingcart.dao.OrdersDetailDao;
+import woowacourse.shoppingcart.dao.ProductDao;
+import woowacourse.shoppingcart.support.BestSellerCounter;
+import woowacourse.shoppingcart.support.CustomerShards;
+import woowacourse.shoppingcart.support.ExactBestSellerCounter;
+import woowacourse.shoppingcart.support.ParallelRangeScan;
+import woowacourse.shoppingcart.support.SketchBestSellerCounter;
+
+@Configuration
+public class BestSellerConfig {
+
+    @Bean
+    public BestSellerCounter bestSellerCounter(
+            @Value("${shoppingcart.best-sellers.mode}") final String mode,
+            @Value("${shoppingcart.best-sellers.sketch.width}") final int width,
+            @Value("${shoppingcart.best-sellers.sketch.depth}") final int depth,
+            @Value("${shoppingcart.best-sellers.sketch.capacity}") final int capacity) {
+        if ("sketch".equals(mode)) {
+            return new SketchBestSellerCounter(width, depth, capacity);
+        }
+        return new ExactBestSellerCounter();
+    }
+
+    @Bean
+    public BestSellerService bestSellerService(
+            final BestSellerCounter bestSellerCounter,
+            final OrderDao orderDao,
+            final OrdersDetailDao ordersDetailDao,
+            final ProductDao productDao,
+            final CustomerShards customerShards,
+            final OrderArchiver orderArchiver,
+            @Value("${shoppingcart.best-sellers.rebuild-threads}") final int rebuildThreads,
+            @Value("${shoppingcart.best-sellers.rebuild-chunk-size}") final int rebuildChunkSize) {
+        return new BestSellerService(bestSellerCounter, orderDao, ordersDetailDao, productDao, customerShards,
+                new ParallelRangeScan(rebuildThreads, rebuildChunkSize), orderArchiver);
+    }
+
+    // 샤드 스키마 초기화와 스냅샷 복원(ApplicationRunner)이 끝난 뒤에 다시 쌓으므로 복원한 주문도 센다.
+    @Bean
+    public ApplicationListener<ApplicationReadyEvent> bestSellerRebuilder(final BestSellerService bestSellerService) {
+        return event -> bestSellerService.rebuild();
+    }
+}
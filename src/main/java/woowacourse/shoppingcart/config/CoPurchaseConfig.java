@@ -0,0 +1,45 @@
+package woowacourse.shoppingcart.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import woowacourse.shoppingcart.application.CoPurchaseService;
+import woowacourse.shoppingcart.application.OrderArchiver;
+import woowacourse.shoppingcart.dao.OrderDao;
+import woowacourse.shoppingcart.dao.OrdersDetailDao;
+import woowacourse.shoppingcart.dao.ProductDao;
+import woowacourse.shoppingcart.support.CoPurchaseCounter;
+import woowacourse.shoppingcart.support.CustomerShards;
+import woowacourse.shoppingcart.support.ParallelRangeScan;
+
+@Configuration
+public class CoPurchaseConfig {
+
+    @Bean
+    public CoPurchaseCounter coPurchaseCounter(
+            @Value("${shoppingcart.co-purchases.max-neighbors}") final int maxNeighbors) {
+        return new CoPurchaseCounter(maxNeighbors);
+    }
+
+    @Bean
+    public CoPurchaseService coPurchaseService(
+            final CoPurchaseCounter coPurchaseCounter,
+            final OrderDao orderDao,
+            final OrdersDetailDao ordersDetailDao,
+            final ProductDao productDao,
+            final CustomerShards customerShards,
+            final OrderArchiver orderArchiver,
+            @Value("${shoppingcart.co-purchases.rebuild-threads}") final int rebuildThreads,
+            @Value("${shoppingcart.co-purchases.rebuild-chunk-size}") final int rebuildChunkSize) {
+        return new CoPurchaseService(coPurchaseCounter, orderDao, ordersDetailDao, productDao, customerShards,
+                new ParallelRangeScan(rebuildThreads, rebuildChunkSize), orderArchiver);
+    }
+
+    // 샤드 스키마 초기화와 스냅샷 복원(ApplicationRunner)이 끝난 뒤에 다시 쌓으므로 복원한 주문도 센다.
+    @Bean
+    public ApplicationListener<ApplicationReadyEvent> coPurchaseRebuilder(final CoPurchaseService coPurchaseService) {
+        return event -> coPurchaseService.rebuild();
+    }
+}
@@ -0,0 +1,25 @@
+package woowacourse.shoppingcart.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import woowacourse.shoppingcart.dao.CustomerDao;
+import woowacourse.shoppingcart.dao.CustomerNameFilter;
+
+@Configuration
+public class CustomerNameFilterConfig {
+
+    @Bean
+    public CustomerNameFilter customerNameFilter(
+            @Value("${shoppingcart.customer-name-filter.expected-insertions}") final int expectedInsertions,
+            @Value("${shoppingcart.customer-name-filter.false-positive-probability}") final double falsePositiveProbability) {
+        return new CustomerNameFilter(expectedInsertions, falsePositiveProbability);
+    }
+
+    @Bean
+    public ApplicationRunner customerNameFilterLoader(final CustomerDao customerDao,
+                                                      final CustomerNameFilter customerNameFilter) {
+        return args -> customerNameFilter.load(customerDao.findUserNames());
+    }
+}
@@ -0,0 +1,54 @@
+package woowacourse.shoppingcart.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import woowacourse.shoppingcart.support.CustomerShards;
+import woowacourse.shoppingcart.support.SyntheticDataGenerator;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * shoppingcart.generator.enabled=true 로 띄우면 합성 데이터를 넣고 바로 끝난다. gradle generateData 가 이렇게 띄운다.
+ */
+@Configuration
+@ConditionalOnProperty(name = "shoppingcart.generator.enabled", havingValue = "true")
+public class DataGeneratorConfig {
+    private static final Logger log = LoggerFactory.getLogger(DataGeneratorConfig.class);
+
+    @Bean
+    public SyntheticDataGenerator syntheticDataGenerator(
+            final CustomerShards customerShards,
+            @Value("${shoppingcart.generator.seed}") final long seed,
+            @Value("${shoppingcart.generator.skew}") final double skew,
+            @Value("${shoppingcart.generator.batch-size}") final int batchSize,
+            @Value("${shoppingcart.generator.until:}") final String until,
+            @Value("${shoppingcart.generator.order-span-days}") final int orderSpanDays) {
+        // 주문 시각도 seed 만으로 정해지도록 기준 시각을 지정할 수 있다. 비우면 지금 시각을 쓴다.
+        final LocalDateTime orderedUntil = until.isBlank() ? LocalDateTime.now() : LocalDateTime.parse(until);
+        return new SyntheticDataGenerator(customerShards, seed, skew, batchSize, orderedUntil, orderSpanDays);
+    }
+
+    // 샤드 스키마 초기화(ApplicationRunner)가 끝난 뒤에 넣는다.
+    @Bean
+    public ApplicationListener<ApplicationReadyEvent> syntheticDataLoader(
+            final SyntheticDataGenerator syntheticDataGenerator,
+            @Value("${shoppingcart.generator.customers}") final int customers,
+            @Value("${shoppingcart.generator.products}") final int products,
+            @Value("${shoppingcart.generator.cart-items}") final int cartItems,
+            @Value("${shoppingcart.generator.orders}") final int orders) {
+        return event -> {
+            final long started = System.nanoTime();
+            final Map<String, Long> written = syntheticDataGenerator.generate(customers, products, cartItems, orders);
+            log.info("합성 데이터 {} 를 {} ms 만에 넣었습니다.", written, (System.nanoTime() - started) / 1_000_000);
+            System.exit(SpringApplication.exit(event.getApplicationContext()));
+        };
+    }
+}
@@ -0,0 +1,45 @@
+package woowacourse.shoppingcart.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import woowacourse.shoppingcart.application.FlashSaleService;
+import woowacourse.shoppingcart.application.OrderService;
+import woowacourse.shoppingcart.dao.CustomerDao;
+import woowacourse.shoppingcart.domain.OrderTicket;
+import woowacourse.shoppingcart.exception.ErrorCode;
+import woowacourse.shoppingcart.support.AdmissionQueue;
+
+import java.util.List;
+
+@Configuration
+@ConditionalOnProperty(name = "shoppingcart.flash-sale.enabled", havingValue = "true")
+public class FlashSaleConfig {
+
+    @Bean(destroyMethod = "close")
+    public AdmissionQueue<OrderTicket> orderAdmissionQueue(
+            final OrderService orderService,
+            @Value("${shoppingcart.flash-sale.queue-capacity}") final int capacity,
+            @Value("${shoppingcart.flash-sale.batch-size}") final int batchSize) {
+        final AdmissionQueue<OrderTicket> queue = new AdmissionQueue<>("orders", capacity, batchSize,
+                orderService::addOrders, FlashSaleConfig::failPendingTickets);
+        queue.start();
+        return queue;
+    }
+
+    // 묶음을 저장하다 예기치 못한 예외가 나면, 결과가 나오지 않은 접수가 PENDING 으로 남지 않게 실패로 기록한다.
+    private static void failPendingTickets(final List<OrderTicket> tickets) {
+        tickets.stream()
+                .filter(OrderTicket::isPending)
+                .forEach(ticket -> ticket.fail(ErrorCode.UNHANDLED.name(), "Unhandled Exception"));
+    }
+
+    @Bean
+    public FlashSaleService flashSaleService(
+            final CustomerDao customerDao,
+            final AdmissionQueue<OrderTicket> orderAdmissionQueue,
+            @Value("${shoppingcart.flash-sale.ticket-ttl-millis}") final long ticketTtlMillis) {
+        return new FlashSaleService(customerDao, orderAdmissionQueue, ticketTtlMillis);
+    }
+}
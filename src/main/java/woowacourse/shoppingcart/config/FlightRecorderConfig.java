@@ -0,0 +1,32 @@
+package woowacourse.shoppingcart.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import woowacourse.shoppingcart.application.CartService;
+import woowacourse.shoppingcart.application.OrderService;
+import woowacourse.shoppingcart.application.ProductService;
+import woowacourse.shoppingcart.support.FlightRecordings;
+import woowacourse.shoppingcart.support.ServiceCallEventPostProcessor;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Set;
+
+@Configuration
+public class FlightRecorderConfig {
+
+    // BeanPostProcessor 는 다른 빈보다 먼저 만들어져야 하므로 static 으로 등록한다.
+    @Bean
+    public static ServiceCallEventPostProcessor serviceCallEventPostProcessor() {
+        return new ServiceCallEventPostProcessor(Set.of(CartService.class, OrderService.class, ProductService.class));
+    }
+
+    @Bean
+    public FlightRecordings flightRecordings(
+            @Value("${shoppingcart.flight-recorder.directory}") final String directory,
+            @Value("${shoppingcart.flight-recorder.max-age-minutes}") final long maxAgeMinutes) {
+        return new FlightRecordings(Path.of(directory), Duration.ofMinutes(maxAgeMinutes), Clock.systemDefaultZone());
+    }
+}
@@ -0,0 +1,39 @@
+package woowacourse.shoppingcart.config;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+import woowacourse.shoppingcart.dao.ProductDao;
+import woowacourse.shoppingcart.support.StockReservations;
+
+// 상품 정리(ProductPurgeConfig)와 주문 보관(OrderArchiveConfig)의 @Scheduled 도 여기서 켠 스케줄링으로 돈다.
+@Configuration
+@EnableScheduling
+public class InventoryConfig implements DisposableBean {
+    private final StockReservations stockReservations;
+
+    public InventoryConfig(final ProductDao productDao,
+                           @Value("${shoppingcart.inventory.stripes}") final int stripes) {
+        this.stockReservations = new StockReservations(stripes, productDao::findStock, productDao::decreaseStocks);
+    }
+
+    @Bean
+    public StockReservations stockReservations() {
+        return stockReservations;
+    }
+
+    // 스케줄러 스레드를 예약 작업 수만큼 두므로(spring.task.scheduling.pool.size),
+    // 새벽의 상품 정리나 주문 보관이 오래 돌아도 재고 반영이 밀리지 않는다.
+    @Scheduled(fixedDelayString = "${shoppingcart.inventory.flush-interval-millis}")
+    public void flushStock() {
+        stockReservations.flush();
+    }
+
+    @Override
+    public void destroy() {
+        stockReservations.flush();
+    }
+}
@@ -0,0 +1,32 @@
+package woowacourse.shoppingcart.config;
+
+import org.springframework.boot.autoconfigure.jdbc.JdbcProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import woowacourse.shoppingcart.support.InstrumentedJdbcTemplate;
+import woowacourse.shoppingcart.support.SlowQueryLog;
+
+import javax.sql.DataSource;
+
+/**
+ * 자동 구성 대신 SQL 마다 JFR 이벤트를 남기고 느린 쿼리를 기록하는 JdbcTemplate 을 등록한다. 샤드의 JdbcTemplate 도 같은 클래스다.
+ */
+@Configuration
+@EnableConfigurationProperties(JdbcProperties.class)
+public class JdbcTemplateConfig {
+
+    @Bean
+    public JdbcTemplate jdbcTemplate(final DataSource dataSource, final JdbcProperties properties,
+                                     final SlowQueryLog slowQueryLog) {
+        final JdbcTemplate jdbcTemplate = new InstrumentedJdbcTemplate(dataSource, slowQueryLog);
+        final JdbcProperties.Template template = properties.getTemplate();
+        jdbcTemplate.setFetchSize(template.getFetchSize());
+        jdbcTemplate.setMaxRows(template.getMaxRows());
+        if (template.getQueryTimeout() != null) {
+            jdbcTemplate.setQueryTimeout((int) template.getQueryTimeout().getSeconds());
+        }
+        return jdbcTemplate;
+    }
+}
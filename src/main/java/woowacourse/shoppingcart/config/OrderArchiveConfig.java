@@ -0,0 +1,47 @@
+package woowacourse.shoppingcart.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.Scheduled;
+import woowacourse.shoppingcart.application.OrderArchiver;
+import woowacourse.shoppingcart.dao.OrderDao;
+import woowacourse.shoppingcart.dao.OrdersDetailDao;
+import woowacourse.shoppingcart.support.CustomerShards;
+import woowacourse.shoppingcart.support.OrderArchive;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+
+@Configuration
+public class OrderArchiveConfig {
+    private final OrderArchive orderArchive;
+    private final OrderArchiver orderArchiver;
+
+    public OrderArchiveConfig(final OrderDao orderDao, final OrdersDetailDao ordersDetailDao,
+                              final CustomerShards customerShards,
+                              @Value("${shoppingcart.order-archive.directory}") final String directory,
+                              @Value("${shoppingcart.order-archive.retention-days}") final int retentionDays,
+                              @Value("${shoppingcart.order-archive.batch-size}") final int batchSize) {
+        this.orderArchive = new OrderArchive(Path.of(directory));
+        this.orderArchiver = new OrderArchiver(orderArchive, orderDao, ordersDetailDao, customerShards,
+                Duration.ofDays(retentionDays), batchSize, Clock.systemDefaultZone());
+    }
+
+    @Bean
+    public OrderArchive orderArchive() {
+        return orderArchive;
+    }
+
+    @Bean
+    public OrderArchiver orderArchiver() {
+        return orderArchiver;
+    }
+
+    // cron 이 "-" 이면 주기적으로 옮기지 않는다.
+    @Scheduled(cron = "${shoppingcart.order-archive.cron}")
+    public void archiveOrders() {
+        orderArchiver.archive();
+    }
+}
@@ -0,0 +1,28 @@
+package woowacourse.shoppingcart.config;
+
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+
+/**
+ * ApplicationRunner 는 빈 인스턴스로 순서를 정하므로, 람다로 만든 러너에 순서를 붙일 때 감싼다.
+ */
+class OrderedApplicationRunner implements ApplicationRunner, Ordered {
+    private final int order;
+    private final ApplicationRunner runner;
+
+    OrderedApplicationRunner(final int order, final ApplicationRunner runner) {
+        this.order = order;
+        this.runner = runner;
+    }
+
+    @Override
+    public void run(final ApplicationArguments args) throws Exception {
+        runner.run(args);
+    }
+
+    @Override
+    public int getOrder() {
+        return order;
+    }
+}
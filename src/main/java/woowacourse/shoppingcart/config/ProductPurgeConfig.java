@@ -0,0 +1,33 @@
+package woowacourse.shoppingcart.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.Scheduled;
+import woowacourse.shoppingcart.application.DeletedProductPurger;
+import woowacourse.shoppingcart.dao.CartItemDao;
+import woowacourse.shoppingcart.support.CustomerShards;
+
+@Configuration
+public class ProductPurgeConfig {
+    private final DeletedProductPurger deletedProductPurger;
+
+    public ProductPurgeConfig(final CartItemDao cartItemDao, final CustomerShards customerShards,
+                              @Value("${shoppingcart.product-purge.batch-size}") final int batchSize,
+                              @Value("${shoppingcart.product-purge.max-batches}") final int maxBatches,
+                              @Value("${shoppingcart.product-purge.pause-millis}") final long pauseMillis) {
+        this.deletedProductPurger = new DeletedProductPurger(cartItemDao, customerShards, batchSize, maxBatches,
+                pauseMillis);
+    }
+
+    @Bean
+    public DeletedProductPurger deletedProductPurger() {
+        return deletedProductPurger;
+    }
+
+    // 주문이 적은 새벽에 돌도록 cron 으로 시간대를 정한다. "-" 이면 돌지 않는다.
+    @Scheduled(cron = "${shoppingcart.product-purge.cron}")
+    public void purgeDeletedProducts() {
+        deletedProductPurger.purge();
+    }
+}
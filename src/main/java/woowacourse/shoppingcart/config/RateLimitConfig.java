@@ -0,0 +1,42 @@
+package woowacourse.shoppingcart.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import woowacourse.auth.application.AuthService;
+import woowacourse.shoppingcart.support.RateLimiter;
+import woowacourse.shoppingcart.ui.RateLimitInterceptor;
+
+@Configuration
+public class RateLimitConfig {
+    private final MeterRegistry meterRegistry;
+    private final AuthService authService;
+    private final long idleTimeoutMillis;
+    private final int maxBuckets;
+
+    public RateLimitConfig(final MeterRegistry meterRegistry, final AuthService authService,
+                           @Value("${shoppingcart.rate-limit.idle-timeout-millis}") final long idleTimeoutMillis,
+                           @Value("${shoppingcart.rate-limit.max-buckets}") final int maxBuckets) {
+        this.meterRegistry = meterRegistry;
+        this.authService = authService;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.maxBuckets = maxBuckets;
+    }
+
+    @Bean
+    public RateLimitInterceptor cartRateLimitInterceptor(
+            @Value("${shoppingcart.rate-limit.carts.capacity}") final int capacity,
+            @Value("${shoppingcart.rate-limit.carts.refill-per-second}") final double refillPerSecond) {
+        return new RateLimitInterceptor("carts", "/api/customers/*/carts",
+                new RateLimiter(capacity, refillPerSecond, idleTimeoutMillis, maxBuckets), authService, meterRegistry);
+    }
+
+    @Bean
+    public RateLimitInterceptor orderRateLimitInterceptor(
+            @Value("${shoppingcart.rate-limit.orders.capacity}") final int capacity,
+            @Value("${shoppingcart.rate-limit.orders.refill-per-second}") final double refillPerSecond) {
+        return new RateLimitInterceptor("orders", "/api/customers/*/orders",
+                new RateLimiter(capacity, refillPerSecond, idleTimeoutMillis, maxBuckets), authService, meterRegistry);
+    }
+}
@@ -0,0 +1,75 @@
+package woowacourse.shoppingcart.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+import woowacourse.shoppingcart.support.CustomerShards;
+import woowacourse.shoppingcart.support.DatabaseSnapshot;
+import woowacourse.shoppingcart.support.InstrumentedJdbcTemplate;
+import woowacourse.shoppingcart.support.ShardRebalancer;
+import woowacourse.shoppingcart.support.SlowQueryLog;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Configuration
+public class ShardingConfig implements DisposableBean {
+    private static final String SHARDS = "shoppingcart.sharding.shards";
+
+    private final List<HikariDataSource> shardDataSources = new ArrayList<>();
+
+    @Bean
+    public CustomerShards customerShards(final JdbcTemplate jdbcTemplate, final SlowQueryLog slowQueryLog,
+                                         final Environment environment) {
+        final List<HikariConfig> shardConfigs = Binder.get(environment)
+                .bind(SHARDS, Bindable.listOf(HikariConfig.class))
+                .orElse(List.of());
+        shardConfigs.forEach(config -> shardDataSources.add(new HikariDataSource(config)));
+        return new CustomerShards(jdbcTemplate, shardDataSources.stream()
+                .map(dataSource -> new InstrumentedJdbcTemplate(dataSource, slowQueryLog))
+                .collect(Collectors.toList()));
+    }
+
+    @Bean
+    public ShardRebalancer shardRebalancer(final CustomerShards customerShards) {
+        return new ShardRebalancer(customerShards);
+    }
+
+    // 캐시를 채우는 다른 ApplicationRunner 가 초기화와 복원이 끝난 데이터를 읽도록 가장 먼저 실행한다.
+    @Bean
+    public ApplicationRunner shardInitializer(
+            final CustomerShards customerShards,
+            final ShardRebalancer shardRebalancer,
+            final DatabaseSnapshot databaseSnapshot,
+            @Value("${shoppingcart.sharding.initialize-schema}") final boolean initializeSchema,
+            @Value("${shoppingcart.snapshot.restore-from}") final String restoreFrom,
+            @Value("${shoppingcart.sharding.rebalance-on-startup}") final boolean rebalanceOnStartup) {
+        return new OrderedApplicationRunner(Ordered.HIGHEST_PRECEDENCE, args -> {
+            if (customerShards.size() > 1 && initializeSchema) {
+                shardRebalancer.initialize();
+            }
+            if (!restoreFrom.isBlank()) {
+                databaseSnapshot.restore(Path.of(restoreFrom));
+            }
+            if (customerShards.size() > 1 && rebalanceOnStartup) {
+                shardRebalancer.rebalance();
+            }
+        });
+    }
+
+    @Override
+    public void destroy() {
+        shardDataSources.forEach(HikariDataSource::close);
+    }
+}
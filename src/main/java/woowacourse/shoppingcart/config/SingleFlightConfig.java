@@ -0,0 +1,26 @@
+package woowacourse.shoppingcart.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import woowacourse.shoppingcart.domain.Product;
+import woowacourse.shoppingcart.support.SingleFlight;
+
+@Configuration
+public class SingleFlightConfig {
+    private final long timeoutMillis;
+
+    public SingleFlightConfig(@Value("${shoppingcart.single-flight.timeout-millis}") final long timeoutMillis) {
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    @Bean
+    public SingleFlight<Long, Product> productSingleFlight() {
+        return new SingleFlight<>("product", timeoutMillis);
+    }
+
+    @Bean
+    public SingleFlight<String, Long> customerSingleFlight() {
+        return new SingleFlight<>("customer", timeoutMillis);
+    }
+}
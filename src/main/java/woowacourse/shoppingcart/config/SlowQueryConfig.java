@@ -0,0 +1,34 @@
+package woowacourse.shoppingcart.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import woowacourse.shoppingcart.support.ColumnParameterRedactor;
+import woowacourse.shoppingcart.support.QueryParameterRedactor;
+import woowacourse.shoppingcart.support.SlowQueryLog;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Set;
+
+@Configuration
+public class SlowQueryConfig {
+
+    @Bean
+    public QueryParameterRedactor queryParameterRedactor(
+            @Value("${shoppingcart.slow-query.redacted-columns}") final Set<String> redactedColumns) {
+        return new ColumnParameterRedactor(redactedColumns);
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    public SlowQueryLog slowQueryLog(
+            @Value("${shoppingcart.slow-query.threshold-millis}") final long thresholdMillis,
+            @Value("${shoppingcart.slow-query.max-entries}") final int maxEntries,
+            @Value("${shoppingcart.slow-query.explain-interval-minutes}") final long explainIntervalMinutes,
+            @Value("${shoppingcart.slow-query.explain-queue-capacity}") final int explainQueueCapacity,
+            final QueryParameterRedactor queryParameterRedactor) {
+        return new SlowQueryLog(Duration.ofMillis(thresholdMillis), maxEntries,
+                Duration.ofMinutes(explainIntervalMinutes), explainQueueCapacity, queryParameterRedactor,
+                Clock.systemDefaultZone());
+    }
+}
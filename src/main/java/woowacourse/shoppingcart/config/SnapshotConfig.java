@@ -0,0 +1,40 @@
+package woowacourse.shoppingcart.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import woowacourse.shoppingcart.support.CustomerShards;
+import woowacourse.shoppingcart.support.DatabaseSnapshot;
+
+import java.nio.file.Path;
+
+@Configuration
+public class SnapshotConfig {
+    private static final Logger log = LoggerFactory.getLogger(SnapshotConfig.class);
+
+    @Bean
+    public DatabaseSnapshot databaseSnapshot(final CustomerShards customerShards,
+                                             @Value("${shoppingcart.snapshot.batch-size}") final int batchSize) {
+        return new DatabaseSnapshot(customerShards, batchSize);
+    }
+
+    // shoppingcart.snapshot.export-to 를 주고 띄우면 내보낸 뒤 끝난다. gradle exportSnapshot 이 이렇게 띄운다.
+    @Bean
+    @ConditionalOnExpression("!'${shoppingcart.snapshot.export-to}'.isBlank()")
+    public ApplicationListener<ApplicationReadyEvent> snapshotExporter(
+            final DatabaseSnapshot databaseSnapshot,
+            @Value("${shoppingcart.snapshot.export-to}") final String exportTo) {
+        return event -> {
+            final long started = System.nanoTime();
+            final long rows = databaseSnapshot.export(Path.of(exportTo));
+            log.info("{} 행을 {} 에 {} ms 만에 내보냈습니다.", rows, exportTo, (System.nanoTime() - started) / 1_000_000);
+            System.exit(SpringApplication.exit(event.getApplicationContext()));
+        };
+    }
+}
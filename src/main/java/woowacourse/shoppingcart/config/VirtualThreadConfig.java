@@ -0,0 +1,40 @@
+package woowacourse.shoppingcart.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 요청 처리 스레드를 가상 스레드로 바꾸는 선택 모드.
+ * 요청 스레드에서 실행되는 JdbcTemplate 호출도 함께 가상 스레드에서 실행된다.
+ * 빌드는 Java 11 대상이므로 Java 21 API 는 리플렉션으로 호출하고, 그보다 낮은 JVM 에서 켜면 기동에 실패한다.
+ */
+@Configuration
+@ConditionalOnProperty(name = "shoppingcart.virtual-threads.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService virtualThreadExecutor() {
+        return newVirtualThreadPerTaskExecutor();
+    }
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer(
+            final ExecutorService virtualThreadExecutor) {
+        return protocolHandler -> protocolHandler.setExecutor(virtualThreadExecutor);
+    }
+
+    static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (final NoSuchMethodException e) {
+            throw new IllegalStateException("가상 스레드 모드는 Java 21 이상에서만 사용할 수 있습니다.", e);
+        } catch (final ReflectiveOperationException e) {
+            throw new IllegalStateException("가상 스레드 실행기를 만들 수 없습니다.", e);
+        }
+    }
+}
@@ -3,16 +3,34 @@ package woowacourse.shoppingcart.config;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpHeaders;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import woowacourse.shoppingcart.ui.RateLimitInterceptor;
+
+import java.util.List;
 
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
     public static final String ALLOWED_METHOD_NAMES = "GET,HEAD,POST,PUT,DELETE,TRACE,OPTIONS,PATCH";
 
+    private final List<RateLimitInterceptor> rateLimitInterceptors;
+
+    public WebConfig(final List<RateLimitInterceptor> rateLimitInterceptors) {
+        this.rateLimitInterceptors = rateLimitInterceptors;
+    }
+
     @Override
     public void addCorsMappings(final CorsRegistry registry) {
         registry.addMapping("/api/**")
                 .allowedMethods(ALLOWED_METHOD_NAMES.split(","))
                 .exposedHeaders(HttpHeaders.LOCATION);
     }
+
+    @Override
+    public void addInterceptors(final InterceptorRegistry registry) {
+        for (final RateLimitInterceptor rateLimitInterceptor : rateLimitInterceptors) {
+            registry.addInterceptor(rateLimitInterceptor)
+                    .addPathPatterns(rateLimitInterceptor.getPathPattern());
+        }
+    }
 }
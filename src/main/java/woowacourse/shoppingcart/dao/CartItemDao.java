@@ -5,59 +5,202 @@ import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.support.GeneratedKeyHolder;
 import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.stereotype.Repository;
+import woowacourse.shoppingcart.domain.Cart;
+import woowacourse.shoppingcart.domain.CartSummary;
 import woowacourse.shoppingcart.exception.InvalidCartItemException;
+import woowacourse.shoppingcart.support.CustomerShards;
 
 import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
 
 @Repository
 public class CartItemDao {
-    private final JdbcTemplate jdbcTemplate;
+    private final CustomerShards customerShards;
 
-    public CartItemDao(final JdbcTemplate jdbcTemplate) {
-        this.jdbcTemplate = jdbcTemplate;
+    public CartItemDao(final CustomerShards customerShards) {
+        this.customerShards = customerShards;
     }
 
-    public List<Long> findProductIdsByCustomerId(final Long customerId) {
-        final String sql = "SELECT product_id FROM cart_item WHERE customer_id = ?";
+    public List<Cart> findCartsByCustomerId(final Long customerId) {
+        final String sql = "SELECT c.id, p.id AS product_id, p.name, p.price, p.image_url "
+                + "FROM cart_item c JOIN product p ON c.product_id = p.id "
+                + "WHERE c.customer_id = ? AND p.deleted = false ORDER BY c.id";
 
-        return jdbcTemplate.query(sql, (rs, rowNum) -> rs.getLong("product_id"), customerId);
+        return customerShards.jdbcTemplate(customerId).query(sql, (rs, rowNum) -> new Cart(
+                rs.getLong("id"),
+                rs.getLong("product_id"),
+                rs.getString("name"),
+                rs.getInt("price"),
+                rs.getString("image_url")
+        ), customerId);
     }
 
-    public List<Long> findIdsByCustomerId(final Long customerId) {
-        final String sql = "SELECT id FROM cart_item WHERE customer_id = ?";
-
-        return jdbcTemplate.query(sql, (rs, rowNum) -> rs.getLong("id"), customerId);
+    public boolean isValidCartItemId(final Long customerId, final Long cartId) {
+        final String sql = "SELECT EXISTS(SELECT * FROM cart_item WHERE customer_id = ? AND id = ?)";
+        return customerShards.jdbcTemplate(customerId).queryForObject(sql, Boolean.class, customerId, cartId);
     }
 
-    public Long findProductIdById(final Long cartId) {
+    public Long findProductIdById(final Long customerId, final Long cartId) {
         try {
-            final String sql = "SELECT product_id FROM cart_item WHERE id = ?";
-            return jdbcTemplate.queryForObject(sql, (rs, rowNum) -> rs.getLong("product_id"), cartId);
+            final String sql = "SELECT c.product_id FROM cart_item c JOIN product p ON c.product_id = p.id "
+                    + "WHERE c.id = ? AND c.customer_id = ? AND p.deleted = false";
+            return customerShards.jdbcTemplate(customerId)
+                    .queryForObject(sql, (rs, rowNum) -> rs.getLong("product_id"), cartId, customerId);
         } catch (EmptyResultDataAccessException e) {
             throw new InvalidCartItemException();
         }
     }
 
+    /**
+     * 장바구니에 담고, 같은 트랜잭션에서 cart_summary 의 개수와 합계를 함께 올린다.
+     * 담을 때의 가격을 cart_item 에 함께 적어 두고, 뺄 때도 그 가격만큼 내리므로 상품 행을 잠그지 않는다.
+     */
     public Long addCartItem(final Long customerId, final Long productId) {
-        final String sql = "INSERT INTO cart_item(customer_id, product_id) VALUES(?, ?)";
+        final String sql = "INSERT INTO cart_item(customer_id, product_id, price) VALUES(?, ?, ?)";
         final KeyHolder keyHolder = new GeneratedKeyHolder();
+        final JdbcTemplate jdbcTemplate = customerShards.jdbcTemplate(customerId);
+        final Integer price = jdbcTemplate.queryForObject(
+                "SELECT price FROM product WHERE id = ? AND deleted = false", Integer.class, productId);
 
         jdbcTemplate.update(con -> {
             PreparedStatement preparedStatement = con.prepareStatement(sql, new String[]{"id"});
             preparedStatement.setLong(1, customerId);
             preparedStatement.setLong(2, productId);
+            preparedStatement.setInt(3, price);
             return preparedStatement;
         }, keyHolder);
+
+        jdbcTemplate.update("INSERT INTO cart_summary (customer_id, item_count, subtotal) VALUES (?, 1, ?) "
+                + "ON DUPLICATE KEY UPDATE item_count = item_count + 1, subtotal = subtotal + ?",
+                customerId, price, price);
         return keyHolder.getKey().longValue();
     }
 
-    public void deleteCartItem(final Long id) {
-        final String sql = "DELETE FROM cart_item WHERE id = ?";
+    /**
+     * 고객의 장바구니에서 지우고, 같은 트랜잭션에서 cart_summary 의 개수와 합계를 함께 내린다.
+     * 다른 고객의 장바구니 id 이면 지우지 않고 예외를 던진다.
+     * 이 장바구니 행만 잠근 뒤 적어 둔 가격을 읽으므로, 그 사이에 가격 변경이 이 행의 가격을 바꾸지 못한다.
+     */
+    public void deleteCartItem(final Long customerId, final Long id) {
+        final JdbcTemplate jdbcTemplate = customerShards.jdbcTemplate(customerId);
+        final List<Integer> prices = jdbcTemplate.queryForList("SELECT c.price FROM cart_item c "
+                        + "JOIN product p ON c.product_id = p.id "
+                        + "WHERE c.id = ? AND c.customer_id = ? AND p.deleted = false FOR UPDATE",
+                Integer.class, id, customerId);
+        if (prices.isEmpty()) {
+            throw new InvalidCartItemException();
+        }
+
+        final String sql = "DELETE FROM cart_item WHERE id = ? AND customer_id = ?";
 
-        final int rowCount = jdbcTemplate.update(sql, id);
+        final int rowCount = jdbcTemplate.update(sql, id, customerId);
         if (rowCount == 0) {
             throw new InvalidCartItemException();
         }
+        jdbcTemplate.update("UPDATE cart_summary SET item_count = item_count - 1, subtotal = subtotal - ? "
+                + "WHERE customer_id = ?", prices.get(0), customerId);
+    }
+
+    public CartSummary findSummaryByCustomerId(final Long customerId) {
+        final String sql = "SELECT item_count, subtotal FROM cart_summary WHERE customer_id = ?";
+        final List<CartSummary> summaries = customerShards.jdbcTemplate(customerId).query(sql,
+                (rs, rowNum) -> new CartSummary(rs.getInt("item_count"), rs.getLong("subtotal")), customerId);
+        if (summaries.isEmpty()) {
+            return CartSummary.empty();
+        }
+        return summaries.get(0);
+    }
+
+    /**
+     * 상품 가격이 바뀌면 그 샤드에서 상품을 담은 장바구니 행의 가격을 바꾸고, 고객의 합계를 바뀐 만큼 고친다.
+     * 고칠 장바구니 행을 먼저 잠가 그 사이에 빠지는 행이 없게 한다. 이미 새 가격인 행은 건너뛰므로 다시 불러도 된다.
+     * 가격 변경과 동시에 담긴 행은 옛 가격으로 남을 수 있지만 합계와는 어긋나지 않고, 다음 가격 변경에서 고쳐진다.
+     */
+    public void repriceAt(final int shard, final Long productId, final int price) {
+        final JdbcTemplate jdbcTemplate = customerShards.jdbcTemplateAt(shard);
+        jdbcTemplate.queryForList("SELECT id FROM cart_item WHERE product_id = ? AND price <> ? FOR UPDATE",
+                Long.class, productId, price);
+        jdbcTemplate.update("UPDATE cart_summary SET subtotal = subtotal + "
+                + "(SELECT SUM(CAST(? AS INTEGER) - c.price) FROM cart_item c "
+                + "WHERE c.customer_id = cart_summary.customer_id AND c.product_id = ? AND c.price <> ?) "
+                + "WHERE customer_id IN (SELECT customer_id FROM cart_item WHERE product_id = ? AND price <> ?)",
+                price, productId, price, productId, price);
+        jdbcTemplate.update("UPDATE cart_item SET price = ? WHERE product_id = ? AND price <> ?",
+                price, productId, price);
+    }
+
+    /**
+     * 상품이 삭제되면 그 샤드에서 상품을 담은 고객의 개수와 합계에서, 담을 때 적어 둔 가격으로 그 상품을 뺀다.
+     * {@link #repriceAt} 과 마찬가지로 장바구니 행을 먼저 잠근다.
+     */
+    public void removeFromSummariesAt(final int shard, final Long productId) {
+        final JdbcTemplate jdbcTemplate = customerShards.jdbcTemplateAt(shard);
+        jdbcTemplate.queryForList("SELECT id FROM cart_item WHERE product_id = ? FOR UPDATE", Long.class, productId);
+        final String rows = "FROM cart_item c WHERE c.customer_id = cart_summary.customer_id AND c.product_id = ?";
+        jdbcTemplate.update("UPDATE cart_summary SET item_count = item_count - (SELECT COUNT(*) " + rows + "), "
+                + "subtotal = subtotal - (SELECT SUM(c.price) " + rows + ") "
+                + "WHERE customer_id IN (SELECT customer_id FROM cart_item WHERE product_id = ?)",
+                productId, productId, productId);
+    }
+
+    /**
+     * 삭제된 상품을 담은 장바구니 행을 한 샤드에서 limit 개까지 지운다.
+     * 장바구니 조회와 cart_summary 는 이미 삭제된 상품을 빼고 있으므로 지워도 보이는 결과는 바뀌지 않는다.
+     * 상품 삭제와 동시에 담겨 합계에 남은 행이 있을 수 있으므로, 지운 행의 고객 합계는 남은 행으로 다시 센다.
+     *
+     * @return 지운 행 수
+     */
+    public int deleteCartItemsOfDeletedProductsAt(final int shard, final int limit) {
+        final JdbcTemplate jdbcTemplate = customerShards.jdbcTemplateAt(shard);
+        final String sql = "SELECT c.id, c.customer_id FROM cart_item c JOIN product p ON c.product_id = p.id "
+                + "WHERE p.deleted = true LIMIT ?";
+        final List<Long> ids = new ArrayList<>();
+        final Set<Long> customerIds = new TreeSet<>();
+        jdbcTemplate.query(sql, rs -> {
+            ids.add(rs.getLong("id"));
+            customerIds.add(rs.getLong("customer_id"));
+        }, limit);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        final int deleted = jdbcTemplate.update(
+                "DELETE FROM cart_item WHERE id IN (" + placeholders(ids) + ")", ids.toArray());
+        recountSummariesAt(jdbcTemplate, customerIds);
+        return deleted;
+    }
+
+    /**
+     * 복제본의 상품 가격이나 삭제 여부를 기본 DB 에 맞춘 뒤, 그 상품을 담은 행의 가격을 바꾸고 그 고객들의 합계를 다시 센다.
+     */
+    public void recountProductAt(final int shard, final Long productId, final int price) {
+        final JdbcTemplate jdbcTemplate = customerShards.jdbcTemplateAt(shard);
+        final List<Long> customerIds = jdbcTemplate.queryForList(
+                "SELECT DISTINCT customer_id FROM cart_item WHERE product_id = ?", Long.class, productId);
+        if (customerIds.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.update("UPDATE cart_item SET price = ? WHERE product_id = ?", price, productId);
+        recountSummariesAt(jdbcTemplate, customerIds);
+    }
+
+    // 고객 합계 행을 먼저 잠가, 다시 세는 동안 담거나 빼며 바꾼 값을 덮어쓰지 않게 한다.
+    private void recountSummariesAt(final JdbcTemplate jdbcTemplate, final Collection<Long> customerIds) {
+        final String in = "(" + placeholders(customerIds) + ")";
+        jdbcTemplate.queryForList("SELECT customer_id FROM cart_summary WHERE customer_id IN " + in + " FOR UPDATE",
+                Long.class, customerIds.toArray());
+        final String rows = "FROM cart_item c JOIN product p ON c.product_id = p.id "
+                + "WHERE c.customer_id = cart_summary.customer_id AND p.deleted = false";
+        jdbcTemplate.update("UPDATE cart_summary SET item_count = (SELECT COUNT(*) " + rows + "), "
+                + "subtotal = (SELECT COALESCE(SUM(c.price), 0) " + rows + ") WHERE customer_id IN " + in,
+                customerIds.toArray());
+    }
+
+    private String placeholders(final Collection<Long> ids) {
+        return String.join(", ", Collections.nCopies(ids.size(), "?"));
     }
 }
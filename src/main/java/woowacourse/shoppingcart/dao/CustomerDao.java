@@ -1,27 +1,102 @@
 package woowacourse.shoppingcart.dao;
 
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.stereotype.Repository;
+import woowacourse.shoppingcart.domain.Customer;
 import woowacourse.shoppingcart.exception.InvalidCustomerException;
+import woowacourse.shoppingcart.support.SingleFlight;
 
+import java.sql.PreparedStatement;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 
 @Repository
 public class CustomerDao {
 
     private final JdbcTemplate jdbcTemplate;
+    private final CustomerNameFilter customerNameFilter;
+    private final SingleFlight<String, Long> customerSingleFlight;
 
-    public CustomerDao(final JdbcTemplate jdbcTemplate) {
+    public CustomerDao(final JdbcTemplate jdbcTemplate, final CustomerNameFilter customerNameFilter,
+                       final SingleFlight<String, Long> customerSingleFlight) {
         this.jdbcTemplate = jdbcTemplate;
+        this.customerNameFilter = customerNameFilter;
+        this.customerSingleFlight = customerSingleFlight;
     }
 
-    public Long findIdByUserName(final String userName) {
+    public Long save(final String userName) {
+        return save(userName, null);
+    }
+
+    /**
+     * @param encodedPassword 해시한 비밀번호. null 이면 로그인할 수 없는 고객이 된다.
+     */
+    public Long save(final String userName, final String encodedPassword) {
+        final String query = "INSERT INTO customer (username, password) VALUES (?, ?)";
+        final String lowerUserName = userName.toLowerCase(Locale.ROOT);
+        final KeyHolder keyHolder = new GeneratedKeyHolder();
+
         try {
-            final String query = "SELECT id FROM customer WHERE username = ?";
-            return jdbcTemplate.queryForObject(query, Long.class, userName.toLowerCase(Locale.ROOT));
-        } catch (final EmptyResultDataAccessException e) {
+            jdbcTemplate.update(con -> {
+                PreparedStatement preparedStatement = con.prepareStatement(query, new String[]{"id"});
+                preparedStatement.setString(1, lowerUserName);
+                preparedStatement.setString(2, encodedPassword);
+                return preparedStatement;
+            }, keyHolder);
+        } catch (final DuplicateKeyException e) {
+            throw new InvalidCustomerException("이미 존재하는 유저입니다.");
+        }
+        customerNameFilter.put(lowerUserName);
+        return Objects.requireNonNull(keyHolder.getKey()).longValue();
+    }
+
+    public Long findIdByUserName(final String userName) {
+        final String lowerUserName = userName.toLowerCase(Locale.ROOT);
+        if (!customerNameFilter.mightContain(lowerUserName)) {
             throw new InvalidCustomerException();
         }
+        return customerSingleFlight.execute(lowerUserName, () -> {
+            try {
+                final String query = "SELECT id FROM customer WHERE username = ?";
+                return jdbcTemplate.queryForObject(query, Long.class, lowerUserName);
+            } catch (final EmptyResultDataAccessException e) {
+                throw new InvalidCustomerException();
+            }
+        });
+    }
+
+    public Optional<Customer> findByUserName(final String userName) {
+        final String query = "SELECT id, username, password FROM customer WHERE username = ?";
+        return jdbcTemplate.query(query, (rs, rowNum) -> new Customer(
+                        rs.getLong("id"), rs.getString("username"), rs.getString("password")),
+                userName.toLowerCase(Locale.ROOT)).stream().findFirst();
+    }
+
+    public List<String> findUserNames() {
+        final String query = "SELECT username FROM customer";
+        return jdbcTemplate.queryForList(query, String.class);
+    }
+
+    public Map<Long, String> findUserNamesByIds(final Collection<Long> customerIds) {
+        if (customerIds.isEmpty()) {
+            return Map.of();
+        }
+        final String placeholders = String.join(", ", Collections.nCopies(customerIds.size(), "?"));
+        final String query = "SELECT id, username FROM customer WHERE id IN (" + placeholders + ")";
+        final Map<Long, String> userNames = new HashMap<>();
+        jdbcTemplate.query(query, rs -> {
+            userNames.put(rs.getLong("id"), rs.getString("username"));
+        }, customerIds.toArray());
+        return userNames;
     }
 }
@@ -0,0 +1,137 @@
+package woowacourse.shoppingcart.dao;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 등록된 username 의 Bloom filter.
+ * {@link #mightContain(String)} 가 false 이면 DB 를 조회하지 않아도 존재하지 않는 유저임이 확실하다.
+ * {@link #load(Collection)} 로 초기 적재가 끝나기 전에는 모든 이름을 통과시킨다.
+ */
+public class CustomerNameFilter implements MeterBinder {
+    private static final String METRIC_PREFIX = "customer.name.filter";
+
+    private final AtomicLongArray words;
+    private final long bitSize;
+    private final int hashCount;
+    private final double falsePositiveProbability;
+    private final AtomicLong setBitCount = new AtomicLong();
+    private final AtomicLong rejectedCount = new AtomicLong();
+    private volatile boolean loaded;
+
+    public CustomerNameFilter(final int expectedInsertions, final double falsePositiveProbability) {
+        if (expectedInsertions <= 0) {
+            throw new IllegalArgumentException("expectedInsertions 는 양수여야 합니다.");
+        }
+        if (falsePositiveProbability <= 0 || falsePositiveProbability >= 1) {
+            throw new IllegalArgumentException("falsePositiveProbability 는 0 과 1 사이여야 합니다.");
+        }
+        final long bits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveProbability)
+                / (Math.log(2) * Math.log(2)));
+        final int wordCount = (int) ((bits + Long.SIZE - 1) / Long.SIZE);
+        this.words = new AtomicLongArray(wordCount);
+        this.bitSize = (long) wordCount * Long.SIZE;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitSize / expectedInsertions * Math.log(2)));
+        this.falsePositiveProbability = falsePositiveProbability;
+    }
+
+    public void load(final Collection<String> userNames) {
+        userNames.forEach(this::put);
+        loaded = true;
+    }
+
+    public void put(final String userName) {
+        final long hash = hash(userName);
+        final int h1 = (int) hash;
+        final int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashCount; i++) {
+            setBit(index(h1 + i * h2));
+        }
+    }
+
+    public boolean mightContain(final String userName) {
+        if (!loaded) {
+            return true;
+        }
+        final long hash = hash(userName);
+        final int h1 = (int) hash;
+        final int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashCount; i++) {
+            if (!getBit(index(h1 + i * h2))) {
+                rejectedCount.incrementAndGet();
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public long getBitSize() {
+        return bitSize;
+    }
+
+    public int getHashCount() {
+        return hashCount;
+    }
+
+    public double getExpectedFalsePositiveProbability() {
+        return Math.pow((double) setBitCount.get() / bitSize, hashCount);
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount.get();
+    }
+
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        Gauge.builder(METRIC_PREFIX + ".memory", this, filter -> filter.getBitSize() / Byte.SIZE)
+                .baseUnit("bytes")
+                .register(registry);
+        Gauge.builder(METRIC_PREFIX + ".configured.fpp", this, filter -> filter.falsePositiveProbability)
+                .register(registry);
+        Gauge.builder(METRIC_PREFIX + ".expected.fpp", this, CustomerNameFilter::getExpectedFalsePositiveProbability)
+                .register(registry);
+        FunctionCounter.builder(METRIC_PREFIX + ".rejected", this, CustomerNameFilter::getRejectedCount)
+                .register(registry);
+    }
+
+    private long index(final int combinedHash) {
+        return (combinedHash & Integer.MAX_VALUE) % bitSize;
+    }
+
+    private void setBit(final long bitIndex) {
+        final int wordIndex = (int) (bitIndex >>> 6);
+        final long mask = 1L << bitIndex;
+        long word;
+        do {
+            word = words.get(wordIndex);
+            if ((word & mask) != 0) {
+                return;
+            }
+        } while (!words.compareAndSet(wordIndex, word, word | mask));
+        setBitCount.incrementAndGet();
+    }
+
+    private boolean getBit(final long bitIndex) {
+        return (words.get((int) (bitIndex >>> 6)) & (1L << bitIndex)) != 0;
+    }
+
+    private static long hash(final String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb3fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
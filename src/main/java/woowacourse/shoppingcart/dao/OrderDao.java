@@ -1,27 +1,34 @@
 package woowacourse.shoppingcart.dao;
 
-import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.support.GeneratedKeyHolder;
 import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.stereotype.Repository;
+import woowacourse.shoppingcart.domain.ArchivedOrder;
+import woowacourse.shoppingcart.support.CustomerShards;
 
 import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 @Repository
 public class OrderDao {
 
-    private final JdbcTemplate jdbcTemplate;
+    private final CustomerShards customerShards;
 
-    public OrderDao(final JdbcTemplate jdbcTemplate) {
-        this.jdbcTemplate = jdbcTemplate;
+    public OrderDao(final CustomerShards customerShards) {
+        this.customerShards = customerShards;
     }
 
     public Long addOrders(final Long customerId) {
         final String sql = "INSERT INTO orders (customer_id) VALUES (?)";
         final KeyHolder keyHolder = new GeneratedKeyHolder();
 
-        jdbcTemplate.update(con -> {
+        customerShards.jdbcTemplate(customerId).update(con -> {
             PreparedStatement preparedStatement = con.prepareStatement(sql, new String[]{"id"});
             preparedStatement.setLong(1, customerId);
             return preparedStatement;
@@ -31,11 +38,59 @@ public class OrderDao {
 
     public List<Long> findOrderIdsByCustomerId(final Long customerId) {
         final String sql = "SELECT id FROM orders WHERE customer_id = ? ";
-        return jdbcTemplate.query(sql, (rs, rowNum) -> rs.getLong("id"), customerId);
+        return customerShards.jdbcTemplate(customerId).query(sql, (rs, rowNum) -> rs.getLong("id"), customerId);
     }
 
     public boolean isValidOrderId(final Long customerId, final Long orderId) {
         final String query = "SELECT EXISTS(SELECT * FROM orders WHERE customer_id = ? AND id = ?)";
-        return jdbcTemplate.queryForObject(query, Boolean.class, customerId, orderId);
+        return customerShards.jdbcTemplate(customerId).queryForObject(query, Boolean.class, customerId, orderId);
+    }
+
+    public long findMinIdAt(final int shard) {
+        final Long minId = customerShards.jdbcTemplateAt(shard).queryForObject("SELECT MIN(id) FROM orders", Long.class);
+        return minId == null ? 0 : minId;
+    }
+
+    public long findMaxIdAt(final int shard) {
+        final Long maxId = customerShards.jdbcTemplateAt(shard).queryForObject("SELECT MAX(id) FROM orders", Long.class);
+        return maxId == null ? 0 : maxId;
+    }
+
+    /**
+     * before 보다 먼저 들어온 주문을 id 순서로 limit 개까지 읽는다. 주문 상세는 비어 있다.
+     */
+    public List<ArchivedOrder> findOrdersBeforeAt(final int shard, final LocalDateTime before, final int limit) {
+        final String sql = "SELECT id, customer_id, ordered_at FROM orders WHERE ordered_at < ? ORDER BY id LIMIT ?";
+        return customerShards.jdbcTemplateAt(shard).query(sql, (rs, rowNum) -> new ArchivedOrder(
+                rs.getLong("id"),
+                rs.getLong("customer_id"),
+                rs.getTimestamp("ordered_at").toLocalDateTime(),
+                List.of()
+        ), Timestamp.valueOf(before), limit);
+    }
+
+    /**
+     * @return orderIds 가운데 아직 샤드에 남아 있는 고객의 주문 id
+     */
+    public Set<Long> findIdsAt(final int shard, final Long customerId, final List<Long> orderIds) {
+        if (orderIds.isEmpty()) {
+            return Set.of();
+        }
+        final String placeholders = String.join(", ", Collections.nCopies(orderIds.size(), "?"));
+        final List<Object> args = new ArrayList<>(orderIds.size() + 1);
+        args.add(customerId);
+        args.addAll(orderIds);
+        return new HashSet<>(customerShards.jdbcTemplateAt(shard).query(
+                "SELECT id FROM orders WHERE customer_id = ? AND id IN (" + placeholders + ")",
+                (rs, rowNum) -> rs.getLong("id"), args.toArray()));
+    }
+
+    public int deleteOrdersAt(final int shard, final List<Long> orderIds) {
+        if (orderIds.isEmpty()) {
+            return 0;
+        }
+        final String placeholders = String.join(", ", Collections.nCopies(orderIds.size(), "?"));
+        return customerShards.jdbcTemplateAt(shard)
+                .update("DELETE FROM orders WHERE id IN (" + placeholders + ")", orderIds.toArray());
     }
 }
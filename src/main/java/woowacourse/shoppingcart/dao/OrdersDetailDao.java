@@ -1,27 +1,33 @@
 package woowacourse.shoppingcart.dao;
 
-import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.support.GeneratedKeyHolder;
 import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.stereotype.Repository;
 import woowacourse.shoppingcart.domain.OrderDetail;
+import woowacourse.shoppingcart.support.CustomerShards;
 
 import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
 
 @Repository
 public class OrdersDetailDao {
-    private final JdbcTemplate jdbcTemplate;
+    private final CustomerShards customerShards;
 
-    public OrdersDetailDao(final JdbcTemplate jdbcTemplate) {
-        this.jdbcTemplate = jdbcTemplate;
+    public OrdersDetailDao(final CustomerShards customerShards) {
+        this.customerShards = customerShards;
     }
 
-    public Long addOrdersDetail(final Long ordersId, final Long productId, final int quantity) {
+    public Long addOrdersDetail(final Long customerId, final Long ordersId, final Long productId,
+                                final int quantity) {
         final String sql = "INSERT INTO orders_detail (orders_id, product_id, quantity) VALUES (?, ?, ?)";
         final KeyHolder keyHolder = new GeneratedKeyHolder();
 
-        jdbcTemplate.update(con -> {
+        customerShards.jdbcTemplate(customerId).update(con -> {
             PreparedStatement preparedStatement = con.prepareStatement(sql, new String[]{"id"});
             preparedStatement.setLong(1, ordersId);
             preparedStatement.setLong(2, productId);
@@ -31,11 +37,71 @@ public class OrdersDetailDao {
         return keyHolder.getKey().longValue();
     }
 
-    public List<OrderDetail> findOrdersDetailsByOrderId(final Long orderId) {
+    public List<OrderDetail> findOrdersDetailsByOrderId(final Long customerId, final Long orderId) {
         final String sql = "SELECT product_id, quantity FROM orders_detail WHERE orders_id = ?";
-        return jdbcTemplate.query(sql, (rs, rowNum) -> new OrderDetail(
+        return customerShards.jdbcTemplate(customerId).query(sql, (rs, rowNum) -> new OrderDetail(
                 rs.getLong("product_id"),
                 rs.getInt("quantity")
         ), orderId);
     }
+
+    public void findProductQuantitiesAt(final int shard, final long fromOrderId, final long toOrderId,
+                                        final BiConsumer<Long, Integer> consumer) {
+        final String sql = "SELECT product_id, quantity FROM orders_detail WHERE orders_id BETWEEN ? AND ?";
+        customerShards.jdbcTemplateAt(shard).query(sql, rs -> {
+            consumer.accept(rs.getLong("product_id"), rs.getInt("quantity"));
+        }, fromOrderId, toOrderId);
+    }
+
+    public void findProductIdsByOrderIdAt(final int shard, final long fromOrderId, final long toOrderId,
+                                          final BiConsumer<Long, Long> consumer) {
+        final String sql = "SELECT orders_id, product_id FROM orders_detail WHERE orders_id BETWEEN ? AND ? "
+                + "ORDER BY orders_id";
+        customerShards.jdbcTemplateAt(shard).query(sql, rs -> {
+            consumer.accept(rs.getLong("orders_id"), rs.getLong("product_id"));
+        }, fromOrderId, toOrderId);
+    }
+
+    /**
+     * orders id 가 [fromOrderId, toOrderId] 인 주문의 상세 행을 주문한 고객 id 와 함께 넘긴다.
+     */
+    public void findSalesAt(final int shard, final long fromOrderId, final long toOrderId,
+                            final SaleConsumer consumer) {
+        final String sql = "SELECT o.customer_id, d.product_id, d.quantity FROM orders o "
+                + "JOIN orders_detail d ON d.orders_id = o.id WHERE o.id BETWEEN ? AND ?";
+        customerShards.jdbcTemplateAt(shard).query(sql, rs -> {
+            consumer.accept(rs.getLong("customer_id"), rs.getLong("product_id"), rs.getInt("quantity"));
+        }, fromOrderId, toOrderId);
+    }
+
+    public Map<Long, List<OrderDetail>> findOrdersDetailsByOrderIdsAt(final int shard, final List<Long> orderIds) {
+        final Map<Long, List<OrderDetail>> detailsByOrderId = new HashMap<>();
+        if (orderIds.isEmpty()) {
+            return detailsByOrderId;
+        }
+        final String sql = "SELECT orders_id, product_id, quantity FROM orders_detail WHERE orders_id IN ("
+                + placeholders(orderIds) + ") ORDER BY id";
+        customerShards.jdbcTemplateAt(shard).query(sql, rs -> {
+            detailsByOrderId.computeIfAbsent(rs.getLong("orders_id"), id -> new ArrayList<>())
+                    .add(new OrderDetail(rs.getLong("product_id"), rs.getInt("quantity")));
+        }, orderIds.toArray());
+        return detailsByOrderId;
+    }
+
+    public int deleteOrdersDetailsAt(final int shard, final List<Long> orderIds) {
+        if (orderIds.isEmpty()) {
+            return 0;
+        }
+        return customerShards.jdbcTemplateAt(shard).update(
+                "DELETE FROM orders_detail WHERE orders_id IN (" + placeholders(orderIds) + ")", orderIds.toArray());
+    }
+
+    private String placeholders(final List<Long> ids) {
+        return String.join(", ", Collections.nCopies(ids.size(), "?"));
+    }
+
+    @FunctionalInterface
+    public interface SaleConsumer {
+        void accept(long customerId, long productId, int quantity);
+    }
 }
@@ -6,18 +6,28 @@ import org.springframework.jdbc.support.GeneratedKeyHolder;
 import org.springframework.stereotype.Repository;
 import woowacourse.shoppingcart.domain.Product;
 import woowacourse.shoppingcart.exception.InvalidProductException;
+import woowacourse.shoppingcart.support.CustomerShards;
 
 import java.sql.PreparedStatement;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 @Repository
 public class ProductDao {
+    private static final int STREAM_FETCH_SIZE = 500;
 
     private final JdbcTemplate jdbcTemplate;
+    private final CustomerShards customerShards;
 
-    public ProductDao(final JdbcTemplate jdbcTemplate) {
+    public ProductDao(final JdbcTemplate jdbcTemplate, final CustomerShards customerShards) {
         this.jdbcTemplate = jdbcTemplate;
+        this.customerShards = customerShards;
     }
 
     public Long save(final Product product) {
@@ -32,26 +42,25 @@ public class ProductDao {
             return preparedStatement;
         }, keyHolder);
 
-        return Objects.requireNonNull(keyHolder.getKey()).longValue();
+        final Long productId = Objects.requireNonNull(keyHolder.getKey()).longValue();
+        replicate("INSERT INTO product (id, name, price, image_url) VALUES (?, ?, ?, ?)",
+                productId, product.getName(), product.getPrice(), product.getImageUrl());
+        return productId;
     }
 
     public Product findProductById(final Long productId) {
-        try {
-            final String query = "SELECT name, price, image_url FROM product WHERE id = ?";
-            return jdbcTemplate.queryForObject(query, (resultSet, rowNumber) ->
-                    new Product(
-                            productId,
-                            resultSet.getString("name"), resultSet.getInt("price"),
-                            resultSet.getString("image_url")
-                    ), productId
-            );
-        } catch (EmptyResultDataAccessException e) {
-            throw new InvalidProductException();
-        }
+        return findProduct("SELECT name, price, image_url FROM product WHERE id = ? AND deleted = false", productId);
+    }
+
+    /**
+     * 주문 내역처럼 삭제된 상품도 보여 줘야 하는 곳에서 쓴다.
+     */
+    public Product findProductByIdIncludingDeleted(final Long productId) {
+        return findProduct("SELECT name, price, image_url FROM product WHERE id = ?", productId);
     }
 
     public List<Product> findProducts() {
-        final String query = "SELECT id, name, price, image_url FROM product";
+        final String query = "SELECT id, name, price, image_url FROM product WHERE deleted = false";
         return jdbcTemplate.query(query,
                 (resultSet, rowNumber) ->
                         new Product(
@@ -62,8 +71,121 @@ public class ProductDao {
                         ));
     }
 
+    /**
+     * @return id 가 afterId 보다 큰 상품을 id 순서로 limit 개
+     */
+    public List<Product> findProductsAfter(final long afterId, final int limit) {
+        final String query = "SELECT id, name, price, image_url FROM product "
+                + "WHERE deleted = false AND id > ? ORDER BY id LIMIT ?";
+        return jdbcTemplate.query(query,
+                (resultSet, rowNumber) ->
+                        new Product(
+                                resultSet.getLong("id"),
+                                resultSet.getString("name"),
+                                resultSet.getInt("price"),
+                                resultSet.getString("image_url")
+                        ), afterId, limit);
+    }
+
+    public void findProductsIncludingDeleted(final Consumer<Product> consumer) {
+        streamProducts("SELECT id, name, price, image_url FROM product", consumer);
+    }
+
+    /**
+     * 샤드의 상품 행을 잠그고 가격을 읽는다. 가격 변경과 삭제는 이 잠금 아래에서 장바구니 합계를 함께 고친다.
+     */
+    public Optional<Integer> findPriceForUpdateAt(final int shard, final Long productId) {
+        final String query = "SELECT price FROM product WHERE id = ? AND deleted = false FOR UPDATE";
+        return customerShards.jdbcTemplateAt(shard).queryForList(query, Integer.class, productId).stream()
+                .findFirst();
+    }
+
+    public void updatePriceAt(final int shard, final Long productId, final int price) {
+        customerShards.jdbcTemplateAt(shard)
+                .update("UPDATE product SET price = ? WHERE id = ? AND deleted = false", price, productId);
+    }
+
+    public int findStock(final Long productId) {
+        try {
+            final String query = "SELECT stock FROM product WHERE id = ? AND deleted = false";
+            return jdbcTemplate.queryForObject(query, Integer.class, productId);
+        } catch (EmptyResultDataAccessException e) {
+            throw new InvalidProductException();
+        }
+    }
+
+    public void addStock(final Long productId, final int quantity) {
+        final String query = "UPDATE product SET stock = stock + ? WHERE id = ? AND deleted = false";
+        if (jdbcTemplate.update(query, quantity, productId) == 0) {
+            throw new InvalidProductException();
+        }
+    }
+
+    /**
+     * @return 남은 재고가 모자라 줄이지 못한 상품 id
+     */
+    public Set<Long> decreaseStocks(final Map<Long, Integer> quantityByProductId) {
+        final String query = "UPDATE product SET stock = stock - ? WHERE id = ? AND stock >= ?";
+        final List<Map.Entry<Long, Integer>> entries = List.copyOf(quantityByProductId.entrySet());
+        final List<Object[]> batchArgs = entries.stream()
+                .map(entry -> new Object[]{entry.getValue(), entry.getKey(), entry.getValue()})
+                .collect(Collectors.toList());
+        final int[] rowCounts = jdbcTemplate.batchUpdate(query, batchArgs);
+        final Set<Long> rejected = new HashSet<>();
+        for (int i = 0; i < rowCounts.length; i++) {
+            if (rowCounts[i] == 0) {
+                rejected.add(entries.get(i).getKey());
+            }
+        }
+        return rejected;
+    }
+
+    /**
+     * 장바구니와 주문 상세가 상품을 참조하고 있으므로 행을 지우지 않고 삭제 표시만 한다.
+     * 삭제된 상품을 담은 장바구니 행은 {@link CartItemDao#deleteCartItemsOfDeletedProductsAt} 로 나중에 지운다.
+     */
     public void delete(final Long productId) {
-        final String query = "DELETE FROM product WHERE id = ?";
+        final String query = "UPDATE product SET deleted = true WHERE id = ?";
         jdbcTemplate.update(query, productId);
+        replicate(query, productId);
+    }
+
+    public void deleteAt(final int shard, final Long productId) {
+        customerShards.jdbcTemplateAt(shard).update("UPDATE product SET deleted = true WHERE id = ?", productId);
+    }
+
+    private Product findProduct(final String query, final Long productId) {
+        try {
+            return jdbcTemplate.queryForObject(query, (resultSet, rowNumber) ->
+                    new Product(
+                            productId,
+                            resultSet.getString("name"), resultSet.getInt("price"),
+                            resultSet.getString("image_url")
+                    ), productId
+            );
+        } catch (EmptyResultDataAccessException e) {
+            throw new InvalidProductException();
+        }
+    }
+
+    private void streamProducts(final String query, final Consumer<Product> consumer) {
+        jdbcTemplate.query(connection -> {
+            final PreparedStatement preparedStatement = connection.prepareStatement(query);
+            preparedStatement.setFetchSize(STREAM_FETCH_SIZE);
+            return preparedStatement;
+        }, resultSet -> {
+            consumer.accept(new Product(
+                    resultSet.getLong("id"),
+                    resultSet.getString("name"),
+                    resultSet.getInt("price"),
+                    resultSet.getString("image_url")
+            ));
+        });
+    }
+
+    private void replicate(final String query, final Object... args) {
+        for (final JdbcTemplate replica : customerShards.productReplicas()) {
+            replica.update(query, args);
+        }
     }
 }
@@ -0,0 +1,40 @@
+package woowacourse.shoppingcart.domain;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class ArchivedOrder {
+
+    private final Long id;
+    private final Long customerId;
+    private final LocalDateTime orderedAt;
+    private final List<OrderDetail> orderDetails;
+
+    public ArchivedOrder(final Long id, final Long customerId, final LocalDateTime orderedAt,
+                         final List<OrderDetail> orderDetails) {
+        this.id = id;
+        this.customerId = customerId;
+        this.orderedAt = orderedAt;
+        this.orderDetails = orderDetails;
+    }
+
+    public ArchivedOrder withOrderDetails(final List<OrderDetail> orderDetails) {
+        return new ArchivedOrder(id, customerId, orderedAt, orderDetails);
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getCustomerId() {
+        return customerId;
+    }
+
+    public LocalDateTime getOrderedAt() {
+        return orderedAt;
+    }
+
+    public List<OrderDetail> getOrderDetails() {
+        return orderDetails;
+    }
+}
@@ -0,0 +1,37 @@
+package woowacourse.shoppingcart.domain;
+
+public class BestSeller {
+
+    private Long productId;
+    private String name;
+    private long quantity;
+
+    public BestSeller() {
+    }
+
+    public BestSeller(final Long productId, final long quantity) {
+        this(productId, null, quantity);
+    }
+
+    public BestSeller(final Long productId, final String name, final long quantity) {
+        this.productId = productId;
+        this.name = name;
+        this.quantity = quantity;
+    }
+
+    public BestSeller withName(final String name) {
+        return new BestSeller(productId, name, quantity);
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getQuantity() {
+        return quantity;
+    }
+}
@@ -0,0 +1,27 @@
+package woowacourse.shoppingcart.domain;
+
+public class CartSummary {
+
+    private int itemCount;
+    private long subtotal;
+
+    public CartSummary() {
+    }
+
+    public CartSummary(final int itemCount, final long subtotal) {
+        this.itemCount = itemCount;
+        this.subtotal = subtotal;
+    }
+
+    public static CartSummary empty() {
+        return new CartSummary(0, 0);
+    }
+
+    public int getItemCount() {
+        return itemCount;
+    }
+
+    public long getSubtotal() {
+        return subtotal;
+    }
+}
@@ -0,0 +1,37 @@
+package woowacourse.shoppingcart.domain;
+
+public class CoPurchase {
+
+    private Long productId;
+    private String name;
+    private long orderCount;
+
+    public CoPurchase() {
+    }
+
+    public CoPurchase(final Long productId, final long orderCount) {
+        this(productId, null, orderCount);
+    }
+
+    public CoPurchase(final Long productId, final String name, final long orderCount) {
+        this.productId = productId;
+        this.name = name;
+        this.orderCount = orderCount;
+    }
+
+    public CoPurchase withName(final String name) {
+        return new CoPurchase(productId, name, orderCount);
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getOrderCount() {
+        return orderCount;
+    }
+}
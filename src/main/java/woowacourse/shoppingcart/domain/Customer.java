@@ -0,0 +1,28 @@
+package woowacourse.shoppingcart.domain;
+
+public class Customer {
+    private final Long id;
+    private final String userName;
+    private final String password;
+
+    public Customer(final Long id, final String userName, final String password) {
+        this.id = id;
+        this.userName = userName;
+        this.password = password;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getUserName() {
+        return userName;
+    }
+
+    /**
+     * @return 해시한 비밀번호. 비밀번호 없이 만들어진 고객이면 null
+     */
+    public String getPassword() {
+        return password;
+    }
+}
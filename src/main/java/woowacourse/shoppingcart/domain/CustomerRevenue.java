@@ -0,0 +1,43 @@
+package woowacourse.shoppingcart.domain;
+
+public class CustomerRevenue {
+
+    private Long customerId;
+    private String userName;
+    private long quantity;
+    private long revenue;
+
+    public CustomerRevenue() {
+    }
+
+    public CustomerRevenue(final Long customerId, final long quantity, final long revenue) {
+        this(customerId, null, quantity, revenue);
+    }
+
+    public CustomerRevenue(final Long customerId, final String userName, final long quantity, final long revenue) {
+        this.customerId = customerId;
+        this.userName = userName;
+        this.quantity = quantity;
+        this.revenue = revenue;
+    }
+
+    public CustomerRevenue withUserName(final String userName) {
+        return new CustomerRevenue(customerId, userName, quantity, revenue);
+    }
+
+    public Long getCustomerId() {
+        return customerId;
+    }
+
+    public String getUserName() {
+        return userName;
+    }
+
+    public long getQuantity() {
+        return quantity;
+    }
+
+    public long getRevenue() {
+        return revenue;
+    }
+}
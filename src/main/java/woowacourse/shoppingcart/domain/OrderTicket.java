@@ -0,0 +1,96 @@
+package woowacourse.shoppingcart.domain;
+
+import woowacourse.shoppingcart.dto.OrderRequest;
+
+import java.util.List;
+
+/**
+ * 대기열에 접수된 주문. 쓰기 스레드가 저장을 마치면 주문 id 나 실패 사유가 채워진다.
+ */
+public class OrderTicket {
+
+    private final String id;
+    private final String customerName;
+    private final Long customerId;
+    private final List<OrderRequest> orderRequests;
+    private volatile Status status = Status.PENDING;
+    private volatile Long orderId;
+    private volatile String errorCode;
+    private volatile String errorMessage;
+    private final long createdAtMillis = System.currentTimeMillis();
+    private volatile long completedAtMillis;
+
+    public OrderTicket(final String id, final String customerName, final Long customerId,
+                       final List<OrderRequest> orderRequests) {
+        this.id = id;
+        this.customerName = customerName;
+        this.customerId = customerId;
+        this.orderRequests = List.copyOf(orderRequests);
+    }
+
+    public void complete(final Long orderId) {
+        this.orderId = orderId;
+        finish(Status.COMPLETED);
+    }
+
+    public void fail(final String errorCode, final String errorMessage) {
+        this.errorCode = errorCode;
+        this.errorMessage = errorMessage;
+        finish(Status.FAILED);
+    }
+
+    private void finish(final Status status) {
+        this.completedAtMillis = System.currentTimeMillis();
+        this.status = status;
+    }
+
+    public boolean isOwnedBy(final String customerName) {
+        return this.customerName.equals(customerName);
+    }
+
+    public boolean isPending() {
+        return status == Status.PENDING;
+    }
+
+    /**
+     * 결과가 나온 접수는 결과가 나온 시각으로, 아직 결과가 없는 접수는 접수한 시각으로 millis 보다 오래되었는지 본다.
+     */
+    public boolean isExpiredBefore(final long millis) {
+        if (status == Status.PENDING) {
+            return createdAtMillis < millis;
+        }
+        return completedAtMillis < millis;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public Long getCustomerId() {
+        return customerId;
+    }
+
+    public List<OrderRequest> getOrderRequests() {
+        return orderRequests;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public Long getOrderId() {
+        return orderId;
+    }
+
+    public String getErrorCode() {
+        return errorCode;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    public enum Status {
+        PENDING, COMPLETED, FAILED
+    }
+}
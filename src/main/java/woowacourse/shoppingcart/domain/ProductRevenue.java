@@ -0,0 +1,35 @@
+package woowacourse.shoppingcart.domain;
+
+public class ProductRevenue {
+
+    private Long productId;
+    private String name;
+    private long quantity;
+    private long revenue;
+
+    public ProductRevenue() {
+    }
+
+    public ProductRevenue(final Long productId, final String name, final long quantity, final long revenue) {
+        this.productId = productId;
+        this.name = name;
+        this.quantity = quantity;
+        this.revenue = revenue;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getQuantity() {
+        return quantity;
+    }
+
+    public long getRevenue() {
+        return revenue;
+    }
+}
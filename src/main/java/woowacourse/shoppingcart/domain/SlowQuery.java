@@ -0,0 +1,64 @@
+package woowacourse.shoppingcart.domain;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class SlowQuery {
+
+    private String sql;
+    private String sqlId;
+    private long count;
+    private long totalMillis;
+    private long maxMillis;
+    private List<String> lastParameters;
+    private LocalDateTime lastSeenAt;
+    private String plan;
+
+    public SlowQuery() {
+    }
+
+    public SlowQuery(final String sql, final String sqlId, final long count, final long totalMillis,
+                     final long maxMillis, final List<String> lastParameters, final LocalDateTime lastSeenAt,
+                     final String plan) {
+        this.sql = sql;
+        this.sqlId = sqlId;
+        this.count = count;
+        this.totalMillis = totalMillis;
+        this.maxMillis = maxMillis;
+        this.lastParameters = lastParameters;
+        this.lastSeenAt = lastSeenAt;
+        this.plan = plan;
+    }
+
+    public String getSql() {
+        return sql;
+    }
+
+    public String getSqlId() {
+        return sqlId;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getTotalMillis() {
+        return totalMillis;
+    }
+
+    public long getMaxMillis() {
+        return maxMillis;
+    }
+
+    public List<String> getLastParameters() {
+        return lastParameters;
+    }
+
+    public LocalDateTime getLastSeenAt() {
+        return lastSeenAt;
+    }
+
+    public String getPlan() {
+        return plan;
+    }
+}
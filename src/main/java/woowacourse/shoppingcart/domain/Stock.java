@@ -0,0 +1,23 @@
+package woowacourse.shoppingcart.domain;
+
+public class Stock {
+
+    private Long productId;
+    private int quantity;
+
+    public Stock() {
+    }
+
+    public Stock(final Long productId, final int quantity) {
+        this.productId = productId;
+        this.quantity = quantity;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+}
@@ -0,0 +1,48 @@
+package woowacourse.shoppingcart.dto;
+
+import woowacourse.shoppingcart.domain.OrderTicket;
+
+public class OrderTicketResponse {
+    private String id;
+    private String status;
+    private Long orderId;
+    private String code;
+    private String message;
+
+    public OrderTicketResponse() {
+    }
+
+    public OrderTicketResponse(final String id, final String status, final Long orderId,
+                               final String code, final String message) {
+        this.id = id;
+        this.status = status;
+        this.orderId = orderId;
+        this.code = code;
+        this.message = message;
+    }
+
+    public static OrderTicketResponse from(final OrderTicket ticket) {
+        return new OrderTicketResponse(ticket.getId(), ticket.getStatus().name(), ticket.getOrderId(),
+                ticket.getErrorCode(), ticket.getErrorMessage());
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public Long getOrderId() {
+        return orderId;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+}
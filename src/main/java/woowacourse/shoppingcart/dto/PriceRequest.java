@@ -0,0 +1,21 @@
+package woowacourse.shoppingcart.dto;
+
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.PositiveOrZero;
+
+public class PriceRequest {
+    @NotNull
+    @PositiveOrZero
+    private Integer price;
+
+    public PriceRequest() {
+    }
+
+    public PriceRequest(final Integer price) {
+        this.price = price;
+    }
+
+    public Integer getPrice() {
+        return price;
+    }
+}
@@ -0,0 +1,18 @@
+package woowacourse.shoppingcart.exception;
+
+/**
+ * 요청을 거절하는 정상 흐름에서 던지는 예외.
+ * 호출 위치가 아니라 에러 코드로 구분하므로 스택 트레이스를 채우지 않는다.
+ */
+public abstract class DomainException extends RuntimeException {
+    private final ErrorCode errorCode;
+
+    protected DomainException(final ErrorCode errorCode, final String msg) {
+        super(msg, null, false, false);
+        this.errorCode = errorCode;
+    }
+
+    public ErrorCode getErrorCode() {
+        return errorCode;
+    }
+}
@@ -0,0 +1,31 @@
+package woowacourse.shoppingcart.exception;
+
+import org.springframework.http.HttpStatus;
+
+public enum ErrorCode {
+    INVALID_REQUEST(HttpStatus.BAD_REQUEST),
+    DATA_NOT_FOUND(HttpStatus.BAD_REQUEST),
+    INVALID_CUSTOMER(HttpStatus.BAD_REQUEST),
+    INVALID_PRODUCT(HttpStatus.BAD_REQUEST),
+    INVALID_CART_ITEM(HttpStatus.BAD_REQUEST),
+    NOT_IN_CUSTOMER_CART_ITEM(HttpStatus.BAD_REQUEST),
+    INVALID_ORDER(HttpStatus.BAD_REQUEST),
+    OUT_OF_STOCK(HttpStatus.CONFLICT),
+    INVALID_TOKEN(HttpStatus.UNAUTHORIZED),
+    INVALID_LOGIN(HttpStatus.UNAUTHORIZED),
+    NOT_ADMIN(HttpStatus.FORBIDDEN),
+    LOAD_TIMEOUT(HttpStatus.SERVICE_UNAVAILABLE),
+    ORDER_QUEUE_FULL(HttpStatus.SERVICE_UNAVAILABLE),
+    INVALID_RECORDING(HttpStatus.CONFLICT),
+    UNHANDLED(HttpStatus.BAD_REQUEST);
+
+    private final HttpStatus status;
+
+    ErrorCode(final HttpStatus status) {
+        this.status = status;
+    }
+
+    public HttpStatus getStatus() {
+        return status;
+    }
+}
@@ -0,0 +1,7 @@
+package woowacourse.shoppingcart.exception;
+
+public class InvalidRecordingException extends DomainException {
+    public InvalidRecordingException(final String msg) {
+        super(ErrorCode.INVALID_RECORDING, msg);
+    }
+}
@@ -0,0 +1,11 @@
+package woowacourse.shoppingcart.exception;
+
+public class LoadTimeoutException extends DomainException {
+    public LoadTimeoutException() {
+        this("조회가 지연되고 있습니다. 잠시 후 다시 시도해 주세요.");
+    }
+
+    public LoadTimeoutException(final String msg) {
+        super(ErrorCode.LOAD_TIMEOUT, msg);
+    }
+}
@@ -1,11 +1,11 @@
 package woowacourse.shoppingcart.exception;
 
-public class NotInCustomerCartItemException extends RuntimeException {
+public class NotInCustomerCartItemException extends DomainException {
     public NotInCustomerCartItemException() {
         this("장바구니 아이템이 없습니다.");
     }
 
     public NotInCustomerCartItemException(final String msg) {
-        super(msg);
+        super(ErrorCode.NOT_IN_CUSTOMER_CART_ITEM, msg);
     }
 }
@@ -0,0 +1,11 @@
+package woowacourse.shoppingcart.exception;
+
+public class OrderQueueFullException extends DomainException {
+    public OrderQueueFullException() {
+        this("주문이 몰려 접수하지 못했습니다. 잠시 후 다시 시도해 주세요.");
+    }
+
+    public OrderQueueFullException(final String msg) {
+        super(ErrorCode.ORDER_QUEUE_FULL, msg);
+    }
+}
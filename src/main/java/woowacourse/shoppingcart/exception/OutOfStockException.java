@@ -0,0 +1,11 @@
+package woowacourse.shoppingcart.exception;
+
+public class OutOfStockException extends DomainException {
+    public OutOfStockException() {
+        this("재고가 부족합니다.");
+    }
+
+    public OutOfStockException(final String msg) {
+        super(ErrorCode.OUT_OF_STOCK, msg);
+    }
+}
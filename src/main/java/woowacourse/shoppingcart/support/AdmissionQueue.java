@@ -0,0 +1,144 @@
+package woowacourse.shoppingcart.support;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * 요청을 크기가 정해진 대기열에 받아 두고, 쓰기 스레드 하나가 batchSize 개씩 꺼내 writer 에 넘긴다.
+ * 대기열이 가득 차면 기다리지 않고 바로 거절한다.
+ * writer 는 넘겨받은 항목의 성공과 실패를 스스로 기록해야 하며, writer 에서 빠져나온 예외는 그 묶음을 failureHandler 에 넘기고 계속 진행한다.
+ */
+public class AdmissionQueue<T> implements MeterBinder {
+    private static final String METRIC_PREFIX = "shoppingcart.admission";
+    private static final long POLL_MILLIS = 100;
+
+    private final String name;
+    private final int batchSize;
+    private final BlockingQueue<T> queue;
+    private final Consumer<List<T>> writer;
+    private final Consumer<List<T>> failureHandler;
+    private final Thread writerThread;
+    private final LongAdder acceptedCount = new LongAdder();
+    private final LongAdder rejectedCount = new LongAdder();
+    private final LongAdder batchCount = new LongAdder();
+    private final LongAdder failedBatchCount = new LongAdder();
+    private volatile boolean running = true;
+
+    public AdmissionQueue(final String name, final int capacity, final int batchSize,
+                          final Consumer<List<T>> writer) {
+        this(name, capacity, batchSize, writer, batch -> {
+        });
+    }
+
+    /**
+     * @param failureHandler writer 가 예외로 끝난 묶음을 받아 아직 결과가 없는 항목을 실패로 기록한다.
+     */
+    public AdmissionQueue(final String name, final int capacity, final int batchSize,
+                          final Consumer<List<T>> writer, final Consumer<List<T>> failureHandler) {
+        if (capacity <= 0 || batchSize <= 0) {
+            throw new IllegalArgumentException("capacity 와 batchSize 는 양수여야 합니다.");
+        }
+        this.name = name;
+        this.batchSize = batchSize;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.writer = writer;
+        this.failureHandler = failureHandler;
+        this.writerThread = new Thread(this::drain, name + "-admission-writer");
+        this.writerThread.setDaemon(true);
+    }
+
+    public void start() {
+        writerThread.start();
+    }
+
+    /**
+     * @return 대기열에 들어가면 true, 가득 찼거나 닫혔으면 false
+     */
+    public boolean offer(final T item) {
+        if (running && queue.offer(item)) {
+            acceptedCount.increment();
+            return true;
+        }
+        rejectedCount.increment();
+        return false;
+    }
+
+    /**
+     * 새 요청을 더 받지 않고, 이미 받은 요청을 모두 쓴 뒤 쓰기 스레드를 끝낸다.
+     */
+    public void close() throws InterruptedException {
+        running = false;
+        writerThread.join();
+    }
+
+    public int size() {
+        return queue.size();
+    }
+
+    public long getAcceptedCount() {
+        return acceptedCount.sum();
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount.sum();
+    }
+
+    public long getBatchCount() {
+        return batchCount.sum();
+    }
+
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        FunctionCounter.builder(METRIC_PREFIX + ".accepted", acceptedCount, LongAdder::sum)
+                .tag("name", name).register(registry);
+        FunctionCounter.builder(METRIC_PREFIX + ".rejected", rejectedCount, LongAdder::sum)
+                .tag("name", name).register(registry);
+        FunctionCounter.builder(METRIC_PREFIX + ".batches", batchCount, LongAdder::sum)
+                .tag("name", name).register(registry);
+        FunctionCounter.builder(METRIC_PREFIX + ".failed-batches", failedBatchCount, LongAdder::sum)
+                .tag("name", name).register(registry);
+        Gauge.builder(METRIC_PREFIX + ".depth", queue, BlockingQueue::size)
+                .tag("name", name).register(registry);
+    }
+
+    private void drain() {
+        final List<T> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                final T first = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                write(batch);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(final List<T> batch) {
+        batchCount.increment();
+        final List<T> items = List.copyOf(batch);
+        try {
+            writer.accept(items);
+        } catch (final RuntimeException e) {
+            failedBatchCount.increment();
+            failureHandler.accept(items);
+        }
+    }
+}
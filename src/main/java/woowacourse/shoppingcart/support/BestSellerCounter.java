@@ -0,0 +1,22 @@
+package woowacourse.shoppingcart.support;
+
+import woowacourse.shoppingcart.domain.BestSeller;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * 상품별 판매 수량을 누적하고 많이 팔린 순으로 상위 상품을 돌려준다.
+ */
+public interface BestSellerCounter {
+    // 수량이 적을수록, 같으면 상품 id 가 클수록 앞에 온다. 상위 목록은 이 순서의 역순이다.
+    Comparator<BestSeller> ASCENDING = Comparator.comparingLong(BestSeller::getQuantity)
+            .thenComparing(BestSeller::getProductId, Comparator.reverseOrder());
+
+    void add(long productId, long quantity);
+
+    List<BestSeller> top(int limit);
+
+    // 저장된 주문으로 다시 쌓기 전에 비운다.
+    void clear();
+}
@@ -0,0 +1,86 @@
+package woowacourse.shoppingcart.support;
+
+import woowacourse.shoppingcart.domain.CoPurchase;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * 같은 주문에 함께 담긴 상품 쌍마다 주문 수를 센다.
+ * 상품마다 함께 산 상품을 최대 maxNeighbors 개만 두고, 가득 찬 상태에서 새 상품이 들어오면
+ * 가장 적게 함께 산 상품을 밀어내고 그 횟수에 1 을 더한 값으로 시작한다(Space-Saving).
+ * 그래서 자주 함께 팔린 상품은 남고, 횟수는 실제보다 작게 나오지 않는다.
+ */
+public class CoPurchaseCounter {
+    private static final Comparator<CoPurchase> MOST_FIRST = Comparator.comparingLong(CoPurchase::getOrderCount)
+            .reversed()
+            .thenComparing(CoPurchase::getProductId);
+
+    private final int maxNeighbors;
+    private final Map<Long, LongLongMap> neighbors = new ConcurrentHashMap<>();
+
+    public CoPurchaseCounter(final int maxNeighbors) {
+        if (maxNeighbors <= 0) {
+            throw new IllegalArgumentException("maxNeighbors 는 양수여야 합니다.");
+        }
+        this.maxNeighbors = maxNeighbors;
+    }
+
+    public void addOrder(final Collection<Long> productIds) {
+        final long[] distinct = productIds.stream()
+                .mapToLong(Long::longValue)
+                .distinct()
+                .toArray();
+        for (final long productId : distinct) {
+            for (final long neighborId : distinct) {
+                if (productId != neighborId) {
+                    increment(productId, neighborId);
+                }
+            }
+        }
+    }
+
+    public List<CoPurchase> top(final long productId, final int limit) {
+        final LongLongMap counts = neighbors.get(productId);
+        if (counts == null) {
+            return List.of();
+        }
+        final List<CoPurchase> coPurchases = new ArrayList<>();
+        synchronized (counts) {
+            counts.forEach((neighborId, orderCount) -> coPurchases.add(new CoPurchase(neighborId, orderCount)));
+        }
+        return coPurchases.stream()
+                .sorted(MOST_FIRST)
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    // 저장된 주문으로 다시 쌓기 전에 비운다.
+    public void clear() {
+        neighbors.clear();
+    }
+
+    private void increment(final long productId, final long neighborId) {
+        final LongLongMap counts = neighbors.computeIfAbsent(productId, ignored -> new LongLongMap(maxNeighbors));
+        synchronized (counts) {
+            if (counts.size() < maxNeighbors || counts.containsKey(neighborId)) {
+                counts.addTo(neighborId, 1);
+                return;
+            }
+            final long[] least = {0, Long.MAX_VALUE};
+            counts.forEach((id, orderCount) -> {
+                if (orderCount < least[1]) {
+                    least[0] = id;
+                    least[1] = orderCount;
+                }
+            });
+            counts.remove(least[0]);
+            counts.addTo(neighborId, least[1] + 1);
+        }
+    }
+}
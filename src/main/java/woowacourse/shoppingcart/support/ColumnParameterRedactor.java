@@ -0,0 +1,76 @@
+package woowacourse.shoppingcart.support;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * 지정한 열에 바인딩된 값을 가린다.
+ * INSERT INTO t (a, b) VALUES (?, ?) 는 열 목록의 위치로, 그 밖의 ? 는 바로 앞의 "열 =", "열 IN (" 같은 비교로 열을 찾는다.
+ * 열을 찾지 못한 값은 그대로 둔다.
+ */
+public class ColumnParameterRedactor implements QueryParameterRedactor {
+    private static final String MASK = "****";
+    private static final Pattern INSERT = Pattern.compile(
+            "(?is)^\\s*INSERT\\s+INTO\\s+\\w+\\s*\\(([^)]*)\\)\\s*VALUES\\s*(.*)$");
+    private static final Pattern COMPARED_COLUMN = Pattern.compile(
+            "(?is)(?:\\w+\\.)?(\\w+)\\s*(?:=|<>|!=|<=|>=|<|>|\\bLIKE|\\bIN\\s*\\((?:\\s*\\?\\s*,)*)\\s*$");
+
+    private final Set<String> columns;
+
+    public ColumnParameterRedactor(final Set<String> columns) {
+        this.columns = columns.stream()
+                .map(column -> column.trim().toLowerCase(Locale.ROOT))
+                .filter(column -> !column.isEmpty())
+                .collect(Collectors.toSet());
+    }
+
+    @Override
+    public List<Object> redact(final String sql, final List<Object> parameters) {
+        if (columns.isEmpty() || parameters.isEmpty()) {
+            return parameters;
+        }
+        final List<String> placeholderColumns = placeholderColumns(sql);
+        final List<Object> redacted = new ArrayList<>(parameters);
+        for (int i = 0; i < redacted.size() && i < placeholderColumns.size(); i++) {
+            final String column = placeholderColumns.get(i);
+            if (column != null && columns.contains(column) && redacted.get(i) != null) {
+                redacted.set(i, MASK);
+            }
+        }
+        return redacted;
+    }
+
+    private List<String> placeholderColumns(final String sql) {
+        final Matcher insert = INSERT.matcher(sql);
+        if (insert.matches()) {
+            final List<String> insertColumns = Arrays.stream(insert.group(1).split(","))
+                    .map(column -> column.trim().toLowerCase(Locale.ROOT))
+                    .collect(Collectors.toList());
+            final List<String> placeholderColumns = new ArrayList<>();
+            final int placeholders = SqlNormalizer.countPlaceholders(insert.group(2));
+            for (int i = 0; i < placeholders; i++) {
+                placeholderColumns.add(insertColumns.get(i % insertColumns.size()));
+            }
+            return placeholderColumns;
+        }
+
+        final List<String> placeholderColumns = new ArrayList<>();
+        boolean quoted = false;
+        for (int i = 0; i < sql.length(); i++) {
+            final char c = sql.charAt(i);
+            if (c == '\'') {
+                quoted = !quoted;
+            } else if (c == '?' && !quoted) {
+                final Matcher compared = COMPARED_COLUMN.matcher(sql.substring(0, i));
+                placeholderColumns.add(compared.find() ? compared.group(1).toLowerCase(Locale.ROOT) : null);
+            }
+        }
+        return placeholderColumns;
+    }
+}
@@ -0,0 +1,78 @@
+package woowacourse.shoppingcart.support;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * customer id 로 cart_item, orders, orders_detail 이 저장된 샤드를 고른다.
+ * 0번 샤드는 customer 와 product 원본이 있는 기본 DB 이고, 1번부터의 샤드는 product 복제본만 함께 가진다.
+ * 샤드 선택에는 jump consistent hash 를 사용해 샤드를 뒤에 추가해도 약 1/n 의 고객만 옮겨 가도록 한다.
+ */
+public class CustomerShards {
+    private final List<JdbcTemplate> jdbcTemplates;
+    private final List<TransactionTemplate> transactionTemplates;
+
+    public CustomerShards(final JdbcTemplate global) {
+        this(global, List.of());
+    }
+
+    public CustomerShards(final JdbcTemplate global, final List<JdbcTemplate> additionalShards) {
+        final List<JdbcTemplate> shards = new ArrayList<>();
+        shards.add(global);
+        shards.addAll(additionalShards);
+        this.jdbcTemplates = Collections.unmodifiableList(shards);
+        this.transactionTemplates = shards.stream()
+                .map(shard -> new TransactionTemplate(new DataSourceTransactionManager(shard.getDataSource())))
+                .collect(Collectors.toUnmodifiableList());
+    }
+
+    public JdbcTemplate jdbcTemplate(final Long customerId) {
+        return jdbcTemplates.get(shardOf(customerId));
+    }
+
+    public JdbcTemplate jdbcTemplateAt(final int shard) {
+        return jdbcTemplates.get(shard);
+    }
+
+    /**
+     * 고객 샤드의 트랜잭션 안에서 실행한다.
+     * 0번 샤드는 기본 DB 와 같은 DataSource 이므로 이미 열린 트랜잭션이 있으면 그 트랜잭션에 참여한다.
+     */
+    public <T> T inTransaction(final Long customerId, final Supplier<T> action) {
+        return inTransactionAt(shardOf(customerId), action);
+    }
+
+    public <T> T inTransactionAt(final int shard, final Supplier<T> action) {
+        return transactionTemplates.get(shard).execute(status -> action.get());
+    }
+
+    public List<JdbcTemplate> productReplicas() {
+        return jdbcTemplates.subList(1, jdbcTemplates.size());
+    }
+
+    public int shardOf(final Long customerId) {
+        return jumpConsistentHash(customerId, jdbcTemplates.size());
+    }
+
+    public int size() {
+        return jdbcTemplates.size();
+    }
+
+    static int jumpConsistentHash(long key, final int buckets) {
+        long bucket = -1;
+        long next = 0;
+        while (next < buckets) {
+            bucket = next;
+            key = key * 2862933555777941757L + 1;
+            next = (long) ((bucket + 1) * ((double) (1L << 31) / (double) ((key >>> 33) + 1)));
+        }
+        return (int) bucket;
+    }
+}
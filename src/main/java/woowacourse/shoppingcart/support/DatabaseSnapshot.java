@@ -0,0 +1,294 @@
+package woowacourse.shoppingcart.support;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 모든 샤드의 표를 gzip 으로 압축한 이진 파일 하나로 내보내고, 그 파일로 되돌린다.
+ * 파일에는 샤드마다 표 이름, 열 이름과 형식, 행이 차례로 들어 있고 정수는 가변 길이로 쓴다.
+ * 되돌릴 때는 샤드마다 한 연결에서 참조 무결성 검사를 끄고 표를 비운 뒤 prepared INSERT 를 batchSize 개씩 묶어 실행하고, 끝나면 검사를 다시 켠다.
+ * 검사를 다시 켤 때 기존 행을 검증하지 않으므로 같은 샤드 구성에서 내보낸 파일만 되돌린다.
+ * 내보내는 동안의 쓰기는 고려하지 않으므로 쓰기를 멈춘 상태에서 실행해야 한다.
+ */
+public class DatabaseSnapshot {
+    private static final int MAGIC = 0x53435350;
+    private static final int VERSION = 1;
+    private static final List<String> GLOBAL_TABLES = List.of(
+            "customer", "product", "cart_item", "cart_summary", "orders", "orders_detail");
+    private static final List<String> SHARD_TABLES = GLOBAL_TABLES.subList(1, GLOBAL_TABLES.size());
+    private static final String COLUMN_NAME = "[a-z_]+";
+    private static final byte END = 0;
+    private static final byte ROW = 1;
+    private static final byte LONG = 1;
+    private static final byte STRING = 2;
+    private static final byte BOOLEAN = 3;
+    private static final byte TIMESTAMP = 4;
+
+    private final CustomerShards customerShards;
+    private final int batchSize;
+
+    public DatabaseSnapshot(final CustomerShards customerShards, final int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize 는 양수여야 합니다.");
+        }
+        this.customerShards = customerShards;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * 임시 파일에 다 쓴 뒤 이름을 바꾸므로 쓰는 도중에 실패해도 기존 파일은 그대로 남는다.
+     *
+     * @return 내보낸 행 수
+     */
+    public long export(final Path file) {
+        try {
+            final Path directory = file.toAbsolutePath().getParent();
+            Files.createDirectories(directory);
+            final Path temporary = Files.createTempFile(directory, "writing-", ".tmp");
+            long rows = 0;
+            try (final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                    new GZIPOutputStream(Files.newOutputStream(temporary))))) {
+                out.writeInt(MAGIC);
+                out.writeByte(VERSION);
+                VarLongs.write(out, customerShards.size());
+                for (int shard = 0; shard < customerShards.size(); shard++) {
+                    final List<String> tables = tablesAt(shard);
+                    VarLongs.write(out, tables.size());
+                    for (final String table : tables) {
+                        rows += exportTable(customerShards.jdbcTemplateAt(shard), table, out);
+                    }
+                }
+            }
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return rows;
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 파일에 있는 표를 비우고 파일의 행으로 채운다. 중간에 실패하면 표가 비어 있을 수 있으므로 다시 실행해야 한다.
+     *
+     * @return 되돌린 행 수
+     */
+    public long restore(final Path file) {
+        try (final DataInputStream in = new DataInputStream(new BufferedInputStream(
+                new GZIPInputStream(Files.newInputStream(file))))) {
+            if (in.readInt() != MAGIC || in.readByte() != VERSION) {
+                throw new IOException("스냅샷 파일 형식이 아닙니다.");
+            }
+            final int shards = (int) VarLongs.read(in);
+            if (shards != customerShards.size()) {
+                throw new IllegalStateException(String.format(
+                        "스냅샷의 샤드 수(%d)가 현재 샤드 수(%d)와 다릅니다.", shards, customerShards.size()));
+            }
+            long rows = 0;
+            for (int shard = 0; shard < shards; shard++) {
+                final int currentShard = shard;
+                rows += customerShards.jdbcTemplateAt(shard).execute(
+                        (ConnectionCallback<Long>) connection -> restoreShard(connection, currentShard, in));
+            }
+            return rows;
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private List<String> tablesAt(final int shard) {
+        return shard == 0 ? GLOBAL_TABLES : SHARD_TABLES;
+    }
+
+    private long exportTable(final JdbcTemplate jdbcTemplate, final String table, final DataOutputStream out) {
+        return jdbcTemplate.query("SELECT * FROM " + table, (ResultSetExtractor<Long>) resultSet -> {
+            try {
+                final byte[] types = writeHeader(table, resultSet.getMetaData(), out);
+                long rows = 0;
+                while (resultSet.next()) {
+                    out.writeByte(ROW);
+                    for (int column = 0; column < types.length; column++) {
+                        writeValue(resultSet, column + 1, types[column], out);
+                    }
+                    rows++;
+                }
+                out.writeByte(END);
+                return rows;
+            } catch (final IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private byte[] writeHeader(final String table, final ResultSetMetaData metaData, final DataOutputStream out)
+            throws SQLException, IOException {
+        out.writeUTF(table);
+        VarLongs.write(out, metaData.getColumnCount());
+        final byte[] types = new byte[metaData.getColumnCount()];
+        for (int column = 0; column < types.length; column++) {
+            types[column] = typeOf(metaData.getColumnType(column + 1), table);
+            out.writeUTF(metaData.getColumnName(column + 1).toLowerCase());
+            out.writeByte(types[column]);
+        }
+        return types;
+    }
+
+    private byte typeOf(final int sqlType, final String table) {
+        switch (sqlType) {
+            case Types.BIGINT:
+            case Types.INTEGER:
+            case Types.SMALLINT:
+            case Types.TINYINT:
+                return LONG;
+            case Types.VARCHAR:
+            case Types.CHAR:
+            case Types.LONGVARCHAR:
+                return STRING;
+            case Types.BOOLEAN:
+            case Types.BIT:
+                return BOOLEAN;
+            case Types.TIMESTAMP:
+                return TIMESTAMP;
+            default:
+                throw new IllegalStateException(table + " 표에 스냅샷이 지원하지 않는 열 형식(" + sqlType + ")이 있습니다.");
+        }
+    }
+
+    private void writeValue(final ResultSet resultSet, final int column, final byte type,
+                            final DataOutputStream out) throws SQLException, IOException {
+        final Object value = resultSet.getObject(column);
+        out.writeBoolean(value != null);
+        if (value == null) {
+            return;
+        }
+        if (type == LONG) {
+            VarLongs.write(out, VarLongs.zigZag(resultSet.getLong(column)));
+        } else if (type == STRING) {
+            out.writeUTF(resultSet.getString(column));
+        } else if (type == BOOLEAN) {
+            out.writeBoolean(resultSet.getBoolean(column));
+        } else {
+            final Timestamp timestamp = resultSet.getTimestamp(column);
+            VarLongs.write(out, VarLongs.zigZag(Math.floorDiv(timestamp.getTime(), 1000)));
+            VarLongs.write(out, timestamp.getNanos());
+        }
+    }
+
+    private long restoreShard(final Connection connection, final int shard, final DataInputStream in)
+            throws SQLException {
+        final boolean autoCommit = connection.getAutoCommit();
+        try (final Statement statement = connection.createStatement()) {
+            statement.execute("SET REFERENTIAL_INTEGRITY FALSE");
+            connection.setAutoCommit(false);
+            try {
+                long rows = 0;
+                final int tables = (int) VarLongs.read(in);
+                for (int i = 0; i < tables; i++) {
+                    rows += restoreTable(connection, statement, shard, in);
+                }
+                connection.commit();
+                return rows;
+            } catch (final SQLException | IOException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+                statement.execute("SET REFERENTIAL_INTEGRITY TRUE");
+            }
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private long restoreTable(final Connection connection, final Statement statement, final int shard,
+                              final DataInputStream in) throws SQLException, IOException {
+        final String table = in.readUTF();
+        if (!tablesAt(shard).contains(table)) {
+            throw new IOException(shard + "번 샤드에 없는 표입니다: " + table);
+        }
+        final int columnCount = (int) VarLongs.read(in);
+        final String[] columns = new String[columnCount];
+        final byte[] types = new byte[columnCount];
+        for (int column = 0; column < columnCount; column++) {
+            columns[column] = in.readUTF();
+            types[column] = in.readByte();
+            if (!columns[column].matches(COLUMN_NAME)) {
+                throw new IOException(table + " 표의 열 이름이 올바르지 않습니다: " + columns[column]);
+            }
+        }
+
+        // TRUNCATE 는 H2 에서 바로 커밋되어 실패해도 되돌릴 수 없으므로 DELETE 로 비운다.
+        statement.execute("DELETE FROM " + table);
+        final String sql = "INSERT INTO " + table + " (" + String.join(", ", columns) + ") VALUES ("
+                + String.join(", ", Collections.nCopies(columnCount, "?")) + ")";
+        long rows = 0;
+        try (final PreparedStatement insert = connection.prepareStatement(sql)) {
+            while (in.readByte() == ROW) {
+                for (int column = 0; column < columnCount; column++) {
+                    readValue(in, insert, column + 1, types[column]);
+                }
+                insert.addBatch();
+                if (++rows % batchSize == 0) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+        return rows;
+    }
+
+    private void readValue(final DataInputStream in, final PreparedStatement insert, final int column,
+                           final byte type) throws SQLException, IOException {
+        if (!in.readBoolean()) {
+            insert.setNull(column, sqlTypeOf(type));
+            return;
+        }
+        if (type == LONG) {
+            insert.setLong(column, VarLongs.unZigZag(VarLongs.read(in)));
+        } else if (type == STRING) {
+            insert.setString(column, in.readUTF());
+        } else if (type == BOOLEAN) {
+            insert.setBoolean(column, in.readBoolean());
+        } else if (type == TIMESTAMP) {
+            final Timestamp timestamp = new Timestamp(VarLongs.unZigZag(VarLongs.read(in)) * 1000);
+            timestamp.setNanos((int) VarLongs.read(in));
+            insert.setTimestamp(column, timestamp);
+        } else {
+            throw new IOException("알 수 없는 열 형식입니다: " + type);
+        }
+    }
+
+    private int sqlTypeOf(final byte type) {
+        if (type == LONG) {
+            return Types.BIGINT;
+        }
+        if (type == STRING) {
+            return Types.VARCHAR;
+        }
+        if (type == BOOLEAN) {
+            return Types.BOOLEAN;
+        }
+        return Types.TIMESTAMP;
+    }
+}
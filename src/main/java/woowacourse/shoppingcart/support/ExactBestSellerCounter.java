@@ -0,0 +1,41 @@
+package woowacourse.shoppingcart.support;
+
+import woowacourse.shoppingcart.domain.BestSeller;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 모든 상품의 수량을 정확히 센다. 메모리는 팔린 적 있는 상품 수에 비례한다.
+ */
+public class ExactBestSellerCounter implements BestSellerCounter {
+    private final Map<Long, LongAdder> quantities = new ConcurrentHashMap<>();
+
+    @Override
+    public void add(final long productId, final long quantity) {
+        quantities.computeIfAbsent(productId, ignored -> new LongAdder()).add(quantity);
+    }
+
+    @Override
+    public List<BestSeller> top(final int limit) {
+        final PriorityQueue<BestSeller> lowestFirst = new PriorityQueue<>(ASCENDING);
+        quantities.forEach((productId, quantity) -> {
+            lowestFirst.add(new BestSeller(productId, quantity.sum()));
+            if (lowestFirst.size() > limit) {
+                lowestFirst.poll();
+            }
+        });
+        final List<BestSeller> top = new ArrayList<>(lowestFirst);
+        top.sort(ASCENDING.reversed());
+        return top;
+    }
+
+    @Override
+    public void clear() {
+        quantities.clear();
+    }
+}
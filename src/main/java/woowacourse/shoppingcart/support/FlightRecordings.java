@@ -0,0 +1,96 @@
+package woowacourse.shoppingcart.support;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import woowacourse.shoppingcart.exception.InvalidRecordingException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * 관리자 요청으로 JFR 기록 하나를 시작하고, 기록 중인 내용을 파일로 쓰고, 멈춘다.
+ * JDK 가 제공하는 설정(default, profile)에 이 애플리케이션의 JDBC, 서비스 이벤트를 더해 기록한다.
+ * 한 번에 하나만 기록하며, 기록 파일은 directory 에 쓰고 경로를 돌려준다. 파일을 다 읽은 쪽이 지운다.
+ */
+public class FlightRecordings {
+    private static final DateTimeFormatter NAME_TIME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+    private static final DateTimeFormatter FILE_TIME = DateTimeFormatter.ofPattern("HHmmss-SSS");
+
+    private final Path directory;
+    private final Duration maxAge;
+    private final Clock clock;
+    private Recording recording;
+
+    public FlightRecordings(final Path directory, final Duration maxAge, final Clock clock) {
+        this.directory = directory;
+        this.maxAge = maxAge;
+        this.clock = clock;
+    }
+
+    public synchronized void start(final String settings) {
+        if (recording != null) {
+            throw new InvalidRecordingException("이미 기록 중입니다.");
+        }
+        final Recording started;
+        try {
+            started = new Recording(Configuration.getConfiguration(settings));
+        } catch (final IOException | ParseException e) {
+            throw new IllegalArgumentException("JFR 설정을 읽을 수 없습니다: " + settings, e);
+        }
+        started.setName("shoppingcart-" + LocalDateTime.now(clock).format(NAME_TIME));
+        started.setToDisk(true);
+        started.setMaxAge(maxAge);
+        started.enable(JdbcCallEvent.class).withStackTrace();
+        started.enable(ServiceCallEvent.class);
+        started.start();
+        recording = started;
+    }
+
+    /**
+     * 기록을 멈추지 않고 지금까지의 내용을 파일로 쓴다.
+     */
+    public synchronized Path dump() {
+        return write(requireRecording());
+    }
+
+    public synchronized Path stop() {
+        final Recording stopped = requireRecording();
+        stopped.stop();
+        try {
+            return write(stopped);
+        } finally {
+            stopped.close();
+            recording = null;
+        }
+    }
+
+    public synchronized boolean isRecording() {
+        return recording != null;
+    }
+
+    private Recording requireRecording() {
+        if (recording == null) {
+            throw new InvalidRecordingException("기록 중이 아닙니다.");
+        }
+        return recording;
+    }
+
+    private Path write(final Recording target) {
+        final Path file = directory.resolve(
+                target.getName() + "-" + LocalDateTime.now(clock).format(FILE_TIME) + ".jfr");
+        try {
+            Files.createDirectories(directory);
+            target.dump(file);
+            return file;
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
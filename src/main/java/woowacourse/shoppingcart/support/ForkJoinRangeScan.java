@@ -0,0 +1,102 @@
+package woowacourse.shoppingcart.support;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BinaryOperator;
+import java.util.function.Supplier;
+
+/**
+ * 샤드마다 [fromId, toId] 구간을 partitionSize 이하가 될 때까지 반으로 나눠 fork-join 풀에서 읽는다.
+ * 구간마다 새 결과 객체에 따로 모은 뒤, 나눈 순서를 거슬러 올라가며 merger 로 합친다.
+ * 구간끼리 결과를 공유하지 않으므로 scanner 와 merger 는 잠글 필요가 없다.
+ */
+public class ForkJoinRangeScan {
+    private final ForkJoinPool pool;
+    private final int partitionSize;
+
+    public ForkJoinRangeScan(final ForkJoinPool pool, final int partitionSize) {
+        if (partitionSize <= 0) {
+            throw new IllegalArgumentException("partitionSize 는 양수여야 합니다.");
+        }
+        this.pool = pool;
+        this.partitionSize = partitionSize;
+    }
+
+    /**
+     * toIds[shard] 가 0 이면 그 샤드는 읽지 않는다.
+     */
+    public <R> R run(final long[] fromIds, final long[] toIds, final Supplier<R> identity,
+                     final PartitionScanner<R> scanner, final BinaryOperator<R> merger) {
+        final List<RangeTask<R>> shardTasks = new ArrayList<>();
+        for (int shard = 0; shard < toIds.length; shard++) {
+            if (toIds[shard] > 0) {
+                shardTasks.add(new RangeTask<>(shard, fromIds[shard], toIds[shard], identity, scanner, merger));
+            }
+        }
+        return pool.invoke(new ShardsTask<>(shardTasks, identity, merger));
+    }
+
+    @FunctionalInterface
+    public interface PartitionScanner<R> {
+        void scan(int shard, long fromId, long toId, R result);
+    }
+
+    private static final class ShardsTask<R> extends RecursiveTask<R> {
+        private final List<RangeTask<R>> shardTasks;
+        private final Supplier<R> identity;
+        private final BinaryOperator<R> merger;
+
+        private ShardsTask(final List<RangeTask<R>> shardTasks, final Supplier<R> identity,
+                           final BinaryOperator<R> merger) {
+            this.shardTasks = shardTasks;
+            this.identity = identity;
+            this.merger = merger;
+        }
+
+        @Override
+        protected R compute() {
+            invokeAll(shardTasks);
+            R result = identity.get();
+            for (final RangeTask<R> shardTask : shardTasks) {
+                result = merger.apply(result, shardTask.join());
+            }
+            return result;
+        }
+    }
+
+    private final class RangeTask<R> extends RecursiveTask<R> {
+        private final int shard;
+        private final long fromId;
+        private final long toId;
+        private final Supplier<R> identity;
+        private final PartitionScanner<R> scanner;
+        private final BinaryOperator<R> merger;
+
+        private RangeTask(final int shard, final long fromId, final long toId, final Supplier<R> identity,
+                          final PartitionScanner<R> scanner, final BinaryOperator<R> merger) {
+            this.shard = shard;
+            this.fromId = fromId;
+            this.toId = toId;
+            this.identity = identity;
+            this.scanner = scanner;
+            this.merger = merger;
+        }
+
+        @Override
+        protected R compute() {
+            if (toId - fromId < partitionSize) {
+                final R result = identity.get();
+                scanner.scan(shard, fromId, toId, result);
+                return result;
+            }
+            final long middleId = fromId + (toId - fromId) / 2;
+            final RangeTask<R> left = new RangeTask<>(shard, fromId, middleId, identity, scanner, merger);
+            final RangeTask<R> right = new RangeTask<>(shard, middleId + 1, toId, identity, scanner, merger);
+            left.fork();
+            final R rightResult = right.compute();
+            return merger.apply(left.join(), rightResult);
+        }
+    }
+}
@@ -0,0 +1,287 @@
+package woowacourse.shoppingcart.support;
+
+import org.springframework.jdbc.core.ArgumentPreparedStatementSetter;
+import org.springframework.jdbc.core.ArgumentTypePreparedStatementSetter;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.core.SqlProvider;
+import org.springframework.jdbc.support.KeyHolder;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * SQL 을 실행할 때마다 JFR 에 {@link JdbcCallEvent} 를 남기고, 기준 시간을 넘긴 SQL 은 {@link SlowQueryLog} 에 넘기는 JdbcTemplate.
+ * JdbcTemplate 의 조회, 변경, 배치 메서드는 모두 여기서 덮어쓴 메서드를 거쳐 실행된다.
+ * 기록 중이 아닐 때는 JdbcTemplate 을 그대로 호출하고, 기록 중일 때만 ResultSet 을 감싸 읽은 행 수를 센다.
+ * 바인딩 값은 인자 배열로 실행할 때와 KeyHolder 로 INSERT 할 때만 알 수 있고, 배치는 알 수 없는 것으로 넘긴다.
+ */
+public class InstrumentedJdbcTemplate extends JdbcTemplate {
+    private static final String APPLICATION_PACKAGE = "woowacourse.";
+    private static final StackWalker STACK_WALKER = StackWalker.getInstance();
+
+    private final SlowQueryLog slowQueryLog;
+
+    public InstrumentedJdbcTemplate(final DataSource dataSource) {
+        this(dataSource, null);
+    }
+
+    /**
+     * @param slowQueryLog null 이면 느린 쿼리를 기록하지 않는다.
+     */
+    public InstrumentedJdbcTemplate(final DataSource dataSource, final SlowQueryLog slowQueryLog) {
+        super(dataSource);
+        this.slowQueryLog = slowQueryLog;
+    }
+
+    @Override
+    public <T> T query(final PreparedStatementCreator psc, final PreparedStatementSetter pss,
+                       final ResultSetExtractor<T> rse) {
+        return record(psc, pss, rows -> super.query(psc, pss, counting(rse, rows)));
+    }
+
+    @Override
+    public <T> T query(final String sql, final ResultSetExtractor<T> rse) {
+        return record(sql, null, rows -> super.query(sql, counting(rse, rows)));
+    }
+
+    @Override
+    protected int update(final PreparedStatementCreator psc, final PreparedStatementSetter pss) {
+        return record(psc, pss, rows -> updated(super.update(psc, pss), rows));
+    }
+
+    @Override
+    public int update(final PreparedStatementCreator psc, final KeyHolder generatedKeyHolder) {
+        final PreparedStatementCreator creator = slowQueryLog == null || psc instanceof SqlProvider
+                ? psc : new CapturingStatementCreator(psc);
+        return record(creator, creator, rows -> updated(super.update(creator, generatedKeyHolder), rows));
+    }
+
+    @Override
+    public int update(final String sql) {
+        return record(sql, null, rows -> updated(super.update(sql), rows));
+    }
+
+    @Override
+    public int[] batchUpdate(final String sql, final BatchPreparedStatementSetter pss) {
+        return record(sql, null, rows -> {
+            final int[] updated = super.batchUpdate(sql, pss);
+            if (rows != null) {
+                // 드라이버가 행 수를 알려 주지 않으면 SUCCESS_NO_INFO(-2) 를 돌려주므로 더하지 않는다.
+                rows[0] = Arrays.stream(updated).filter(count -> count > 0).asLongStream().sum();
+            }
+            return updated;
+        });
+    }
+
+    @Override
+    protected PreparedStatementSetter newArgPreparedStatementSetter(final Object[] args) {
+        return slowQueryLog == null ? super.newArgPreparedStatementSetter(args) : new CapturedArgumentSetter(args);
+    }
+
+    @Override
+    protected PreparedStatementSetter newArgTypePreparedStatementSetter(final Object[] args, final int[] argTypes) {
+        return slowQueryLog == null ? super.newArgTypePreparedStatementSetter(args, argTypes)
+                : new CapturedArgumentTypeSetter(args, argTypes);
+    }
+
+    /**
+     * @param arguments 바인딩 값을 알려 주는 {@link CapturedArguments} 이면 느린 쿼리 기록에 값을 남긴다.
+     * @param call      기록 중이면 행 수를 담을 배열을, 아니면 null 을 받는다.
+     */
+    private <T> T record(final Object sqlSource, final Object arguments, final Function<long[], T> call) {
+        final JdbcCallEvent event = new JdbcCallEvent();
+        final boolean eventEnabled = event.isEnabled();
+        if (!eventEnabled && slowQueryLog == null) {
+            return call.apply(null);
+        }
+        final long[] rows = eventEnabled ? new long[1] : null;
+        event.begin();
+        final long start = System.nanoTime();
+        try {
+            return call.apply(rows);
+        } finally {
+            final long elapsed = System.nanoTime() - start;
+            event.end();
+            String sqlId = null;
+            if (event.shouldCommit()) {
+                sqlId = caller();
+                event.sqlId = sqlId;
+                event.sql = sqlOf(sqlSource);
+                event.rowCount = rows[0];
+                event.commit();
+            }
+            if (slowQueryLog != null && slowQueryLog.isSlow(elapsed)) {
+                slowQueryLog.record(this, sqlId == null ? caller() : sqlId, sqlOf(sqlSource),
+                        arguments instanceof CapturedArguments ? ((CapturedArguments) arguments).arguments() : null,
+                        elapsed);
+            }
+        }
+    }
+
+    private String sqlOf(final Object sqlSource) {
+        if (sqlSource instanceof SqlProvider) {
+            return ((SqlProvider) sqlSource).getSql();
+        }
+        return sqlSource instanceof String ? (String) sqlSource : null;
+    }
+
+    private int updated(final int updated, final long[] rows) {
+        if (rows != null) {
+            rows[0] = updated;
+        }
+        return updated;
+    }
+
+    private <T> ResultSetExtractor<T> counting(final ResultSetExtractor<T> rse, final long[] rows) {
+        if (rows == null) {
+            return rse;
+        }
+        return resultSet -> rse.extractData((ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(),
+                new Class<?>[]{ResultSet.class}, (proxy, method, args) -> {
+                    try {
+                        final Object result = method.invoke(resultSet, args);
+                        if (Boolean.TRUE.equals(result) && "next".equals(method.getName())) {
+                            rows[0]++;
+                        }
+                        return result;
+                    } catch (final InvocationTargetException e) {
+                        throw e.getTargetException();
+                    }
+                }));
+    }
+
+    // SQL 을 실행한 애플리케이션 메서드. DAO 에서 실행했다면 "ProductDao.findProductById" 처럼 된다.
+    private String caller() {
+        return STACK_WALKER.walk(frames -> frames
+                .filter(frame -> frame.getClassName().startsWith(APPLICATION_PACKAGE)
+                        && !frame.getClassName().startsWith(InstrumentedJdbcTemplate.class.getName()))
+                .findFirst()
+                .map(frame -> simpleName(frame.getClassName()) + "." + methodName(frame.getMethodName()))
+                .orElse("unknown"));
+    }
+
+    private String simpleName(final String className) {
+        final String name = className.substring(className.lastIndexOf('.') + 1);
+        final int nested = name.indexOf('$');
+        return nested < 0 ? name : name.substring(0, nested);
+    }
+
+    // 람다 안에서 실행했다면 "lambda$addCartItem$3" 에서 감싼 메서드 이름만 남긴다.
+    private String methodName(final String methodName) {
+        if (!methodName.startsWith("lambda$")) {
+            return methodName;
+        }
+        final int end = methodName.indexOf('$', "lambda$".length());
+        return end < 0 ? methodName : methodName.substring("lambda$".length(), end);
+    }
+
+    private interface CapturedArguments {
+        Object[] arguments();
+    }
+
+    private static final class CapturedArgumentSetter extends ArgumentPreparedStatementSetter
+            implements CapturedArguments {
+        private final Object[] args;
+
+        private CapturedArgumentSetter(final Object[] args) {
+            super(args);
+            this.args = args;
+        }
+
+        @Override
+        public Object[] arguments() {
+            return args == null ? new Object[0] : args;
+        }
+    }
+
+    private static final class CapturedArgumentTypeSetter extends ArgumentTypePreparedStatementSetter
+            implements CapturedArguments {
+        private final Object[] args;
+
+        private CapturedArgumentTypeSetter(final Object[] args, final int[] argTypes) {
+            super(args, argTypes);
+            this.args = args;
+        }
+
+        @Override
+        public Object[] arguments() {
+            return args == null ? new Object[0] : args;
+        }
+    }
+
+    /**
+     * 람다로 만든 PreparedStatementCreator 는 SQL 을 알려 주지 않으므로
+     * Connection 과 PreparedStatement 를 감싸 prepareStatement 에 넘긴 SQL 과 set 메서드로 바인딩한 값을 엿본다.
+     */
+    private static final class CapturingStatementCreator implements PreparedStatementCreator, SqlProvider,
+            CapturedArguments {
+        private final PreparedStatementCreator delegate;
+        private final List<Object> parameters = new ArrayList<>();
+        private String sql;
+
+        private CapturingStatementCreator(final PreparedStatementCreator delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public PreparedStatement createPreparedStatement(final Connection connection) throws SQLException {
+            return delegate.createPreparedStatement(proxy(Connection.class, connection, (method, args, result) -> {
+                if (result instanceof PreparedStatement && "prepareStatement".equals(method)) {
+                    sql = (String) args[0];
+                    return proxy(PreparedStatement.class, (PreparedStatement) result, this::bind);
+                }
+                return result;
+            }));
+        }
+
+        private Object bind(final String method, final Object[] args, final Object result) {
+            if (method.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer) {
+                final int index = (Integer) args[0] - 1;
+                while (parameters.size() <= index) {
+                    parameters.add(null);
+                }
+                parameters.set(index, "setNull".equals(method) ? null : args[1]);
+            }
+            return result;
+        }
+
+        @Override
+        public String getSql() {
+            return sql;
+        }
+
+        @Override
+        public Object[] arguments() {
+            return parameters.toArray();
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <T> T proxy(final Class<T> type, final T target, final AfterCall afterCall) {
+            return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+                try {
+                    return afterCall.apply(method.getName(), args, method.invoke(target, args));
+                } catch (final InvocationTargetException e) {
+                    throw e.getTargetException();
+                }
+            });
+        }
+
+        @FunctionalInterface
+        private interface AfterCall {
+            Object apply(String method, Object[] args, Object result);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package woowacourse.shoppingcart.support;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JdbcTemplate 으로 실행한 SQL 한 번. 기록 중일 때만 값을 채워 남긴다.
+ */
+@Name("woowacourse.shoppingcart.JdbcCall")
+@Label("JDBC Call")
+@Category({"Shopping Cart", "JDBC"})
+@Description("JdbcTemplate 으로 실행한 SQL 과 읽거나 바꾼 행 수")
+public class JdbcCallEvent extends Event {
+
+    @Label("SQL Id")
+    @Description("SQL 을 실행한 DAO 메서드")
+    String sqlId;
+
+    @Label("SQL")
+    String sql;
+
+    @Label("Row Count")
+    @Description("조회는 읽은 행 수, 변경은 바뀐 행 수")
+    long rowCount;
+}
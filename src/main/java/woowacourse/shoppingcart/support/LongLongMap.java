@@ -0,0 +1,122 @@
+package woowacourse.shoppingcart.support;
+
+/**
+ * long 키와 long 값을 박싱 없이 담는 open addressing 해시 맵. 0 은 빈 칸을 뜻하므로 키로 쓸 수 없다.
+ * 동기화하지 않으므로 여러 스레드에서 쓸 때는 호출하는 쪽에서 잠가야 한다.
+ */
+public class LongLongMap {
+    private static final long EMPTY = 0;
+
+    private long[] keys;
+    private long[] values;
+    private int size;
+
+    public LongLongMap(final int expectedSize) {
+        final int capacity = Integer.highestOneBit(Math.max(2, expectedSize) * 2 - 1) << 1;
+        this.keys = new long[capacity];
+        this.values = new long[capacity];
+    }
+
+    public long get(final long key) {
+        final int slot = find(key);
+        return slot < 0 ? 0 : values[slot];
+    }
+
+    public boolean containsKey(final long key) {
+        return find(key) >= 0;
+    }
+
+    /**
+     * @return 더한 뒤의 값
+     */
+    public long addTo(final long key, final long delta) {
+        if (key == EMPTY) {
+            throw new IllegalArgumentException("0 은 키로 쓸 수 없습니다.");
+        }
+        int slot = slot(key);
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == key) {
+                values[slot] += delta;
+                return values[slot];
+            }
+            slot = (slot + 1) & (keys.length - 1);
+        }
+        keys[slot] = key;
+        values[slot] = delta;
+        if (++size * 2 > keys.length) {
+            resize();
+        }
+        return delta;
+    }
+
+    public void remove(final long key) {
+        int slot = find(key);
+        if (slot < 0) {
+            return;
+        }
+        // 뒤에 이어진 칸을 당겨 와 탐색이 중간에 끊기지 않게 한다.
+        final int mask = keys.length - 1;
+        int next = (slot + 1) & mask;
+        while (keys[next] != EMPTY) {
+            final int home = slot(keys[next]);
+            if (((next - home) & mask) >= ((next - slot) & mask)) {
+                keys[slot] = keys[next];
+                values[slot] = values[next];
+                slot = next;
+            }
+            next = (next + 1) & mask;
+        }
+        keys[slot] = EMPTY;
+        values[slot] = 0;
+        size--;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void forEach(final EntryConsumer consumer) {
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (keys[slot] != EMPTY) {
+                consumer.accept(keys[slot], values[slot]);
+            }
+        }
+    }
+
+    private int find(final long key) {
+        if (key == EMPTY) {
+            return -1;
+        }
+        int slot = slot(key);
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == key) {
+                return slot;
+            }
+            slot = (slot + 1) & (keys.length - 1);
+        }
+        return -1;
+    }
+
+    private int slot(final long key) {
+        final long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & (keys.length - 1);
+    }
+
+    private void resize() {
+        final long[] oldKeys = keys;
+        final long[] oldValues = values;
+        keys = new long[oldKeys.length * 2];
+        values = new long[oldValues.length * 2];
+        size = 0;
+        for (int slot = 0; slot < oldKeys.length; slot++) {
+            if (oldKeys[slot] != EMPTY) {
+                addTo(oldKeys[slot], oldValues[slot]);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    public interface EntryConsumer {
+        void accept(long key, long value);
+    }
+}
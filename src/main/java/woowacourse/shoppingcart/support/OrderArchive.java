@@ -0,0 +1,251 @@
+package woowacourse.shoppingcart.support;
+
+import woowacourse.shoppingcart.domain.ArchivedOrder;
+import woowacourse.shoppingcart.domain.OrderDetail;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.BiConsumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 옮겨 온 주문을 고객별 디렉터리에 gzip 으로 압축한 열 단위 파일로 저장하고 읽는다.
+ * 파일 하나에는 한 번에 옮긴 한 고객의 주문이 들어 있고, 주문 id, 주문 시각, 상세 수, 상품 id, 수량을 열마다 이어서 쓴다.
+ * 주문 id 와 시각은 앞 값과의 차이를 가변 길이 정수로 써서 작게 만든다.
+ * 파일 이름에 첫 주문 id 와 마지막 주문 id 를 적어 두어, 주문 하나를 찾을 때는 범위에 드는 파일만 연다.
+ * 옮긴 뒤 DB 삭제가 실패해 같은 주문이 두 번 저장되어도 읽을 때 하나로 합친다.
+ * 쓴 파일과 디렉터리 항목은 디스크에 내려쓴 뒤에 돌아오므로, 호출한 쪽이 DB 에서 지운 뒤 전원이 나가도 주문이 사라지지 않는다.
+ */
+public class OrderArchive {
+    private static final int MAGIC = 0x4f524441;
+    private static final int VERSION = 1;
+    private static final String SUFFIX = ".orders.gz";
+    private static final int PARTITIONS = 256;
+
+    private final Path directory;
+
+    public OrderArchive(final Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * 한 고객의 주문을 새 파일 하나로 쓴다. 다 쓴 뒤에 파일 이름을 바꾸므로 읽는 쪽은 쓰다 만 파일을 보지 않는다.
+     * 파일 내용과 이름 바꾸기를 fsync 한 뒤에 돌아온다.
+     */
+    public void write(final Long customerId, final List<ArchivedOrder> orders) {
+        if (orders.isEmpty()) {
+            return;
+        }
+        final List<ArchivedOrder> sorted = orders.stream()
+                .sorted(Comparator.comparing(ArchivedOrder::getId))
+                .collect(Collectors.toList());
+        final Path customerDirectory = customerDirectory(customerId);
+        final Path file = customerDirectory.resolve(
+                sorted.get(0).getId() + "-" + sorted.get(sorted.size() - 1).getId() + SUFFIX);
+        try {
+            createDirectories(customerDirectory);
+            final Path temporary = Files.createTempFile(customerDirectory, "writing-", ".tmp");
+            try (final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                    new GZIPOutputStream(Files.newOutputStream(temporary))))) {
+                writeColumns(out, sorted);
+            }
+            force(temporary, StandardOpenOption.WRITE);
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            force(customerDirectory, StandardOpenOption.READ);
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 보관 파일이 있는 고객마다 그 고객의 보관 주문을 넘긴다.
+     */
+    public void forEachCustomer(final BiConsumer<Long, List<ArchivedOrder>> action) {
+        for (final Path partition : list(directory)) {
+            if (!Files.isDirectory(partition)) {
+                continue;
+            }
+            for (final Path customerDirectory : list(partition)) {
+                final Long customerId = Long.valueOf(customerDirectory.getFileName().toString());
+                action.accept(customerId, findOrders(customerId));
+            }
+        }
+    }
+
+    /**
+     * @return 주문 id 순서로 정렬한 고객의 보관 주문
+     */
+    public List<ArchivedOrder> findOrders(final Long customerId) {
+        final TreeMap<Long, ArchivedOrder> orders = new TreeMap<>();
+        for (final Path file : files(customerId)) {
+            read(customerId, file).forEach(order -> orders.put(order.getId(), order));
+        }
+        return new ArrayList<>(orders.values());
+    }
+
+    public Optional<ArchivedOrder> findOrder(final Long customerId, final Long orderId) {
+        for (final Path file : files(customerId)) {
+            if (covers(file, orderId)) {
+                final Optional<ArchivedOrder> order = read(customerId, file).stream()
+                        .filter(archived -> archived.getId().equals(orderId))
+                        .findFirst();
+                if (order.isPresent()) {
+                    return order;
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    private Path customerDirectory(final Long customerId) {
+        return directory.resolve(String.format("%03d", Math.floorMod(customerId, PARTITIONS)))
+                .resolve(String.valueOf(customerId));
+    }
+
+    private List<Path> files(final Long customerId) {
+        return list(customerDirectory(customerId)).stream()
+                .filter(file -> file.getFileName().toString().endsWith(SUFFIX))
+                .collect(Collectors.toList());
+    }
+
+    private List<Path> list(final Path path) {
+        try (final Stream<Path> children = Files.list(path)) {
+            return children.sorted().collect(Collectors.toList());
+        } catch (final NoSuchFileException e) {
+            return List.of();
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // 새로 만든 디렉터리는 부모 디렉터리의 항목도 내려써야 남는다.
+    private void createDirectories(final Path customerDirectory) throws IOException {
+        final Path partition = customerDirectory.getParent();
+        final boolean newPartition = Files.notExists(partition);
+        final boolean newCustomer = Files.notExists(customerDirectory);
+        Files.createDirectories(customerDirectory);
+        if (newPartition) {
+            force(directory, StandardOpenOption.READ);
+        }
+        if (newCustomer) {
+            force(partition, StandardOpenOption.READ);
+        }
+    }
+
+    private void force(final Path path, final StandardOpenOption option) throws IOException {
+        try (final FileChannel channel = FileChannel.open(path, option)) {
+            channel.force(true);
+        }
+    }
+
+    private boolean covers(final Path file, final Long orderId) {
+        final String name = file.getFileName().toString();
+        final String[] range = name.substring(0, name.length() - SUFFIX.length()).split("-");
+        return Long.parseLong(range[0]) <= orderId && orderId <= Long.parseLong(range[1]);
+    }
+
+    private List<ArchivedOrder> read(final Long customerId, final Path file) {
+        try (final DataInputStream in = new DataInputStream(new BufferedInputStream(
+                new GZIPInputStream(Files.newInputStream(file))))) {
+            return readColumns(in, customerId);
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeColumns(final DataOutputStream out, final List<ArchivedOrder> orders) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeByte(VERSION);
+        VarLongs.write(out, orders.size());
+        long previous = 0;
+        for (final ArchivedOrder order : orders) {
+            VarLongs.write(out, VarLongs.zigZag(order.getId() - previous));
+            previous = order.getId();
+        }
+        previous = 0;
+        for (final ArchivedOrder order : orders) {
+            final long epochMillis = order.getOrderedAt().toInstant(ZoneOffset.UTC).toEpochMilli();
+            VarLongs.write(out, VarLongs.zigZag(epochMillis - previous));
+            previous = epochMillis;
+        }
+        for (final ArchivedOrder order : orders) {
+            VarLongs.write(out, order.getOrderDetails().size());
+        }
+        for (final ArchivedOrder order : orders) {
+            for (final OrderDetail orderDetail : order.getOrderDetails()) {
+                VarLongs.write(out, orderDetail.getProductId());
+            }
+        }
+        for (final ArchivedOrder order : orders) {
+            for (final OrderDetail orderDetail : order.getOrderDetails()) {
+                VarLongs.write(out, orderDetail.getQuantity());
+            }
+        }
+    }
+
+    private List<ArchivedOrder> readColumns(final DataInputStream in, final Long customerId) throws IOException {
+        if (in.readInt() != MAGIC || in.readByte() != VERSION) {
+            throw new IOException("보관 주문 파일 형식이 아닙니다.");
+        }
+        final int size = (int) VarLongs.read(in);
+        final long[] ids = new long[size];
+        final long[] orderedAts = new long[size];
+        final int[] detailCounts = new int[size];
+        long previous = 0;
+        for (int i = 0; i < size; i++) {
+            previous += VarLongs.unZigZag(VarLongs.read(in));
+            ids[i] = previous;
+        }
+        previous = 0;
+        for (int i = 0; i < size; i++) {
+            previous += VarLongs.unZigZag(VarLongs.read(in));
+            orderedAts[i] = previous;
+        }
+        int totalDetails = 0;
+        for (int i = 0; i < size; i++) {
+            detailCounts[i] = (int) VarLongs.read(in);
+            totalDetails += detailCounts[i];
+        }
+        final long[] productIds = new long[totalDetails];
+        for (int i = 0; i < totalDetails; i++) {
+            productIds[i] = VarLongs.read(in);
+        }
+        final int[] quantities = new int[totalDetails];
+        for (int i = 0; i < totalDetails; i++) {
+            quantities[i] = (int) VarLongs.read(in);
+        }
+
+        final List<ArchivedOrder> orders = new ArrayList<>(size);
+        int detail = 0;
+        for (int i = 0; i < size; i++) {
+            final List<OrderDetail> orderDetails = new ArrayList<>(detailCounts[i]);
+            for (int j = 0; j < detailCounts[i]; j++, detail++) {
+                orderDetails.add(new OrderDetail(productIds[detail], quantities[detail]));
+            }
+            orders.add(new ArchivedOrder(ids[i], customerId,
+                    LocalDateTime.ofInstant(Instant.ofEpochMilli(orderedAts[i]), ZoneOffset.UTC), orderDetails));
+        }
+        return orders;
+    }
+}
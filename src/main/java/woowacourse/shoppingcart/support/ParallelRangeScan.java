@@ -0,0 +1,58 @@
+package woowacourse.shoppingcart.support;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * 샤드마다 [fromId, toId] 구간을 chunkSize 크기로 나눠 고정된 수의 스레드에서 병렬로 읽는다.
+ */
+public class ParallelRangeScan {
+    private final int threads;
+    private final int chunkSize;
+
+    public ParallelRangeScan(final int threads, final int chunkSize) {
+        if (threads <= 0 || chunkSize <= 0) {
+            throw new IllegalArgumentException("threads 와 chunkSize 는 양수여야 합니다.");
+        }
+        this.threads = threads;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * fromIds[shard] 부터 toIds[shard] 까지를 나눠 scanner 에 넘기고 모두 끝날 때까지 기다린다.
+     * toIds[shard] 가 0 이면 그 샤드는 읽지 않는다.
+     */
+    public void run(final long[] fromIds, final long[] toIds, final ChunkScanner scanner) {
+        final ExecutorService executorService = Executors.newFixedThreadPool(threads);
+        try {
+            final List<Future<?>> chunks = new ArrayList<>();
+            for (int shard = 0; shard < toIds.length; shard++) {
+                final int chunkShard = shard;
+                for (long fromId = fromIds[shard]; toIds[shard] > 0 && fromId <= toIds[shard]; fromId += chunkSize) {
+                    final long chunkFromId = fromId;
+                    final long chunkToId = Math.min(toIds[shard], fromId + chunkSize - 1);
+                    chunks.add(executorService.submit(() -> scanner.scan(chunkShard, chunkFromId, chunkToId)));
+                }
+            }
+            for (final Future<?> chunk : chunks) {
+                chunk.get();
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("구간 읽기가 중단되었습니다.", e);
+        } catch (final ExecutionException e) {
+            throw new IllegalStateException("구간을 읽지 못했습니다.", e.getCause());
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    @FunctionalInterface
+    public interface ChunkScanner {
+        void scan(int shard, long fromId, long toId);
+    }
+}
@@ -0,0 +1,17 @@
+package woowacourse.shoppingcart.support;
+
+import java.util.List;
+
+/**
+ * 느린 쿼리 로그와 관리자 API 에 내보내기 전에 바인딩 값을 가린다. 실행과 EXPLAIN 에는 원래 값을 쓴다.
+ */
+@FunctionalInterface
+public interface QueryParameterRedactor {
+
+    /**
+     * @param sql        바인딩 값을 받은 원래 SQL
+     * @param parameters ? 순서대로의 바인딩 값
+     * @return 같은 길이의 가린 값
+     */
+    List<Object> redact(String sql, List<Object> parameters);
+}
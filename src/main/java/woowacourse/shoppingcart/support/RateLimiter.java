@@ -0,0 +1,105 @@
+package woowacourse.shoppingcart.support;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 키별 토큰 버킷.
+ * 버킷 하나를 GCRA 방식으로 "다음 토큰이 채워지는 이론적 시각" 하나의 AtomicLong 으로 표현해 CAS 만으로 갱신한다.
+ * 일정 시간 동안 요청이 없어 가득 찬 버킷은 주기적으로 제거한다.
+ * 버킷이 maxBuckets 개 있으면 바로 한 번 정리해 보고, 그래도 자리가 없으면 이론적 시각이 가장 이른(가장 오래 쓰지 않은) 버킷부터
+ * maxBuckets 의 1/10 을 비운다. 그런 버킷은 가득 찬 상태에 가장 가까워 새로 만들어도 잃는 것이 가장 적고,
+ * 한도를 넘겨 계속 거부되는 키는 이론적 시각이 미래에 있어 밀려나지 않는다.
+ */
+public class RateLimiter {
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final long idleTimeoutNanos;
+    private final int maxBuckets;
+    private final Map<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final AtomicLong nextSweepNanos;
+
+    public RateLimiter(final int capacity, final double refillPerSecond, final long idleTimeoutMillis,
+                       final int maxBuckets) {
+        if (capacity <= 0 || refillPerSecond <= 0 || maxBuckets <= 0) {
+            throw new IllegalArgumentException("capacity, refillPerSecond, maxBuckets 는 양수여야 합니다.");
+        }
+        this.maxBuckets = maxBuckets;
+        this.emissionIntervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / refillPerSecond);
+        this.burstToleranceNanos = emissionIntervalNanos * (capacity - 1);
+        this.idleTimeoutNanos = Math.max(TimeUnit.MILLISECONDS.toNanos(idleTimeoutMillis),
+                emissionIntervalNanos * capacity);
+        this.nextSweepNanos = new AtomicLong(System.nanoTime() + idleTimeoutNanos);
+    }
+
+    /**
+     * 토큰을 하나 소비한다.
+     *
+     * @return 허용되면 0, 거부되면 다음 토큰까지 남은 나노초
+     */
+    public long tryAcquire(final String key) {
+        return tryAcquire(key, System.nanoTime());
+    }
+
+    long tryAcquire(final String key, final long now) {
+        sweepIfDue(now);
+        final AtomicLong theoreticalArrival = findBucket(key, now);
+        while (true) {
+            final long current = theoreticalArrival.get();
+            final long arrival = Math.max(current, now);
+            final long waitNanos = arrival - now - burstToleranceNanos;
+            if (waitNanos > 0) {
+                return waitNanos;
+            }
+            if (theoreticalArrival.compareAndSet(current, arrival + emissionIntervalNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+
+    // 동시에 만들면 maxBuckets 를 조금 넘을 수 있다.
+    private AtomicLong findBucket(final String key, final long now) {
+        final AtomicLong bucket = buckets.get(key);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (buckets.size() >= maxBuckets) {
+            sweep(now);
+            if (buckets.size() >= maxBuckets) {
+                evictLeastRecentlyUsed();
+            }
+        }
+        return buckets.computeIfAbsent(key, ignored -> new AtomicLong(now));
+    }
+
+    // 한 번에 여러 개를 비워, 키가 계속 새로 들어와도 정렬은 maxBuckets / 10 번에 한 번만 한다.
+    private void evictLeastRecentlyUsed() {
+        final long[] arrivals = buckets.values().stream()
+                .mapToLong(AtomicLong::get)
+                .sorted()
+                .toArray();
+        if (arrivals.length == 0) {
+            return;
+        }
+        final long cutoff = arrivals[Math.min(arrivals.length, maxBuckets / 10 + 1) - 1];
+        buckets.values().removeIf(theoreticalArrival -> theoreticalArrival.get() - cutoff <= 0);
+    }
+
+    private void sweepIfDue(final long now) {
+        final long due = nextSweepNanos.get();
+        if (now - due < 0 || !nextSweepNanos.compareAndSet(due, now + idleTimeoutNanos)) {
+            return;
+        }
+        sweep(now);
+    }
+
+    private void sweep(final long now) {
+        buckets.values().removeIf(theoreticalArrival -> now - theoreticalArrival.get() > idleTimeoutNanos);
+    }
+}
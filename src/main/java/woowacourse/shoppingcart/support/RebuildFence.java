@@ -0,0 +1,52 @@
+package woowacourse.shoppingcart.support;
+
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntToLongFunction;
+
+/**
+ * 저장된 주문으로 카운터를 다시 쌓는 동안 샤드별로 다시 쌓기가 읽을 최대 orders id 를 들고 있는다.
+ * 카운터를 비우고 최대 id 를 읽는 동안에는 커밋된 주문을 세지 못하게 막고, 다시 쌓는 중에는 그 id 이하의 주문을 세지 않아
+ * 같은 주문이 다시 쌓기와 커밋 시점에 두 번 더해지지 않는다.
+ */
+public class RebuildFence {
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile long[] upperIds;
+
+    /**
+     * clear 를 실행한 뒤 샤드마다 maxIdAt 으로 읽은 최대 id 를 돌려주고, end 를 부를 때까지 그 id 이하의 주문은 세지 않는다.
+     */
+    public long[] begin(final int shards, final Runnable clear, final IntToLongFunction maxIdAt) {
+        lock.writeLock().lock();
+        try {
+            clear.run();
+            final long[] maxIds = new long[shards];
+            for (int shard = 0; shard < shards; shard++) {
+                maxIds[shard] = maxIdAt.applyAsLong(shard);
+            }
+            upperIds = maxIds;
+            return maxIds.clone();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void end() {
+        upperIds = null;
+    }
+
+    /**
+     * 다시 쌓기가 읽지 않을 주문이면 count 를 실행한다.
+     */
+    public void countUnlessRebuilding(final int shard, final long orderId, final Runnable count) {
+        lock.readLock().lock();
+        try {
+            final long[] maxIds = upperIds;
+            if (maxIds == null || shard >= maxIds.length || orderId > maxIds[shard]) {
+                count.run();
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package woowacourse.shoppingcart.support;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.sql.DataSource;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * readOnly 트랜잭션은 replica 로, 나머지는 primary 로 보낸다.
+ * 다만 현재 요청의 customerName 이 lagToleranceMillis 안에 쓰기 트랜잭션을 커밋했다면,
+ * replica 에 아직 반영되지 않았을 수 있으므로 읽기도 primary 로 보낸다.
+ * 트랜잭션이 시작된 뒤에 커넥션을 고르도록 LazyConnectionDataSourceProxy 로 감싸서 사용해야 한다.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+    private static final String CUSTOMER_NAME = "customerName";
+
+    private final long lagToleranceMillis;
+    private final Map<String, Long> lastWriteMillis = new ConcurrentHashMap<>();
+    private final AtomicLong nextSweepMillis = new AtomicLong();
+
+    public ReplicaRoutingDataSource(final DataSource primary, final DataSource replica, final long lagToleranceMillis) {
+        this.lagToleranceMillis = lagToleranceMillis;
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        final String customerName = currentCustomerName();
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return isRecentlyWritten(customerName) ? Route.PRIMARY : Route.REPLICA;
+        }
+        trackWrite(customerName);
+        return Route.PRIMARY;
+    }
+
+    private boolean isRecentlyWritten(final String customerName) {
+        if (customerName == null) {
+            return false;
+        }
+        final Long writtenAt = lastWriteMillis.get(customerName);
+        return writtenAt != null && System.currentTimeMillis() - writtenAt <= lagToleranceMillis;
+    }
+
+    private void trackWrite(final String customerName) {
+        if (customerName == null || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                final long now = System.currentTimeMillis();
+                lastWriteMillis.put(customerName, now);
+                sweepIfDue(now);
+            }
+        });
+    }
+
+    private void sweepIfDue(final long now) {
+        final long due = nextSweepMillis.get();
+        if (now < due || !nextSweepMillis.compareAndSet(due, now + lagToleranceMillis)) {
+            return;
+        }
+        lastWriteMillis.values().removeIf(writtenAt -> now - writtenAt > lagToleranceMillis);
+    }
+
+    @SuppressWarnings("unchecked")
+    private String currentCustomerName() {
+        final RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (requestAttributes == null) {
+            return null;
+        }
+        final Map<String, String> pathVariables = (Map<String, String>) requestAttributes.getAttribute(
+                HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (pathVariables == null || pathVariables.get(CUSTOMER_NAME) == null) {
+            return null;
+        }
+        return pathVariables.get(CUSTOMER_NAME).toLowerCase(Locale.ROOT);
+    }
+
+    enum Route {
+        PRIMARY, REPLICA
+    }
+}
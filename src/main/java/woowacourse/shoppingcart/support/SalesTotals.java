@@ -0,0 +1,52 @@
+package woowacourse.shoppingcart.support;
+
+/**
+ * 주문 상세 행을 상품별 수량·매출과 고객별 수량·매출로 모은다.
+ * 한 구간을 읽는 스레드 하나만 쓰는 것을 전제로 하며, 구간끼리는 {@link #merge(SalesTotals)} 로 합친다.
+ */
+public class SalesTotals {
+    private static final int EXPECTED_SIZE = 64;
+
+    private final LongLongMap quantityByProduct = new LongLongMap(EXPECTED_SIZE);
+    private final LongLongMap revenueByProduct = new LongLongMap(EXPECTED_SIZE);
+    private final LongLongMap quantityByCustomer = new LongLongMap(EXPECTED_SIZE);
+    private final LongLongMap revenueByCustomer = new LongLongMap(EXPECTED_SIZE);
+
+    public void add(final long customerId, final long productId, final int quantity, final long price) {
+        final long revenue = quantity * price;
+        quantityByProduct.addTo(productId, quantity);
+        revenueByProduct.addTo(productId, revenue);
+        quantityByCustomer.addTo(customerId, quantity);
+        revenueByCustomer.addTo(customerId, revenue);
+    }
+
+    /**
+     * 작은 쪽을 큰 쪽에 더하고, 더해진 쪽을 돌려준다.
+     */
+    public SalesTotals merge(final SalesTotals other) {
+        if (other.revenueByCustomer.size() > revenueByCustomer.size()) {
+            return other.merge(this);
+        }
+        other.quantityByProduct.forEach(quantityByProduct::addTo);
+        other.revenueByProduct.forEach(revenueByProduct::addTo);
+        other.quantityByCustomer.forEach(quantityByCustomer::addTo);
+        other.revenueByCustomer.forEach(revenueByCustomer::addTo);
+        return this;
+    }
+
+    public LongLongMap getQuantityByProduct() {
+        return quantityByProduct;
+    }
+
+    public LongLongMap getRevenueByProduct() {
+        return revenueByProduct;
+    }
+
+    public LongLongMap getQuantityByCustomer() {
+        return quantityByCustomer;
+    }
+
+    public LongLongMap getRevenueByCustomer() {
+        return revenueByCustomer;
+    }
+}
@@ -0,0 +1,24 @@
+package woowacourse.shoppingcart.support;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * 서비스 메서드 호출 한 번. 트랜잭션 시작과 커밋까지 포함한 시간이다.
+ */
+@Name("woowacourse.shoppingcart.ServiceCall")
+@Label("Service Call")
+@Category({"Shopping Cart", "Service"})
+public class ServiceCallEvent extends Event {
+
+    @Label("Service")
+    String service;
+
+    @Label("Method")
+    String method;
+
+    @Label("Succeeded")
+    boolean succeeded;
+}
@@ -0,0 +1,51 @@
+package woowacourse.shoppingcart.support;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.framework.autoproxy.AbstractBeanFactoryAwareAdvisingPostProcessor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.StaticMethodMatcherPointcut;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Set;
+
+/**
+ * 지정한 서비스 빈의 public 메서드 호출마다 JFR 에 {@link ServiceCallEvent} 를 남긴다.
+ * 이미 트랜잭션 프록시라면 그 프록시의 맨 앞에 붙어, 트랜잭션 시작과 커밋까지 포함한 시간을 잰다.
+ */
+public class ServiceCallEventPostProcessor extends AbstractBeanFactoryAwareAdvisingPostProcessor {
+
+    public ServiceCallEventPostProcessor(final Set<Class<?>> services) {
+        final StaticMethodMatcherPointcut pointcut = new StaticMethodMatcherPointcut() {
+            @Override
+            public boolean matches(final Method method, final Class<?> targetClass) {
+                return Modifier.isPublic(method.getModifiers()) && method.getDeclaringClass() != Object.class;
+            }
+        };
+        pointcut.setClassFilter(type -> services.contains(ClassUtils.getUserClass(type)));
+        this.advisor = new DefaultPointcutAdvisor(pointcut, (MethodInterceptor) invocation -> {
+            final ServiceCallEvent event = new ServiceCallEvent();
+            if (!event.isEnabled()) {
+                return invocation.proceed();
+            }
+            boolean succeeded = false;
+            event.begin();
+            try {
+                final Object result = invocation.proceed();
+                succeeded = true;
+                return result;
+            } finally {
+                event.end();
+                if (event.shouldCommit()) {
+                    event.service = invocation.getMethod().getDeclaringClass().getSimpleName();
+                    event.method = invocation.getMethod().getName();
+                    event.succeeded = succeeded;
+                    event.commit();
+                }
+            }
+        });
+        setBeforeExistingAdvisors(true);
+        setProxyTargetClass(true);
+    }
+}
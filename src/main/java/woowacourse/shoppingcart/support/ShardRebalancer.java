@@ -0,0 +1,219 @@
+package woowacourse.shoppingcart.support;
+
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import woowacourse.shoppingcart.dao.CartItemDao;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * 샤드 스키마 생성, product 복제본 동기화, 샤드 수가 바뀐 뒤의 고객 데이터(cart_item, cart_summary, orders) 이동을 담당한다.
+ * 이동은 대상 샤드에 먼저 복사한 뒤 원래 샤드에서 지우므로 중간에 실패해도 다시 실행하면 이어서 진행된다.
+ * 이동 중인 고객의 쓰기는 고려하지 않으므로 쓰기를 멈춘 상태에서 실행해야 한다.
+ */
+public class ShardRebalancer {
+    private static final String SHARD_SCHEMA = "shard-schema.sql";
+    private static final int ID_RANGE_BITS = 40;
+    private static final List<String> SHARDED_TABLES = List.of("cart_item", "orders", "orders_detail");
+
+    private final CustomerShards customerShards;
+    private final CartItemDao cartItemDao;
+
+    public ShardRebalancer(final CustomerShards customerShards) {
+        this.customerShards = customerShards;
+        this.cartItemDao = new CartItemDao(customerShards);
+    }
+
+    /**
+     * 1번부터의 샤드에 스키마를 만들고 product 를 복제한다.
+     * 샤드 사이에 데이터를 옮겨도 id 가 겹치지 않도록 샤드마다 id 구간을 (샤드 번호 << 40) 부터 2^40 개로 둔다.
+     * 0번 샤드는 1 부터의 구간을 쓴다.
+     */
+    public void initialize() {
+        for (int shard = 1; shard < customerShards.size(); shard++) {
+            final JdbcTemplate jdbcTemplate = customerShards.jdbcTemplateAt(shard);
+            new ResourceDatabasePopulator(new ClassPathResource(SHARD_SCHEMA)).execute(jdbcTemplate.getDataSource());
+            restartIdentities(shard);
+        }
+        syncProducts();
+    }
+
+    /**
+     * H2 는 id 를 직접 넣으면 다음 id 를 그 뒤로 옮기므로, 다른 샤드의 id 를 가진 행을 넣은 뒤에는
+     * 다음 id 를 이 샤드 구간 안의 가장 큰 id 뒤로 되돌린다. DDL 은 트랜잭션을 커밋하므로 옮기기를 커밋한 뒤에 부른다.
+     */
+    public void restartIdentities(final int shard) {
+        final JdbcTemplate jdbcTemplate = customerShards.jdbcTemplateAt(shard);
+        for (final String table : SHARDED_TABLES) {
+            final long nextId = maxIdInRange(jdbcTemplate, shard, table) + 1;
+            jdbcTemplate.execute("ALTER TABLE " + table + " ALTER COLUMN id RESTART WITH " + nextId);
+        }
+    }
+
+    /**
+     * @return 샤드 id 구간 안에서 가장 큰 id, 없으면 구간 첫 id 바로 앞 값
+     */
+    static long maxIdInRange(final JdbcTemplate jdbcTemplate, final int shard, final String table) {
+        final long firstId = ((long) shard << ID_RANGE_BITS) + 1;
+        final long lastId = ((long) (shard + 1) << ID_RANGE_BITS) - 1;
+        final Long maxId = jdbcTemplate.queryForObject(
+                "SELECT MAX(id) FROM " + table + " WHERE id BETWEEN ? AND ?", Long.class, firstId, lastId);
+        return maxId == null ? firstId - 1 : maxId;
+    }
+
+    /**
+     * 기본 DB 에는 있지만 복제본에는 없는 product 를 복사하고, 가격이나 삭제 여부가 다른 product 는 기본 DB 에 맞춘다.
+     * 맞춘 상품을 담은 장바구니 행의 가격과 그 고객들의 합계도 함께 고친다.
+     *
+     * @return 복사하거나 고친 행 수
+     */
+    public int syncProducts() {
+        final List<Object[]> products = customerShards.jdbcTemplateAt(0).query(
+                "SELECT id, name, price, image_url, deleted FROM product",
+                (rs, rowNum) -> new Object[]{
+                        rs.getLong("id"), rs.getString("name"), rs.getInt("price"), rs.getString("image_url"),
+                        rs.getBoolean("deleted")
+                });
+        int synced = 0;
+        for (int shard = 1; shard < customerShards.size(); shard++) {
+            final JdbcTemplate replica = customerShards.jdbcTemplateAt(shard);
+            final Map<Long, Object[]> existing = new HashMap<>();
+            replica.query("SELECT id, price, deleted FROM product", rs -> {
+                existing.put(rs.getLong("id"), new Object[]{rs.getInt("price"), rs.getBoolean("deleted")});
+            });
+            final List<Object[]> missing = products.stream()
+                    .filter(product -> !existing.containsKey((Long) product[0]))
+                    .collect(Collectors.toList());
+            replica.batchUpdate("INSERT INTO product (id, name, price, image_url, deleted) VALUES (?, ?, ?, ?, ?)",
+                    missing);
+            synced += missing.size();
+            for (final Object[] product : products) {
+                final Object[] replicated = existing.get((Long) product[0]);
+                if (replicated != null && !(replicated[0].equals(product[2]) && replicated[1].equals(product[4]))) {
+                    syncProduct(shard, (Long) product[0], (Integer) product[2], (Boolean) product[4]);
+                    synced++;
+                }
+            }
+        }
+        return synced;
+    }
+
+    private void syncProduct(final int shard, final Long productId, final int price, final boolean deleted) {
+        customerShards.inTransactionAt(shard, () -> {
+            customerShards.jdbcTemplateAt(shard)
+                    .update("UPDATE product SET price = ?, deleted = ? WHERE id = ?", price, deleted, productId);
+            cartItemDao.recountProductAt(shard, productId, price);
+            return null;
+        });
+    }
+
+    /**
+     * 모든 샤드를 훑어 현재 샤드 배치와 다른 곳에 있는 고객의 cart_item, orders, orders_detail 을 옮긴다.
+     * 옮기기 전에 product 복제본을 먼저 맞춘다.
+     *
+     * @return 옮긴 고객 수
+     */
+    public int rebalance() {
+        syncProducts();
+        int moved = 0;
+        for (int shard = 0; shard < customerShards.size(); shard++) {
+            for (final Long customerId : findCustomerIds(shard)) {
+                final int target = customerShards.shardOf(customerId);
+                if (target != shard) {
+                    move(customerId, shard, target);
+                    moved++;
+                }
+            }
+        }
+        return moved;
+    }
+
+    private List<Long> findCustomerIds(final int shard) {
+        return customerShards.jdbcTemplateAt(shard).query(
+                "SELECT customer_id FROM cart_item UNION SELECT customer_id FROM orders "
+                        + "UNION SELECT customer_id FROM cart_summary",
+                (rs, rowNum) -> rs.getLong("customer_id"));
+    }
+
+    private void move(final Long customerId, final int source, final int target) {
+        final JdbcTemplate sourceTemplate = customerShards.jdbcTemplateAt(source);
+        final List<Object[]> orders = sourceTemplate.query(
+                "SELECT id, customer_id, ordered_at FROM orders WHERE customer_id = ?",
+                (rs, rowNum) -> new Object[]{
+                        rs.getLong("id"), rs.getLong("customer_id"), rs.getTimestamp("ordered_at")
+                }, customerId);
+        final List<Object[]> ordersDetails = sourceTemplate.query(
+                "SELECT d.id, d.orders_id, d.product_id, d.quantity FROM orders_detail d "
+                        + "JOIN orders o ON d.orders_id = o.id WHERE o.customer_id = ?",
+                (rs, rowNum) -> new Object[]{
+                        rs.getLong("id"), rs.getLong("orders_id"), rs.getLong("product_id"), rs.getInt("quantity")
+                }, customerId);
+        final List<Object[]> cartItems = sourceTemplate.query(
+                "SELECT id, customer_id, product_id, price FROM cart_item WHERE customer_id = ?",
+                (rs, rowNum) -> new Object[]{
+                        rs.getLong("id"), rs.getLong("customer_id"), rs.getLong("product_id"), rs.getInt("price")
+                }, customerId);
+        final List<Object[]> cartSummaries = sourceTemplate.query(
+                "SELECT customer_id, item_count, subtotal FROM cart_summary WHERE customer_id = ?",
+                (rs, rowNum) -> new Object[]{
+                        rs.getLong("customer_id"), rs.getInt("item_count"), rs.getLong("subtotal")
+                }, customerId);
+
+        customerShards.inTransactionAt(target, () -> {
+            final JdbcTemplate targetTemplate = customerShards.jdbcTemplateAt(target);
+            insertMissing(targetTemplate, "orders", "customer_id",
+                    "INSERT INTO orders (id, customer_id, ordered_at) VALUES (?, ?, ?)", orders);
+            insertMissing(targetTemplate, "orders_detail", "orders_id",
+                    "INSERT INTO orders_detail (id, orders_id, product_id, quantity) VALUES (?, ?, ?, ?)",
+                    ordersDetails);
+            insertMissing(targetTemplate, "cart_item", "customer_id",
+                    "INSERT INTO cart_item (id, customer_id, product_id, price) VALUES (?, ?, ?, ?)", cartItems);
+            targetTemplate.update("DELETE FROM cart_summary WHERE customer_id = ?", customerId);
+            targetTemplate.batchUpdate("INSERT INTO cart_summary (customer_id, item_count, subtotal) VALUES (?, ?, ?)",
+                    cartSummaries);
+            return null;
+        });
+        restartIdentities(target);
+        customerShards.inTransactionAt(source, () -> {
+            sourceTemplate.update("DELETE FROM orders_detail WHERE orders_id IN "
+                    + "(SELECT id FROM orders WHERE customer_id = ?)", customerId);
+            sourceTemplate.update("DELETE FROM orders WHERE customer_id = ?", customerId);
+            sourceTemplate.update("DELETE FROM cart_item WHERE customer_id = ?", customerId);
+            sourceTemplate.update("DELETE FROM cart_summary WHERE customer_id = ?", customerId);
+            return null;
+        });
+    }
+
+    /**
+     * 지난 실행에서 이미 옮긴 행은 건너뛴다. 행마다 두 번째 값은 그 행의 주인(고객 id 또는 주문 id)이며,
+     * 같은 id 의 행이 다른 주인의 것이면 남의 행을 옮긴 것으로 보고 지우기 전에 멈춘다.
+     */
+    private void insertMissing(final JdbcTemplate jdbcTemplate, final String table, final String ownerColumn,
+                               final String sql, final List<Object[]> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        final String ids = rows.stream()
+                .map(row -> String.valueOf(row[0]))
+                .collect(Collectors.joining(","));
+        final Map<Long, Long> ownerById = new HashMap<>();
+        jdbcTemplate.query("SELECT id, " + ownerColumn + " FROM " + table + " WHERE id IN (" + ids + ")",
+                rs -> {
+                    ownerById.put(rs.getLong("id"), rs.getLong(ownerColumn));
+                });
+        for (final Object[] row : rows) {
+            final Long owner = ownerById.get((Long) row[0]);
+            if (owner != null && !owner.equals(row[1])) {
+                throw new IllegalStateException(String.format("%s 의 id %d 가 다른 %s(%d)의 행과 겹칩니다.",
+                        table, (Long) row[0], ownerColumn, owner));
+            }
+        }
+        jdbcTemplate.batchUpdate(sql, rows.stream()
+                .filter(row -> !ownerById.containsKey((Long) row[0]))
+                .collect(Collectors.toList()));
+    }
+}
@@ -0,0 +1,112 @@
+package woowacourse.shoppingcart.support;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import woowacourse.shoppingcart.exception.LoadTimeoutException;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 같은 키에 대한 동시 조회를 하나로 합친다.
+ * 먼저 들어온 호출이 자기 스레드에서 직접 조회하고, 그동안 들어온 호출은 그 결과나 예외를 그대로 받는다.
+ * 조회가 끝나면 키를 지우므로 결과를 캐시하지는 않는다.
+ */
+public class SingleFlight<K, V> implements MeterBinder {
+    private static final String METRIC_PREFIX = "shoppingcart.single-flight";
+
+    private final String name;
+    private final long timeoutMillis;
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder loadCount = new LongAdder();
+    private final LongAdder collapsedCount = new LongAdder();
+    private final LongAdder timeoutCount = new LongAdder();
+
+    public SingleFlight(final String name, final long timeoutMillis) {
+        if (timeoutMillis <= 0) {
+            throw new IllegalArgumentException("timeoutMillis 는 양수여야 합니다.");
+        }
+        this.name = name;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    /**
+     * 진행 중인 같은 키의 조회가 있으면 그 결과를 최대 timeoutMillis 동안 기다리고, 없으면 loader 로 직접 조회한다.
+     *
+     * @throws LoadTimeoutException 진행 중인 조회가 timeoutMillis 안에 끝나지 않은 경우
+     */
+    public V execute(final K key, final Supplier<V> loader) {
+        final CompletableFuture<V> call = new CompletableFuture<>();
+        final CompletableFuture<V> inFlightCall = inFlight.putIfAbsent(key, call);
+        if (inFlightCall != null) {
+            collapsedCount.increment();
+            return await(inFlightCall);
+        }
+
+        loadCount.increment();
+        try {
+            final V value = loader.get();
+            call.complete(value);
+            return value;
+        } catch (final RuntimeException | Error e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, call);
+        }
+    }
+
+    private V await(final CompletableFuture<V> call) {
+        try {
+            return call.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (final TimeoutException e) {
+            timeoutCount.increment();
+            throw new LoadTimeoutException();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new LoadTimeoutException();
+        } catch (final ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw (Error) cause;
+        }
+    }
+
+    public long getLoadCount() {
+        return loadCount.sum();
+    }
+
+    public long getCollapsedCount() {
+        return collapsedCount.sum();
+    }
+
+    public long getTimeoutCount() {
+        return timeoutCount.sum();
+    }
+
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        FunctionCounter.builder(METRIC_PREFIX + ".loads", this, SingleFlight::getLoadCount)
+                .tag("name", name)
+                .register(registry);
+        FunctionCounter.builder(METRIC_PREFIX + ".collapsed", this, SingleFlight::getCollapsedCount)
+                .tag("name", name)
+                .register(registry);
+        FunctionCounter.builder(METRIC_PREFIX + ".timeouts", this, SingleFlight::getTimeoutCount)
+                .tag("name", name)
+                .register(registry);
+        Gauge.builder(METRIC_PREFIX + ".in-flight", inFlight, Map::size)
+                .tag("name", name)
+                .register(registry);
+    }
+}
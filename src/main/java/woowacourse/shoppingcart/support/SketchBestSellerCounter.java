@@ -0,0 +1,98 @@
+package woowacourse.shoppingcart.support;
+
+import woowacourse.shoppingcart.domain.BestSeller;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.Collectors;
+
+/**
+ * Count-Min Sketch 로 상품별 수량을 추정하고, 추정치가 큰 상품 capacity 개만 후보로 들고 있는다.
+ * 메모리는 상품 수와 관계없이 depth * width 개의 카운터와 후보 capacity 개로 고정된다.
+ * 추정치는 실제 수량보다 작아지지 않으며, 전체 수량의 약 e / width 만큼까지 크게 나올 수 있다.
+ */
+public class SketchBestSellerCounter implements BestSellerCounter {
+    private final int width;
+    private final int depth;
+    private final int capacity;
+    private final long[] seeds;
+    private final AtomicLongArray counters;
+    private final Map<Long, BestSeller> candidates = new HashMap<>();
+    private final TreeSet<BestSeller> ranking = new TreeSet<>(ASCENDING);
+
+    public SketchBestSellerCounter(final int width, final int depth, final int capacity) {
+        if (width <= 0 || depth <= 0 || capacity <= 0) {
+            throw new IllegalArgumentException("width, depth, capacity 는 양수여야 합니다.");
+        }
+        this.width = width;
+        this.depth = depth;
+        this.capacity = capacity;
+        this.seeds = new SplittableRandom(depth).longs(depth).toArray();
+        this.counters = new AtomicLongArray(width * depth);
+    }
+
+    @Override
+    public void add(final long productId, final long quantity) {
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters.addAndGet(index(row, productId), quantity));
+        }
+        offer(productId, estimate);
+    }
+
+    public long estimate(final long productId) {
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters.get(index(row, productId)));
+        }
+        return estimate;
+    }
+
+    @Override
+    public synchronized List<BestSeller> top(final int limit) {
+        return ranking.descendingSet().stream()
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public synchronized void clear() {
+        for (int i = 0; i < counters.length(); i++) {
+            counters.set(i, 0);
+        }
+        candidates.clear();
+        ranking.clear();
+    }
+
+    private synchronized void offer(final long productId, final long estimate) {
+        final BestSeller previous = candidates.get(productId);
+        if (previous != null) {
+            if (previous.getQuantity() >= estimate) {
+                return;
+            }
+            ranking.remove(previous);
+        } else if (candidates.size() >= capacity) {
+            final BestSeller lowest = ranking.first();
+            if (lowest.getQuantity() >= estimate) {
+                return;
+            }
+            ranking.pollFirst();
+            candidates.remove(lowest.getProductId());
+        }
+        final BestSeller candidate = new BestSeller(productId, estimate);
+        ranking.add(candidate);
+        candidates.put(productId, candidate);
+    }
+
+    private int index(final int row, final long productId) {
+        long hash = productId ^ seeds[row];
+        hash = (hash ^ (hash >>> 33)) * 0xff51afd7ed558ccdL;
+        hash = (hash ^ (hash >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return row * width + (int) ((hash >>> 1) % width);
+    }
+}
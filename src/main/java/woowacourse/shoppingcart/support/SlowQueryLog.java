@@ -0,0 +1,183 @@
+package woowacourse.shoppingcart.support;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import woowacourse.shoppingcart.domain.SlowQuery;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * 기준 시간을 넘긴 SQL 을 정규화한 모양별로 모으고 로그로 남긴다.
+ * 바인딩 값은 {@link QueryParameterRedactor} 로 가린 뒤에만 로그와 통계에 남긴다.
+ * 모양마다 explainInterval 에 한 번씩, 쿼리를 실행한 DB 에 원래 바인딩 값으로 EXPLAIN 을 돌려 실행 계획을 붙인다.
+ * EXPLAIN 은 요청 스레드를 막지 않도록 스레드 하나에서 돌리고, 대기열이 차면 버린다.
+ * 모양이 maxEntries 개를 넘으면 새 모양은 로그만 남기고 모으지 않는다.
+ */
+public class SlowQueryLog {
+    private static final Logger log = LoggerFactory.getLogger(SlowQueryLog.class);
+    private static final Pattern EXPLAINABLE = Pattern.compile("(?is)^\\s*(SELECT|INSERT|UPDATE|DELETE|MERGE|WITH)\\b.*");
+    private static final int MAX_PARAMETER_LENGTH = 100;
+    private static final String UNKNOWN = "?";
+
+    private final long thresholdNanos;
+    private final int maxEntries;
+    private final long explainIntervalMillis;
+    private final QueryParameterRedactor redactor;
+    private final Clock clock;
+    private final ThreadPoolExecutor explainExecutor;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    public SlowQueryLog(final Duration threshold, final int maxEntries, final Duration explainInterval,
+                        final int explainQueueCapacity, final QueryParameterRedactor redactor, final Clock clock) {
+        this.thresholdNanos = threshold.toNanos();
+        this.maxEntries = maxEntries;
+        this.explainIntervalMillis = explainInterval.toMillis();
+        this.redactor = redactor;
+        this.clock = clock;
+        this.explainExecutor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(explainQueueCapacity), runnable -> {
+            final Thread thread = new Thread(runnable, "slow-query-explain");
+            thread.setDaemon(true);
+            return thread;
+        }, new ThreadPoolExecutor.DiscardPolicy());
+    }
+
+    public boolean isSlow(final long elapsedNanos) {
+        return elapsedNanos >= thresholdNanos;
+    }
+
+    /**
+     * @param jdbcTemplate 쿼리를 실행한 JdbcTemplate. 같은 DB 에서 EXPLAIN 하려고 받는다.
+     * @param sql          알 수 없으면 null
+     * @param parameters   알 수 없으면 null
+     */
+    public void record(final JdbcTemplate jdbcTemplate, final String sqlId, final String sql,
+                       final Object[] parameters, final long elapsedNanos) {
+        final String shape = sql == null ? sqlId : SqlNormalizer.normalize(sql);
+        final List<String> shownParameters = parameters == null ? null : show(sql, parameters);
+        final long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+        log.warn("느린 쿼리 {} ms [{}] {} 파라미터={}", elapsedMillis, sqlId, shape,
+                shownParameters == null ? UNKNOWN : shownParameters);
+
+        final Entry entry = entry(shape, sqlId);
+        if (entry == null) {
+            return;
+        }
+        final long now = clock.millis();
+        entry.add(elapsedNanos, shownParameters, now);
+        if (sql != null && EXPLAINABLE.matcher(sql).matches() && entry.reserveExplain(now, explainIntervalMillis)) {
+            explainExecutor.execute(() -> entry.plan = explain(jdbcTemplate, sql, parameters));
+        }
+    }
+
+    /**
+     * @return 걸린 시간의 합이 큰 순서로 limit 개
+     */
+    public List<SlowQuery> findTop(final int limit) {
+        return entries.values().stream()
+                .sorted(Comparator.comparingLong(Entry::totalNanos).reversed())
+                .limit(limit)
+                .map(Entry::toSlowQuery)
+                .collect(Collectors.toList());
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    public void shutdown() {
+        explainExecutor.shutdownNow();
+    }
+
+    private Entry entry(final String shape, final String sqlId) {
+        final Entry entry = entries.get(shape);
+        if (entry != null || entries.size() >= maxEntries) {
+            return entry;
+        }
+        return entries.computeIfAbsent(shape, key -> new Entry(key, sqlId));
+    }
+
+    private List<String> show(final String sql, final Object[] parameters) {
+        final List<Object> redacted = sql == null ? Arrays.asList(parameters)
+                : redactor.redact(sql, Arrays.asList(parameters));
+        return redacted.stream()
+                .map(String::valueOf)
+                .map(value -> value.length() > MAX_PARAMETER_LENGTH
+                        ? value.substring(0, MAX_PARAMETER_LENGTH) + "..." : value)
+                .collect(Collectors.toList());
+    }
+
+    private String explain(final JdbcTemplate jdbcTemplate, final String sql, final Object[] parameters) {
+        // 바인딩 값을 알 수 없으면 NULL 로 바인딩한다. 값에 따라 계획이 달라지는 경우에는 실제와 다를 수 있다.
+        final Object[] arguments = parameters != null ? parameters : new Object[SqlNormalizer.countPlaceholders(sql)];
+        try {
+            return jdbcTemplate.queryForList("EXPLAIN " + sql, arguments).stream()
+                    .map(row -> row.values().stream()
+                            .map(String::valueOf)
+                            .collect(Collectors.joining(" | ")))
+                    .collect(Collectors.joining("\n"));
+        } catch (final RuntimeException e) {
+            log.debug("EXPLAIN 실패: {}", sql, e);
+            return "EXPLAIN 실패: " + e.getMessage();
+        }
+    }
+
+    private final class Entry {
+        private final String sql;
+        private final String sqlId;
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+        private final AtomicLong explainedAtMillis = new AtomicLong(Long.MIN_VALUE);
+        private volatile List<String> lastParameters;
+        private volatile long lastSeenAtMillis;
+        private volatile String plan;
+
+        private Entry(final String sql, final String sqlId) {
+            this.sql = sql;
+            this.sqlId = sqlId;
+        }
+
+        private void add(final long elapsedNanos, final List<String> parameters, final long nowMillis) {
+            count.increment();
+            totalNanos.add(elapsedNanos);
+            maxNanos.accumulateAndGet(elapsedNanos, Math::max);
+            lastParameters = parameters;
+            lastSeenAtMillis = nowMillis;
+        }
+
+        private boolean reserveExplain(final long nowMillis, final long intervalMillis) {
+            final long explainedAt = explainedAtMillis.get();
+            if (explainedAt != Long.MIN_VALUE && nowMillis - explainedAt < intervalMillis) {
+                return false;
+            }
+            return explainedAtMillis.compareAndSet(explainedAt, nowMillis);
+        }
+
+        private long totalNanos() {
+            return totalNanos.sum();
+        }
+
+        private SlowQuery toSlowQuery() {
+            return new SlowQuery(sql, sqlId, count.sum(), TimeUnit.NANOSECONDS.toMillis(totalNanos.sum()),
+                    TimeUnit.NANOSECONDS.toMillis(maxNanos.get()), lastParameters,
+                    LocalDateTime.ofInstant(java.time.Instant.ofEpochMilli(lastSeenAtMillis), clock.getZone()),
+                    plan);
+        }
+    }
+}
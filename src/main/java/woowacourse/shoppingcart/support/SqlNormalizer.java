@@ -0,0 +1,43 @@
+package woowacourse.shoppingcart.support;
+
+import java.util.regex.Pattern;
+
+/**
+ * 값만 다른 SQL 을 같은 모양으로 모으기 위해 리터럴을 ? 로 바꾸고, IN 목록과 여러 행 VALUES 를 하나로 줄인다.
+ */
+public final class SqlNormalizer {
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("(?<![\\w.?])-?\\d+(?:\\.\\d+)?(?![\\w.])");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern IN_LIST = Pattern.compile("(?i)\\bIN \\(\\?(?:, ?\\?)*\\)");
+    private static final Pattern ROW = Pattern.compile("\\(\\?(?:, ?\\?)*\\)");
+    private static final Pattern ROWS = Pattern.compile("(" + ROW + ")(?:, ?" + ROW + ")+");
+
+    private SqlNormalizer() {
+    }
+
+    public static String normalize(final String sql) {
+        String normalized = STRING_LITERAL.matcher(sql).replaceAll("?");
+        normalized = NUMBER_LITERAL.matcher(normalized).replaceAll("?");
+        normalized = WHITESPACE.matcher(normalized).replaceAll(" ").trim();
+        normalized = IN_LIST.matcher(normalized).replaceAll("IN (?)");
+        return ROWS.matcher(normalized).replaceAll("$1");
+    }
+
+    /**
+     * @return 작은따옴표 밖에 있는 ? 의 수
+     */
+    public static int countPlaceholders(final String sql) {
+        int count = 0;
+        boolean quoted = false;
+        for (int i = 0; i < sql.length(); i++) {
+            final char c = sql.charAt(i);
+            if (c == '\'') {
+                quoted = !quoted;
+            } else if (c == '?' && !quoted) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,278 @@
+package woowacourse.shoppingcart.support;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import woowacourse.shoppingcart.exception.OutOfStockException;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * 상품 재고를 메모리에서 예약한다.
+ * 상품마다 재고를 여러 스트라이프에 나눠 담아, 같은 상품을 동시에 사는 요청이 한 행이나 한 카운터에 몰리지 않고 서로 다른 스트라이프를 CAS 로 깎는다.
+ * 스트라이프 하나로 모자라면 상품 단위로 잠그고 스트라이프를 모두 모아 다시 나눈다. 어느 경로로도 재고가 0 아래로 내려가지 않는다.
+ * 커밋된 예약은 상품별로 모아 두었다가 {@link #flush()} 에서 한 번의 batch update 로 DB 에 반영한다.
+ * DB 재고가 메모리보다 적어 줄이지 못한 상품은 예약을 잃지 않도록 다시 모아 두고 예외로 알린다.
+ */
+public class StockReservations implements MeterBinder {
+    private static final String METRIC_PREFIX = "shoppingcart.stock";
+    // 스트라이프끼리 같은 캐시 라인을 나눠 쓰지 않도록 int 16개(64바이트) 간격으로 둔다.
+    private static final int PADDING = 16;
+
+    private final int stripes;
+    private final Function<Long, Integer> stockLoader;
+    private final Function<Map<Long, Integer>, Set<Long>> stockWriter;
+    private final Map<Long, ProductStock> stocks = new ConcurrentHashMap<>();
+    private final LongAdder reservedCount = new LongAdder();
+    private final LongAdder rejectedCount = new LongAdder();
+    private final LongAdder releasedCount = new LongAdder();
+    private final LongAdder contendedCount = new LongAdder();
+    private final LongAdder flushedCount = new LongAdder();
+    private final LongAdder mismatchedCount = new LongAdder();
+
+    /**
+     * @param stockLoader 메모리에 없는 상품의 DB 재고를 읽는다.
+     * @param stockWriter 상품 id 별로 커밋된 예약 수량만큼 DB 재고를 줄이고, 재고가 모자라 줄이지 못한 상품 id 를 돌려준다.
+     */
+    public StockReservations(final int stripes, final Function<Long, Integer> stockLoader,
+                             final Function<Map<Long, Integer>, Set<Long>> stockWriter) {
+        if (stripes <= 0) {
+            throw new IllegalArgumentException("stripes 는 양수여야 합니다.");
+        }
+        this.stripes = stripes;
+        this.stockLoader = stockLoader;
+        this.stockWriter = stockWriter;
+    }
+
+    /**
+     * @throws OutOfStockException 남은 재고가 quantity 보다 적은 경우
+     */
+    public void reserve(final Long productId, final int quantity) {
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("quantity 는 양수여야 합니다.");
+        }
+        final ProductStock stock = load(productId);
+        final int home = stripe();
+        for (int i = 0; i < stripes; i++) {
+            if (stock.tryTake((home + i) % stripes, quantity)) {
+                reservedCount.increment();
+                return;
+            }
+        }
+        contendedCount.increment();
+        if (!stock.takeAcrossStripes(quantity)) {
+            rejectedCount.increment();
+            throw new OutOfStockException();
+        }
+        reservedCount.increment();
+    }
+
+    /**
+     * 현재 트랜잭션이 커밋되면 예약을 확정하고, 롤백되면 되돌린다.
+     * 커밋 여부를 알 수 없는 경우에는 재고를 초과 판매하지 않도록 확정으로 본다.
+     */
+    public void reserveInTransaction(final Long productId, final int quantity) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("재고 예약은 트랜잭션 안에서만 할 수 있습니다.");
+        }
+        reserve(productId, quantity);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(final int status) {
+                if (status == STATUS_ROLLED_BACK) {
+                    release(productId, quantity);
+                    return;
+                }
+                confirm(productId, quantity);
+            }
+        });
+    }
+
+    public void confirm(final Long productId, final int quantity) {
+        final ProductStock stock = stocks.get(productId);
+        if (stock != null) {
+            stock.pending.addAndGet(quantity);
+        }
+    }
+
+    public void release(final Long productId, final int quantity) {
+        final ProductStock stock = stocks.get(productId);
+        if (stock != null) {
+            stock.add(stripe(), quantity);
+            releasedCount.increment();
+        }
+    }
+
+    /**
+     * persist 로 DB 재고를 늘린 뒤 메모리에도 더한다.
+     * 같은 상품을 처음 읽어 오는 것과 겹쳐 늘린 재고가 두 번 더해지지 않도록 persist 는 상품 키를 잡은 채로 실행하며,
+     * 곧바로 커밋되어야 한다.
+     */
+    public void restock(final Long productId, final int quantity, final Runnable persist) {
+        stocks.compute(productId, (id, stock) -> {
+            persist.run();
+            if (stock != null) {
+                stock.spread(quantity);
+            }
+            return stock;
+        });
+    }
+
+    public int available(final Long productId) {
+        return load(productId).available();
+    }
+
+    /**
+     * 메모리에서 상품을 내리기 전에 아직 반영하지 않은 예약을 DB 에 반영한다.
+     * 삭제되는 상품이므로 DB 재고가 모자라 줄이지 못해도 삭제를 막지 않고 건수만 센다.
+     */
+    public void evict(final Long productId) {
+        final ProductStock stock = stocks.remove(productId);
+        if (stock == null) {
+            return;
+        }
+        final int pending = stock.pending.getAndSet(0);
+        if (pending > 0) {
+            mismatchedCount.add(stockWriter.apply(Map.of(productId, pending)).size());
+        }
+    }
+
+    /**
+     * 커밋된 예약을 DB 에 반영한다. 반영에 실패하면 다음 flush 에서 다시 시도하도록 되돌려 둔다.
+     * DB 재고가 모자라 줄이지 못한 상품도 되돌려 두고, 나머지를 반영한 뒤 예외를 던진다.
+     *
+     * @return 재고가 바뀐 상품 수
+     * @throws IllegalStateException DB 재고가 메모리의 예약보다 적어 줄이지 못한 상품이 있는 경우
+     */
+    public int flush() {
+        final Map<Long, Integer> decrements = new HashMap<>();
+        stocks.forEach((productId, stock) -> {
+            final int pending = stock.pending.getAndSet(0);
+            if (pending > 0) {
+                decrements.put(productId, pending);
+            }
+        });
+        if (decrements.isEmpty()) {
+            return 0;
+        }
+        final Set<Long> rejected;
+        try {
+            rejected = stockWriter.apply(decrements);
+        } catch (final RuntimeException e) {
+            decrements.forEach(this::confirm);
+            throw e;
+        }
+        rejected.forEach(productId -> confirm(productId, decrements.get(productId)));
+        flushedCount.add(decrements.size() - rejected.size());
+        if (!rejected.isEmpty()) {
+            mismatchedCount.add(rejected.size());
+            throw new IllegalStateException("DB 재고가 예약보다 적어 줄이지 못한 상품이 있습니다: " + rejected);
+        }
+        return decrements.size();
+    }
+
+    public int pending() {
+        return stocks.values().stream()
+                .mapToInt(stock -> stock.pending.get())
+                .sum();
+    }
+
+    public long getReservedCount() {
+        return reservedCount.sum();
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount.sum();
+    }
+
+    public long getContendedCount() {
+        return contendedCount.sum();
+    }
+
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        FunctionCounter.builder(METRIC_PREFIX + ".reserved", reservedCount, LongAdder::sum).register(registry);
+        FunctionCounter.builder(METRIC_PREFIX + ".rejected", rejectedCount, LongAdder::sum).register(registry);
+        FunctionCounter.builder(METRIC_PREFIX + ".released", releasedCount, LongAdder::sum).register(registry);
+        FunctionCounter.builder(METRIC_PREFIX + ".contended", contendedCount, LongAdder::sum).register(registry);
+        FunctionCounter.builder(METRIC_PREFIX + ".flushed", flushedCount, LongAdder::sum).register(registry);
+        FunctionCounter.builder(METRIC_PREFIX + ".mismatched", mismatchedCount, LongAdder::sum).register(registry);
+        Gauge.builder(METRIC_PREFIX + ".pending", this, StockReservations::pending).register(registry);
+    }
+
+    private ProductStock load(final Long productId) {
+        return stocks.computeIfAbsent(productId, id -> new ProductStock(stockLoader.apply(id)));
+    }
+
+    private int stripe() {
+        return (int) (Thread.currentThread().getId() % stripes);
+    }
+
+    private final class ProductStock {
+        private final AtomicIntegerArray slots = new AtomicIntegerArray(stripes * PADDING);
+        private final AtomicInteger pending = new AtomicInteger();
+
+        private ProductStock(final int quantity) {
+            spread(quantity);
+        }
+
+        private boolean tryTake(final int stripe, final int quantity) {
+            final int slot = stripe * PADDING;
+            while (true) {
+                final int current = slots.get(slot);
+                if (current < quantity) {
+                    return false;
+                }
+                if (slots.compareAndSet(slot, current, current - quantity)) {
+                    return true;
+                }
+            }
+        }
+
+        private synchronized boolean takeAcrossStripes(final int quantity) {
+            int drained = 0;
+            for (int stripe = 0; stripe < stripes; stripe++) {
+                drained += slots.getAndSet(stripe * PADDING, 0);
+            }
+            if (drained < quantity) {
+                spread(drained);
+                return false;
+            }
+            spread(drained - quantity);
+            return true;
+        }
+
+        private void add(final int stripe, final int quantity) {
+            slots.addAndGet(stripe * PADDING, quantity);
+        }
+
+        private void spread(final int quantity) {
+            final int share = quantity / stripes;
+            final int rest = quantity % stripes;
+            for (int stripe = 0; stripe < stripes; stripe++) {
+                final int amount = share + (stripe < rest ? 1 : 0);
+                if (amount > 0) {
+                    add(stripe, amount);
+                }
+            }
+        }
+
+        private int available() {
+            int sum = 0;
+            for (int stripe = 0; stripe < stripes; stripe++) {
+                sum += slots.get(stripe * PADDING);
+            }
+            return sum;
+        }
+    }
+}
@@ -0,0 +1,282 @@
+package woowacourse.shoppingcart.support;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * 규모 테스트용으로 고객, 상품, 장바구니, 주문을 대량으로 만든다.
+ * 행을 batchSize 개씩 묶은 multi-row INSERT 로 쓰고, 장바구니와 주문은 고객 샤드에, 상품은 기본 DB 와 복제본 모두에 쓴다.
+ * 어떤 고객과 상품이 자주 등장하는지는 Zipf 분포를 따르되 순위를 id 와 섞어 두고, 주문 시각은 최근으로 갈수록 촘촘해진다.
+ * 표마다 seed 에서 갈라 낸 난수를 쓰므로 같은 seed 와 같은 개수면 언제나 같은 데이터가 나온다.
+ * 이미 있는 행 뒤에 이어서 쓰므로 여러 번 실행해도 id 와 username 이 겹치지 않는다.
+ * 주문 id 는 샤드마다 그 샤드의 id 구간 안에서 이어 쓰므로 샤드의 다음 id 가 다른 샤드 구간으로 넘어가지 않는다.
+ * 인증이 필요한 부하 테스트에 쓸 수 있도록 모든 고객의 비밀번호는 {@link #PASSWORD} 로 둔다.
+ */
+public class SyntheticDataGenerator {
+    public static final String PASSWORD = "synthetic-password";
+    // 고객마다 해시를 계산하면 만드는 시간이 해시에 묶이므로, PASSWORD 를 고정 salt 로 미리 해시해 둔다.
+    private static final String PASSWORD_HASH =
+            "pbkdf2-sha256$120000$c3ludGhldGljLXNhbHQhIQ==$3HSyIOnEybvuqCycSG2YthAnedhgyJaIrLytqzn7VmU=";
+    private static final long CUSTOMER_SALT = 0x9E3779B97F4A7C15L;
+    private static final long PRODUCT_SALT = 0xC2B2AE3D27D4EB4FL;
+    private static final long CART_SALT = 0x165667B19E3779F9L;
+    private static final long ORDER_SALT = 0x27D4EB2F165667C5L;
+    private static final int MAX_ORDER_LINES = 10;
+    private static final int MAX_QUANTITY = 5;
+
+    private final CustomerShards customerShards;
+    private final long seed;
+    private final double skew;
+    private final int batchSize;
+    private final LocalDateTime until;
+    private final int orderSpanDays;
+
+    public SyntheticDataGenerator(final CustomerShards customerShards, final long seed, final double skew,
+                                  final int batchSize, final LocalDateTime until, final int orderSpanDays) {
+        if (batchSize <= 0 || orderSpanDays <= 0) {
+            throw new IllegalArgumentException("batchSize 와 orderSpanDays 는 양수여야 합니다.");
+        }
+        this.customerShards = customerShards;
+        this.seed = seed;
+        this.skew = skew;
+        this.batchSize = batchSize;
+        this.until = until;
+        this.orderSpanDays = orderSpanDays;
+    }
+
+    /**
+     * @return 표 이름별로 쓴 행 수
+     */
+    public Map<String, Long> generate(final int customers, final int products, final int cartItems,
+                                      final int orders) {
+        if (customers <= 0 || products <= 0) {
+            throw new IllegalArgumentException("customers 와 products 는 양수여야 합니다.");
+        }
+        final Map<String, Long> written = new LinkedHashMap<>();
+        final long firstCustomerId = maxId(0, "customer") + 1;
+        final long firstProductId = maxId(0, "product") + 1;
+        final int[] prices = new int[products];
+
+        written.put("customer", insertCustomers(firstCustomerId, customers));
+        written.put("product", insertProducts(firstProductId, prices));
+
+        final ZipfSampler customerSampler = new ZipfSampler(customers, skew);
+        final ZipfSampler productSampler = new ZipfSampler(products, skew);
+        final int[] customerByRank = shuffledRanks(customers, seed ^ CUSTOMER_SALT);
+        final int[] productByRank = shuffledRanks(products, seed ^ PRODUCT_SALT);
+        final Sampler sampler = random -> new int[]{
+                customerByRank[customerSampler.sample(random)], productByRank[productSampler.sample(random)]
+        };
+
+        written.putAll(insertCartItems(firstCustomerId, firstProductId, prices, cartItems, sampler));
+        written.putAll(insertOrders(firstCustomerId, firstProductId, orders, customerSampler, customerByRank,
+                productSampler, productByRank));
+        return written;
+    }
+
+    private long insertCustomers(final long firstId, final int customers) {
+        final MultiRowInsert insert = new MultiRowInsert(customerShards.jdbcTemplateAt(0), "customer",
+                "id, username, password");
+        for (int i = 0; i < customers; i++) {
+            final long id = firstId + i;
+            insert.add(id, "synthetic-" + id, PASSWORD_HASH);
+        }
+        return insert.finish();
+    }
+
+    private long insertProducts(final long firstId, final int[] prices) {
+        final SplittableRandom random = new SplittableRandom(seed ^ PRODUCT_SALT);
+        final MultiRowInsert global = new MultiRowInsert(customerShards.jdbcTemplateAt(0), "product",
+                "id, name, price, image_url, stock");
+        final List<MultiRowInsert> replicas = new ArrayList<>();
+        for (final JdbcTemplate replica : customerShards.productReplicas()) {
+            replicas.add(new MultiRowInsert(replica, "product", "id, name, price, image_url"));
+        }
+        for (int i = 0; i < prices.length; i++) {
+            final long id = firstId + i;
+            prices[i] = price(random);
+            final String name = "synthetic-product-" + id;
+            final String imageUrl = "https://example.com/products/" + id + ".jpg";
+            global.add(id, name, prices[i], imageUrl, 1_000 + random.nextInt(9_000));
+            for (final MultiRowInsert replica : replicas) {
+                replica.add(id, name, prices[i], imageUrl);
+            }
+        }
+        replicas.forEach(MultiRowInsert::finish);
+        return global.finish();
+    }
+
+    private Map<String, Long> insertCartItems(final long firstCustomerId, final long firstProductId,
+                                              final int[] prices, final int cartItems, final Sampler sampler) {
+        final SplittableRandom random = new SplittableRandom(seed ^ CART_SALT);
+        final List<MultiRowInsert> items = perShard("cart_item", "customer_id, product_id, price");
+        final Map<Integer, long[]> summaries = new LinkedHashMap<>();
+        for (int i = 0; i < cartItems; i++) {
+            final int[] pick = sampler.sample(random);
+            final long customerId = firstCustomerId + pick[0];
+            items.get(customerShards.shardOf(customerId)).add(customerId, firstProductId + pick[1], prices[pick[1]]);
+            final long[] summary = summaries.computeIfAbsent(pick[0], index -> new long[2]);
+            summary[0]++;
+            summary[1] += prices[pick[1]];
+        }
+
+        final List<MultiRowInsert> summaryInserts = perShard("cart_summary", "customer_id, item_count, subtotal");
+        summaries.forEach((index, summary) -> {
+            final long customerId = firstCustomerId + index;
+            summaryInserts.get(customerShards.shardOf(customerId)).add(customerId, summary[0], summary[1]);
+        });
+        final Map<String, Long> written = new LinkedHashMap<>();
+        written.put("cart_item", finish(items));
+        written.put("cart_summary", finish(summaryInserts));
+        return written;
+    }
+
+    private Map<String, Long> insertOrders(final long firstCustomerId, final long firstProductId, final int orders,
+                                           final ZipfSampler customerSampler, final int[] customerByRank,
+                                           final ZipfSampler productSampler, final int[] productByRank) {
+        final SplittableRandom random = new SplittableRandom(seed ^ ORDER_SALT);
+        final List<MultiRowInsert> orderInserts = perShard("orders", "id, customer_id, ordered_at");
+        final List<MultiRowInsert> detailInserts = perShard("orders_detail", "orders_id, product_id, quantity");
+        for (int shard = 0; shard < customerShards.size(); shard++) {
+            detailInserts.get(shard).after(orderInserts.get(shard));
+        }
+        final long[] nextOrderIds = new long[customerShards.size()];
+        for (int shard = 0; shard < customerShards.size(); shard++) {
+            nextOrderIds[shard] = ShardRebalancer.maxIdInRange(customerShards.jdbcTemplateAt(shard), shard, "orders")
+                    + 1;
+        }
+        final LocalDateTime from = until.minusDays(orderSpanDays);
+        final long spanSeconds = orderSpanDays * 86_400L;
+
+        for (int i = 0; i < orders; i++) {
+            final long customerId = firstCustomerId + customerByRank[customerSampler.sample(random)];
+            final int shard = customerShards.shardOf(customerId);
+            final long orderId = nextOrderIds[shard]++;
+            // 누적 주문 수가 시간의 제곱에 비례하도록 두어 최근일수록 주문이 많다.
+            final long offsetSeconds = (long) (spanSeconds * Math.sqrt((i + random.nextDouble()) / orders));
+            orderInserts.get(shard).add(orderId, customerId, Timestamp.valueOf(from.plusSeconds(offsetSeconds)));
+            final int lines = geometric(random, 0.45, MAX_ORDER_LINES);
+            for (int line = 0; line < lines; line++) {
+                final long productId = firstProductId + productByRank[productSampler.sample(random)];
+                detailInserts.get(shard).add(orderId, productId, geometric(random, 0.6, MAX_QUANTITY));
+            }
+        }
+        final Map<String, Long> written = new LinkedHashMap<>();
+        written.put("orders", finish(orderInserts));
+        written.put("orders_detail", finish(detailInserts));
+        return written;
+    }
+
+    private List<MultiRowInsert> perShard(final String table, final String columns) {
+        final List<MultiRowInsert> inserts = new ArrayList<>();
+        for (int shard = 0; shard < customerShards.size(); shard++) {
+            inserts.add(new MultiRowInsert(customerShards.jdbcTemplateAt(shard), table, columns));
+        }
+        return inserts;
+    }
+
+    private long finish(final List<MultiRowInsert> inserts) {
+        return inserts.stream()
+                .mapToLong(MultiRowInsert::finish)
+                .sum();
+    }
+
+    private long maxId(final int shard, final String table) {
+        final Long maxId = customerShards.jdbcTemplateAt(shard)
+                .queryForObject("SELECT MAX(id) FROM " + table, Long.class);
+        return maxId == null ? 0 : maxId;
+    }
+
+    // 가격은 로그 정규 분포를 따르게 하고 100원 단위로 자른다. 중앙값은 약 15,000원이다.
+    private int price(final SplittableRandom random) {
+        final double gaussian = Math.sqrt(-2 * Math.log(1 - random.nextDouble()))
+                * Math.cos(2 * Math.PI * random.nextDouble());
+        final double price = 15_000 * Math.exp(0.9 * gaussian);
+        return (int) Math.max(500, Math.min(2_000_000, Math.round(price / 100) * 100));
+    }
+
+    private int geometric(final SplittableRandom random, final double stopProbability, final int max) {
+        int value = 1;
+        while (value < max && random.nextDouble() >= stopProbability) {
+            value++;
+        }
+        return value;
+    }
+
+    private int[] shuffledRanks(final int size, final long rankSeed) {
+        final SplittableRandom random = new SplittableRandom(rankSeed);
+        final int[] ranks = new int[size];
+        for (int i = 0; i < size; i++) {
+            ranks[i] = i;
+        }
+        for (int i = size - 1; i > 0; i--) {
+            final int j = random.nextInt(i + 1);
+            final int swap = ranks[i];
+            ranks[i] = ranks[j];
+            ranks[j] = swap;
+        }
+        return ranks;
+    }
+
+    @FunctionalInterface
+    private interface Sampler {
+        int[] sample(SplittableRandom random);
+    }
+
+    /**
+     * 행을 모아 두었다가 batchSize 개가 되면 INSERT INTO t (...) VALUES (...), (...), ... 한 문장으로 쓴다.
+     * 외래 키가 가리키는 표의 버퍼를 after 로 걸어 두면 그 버퍼를 먼저 비운다.
+     */
+    private final class MultiRowInsert {
+        private final JdbcTemplate jdbcTemplate;
+        private final String prefix;
+        private final String rowPlaceholder;
+        private final List<Object> args = new ArrayList<>();
+        private MultiRowInsert parent;
+        private int rows;
+        private long written;
+
+        private MultiRowInsert(final JdbcTemplate jdbcTemplate, final String table, final String columns) {
+            this.jdbcTemplate = jdbcTemplate;
+            this.prefix = "INSERT INTO " + table + " (" + columns + ") VALUES ";
+            this.rowPlaceholder = "(" + String.join(", ", Collections.nCopies(columns.split(",").length, "?")) + ")";
+        }
+
+        private void after(final MultiRowInsert parent) {
+            this.parent = parent;
+        }
+
+        private void add(final Object... row) {
+            Collections.addAll(args, row);
+            if (++rows == batchSize) {
+                flush();
+            }
+        }
+
+        private long finish() {
+            flush();
+            return written;
+        }
+
+        private void flush() {
+            if (rows == 0) {
+                return;
+            }
+            if (parent != null) {
+                parent.flush();
+            }
+            jdbcTemplate.update(prefix + String.join(", ", Collections.nCopies(rows, rowPlaceholder)), args.toArray());
+            written += rows;
+            args.clear();
+            rows = 0;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package woowacourse.shoppingcart.support;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * 0 부터 size - 1 까지의 순위를 Zipf 분포로 뽑는다. 순위 k 가 뽑힐 확률은 1 / (k + 1)^exponent 에 비례한다.
+ * 누적 분포를 미리 만들어 두고 이진 탐색으로 뽑으므로 한 번 뽑는 데 O(log size) 가 든다.
+ */
+public class ZipfSampler {
+    private final double[] cumulative;
+
+    public ZipfSampler(final int size, final double exponent) {
+        if (size <= 0 || exponent < 0) {
+            throw new IllegalArgumentException("size 는 양수, exponent 는 0 이상이어야 합니다.");
+        }
+        this.cumulative = new double[size];
+        double sum = 0;
+        for (int rank = 0; rank < size; rank++) {
+            sum += 1 / Math.pow(rank + 1, exponent);
+            cumulative[rank] = sum;
+        }
+        for (int rank = 0; rank < size; rank++) {
+            cumulative[rank] /= sum;
+        }
+    }
+
+    public int sample(final SplittableRandom random) {
+        final int index = Arrays.binarySearch(cumulative, random.nextDouble());
+        final int rank = index >= 0 ? index : -index - 1;
+        return Math.min(rank, cumulative.length - 1);
+    }
+}
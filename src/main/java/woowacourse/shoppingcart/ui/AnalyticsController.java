@@ -0,0 +1,39 @@
+package woowacourse.shoppingcart.ui;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import woowacourse.shoppingcart.application.SalesAnalyticsService;
+import woowacourse.shoppingcart.domain.CustomerRevenue;
+import woowacourse.shoppingcart.domain.ProductRevenue;
+
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import java.util.List;
+
+@Validated
+@RestController
+@RequestMapping("/api/admin/analytics")
+public class AnalyticsController {
+
+    private final SalesAnalyticsService salesAnalyticsService;
+
+    public AnalyticsController(final SalesAnalyticsService salesAnalyticsService) {
+        this.salesAnalyticsService = salesAnalyticsService;
+    }
+
+    @GetMapping("/revenue-by-product")
+    public ResponseEntity<List<ProductRevenue>> revenueByProduct(
+            @RequestParam(defaultValue = "100") @Min(1) @Max(10_000) final int limit) {
+        return ResponseEntity.ok(salesAnalyticsService.findRevenueByProduct(limit));
+    }
+
+    @GetMapping("/revenue-by-customer")
+    public ResponseEntity<List<CustomerRevenue>> revenueByCustomer(
+            @RequestParam(defaultValue = "100") @Min(1) @Max(10_000) final int limit) {
+        return ResponseEntity.ok(salesAnalyticsService.findRevenueByCustomer(limit));
+    }
+}
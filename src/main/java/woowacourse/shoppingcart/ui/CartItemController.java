@@ -5,6 +5,7 @@ import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import woowacourse.shoppingcart.domain.Cart;
+import woowacourse.shoppingcart.domain.CartSummary;
 import woowacourse.shoppingcart.domain.Product;
 import woowacourse.shoppingcart.dto.Request;
 import woowacourse.shoppingcart.application.CartService;
@@ -26,6 +27,11 @@ public class CartItemController {
         return ResponseEntity.ok().body(cartService.findCartsByCustomerName(customerName));
     }
 
+    @GetMapping("/summary")
+    public ResponseEntity<CartSummary> getCartSummary(@PathVariable final String customerName) {
+        return ResponseEntity.ok().body(cartService.findCartSummaryByCustomerName(customerName));
+    }
+
     @PostMapping
     public ResponseEntity<Void> addCartItem(@Validated(Request.id.class) @RequestBody final Product product,
                                       @PathVariable final String customerName) {
@@ -1,5 +1,7 @@
 package woowacourse.shoppingcart.ui;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -8,48 +10,61 @@ import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
-import woowacourse.shoppingcart.exception.*;
+import woowacourse.shoppingcart.dto.ErrorResponse;
+import woowacourse.shoppingcart.exception.DomainException;
+import woowacourse.shoppingcart.exception.ErrorCode;
 
 import javax.validation.ConstraintViolationException;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 
 @RestControllerAdvice
 public class ControllerAdvice {
+    private final Map<ErrorCode, Counter> errorCounters = new EnumMap<>(ErrorCode.class);
+
+    public ControllerAdvice(final MeterRegistry meterRegistry) {
+        for (final ErrorCode errorCode : ErrorCode.values()) {
+            errorCounters.put(errorCode, Counter.builder("shoppingcart.errors")
+                    .tag("code", errorCode.name())
+                    .register(meterRegistry));
+        }
+    }
 
     @ExceptionHandler(RuntimeException.class)
-    public ResponseEntity handleUnhandledException() {
-        return ResponseEntity.badRequest().body("Unhandled Exception");
+    public ResponseEntity<ErrorResponse> handleUnhandledException() {
+        return error(ErrorCode.UNHANDLED, "Unhandled Exception");
     }
 
     @ExceptionHandler(EmptyResultDataAccessException.class)
-    public ResponseEntity handle() {
-        return ResponseEntity.badRequest().body("존재하지 않는 데이터 요청입니다.");
+    public ResponseEntity<ErrorResponse> handle() {
+        return error(ErrorCode.DATA_NOT_FOUND, "존재하지 않는 데이터 요청입니다.");
     }
 
     @ExceptionHandler({MethodArgumentNotValidException.class})
-    public ResponseEntity handleInvalidRequest(final BindingResult bindingResult) {
+    public ResponseEntity<ErrorResponse> handleInvalidRequest(final BindingResult bindingResult) {
         final List<FieldError> fieldErrors = bindingResult.getFieldErrors();
         final FieldError mainError = fieldErrors.get(0);
 
-        return ResponseEntity.badRequest().body(mainError.getDefaultMessage());
+        return error(ErrorCode.INVALID_REQUEST, mainError.getDefaultMessage());
     }
 
     @ExceptionHandler({
             HttpMessageNotReadableException.class,
             ConstraintViolationException.class,
     })
-    public ResponseEntity handleInvalidRequest(final RuntimeException e) {
-        return ResponseEntity.badRequest().body(e.getMessage());
+    public ResponseEntity<ErrorResponse> handleInvalidRequest(final RuntimeException e) {
+        return error(ErrorCode.INVALID_REQUEST, e.getMessage());
     }
 
-    @ExceptionHandler({
-            InvalidCustomerException.class,
-            InvalidCartItemException.class,
-            InvalidProductException.class,
-            InvalidOrderException.class,
-            NotInCustomerCartItemException.class,
-    })
-    public ResponseEntity handleInvalidAccess(final RuntimeException e) {
-        return ResponseEntity.badRequest().body(e.getMessage());
+    @ExceptionHandler(DomainException.class)
+    public ResponseEntity<ErrorResponse> handleDomainException(final DomainException e) {
+        return error(e.getErrorCode(), e.getMessage());
+    }
+
+    private ResponseEntity<ErrorResponse> error(final ErrorCode errorCode, final String message) {
+        errorCounters.get(errorCode).increment();
+        return ResponseEntity.status(errorCode.getStatus())
+                .body(new ErrorResponse(errorCode.name(), message));
     }
 }
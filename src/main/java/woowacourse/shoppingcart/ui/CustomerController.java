@@ -1,4 +1,36 @@
 package woowacourse.shoppingcart.ui;
 
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import woowacourse.auth.application.AuthService;
+import woowacourse.auth.dto.LoginCustomer;
+import woowacourse.auth.dto.SignUpRequest;
+import woowacourse.auth.support.AuthenticationPrincipal;
+
+import javax.validation.Valid;
+import java.net.URI;
+
+@RestController
+@RequestMapping("/api/customers")
 public class CustomerController {
+    private final AuthService authService;
+
+    public CustomerController(final AuthService authService) {
+        this.authService = authService;
+    }
+
+    @PostMapping
+    public ResponseEntity<Void> signUp(@RequestBody @Valid final SignUpRequest signUpRequest) {
+        authService.signUp(signUpRequest);
+        return ResponseEntity.created(URI.create("/api/customers/me")).build();
+    }
+
+    @GetMapping("/me")
+    public ResponseEntity<LoginCustomer> me(@AuthenticationPrincipal final LoginCustomer loginCustomer) {
+        return ResponseEntity.ok(loginCustomer);
+    }
 }
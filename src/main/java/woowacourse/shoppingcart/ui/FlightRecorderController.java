@@ -0,0 +1,62 @@
+package woowacourse.shoppingcart.ui;
+
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import woowacourse.shoppingcart.support.FlightRecordings;
+
+import javax.servlet.http.HttpServletResponse;
+import javax.validation.constraints.Pattern;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+@Validated
+@RestController
+@RequestMapping("/api/admin/flight-recorder")
+public class FlightRecorderController {
+
+    private final FlightRecordings flightRecordings;
+
+    public FlightRecorderController(final FlightRecordings flightRecordings) {
+        this.flightRecordings = flightRecordings;
+    }
+
+    @PostMapping("/start")
+    public ResponseEntity<Void> start(
+            @RequestParam(defaultValue = "default") @Pattern(regexp = "default|profile") final String settings) {
+        flightRecordings.start(settings);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/dump")
+    public void dump(final HttpServletResponse response) throws IOException {
+        writeRecordingFile(flightRecordings.dump(), response);
+    }
+
+    @PostMapping("/stop")
+    public void stop(final HttpServletResponse response) throws IOException {
+        writeRecordingFile(flightRecordings.stop(), response);
+    }
+
+    // 기록 파일에는 SQL 과 스택 트레이스가 담기므로, 응답으로 보낸 뒤에는 서버에 남기지 않는다.
+    private void writeRecordingFile(final Path file, final HttpServletResponse response) throws IOException {
+        try {
+            response.setContentType(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                    .filename(file.getFileName().toString())
+                    .build()
+                    .toString());
+            response.setContentLengthLong(Files.size(file));
+            Files.copy(file, response.getOutputStream());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
@@ -1,11 +1,16 @@
 package woowacourse.shoppingcart.ui;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import woowacourse.shoppingcart.application.FlashSaleService;
+import woowacourse.shoppingcart.domain.OrderTicket;
 import woowacourse.shoppingcart.dto.OrderRequest;
 import woowacourse.shoppingcart.domain.Orders;
 import woowacourse.shoppingcart.application.OrderService;
+import woowacourse.shoppingcart.dto.OrderTicketResponse;
+import woowacourse.shoppingcart.exception.InvalidOrderException;
 
 import javax.validation.Valid;
 import java.net.URI;
@@ -16,19 +21,37 @@ import java.util.List;
 @RequestMapping("/api/customers/{customerName}/orders")
 public class OrderController {
     private final OrderService orderService;
+    private final FlashSaleService flashSaleService;
 
-    public OrderController(final OrderService orderService) {
+    public OrderController(final OrderService orderService, final ObjectProvider<FlashSaleService> flashSaleService) {
         this.orderService = orderService;
+        this.flashSaleService = flashSaleService.getIfAvailable();
     }
 
+    // 플래시 세일 중에는 주문을 대기열에 접수만 하고 202 와 접수 번호를 돌려준다.
     @PostMapping
-    public ResponseEntity<Void> addOrder(@PathVariable final String customerName,
-                                   @RequestBody @Valid final List<OrderRequest> orderDetails) {
+    public ResponseEntity<?> addOrder(@PathVariable final String customerName,
+                                      @RequestBody @Valid final List<OrderRequest> orderDetails) {
+        if (flashSaleService != null) {
+            final OrderTicket ticket = flashSaleService.admit(orderDetails, customerName);
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/customers/" + customerName + "/orders/tickets/" + ticket.getId()))
+                    .body(OrderTicketResponse.from(ticket));
+        }
         final Long orderId = orderService.addOrder(orderDetails, customerName);
         return ResponseEntity.created(
                 URI.create("/api/" + customerName + "/orders/" + orderId)).build();
     }
 
+    @GetMapping("/tickets/{ticketId}")
+    public ResponseEntity<OrderTicketResponse> findTicket(@PathVariable final String customerName,
+                                                          @PathVariable final String ticketId) {
+        if (flashSaleService == null) {
+            throw new InvalidOrderException("존재하지 않는 주문 접수 번호입니다.");
+        }
+        return ResponseEntity.ok(OrderTicketResponse.from(flashSaleService.findTicket(customerName, ticketId)));
+    }
+
     @GetMapping("/{orderId}")
     public ResponseEntity<Orders> findOrder(@PathVariable final String customerName,
                                             @PathVariable final Long orderId) {
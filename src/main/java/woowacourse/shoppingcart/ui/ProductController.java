@@ -1,29 +1,82 @@
 package woowacourse.shoppingcart.ui;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import woowacourse.shoppingcart.application.BestSellerService;
+import woowacourse.shoppingcart.application.CoPurchaseService;
+import woowacourse.shoppingcart.domain.BestSeller;
+import woowacourse.shoppingcart.domain.CoPurchase;
 import woowacourse.shoppingcart.domain.Product;
+import woowacourse.shoppingcart.domain.Stock;
+import woowacourse.shoppingcart.dto.PriceRequest;
 import woowacourse.shoppingcart.dto.Request;
 import woowacourse.shoppingcart.application.ProductService;
 
+import javax.servlet.http.HttpServletResponse;
+import javax.validation.Valid;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import java.io.IOException;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
+@Validated
 @RestController
 @RequestMapping("/api/products")
 public class ProductController {
 
     private final ProductService productService;
+    private final BestSellerService bestSellerService;
+    private final CoPurchaseService coPurchaseService;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter productWriter;
+    private final int pageSize;
 
-    public ProductController(final ProductService productService) {
+    public ProductController(final ProductService productService, final BestSellerService bestSellerService,
+                             final CoPurchaseService coPurchaseService, final ObjectMapper objectMapper,
+                             @Value("${shoppingcart.products.page-size}") final int pageSize) {
         this.productService = productService;
+        this.pageSize = pageSize;
+        this.bestSellerService = bestSellerService;
+        this.coPurchaseService = coPurchaseService;
+        this.objectMapper = objectMapper;
+        this.productWriter = objectMapper.writerFor(Product.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
     }
 
+    // 상품 목록을 pageSize 개씩 id 순서로 읽어, 한 페이지를 다 읽고 커넥션을 돌려준 뒤에 JSON 배열로 이어 쓴다.
+    // 클라이언트가 느리게 읽어도 커넥션은 잡고 있지 않는다. 첫 페이지는 응답을 쓰기 전에 읽으므로 그 실패는 평소처럼 에러 응답이 된다.
+    // 쓰는 도중에 실패하면 배열을 닫지 않고 예외를 던져, 잘린 목록이 올바른 JSON 으로 보이지 않게 한다.
     @GetMapping
-    public ResponseEntity<List<Product>> products() {
-        return ResponseEntity.ok(productService.findProducts());
+    public void products(final HttpServletResponse response) throws IOException {
+        List<Product> page = productService.findProducts(0, pageSize);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        final JsonGenerator generator = objectMapper.getFactory().createGenerator(response.getOutputStream())
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT);
+        try (generator) {
+            generator.writeStartArray();
+            while (true) {
+                for (final Product product : page) {
+                    productWriter.writeValue(generator, product);
+                }
+                if (page.size() < pageSize) {
+                    break;
+                }
+                generator.flush();
+                page = productService.findProducts(page.get(page.size() - 1).getId(), pageSize);
+            }
+            generator.writeEndArray();
+        }
     }
 
     @PostMapping
@@ -36,11 +89,42 @@ public class ProductController {
         return ResponseEntity.created(uri).build();
     }
 
+    @GetMapping("/best-sellers")
+    public ResponseEntity<List<BestSeller>> bestSellers(
+            @RequestParam(defaultValue = "10") @Min(1) @Max(100) final int limit) {
+        return ResponseEntity.ok(bestSellerService.findBestSellers(limit));
+    }
+
     @GetMapping("/{productId}")
     public ResponseEntity<Product> product(@PathVariable final Long productId) {
         return ResponseEntity.ok(productService.findProductById(productId));
     }
 
+    @PatchMapping("/{productId}")
+    public ResponseEntity<Void> updatePrice(@PathVariable final Long productId,
+                                            @Valid @RequestBody final PriceRequest priceRequest) {
+        productService.updatePrice(productId, priceRequest.getPrice());
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/{productId}/bought-together")
+    public ResponseEntity<List<CoPurchase>> boughtTogether(
+            @PathVariable final Long productId,
+            @RequestParam(defaultValue = "10") @Min(1) @Max(50) final int limit) {
+        return ResponseEntity.ok(coPurchaseService.findCoPurchases(productId, limit));
+    }
+
+    @GetMapping("/{productId}/stock")
+    public ResponseEntity<Stock> stock(@PathVariable final Long productId) {
+        return ResponseEntity.ok(productService.findStock(productId));
+    }
+
+    @PostMapping("/{productId}/stock")
+    public ResponseEntity<Void> addStock(@PathVariable final Long productId, @RequestBody final Stock stock) {
+        productService.addStock(productId, stock.getQuantity());
+        return ResponseEntity.noContent().build();
+    }
+
     @DeleteMapping("/{productId}")
     public ResponseEntity<Void> delete(@PathVariable final Long productId) {
         productService.deleteProductById(productId);
@@ -0,0 +1,92 @@
+package woowacourse.shoppingcart.ui;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.servlet.HandlerInterceptor;
+import woowacourse.auth.application.AuthService;
+import woowacourse.auth.dto.LoginCustomer;
+import woowacourse.auth.exception.InvalidTokenException;
+import woowacourse.auth.support.AuthorizationExtractor;
+import woowacourse.auth.ui.AuthenticationPrincipalArgumentResolver;
+import woowacourse.shoppingcart.support.RateLimiter;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * POST 요청을 요청한 쪽별로 제한한다.
+ * 유효한 토큰이 있으면 로그인한 고객 id 로, 없으면 클라이언트 주소로 버킷을 고른다.
+ * 경로의 고객 이름은 누구나 바꿔 보낼 수 있으므로 키로 쓰지 않는다.
+ * 프록시 뒤에서는 server.forward-headers-strategy 를 설정해야 클라이언트 주소가 프록시 주소로 뭉치지 않는다.
+ */
+public class RateLimitInterceptor implements HandlerInterceptor {
+    private final String pathPattern;
+    private final RateLimiter rateLimiter;
+    private final AuthService authService;
+    private final Counter throttledCounter;
+
+    public RateLimitInterceptor(final String endpoint, final String pathPattern, final RateLimiter rateLimiter,
+                                final AuthService authService, final MeterRegistry meterRegistry) {
+        this.pathPattern = pathPattern;
+        this.rateLimiter = rateLimiter;
+        this.authService = authService;
+        this.throttledCounter = Counter.builder("shoppingcart.rate-limit.throttled")
+                .tag("endpoint", endpoint)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public boolean preHandle(final HttpServletRequest request, final HttpServletResponse response,
+                             final Object handler) throws IOException {
+        if (!HttpMethod.POST.matches(request.getMethod())) {
+            return true;
+        }
+        final long waitNanos = rateLimiter.tryAcquire(clientKey(request));
+        if (waitNanos == 0) {
+            return true;
+        }
+        throttledCounter.increment();
+        final long retryAfterSeconds = Math.max(1L, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.getWriter().write("요청이 너무 많습니다. 잠시 후 다시 시도해 주세요.");
+        return false;
+    }
+
+    public String getPathPattern() {
+        return pathPattern;
+    }
+
+    private String clientKey(final HttpServletRequest request) {
+        final LoginCustomer loginCustomer = findLoginCustomer(request);
+        if (loginCustomer != null) {
+            return "customer:" + loginCustomer.getId();
+        }
+        return "address:" + request.getRemoteAddr();
+    }
+
+    private LoginCustomer findLoginCustomer(final HttpServletRequest request) {
+        final Object cached = request.getAttribute(AuthenticationPrincipalArgumentResolver.LOGIN_CUSTOMER);
+        if (cached instanceof LoginCustomer) {
+            return (LoginCustomer) cached;
+        }
+        final String token = AuthorizationExtractor.extract(request);
+        if (token == null) {
+            return null;
+        }
+        try {
+            final LoginCustomer loginCustomer = authService.findLoginCustomer(token);
+            request.setAttribute(AuthenticationPrincipalArgumentResolver.LOGIN_CUSTOMER, loginCustomer);
+            return loginCustomer;
+        } catch (final InvalidTokenException e) {
+            return null;
+        }
+    }
+}
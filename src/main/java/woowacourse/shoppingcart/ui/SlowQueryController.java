@@ -0,0 +1,39 @@
+package woowacourse.shoppingcart.ui;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import woowacourse.shoppingcart.domain.SlowQuery;
+import woowacourse.shoppingcart.support.SlowQueryLog;
+
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import java.util.List;
+
+@Validated
+@RestController
+@RequestMapping("/api/admin/slow-queries")
+public class SlowQueryController {
+
+    private final SlowQueryLog slowQueryLog;
+
+    public SlowQueryController(final SlowQueryLog slowQueryLog) {
+        this.slowQueryLog = slowQueryLog;
+    }
+
+    @GetMapping
+    public ResponseEntity<List<SlowQuery>> findTop(
+            @RequestParam(defaultValue = "20") @Min(1) @Max(1000) final int limit) {
+        return ResponseEntity.ok(slowQueryLog.findTop(limit));
+    }
+
+    @DeleteMapping
+    public ResponseEntity<Void> clear() {
+        slowQueryLog.clear();
+        return ResponseEntity.noContent().build();
+    }
+}
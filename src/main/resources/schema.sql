@@ -2,6 +2,8 @@ drop table if exists orders_detail;
 
 drop table if exists orders;
 
+drop table if exists cart_summary;
+
 drop table if exists cart_item;
 
 drop table if exists product;
@@ -12,6 +14,7 @@ create table customer
 (
     id       bigint       not null auto_increment,
     username varchar(255) not null,
+    password varchar(255),
     primary key (id)
 ) engine=InnoDB default charset=utf8mb4;
 
@@ -24,7 +27,10 @@ create table product
     name      varchar(255) not null,
     price     integer      not null,
     image_url varchar(255),
-    primary key (id)
+    stock     integer      not null default 0,
+    deleted   boolean      not null default false,
+    primary key (id),
+    check (stock >= 0)
 ) engine=InnoDB default charset=utf8mb4;
 
 create table cart_item
@@ -32,6 +38,7 @@ create table cart_item
     id          bigint not null auto_increment,
     customer_id bigint not null,
     product_id  bigint not null,
+    price       integer not null,
     primary key (id)
 ) engine=InnoDB default charset=utf8mb4;
 
@@ -43,13 +50,28 @@ alter table cart_item
     add constraint fk_cart_item_to_product
         foreign key (product_id) references product (id);
 
+create table cart_summary
+(
+    customer_id bigint  not null,
+    item_count  integer not null,
+    subtotal    bigint  not null,
+    primary key (customer_id)
+) engine=InnoDB default charset=utf8mb4;
+
+alter table cart_summary
+    add constraint fk_cart_summary_to_customer
+        foreign key (customer_id) references customer (id);
+
 create table orders
 (
-    id          bigint not null auto_increment,
-    customer_id bigint not null,
+    id          bigint    not null auto_increment,
+    customer_id bigint    not null,
+    ordered_at  timestamp not null default current_timestamp,
     primary key (id)
 ) engine=InnoDB default charset=utf8mb4;
 
+create index ix_orders_ordered_at on orders (ordered_at);
+
 alter table orders
     add constraint fk_orders_to_customer
         foreign key (customer_id) references customer (id);
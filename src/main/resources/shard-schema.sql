@@ -0,0 +1,71 @@
+drop table if exists orders_detail;
+
+drop table if exists orders;
+
+drop table if exists cart_summary;
+
+drop table if exists cart_item;
+
+drop table if exists product;
+
+create table product
+(
+    id        bigint       not null auto_increment,
+    name      varchar(255) not null,
+    price     integer      not null,
+    image_url varchar(255),
+    deleted   boolean      not null default false,
+    primary key (id)
+) engine=InnoDB default charset=utf8mb4;
+
+create table cart_item
+(
+    id          bigint not null auto_increment,
+    customer_id bigint not null,
+    product_id  bigint not null,
+    price       integer not null,
+    primary key (id)
+) engine=InnoDB default charset=utf8mb4;
+
+create index ix_cart_item_customer on cart_item (customer_id);
+
+alter table cart_item
+    add constraint fk_cart_item_to_product
+        foreign key (product_id) references product (id);
+
+create table cart_summary
+(
+    customer_id bigint  not null,
+    item_count  integer not null,
+    subtotal    bigint  not null,
+    primary key (customer_id)
+) engine=InnoDB default charset=utf8mb4;
+
+create table orders
+(
+    id          bigint    not null auto_increment,
+    customer_id bigint    not null,
+    ordered_at  timestamp not null default current_timestamp,
+    primary key (id)
+) engine=InnoDB default charset=utf8mb4;
+
+create index ix_orders_ordered_at on orders (ordered_at);
+
+create index ix_orders_customer on orders (customer_id);
+
+create table orders_detail
+(
+    id         bigint  not null auto_increment,
+    orders_id  bigint  not null,
+    product_id bigint  not null,
+    quantity   integer not null,
+    primary key (id)
+) engine=InnoDB default charset=utf8mb4;
+
+alter table orders_detail
+    add constraint fk_orders_detail_to_orders
+        foreign key (orders_id) references orders (id);
+
+alter table orders_detail
+    add constraint fk_orders_detail_to_product
+        foreign key (product_id) references product (id);
@@ -1,24 +1,45 @@
 package woowacourse.auth.acceptance;
 
+import io.restassured.RestAssured;
+import io.restassured.response.ExtractableResponse;
+import io.restassured.response.Response;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import woowacourse.auth.dto.LoginCustomer;
+import woowacourse.auth.dto.SignUpRequest;
+import woowacourse.auth.dto.TokenRequest;
+import woowacourse.auth.dto.TokenResponse;
 import woowacourse.shoppingcart.acceptance.AcceptanceTest;
 
+import static org.assertj.core.api.Assertions.assertThat;
+
 @DisplayName("인증 관련 기능")
 public class AuthAcceptanceTest extends AcceptanceTest {
+    private static final String USER = "new-customer";
+    private static final String PASSWORD = "password1234";
+
     @DisplayName("Bearer Auth 로그인 성공")
     @Test
     void myInfoWithBearerAuth() {
         // given
         // 회원이 등록되어 있고
+        회원_가입되어_있음(USER, PASSWORD);
         // id, password를 사용해 토큰을 발급받고
+        String accessToken = 로그인되어_있음(USER, PASSWORD);
 
         // when
         // 발급 받은 토큰을 사용하여 내 정보 조회를 요청하면
+        ExtractableResponse<Response> response = 내_정보_조회_요청(accessToken);
 
         // then
         // 내 정보가 조회된다
+        assertThat(response.statusCode()).isEqualTo(HttpStatus.OK.value());
+        LoginCustomer loginCustomer = response.as(LoginCustomer.class);
+        assertThat(loginCustomer.getId()).isNotNull();
+        assertThat(loginCustomer.getUserName()).isEqualTo(USER);
     }
 
     @DisplayName("Bearer Auth 로그인 실패")
@@ -26,12 +47,34 @@ public class AuthAcceptanceTest extends AcceptanceTest {
     void myInfoWithBadBearerAuth() {
         // given
         // 회원이 등록되어 있고
+        회원_가입되어_있음(USER, PASSWORD);
 
         // when
         // 잘못된 id, password를 사용해 토큰을 요청하면
+        ExtractableResponse<Response> wrongPassword = 로그인_요청(USER, "wrong-password");
+        ExtractableResponse<Response> notRegistered = 로그인_요청("not-registered", PASSWORD);
 
         // then
         // 토큰 발급 요청이 거부된다
+        assertThat(wrongPassword.statusCode()).isEqualTo(HttpStatus.UNAUTHORIZED.value());
+        assertThat(notRegistered.statusCode()).isEqualTo(HttpStatus.UNAUTHORIZED.value());
+    }
+
+    @DisplayName("비밀번호 없이 만들어진 회원은 로그인할 수 없다")
+    @Test
+    void loginWithoutPassword() {
+        // when
+        ExtractableResponse<Response> response = 로그인_요청("puterism", PASSWORD);
+
+        // then
+        assertThat(response.statusCode()).isEqualTo(HttpStatus.UNAUTHORIZED.value());
+    }
+
+    @DisplayName("이미 있는 이름으로 가입하거나 비밀번호가 짧으면 가입이 거부된다")
+    @Test
+    void rejectInvalidSignUp() {
+        assertThat(회원_가입_요청("puterism", PASSWORD).statusCode()).isEqualTo(HttpStatus.BAD_REQUEST.value());
+        assertThat(회원_가입_요청(USER, "short").statusCode()).isEqualTo(HttpStatus.BAD_REQUEST.value());
     }
 
     @DisplayName("Bearer Auth 유효하지 않은 토큰")
@@ -39,8 +82,72 @@ public class AuthAcceptanceTest extends AcceptanceTest {
     void myInfoWithWrongBearerAuth() {
         // when
         // 유효하지 않은 토큰을 사용하여 내 정보 조회를 요청하면
+        ExtractableResponse<Response> response = 내_정보_조회_요청("invalid-token");
 
         // then
         // 내 정보 조회 요청이 거부된다
+        assertThat(response.statusCode()).isEqualTo(HttpStatus.UNAUTHORIZED.value());
+    }
+
+    @DisplayName("로그아웃한 토큰은 거부된다")
+    @Test
+    void myInfoAfterLogout() {
+        // given
+        회원_가입되어_있음(USER, PASSWORD);
+        String accessToken = 로그인되어_있음(USER, PASSWORD);
+
+        // when
+        ExtractableResponse<Response> logoutResponse = 로그아웃_요청(accessToken);
+        ExtractableResponse<Response> response = 내_정보_조회_요청(accessToken);
+
+        // then
+        assertThat(logoutResponse.statusCode()).isEqualTo(HttpStatus.NO_CONTENT.value());
+        assertThat(response.statusCode()).isEqualTo(HttpStatus.UNAUTHORIZED.value());
+    }
+
+    public static ExtractableResponse<Response> 회원_가입_요청(String userName, String password) {
+        return RestAssured
+                .given().log().all()
+                .contentType(MediaType.APPLICATION_JSON_VALUE)
+                .body(new SignUpRequest(userName, password))
+                .when().post("/api/customers")
+                .then().log().all()
+                .extract();
+    }
+
+    public static void 회원_가입되어_있음(String userName, String password) {
+        assertThat(회원_가입_요청(userName, password).statusCode()).isEqualTo(HttpStatus.CREATED.value());
+    }
+
+    public static ExtractableResponse<Response> 로그인_요청(String userName, String password) {
+        return RestAssured
+                .given().log().all()
+                .contentType(MediaType.APPLICATION_JSON_VALUE)
+                .body(new TokenRequest(userName, password))
+                .when().post("/api/login")
+                .then().log().all()
+                .extract();
+    }
+
+    public static String 로그인되어_있음(String userName, String password) {
+        return 로그인_요청(userName, password).as(TokenResponse.class).getAccessToken();
+    }
+
+    public static ExtractableResponse<Response> 내_정보_조회_요청(String accessToken) {
+        return RestAssured
+                .given().log().all()
+                .auth().oauth2(accessToken)
+                .when().get("/api/customers/me")
+                .then().log().all()
+                .extract();
+    }
+
+    public static ExtractableResponse<Response> 로그아웃_요청(String accessToken) {
+        return RestAssured
+                .given().log().all()
+                .auth().oauth2(accessToken)
+                .when().post("/api/logout")
+                .then().log().all()
+                .extract();
     }
 }
@@ -0,0 +1,80 @@
+package woowacourse.auth.support;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AuthorizationExtractorTest {
+    private static final String[] FRAGMENTS = {
+            "Bearer", "bearer", "BEARER", "bEaReR", "Bear", "Basic", "",
+            " ", "  ", "\t", "\n", "\u0000", ",", ", ", " ,",
+            "token", "a.b.c", "=", "\u00a0", "\r", "한글"
+    };
+
+    @DisplayName("Bearer 토큰을 추출한다.")
+    @ParameterizedTest
+    @CsvSource(value = {
+            "Bearer token|token",
+            "bearer token|token",
+            "BEARER   token  |token",
+            "Bearer token,Basic abc|token",
+            "Bearer token ,Basic abc|'token '",
+            "Bearer ,token|,token",
+            "Bearertoken|token",
+    }, delimiter = '|')
+    void extract(final String header, final String expected) {
+        assertThat(AuthorizationExtractor.extract(header)).isEqualTo(expected);
+    }
+
+    @DisplayName("Bearer 가 아닌 헤더는 무시한다.")
+    @Test
+    void extractNotBearer() {
+        final MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(AuthorizationExtractor.AUTHORIZATION, "Basic abc");
+        request.addHeader(AuthorizationExtractor.AUTHORIZATION, "Bearer token");
+
+        assertThat(AuthorizationExtractor.extract(request)).isEqualTo("token");
+        assertThat(AuthorizationExtractor.extract("Basic abc")).isNull();
+    }
+
+    @DisplayName("무작위 헤더에 대해 기존 구현과 같은 결과를 반환한다.")
+    @Test
+    void extractSameAsLegacy() {
+        final Random random = new Random(20_261_019L);
+        for (int i = 0; i < 100_000; i++) {
+            final String header = randomHeader(random);
+
+            assertThat(AuthorizationExtractor.extract(header))
+                    .as("header: [%s]", header)
+                    .isEqualTo(legacyExtract(header));
+        }
+    }
+
+    private String randomHeader(final Random random) {
+        final StringBuilder header = new StringBuilder();
+        final int fragmentCount = random.nextInt(6);
+        for (int i = 0; i < fragmentCount; i++) {
+            header.append(FRAGMENTS[random.nextInt(FRAGMENTS.length)]);
+        }
+        return header.toString();
+    }
+
+    private String legacyExtract(final String value) {
+        final String bearerType = "Bearer";
+        if ((value.toLowerCase().startsWith(bearerType.toLowerCase()))) {
+            String authHeaderValue = value.substring(bearerType.length()).trim();
+            final int commaIndex = authHeaderValue.indexOf(',');
+            if (commaIndex > 0) {
+                authHeaderValue = authHeaderValue.substring(0, commaIndex);
+            }
+            return authHeaderValue;
+        }
+        return null;
+    }
+}
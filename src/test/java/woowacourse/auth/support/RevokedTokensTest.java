@@ -0,0 +1,52 @@
+package woowacourse.auth.support;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RevokedTokensTest {
+    private static final long VALIDITY = 60_000L;
+
+    @DisplayName("폐기한 토큰 id 만 폐기된 것으로 조회된다.")
+    @Test
+    void isRevoked() {
+        final RevokedTokens revokedTokens = new RevokedTokens(VALIDITY, 6);
+        final Date expiration = new Date(System.currentTimeMillis() + VALIDITY);
+
+        revokedTokens.revoke("revoked", expiration);
+
+        assertThat(revokedTokens.isRevoked("revoked", expiration)).isTrue();
+        assertThat(revokedTokens.isRevoked("other", expiration)).isFalse();
+    }
+
+    @DisplayName("이미 만료된 토큰은 보관하지 않는다.")
+    @Test
+    void revokeExpiredToken() {
+        final RevokedTokens revokedTokens = new RevokedTokens(VALIDITY, 6);
+        final Date expiration = new Date(System.currentTimeMillis() - 1);
+
+        revokedTokens.revoke("expired", expiration);
+
+        assertThat(revokedTokens.bucketCount()).isZero();
+    }
+
+    @DisplayName("모든 토큰이 만료된 버킷은 통째로 제거된다.")
+    @Test
+    void purgeExpired() {
+        final RevokedTokens revokedTokens = new RevokedTokens(VALIDITY, 6);
+        final long now = System.currentTimeMillis();
+        final Date soon = new Date(now + 1_000L);
+        final Date later = new Date(now + VALIDITY);
+        revokedTokens.revoke("soon", soon);
+        revokedTokens.revoke("later", later);
+
+        revokedTokens.purgeExpired(now + 20_001L);
+
+        assertThat(revokedTokens.isRevoked("soon", soon)).isFalse();
+        assertThat(revokedTokens.isRevoked("later", later)).isTrue();
+        assertThat(revokedTokens.bucketCount()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,41 @@
+package woowacourse.auth.ui;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+import woowacourse.auth.application.AuthService;
+import woowacourse.auth.dto.LoginCustomer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AuthenticationPrincipalArgumentResolverTest {
+
+    @DisplayName("한 요청 안에서는 토큰을 한 번만 검증한다.")
+    @Test
+    void resolveArgumentOncePerRequest() {
+        // given
+        final AuthService authService = mock(AuthService.class);
+        final LoginCustomer loginCustomer = new LoginCustomer(1L, "puterism");
+        when(authService.findLoginCustomer("token")).thenReturn(loginCustomer);
+        final AuthenticationPrincipalArgumentResolver resolver = new AuthenticationPrincipalArgumentResolver(authService);
+
+        final MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer token");
+        final ServletWebRequest webRequest = new ServletWebRequest(request);
+
+        // when
+        final Object first = resolver.resolveArgument(null, null, webRequest, null);
+        final Object second = resolver.resolveArgument(null, null, webRequest, null);
+
+        // then
+        assertThat(first).isSameAs(loginCustomer);
+        assertThat(second).isSameAs(loginCustomer);
+        assertThat(request.getAttribute(AuthenticationPrincipalArgumentResolver.LOGIN_CUSTOMER)).isSameAs(loginCustomer);
+        verify(authService, times(1)).findLoginCustomer("token");
+    }
+}
@@ -6,16 +6,34 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.web.server.LocalServerPort;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import static woowacourse.auth.acceptance.AuthAcceptanceTest.로그인되어_있음;
+import static woowacourse.auth.acceptance.AuthAcceptanceTest.회원_가입되어_있음;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 @DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
 @ActiveProfiles("test")
 public class AcceptanceTest {
+    private static final String ADMIN = "admin";
+    private static final String ADMIN_PASSWORD = "admin-password";
+
     @LocalServerPort
     int port;
 
+    @DynamicPropertySource
+    static void admin(final DynamicPropertyRegistry registry) {
+        registry.add("shoppingcart.admin.user-names", () -> ADMIN);
+    }
+
     @BeforeEach
     public void setUp() {
         RestAssured.port = port;
     }
+
+    public static String 관리자로_로그인되어_있음() {
+        회원_가입되어_있음(ADMIN, ADMIN_PASSWORD);
+        return 로그인되어_있음(ADMIN, ADMIN_PASSWORD);
+    }
 }
@@ -9,14 +9,22 @@ import org.junit.jupiter.api.Test;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import woowacourse.shoppingcart.domain.Cart;
+import woowacourse.shoppingcart.domain.CartSummary;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static woowacourse.shoppingcart.acceptance.ProductAcceptanceTest.상품_등록되어_있음;
+import static woowacourse.shoppingcart.acceptance.ProductAcceptanceTest.상품_삭제_요청;
 
 @DisplayName("장바구니 관련 기능")
 public class CartAcceptanceTest extends AcceptanceTest {
@@ -63,6 +71,80 @@ public class CartAcceptanceTest extends AcceptanceTest {
         장바구니_삭제됨(response);
     }
 
+    @DisplayName("장바구니 요약 조회")
+    @Test
+    void getCartSummary() {
+        장바구니_아이템_추가되어_있음(USER, productId1);
+        Long cartId = 장바구니_아이템_추가되어_있음(USER, productId2);
+        장바구니_아이템_추가되어_있음(USER, productId2);
+        장바구니_삭제_요청(USER, cartId);
+
+        ExtractableResponse<Response> response = 장바구니_요약_조회_요청(USER);
+
+        장바구니_요약_응답됨(response, 2, 30_000L);
+    }
+
+    @DisplayName("상품 가격이 바뀌면 장바구니 요약에 반영된다")
+    @Test
+    void getCartSummaryAfterPriceChange() {
+        장바구니_아이템_추가되어_있음(USER, productId1);
+        장바구니_아이템_추가되어_있음(USER, productId2);
+
+        상품_가격_변경_요청(productId2, 25_000);
+        ExtractableResponse<Response> response = 장바구니_요약_조회_요청(USER);
+
+        장바구니_요약_응답됨(response, 2, 35_000L);
+    }
+
+    @DisplayName("가격 없이 또는 음수로 상품 가격을 바꾸면 실패한다")
+    @Test
+    void updateInvalidPrice() {
+        assertThat(상품_가격_변경_요청(productId1, null).statusCode()).isEqualTo(HttpStatus.BAD_REQUEST.value());
+        assertThat(상품_가격_변경_요청(productId1, -1).statusCode()).isEqualTo(HttpStatus.BAD_REQUEST.value());
+    }
+
+    @DisplayName("장바구니에 담는 동안 가격이 바뀌어도 요약은 담은 행과 어긋나지 않고, 같은 가격으로 다시 바꾸면 바뀐 가격으로 맞는다")
+    @Test
+    void getCartSummaryAfterConcurrentPriceChange() throws Exception {
+        ExecutorService executorService = Executors.newFixedThreadPool(10);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Long>> cartIds = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            cartIds.add(executorService.submit(() -> {
+                start.await();
+                return 장바구니_아이템_추가되어_있음(USER, productId2);
+            }));
+        }
+        start.countDown();
+        for (int price = 21_000; price <= 25_000; price += 1_000) {
+            상품_가격_변경_요청(productId2, price);
+        }
+        for (Future<Long> cartId : cartIds) {
+            cartId.get(30, TimeUnit.SECONDS);
+        }
+        executorService.shutdown();
+        // 마지막 가격 변경과 동시에 담긴 행은 옛 가격으로 남을 수 있고, 같은 가격으로 다시 바꾸면 맞춰진다.
+        상품_가격_변경_요청(productId2, 25_000);
+
+        장바구니_요약_응답됨(장바구니_요약_조회_요청(USER), 10, 250_000L);
+    }
+
+    @DisplayName("상품이 삭제되면 장바구니 목록과 요약에서 빠진다")
+    @Test
+    void getCartItemsAfterProductDeleted() {
+        장바구니_아이템_추가되어_있음(USER, productId1);
+        장바구니_아이템_추가되어_있음(USER, productId2);
+
+        상품_삭제_요청(productId2);
+
+        ExtractableResponse<Response> response = 장바구니_아이템_목록_조회_요청(USER);
+
+        assertThat(response.jsonPath().getList(".", Cart.class))
+                .extracting(Cart::getProductId)
+                .containsExactly(productId1);
+        장바구니_요약_응답됨(장바구니_요약_조회_요청(USER), 1, 10_000L);
+    }
+
     public static ExtractableResponse<Response> 장바구니_아이템_추가_요청(String userName, Long productId) {
         Map<String, Object> requestBody = new HashMap<>();
         requestBody.put("id", productId);
@@ -85,6 +167,27 @@ public class CartAcceptanceTest extends AcceptanceTest {
                 .extract();
     }
 
+    public static ExtractableResponse<Response> 장바구니_요약_조회_요청(String userName) {
+        return RestAssured
+                .given().log().all()
+                .when().get("/api/customers/{customerName}/carts/summary", userName)
+                .then().log().all()
+                .extract();
+    }
+
+    public static ExtractableResponse<Response> 상품_가격_변경_요청(Long productId, Integer price) {
+        Map<String, Object> requestBody = new HashMap<>();
+        requestBody.put("price", price);
+
+        return RestAssured
+                .given().log().all()
+                .contentType(MediaType.APPLICATION_JSON_VALUE)
+                .body(requestBody)
+                .when().patch("/api/products/{productId}", productId)
+                .then().log().all()
+                .extract();
+    }
+
     public static ExtractableResponse<Response> 장바구니_삭제_요청(String userName, Long cartId) {
         return RestAssured
                 .given().log().all()
@@ -118,4 +221,11 @@ public class CartAcceptanceTest extends AcceptanceTest {
     public static void 장바구니_삭제됨(ExtractableResponse<Response> response) {
         assertThat(response.statusCode()).isEqualTo(HttpStatus.NO_CONTENT.value());
     }
+
+    public static void 장바구니_요약_응답됨(ExtractableResponse<Response> response, int itemCount, long subtotal) {
+        assertThat(response.statusCode()).isEqualTo(HttpStatus.OK.value());
+        CartSummary summary = response.as(CartSummary.class);
+        assertThat(summary.getItemCount()).isEqualTo(itemCount);
+        assertThat(summary.getSubtotal()).isEqualTo(subtotal);
+    }
 }
@@ -0,0 +1,104 @@
+package woowacourse.shoppingcart.acceptance;
+
+import io.restassured.RestAssured;
+import io.restassured.response.ExtractableResponse;
+import io.restassured.response.Response;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.TestPropertySource;
+import woowacourse.shoppingcart.dto.OrderRequest;
+import woowacourse.shoppingcart.dto.OrderTicketResponse;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static woowacourse.shoppingcart.acceptance.CartAcceptanceTest.장바구니_아이템_추가되어_있음;
+import static woowacourse.shoppingcart.acceptance.OrderAcceptanceTest.주문_단일_조회_요청;
+import static woowacourse.shoppingcart.acceptance.OrderAcceptanceTest.주문_조회_응답됨;
+import static woowacourse.shoppingcart.acceptance.OrderAcceptanceTest.주문하기_요청;
+import static woowacourse.shoppingcart.acceptance.ProductAcceptanceTest.상품_등록되어_있음;
+import static woowacourse.shoppingcart.acceptance.ProductAcceptanceTest.재고_조회됨;
+
+@DisplayName("플래시 세일 주문 관련 기능")
+// 여러 고객의 주문을 한 클라이언트에서 보내므로 요청 제한을 넉넉히 둔다.
+@TestPropertySource(properties = {
+        "shoppingcart.flash-sale.enabled=true",
+        "shoppingcart.rate-limit.carts.capacity=100",
+        "shoppingcart.rate-limit.orders.capacity=100"
+})
+public class FlashSaleAcceptanceTest extends AcceptanceTest {
+    private static final String USER = "puterism";
+
+    @DisplayName("주문을 접수하고 접수 번호로 결과를 조회한다")
+    @Test
+    void admitOrder() throws Exception {
+        Long productId = 상품_등록되어_있음("치킨", 10_000, "http://example.com/chicken.jpg", 10);
+        Long cartId = 장바구니_아이템_추가되어_있음(USER, productId);
+
+        ExtractableResponse<Response> response = 주문하기_요청(USER, List.of(new OrderRequest(cartId, 2)));
+
+        assertThat(response.statusCode()).isEqualTo(HttpStatus.ACCEPTED.value());
+        OrderTicketResponse ticket = 주문_결과_나옴(response.header("Location"));
+        assertThat(ticket.getStatus()).isEqualTo("COMPLETED");
+        주문_조회_응답됨(주문_단일_조회_요청(USER, ticket.getOrderId()));
+        재고_조회됨(productId, 8);
+    }
+
+    @DisplayName("여러 고객이 몰려도 재고만큼만 주문되고 나머지는 실패 사유를 받는다")
+    @Test
+    void admitOrdersOverStock() throws Exception {
+        Long productId = 상품_등록되어_있음("한정판", 50_000, "http://example.com/limited.jpg", 10);
+        List<String> customers = List.of("tanney-102", "jho2301", "365kim", "dudtjr913", "jum0", "hyuuunjukim",
+                "zereight", "devhyun637", "swon3210", "bigsaigon333", "yungo1846", "zigsong", "iborymagic",
+                "0307kwon", "gwangyeol-im", "shinsehantan", "ddongule", "seojihwan", "0imbean0", "sunyoungkwon");
+        List<String> locations = new ArrayList<>();
+        for (String customer : customers) {
+            Long cartId = 장바구니_아이템_추가되어_있음(customer, productId);
+            locations.add(주문하기_요청(customer, List.of(new OrderRequest(cartId, 1))).header("Location"));
+        }
+
+        List<OrderTicketResponse> tickets = new ArrayList<>();
+        for (String location : locations) {
+            tickets.add(주문_결과_나옴(location));
+        }
+
+        assertThat(tickets).filteredOn(ticket -> ticket.getStatus().equals("COMPLETED")).hasSize(10);
+        assertThat(tickets).filteredOn(ticket -> ticket.getStatus().equals("FAILED"))
+                .hasSize(10)
+                .allSatisfy(ticket -> assertThat(ticket.getCode()).isEqualTo("OUT_OF_STOCK"));
+        재고_조회됨(productId, 0);
+    }
+
+    @DisplayName("다른 고객의 접수 번호는 조회할 수 없다")
+    @Test
+    void findOtherCustomersTicket() {
+        Long productId = 상품_등록되어_있음("치킨", 10_000, "http://example.com/chicken.jpg", 10);
+        Long cartId = 장바구니_아이템_추가되어_있음(USER, productId);
+        String location = 주문하기_요청(USER, List.of(new OrderRequest(cartId, 1))).header("Location");
+
+        ExtractableResponse<Response> response = 주문_접수_조회_요청(location.replace(USER, "jho2301"));
+
+        assertThat(response.statusCode()).isEqualTo(HttpStatus.BAD_REQUEST.value());
+    }
+
+    public static ExtractableResponse<Response> 주문_접수_조회_요청(String location) {
+        return RestAssured
+                .given().log().all()
+                .when().get(location)
+                .then().log().all()
+                .extract();
+    }
+
+    public static OrderTicketResponse 주문_결과_나옴(String location) throws InterruptedException {
+        for (int attempt = 0; attempt < 100; attempt++) {
+            OrderTicketResponse ticket = 주문_접수_조회_요청(location).as(OrderTicketResponse.class);
+            if (!ticket.getStatus().equals("PENDING")) {
+                return ticket;
+            }
+            Thread.sleep(50);
+        }
+        throw new AssertionError("주문 결과가 나오지 않았습니다: " + location);
+    }
+}
@@ -0,0 +1,142 @@
+package woowacourse.shoppingcart.acceptance;
+
+import io.restassured.RestAssured;
+import io.restassured.response.ExtractableResponse;
+import io.restassured.response.Response;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import woowacourse.shoppingcart.support.FlightRecordings;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static woowacourse.auth.acceptance.AuthAcceptanceTest.로그인되어_있음;
+import static woowacourse.auth.acceptance.AuthAcceptanceTest.회원_가입되어_있음;
+import static woowacourse.shoppingcart.acceptance.ProductAcceptanceTest.상품_등록되어_있음;
+import static woowacourse.shoppingcart.acceptance.ProductAcceptanceTest.상품_목록_조회_요청;
+
+@DisplayName("JFR 기록 관련 기능")
+public class FlightRecorderAcceptanceTest extends AcceptanceTest {
+
+    @Autowired
+    private FlightRecordings flightRecordings;
+
+    private static Path directory;
+
+    private String accessToken;
+
+    @DynamicPropertySource
+    static void flightRecorderDirectory(final DynamicPropertyRegistry registry) throws IOException {
+        directory = Files.createTempDirectory("flight-recordings");
+        registry.add("shoppingcart.flight-recorder.directory", directory::toString);
+    }
+
+    @Override
+    @BeforeEach
+    public void setUp() {
+        super.setUp();
+        accessToken = 관리자로_로그인되어_있음();
+    }
+
+    @AfterEach
+    void stopRecording() {
+        if (flightRecordings.isRecording()) {
+            flightRecordings.stop();
+        }
+    }
+
+    @DisplayName("기록을 시작하고 멈추면 서비스 호출과 SQL 이벤트가 담긴 기록 파일을 받고, 서버에는 파일을 남기지 않는다")
+    @Test
+    void recordServiceAndJdbcCalls() throws IOException {
+        상품_등록되어_있음("치킨", 10_000, "http://example.com/chicken.jpg");
+
+        assertThat(기록_시작_요청(accessToken).statusCode()).isEqualTo(HttpStatus.NO_CONTENT.value());
+        상품_목록_조회_요청();
+        ExtractableResponse<Response> response = 기록_종료_요청(accessToken);
+
+        assertThat(response.statusCode()).isEqualTo(HttpStatus.OK.value());
+        List<RecordedEvent> events = 기록_이벤트(response);
+        assertThat(events).anySatisfy(event -> {
+            assertThat(event.getEventType().getName()).isEqualTo("woowacourse.shoppingcart.ServiceCall");
+            assertThat(event.getString("service")).isEqualTo("ProductService");
+            assertThat(event.getString("method")).isEqualTo("findProducts");
+            assertThat(event.getBoolean("succeeded")).isTrue();
+        });
+        assertThat(events).anySatisfy(event -> {
+            assertThat(event.getEventType().getName()).isEqualTo("woowacourse.shoppingcart.JdbcCall");
+            assertThat(event.getString("sqlId")).isEqualTo("ProductDao.findProductsAfter");
+            assertThat(event.getLong("rowCount")).isOne();
+        });
+        try (Stream<Path> files = Files.list(directory)) {
+            assertThat(files).noneMatch(file -> file.toString().endsWith(".jfr"));
+        }
+    }
+
+    @DisplayName("기록 중에 다시 시작하거나 기록 중이 아닐 때 멈추면 거절한다")
+    @Test
+    void rejectInvalidState() {
+        assertThat(기록_종료_요청(accessToken).statusCode()).isEqualTo(HttpStatus.CONFLICT.value());
+
+        기록_시작_요청(accessToken);
+
+        assertThat(기록_시작_요청(accessToken).statusCode()).isEqualTo(HttpStatus.CONFLICT.value());
+        assertThat(RestAssured.given().log().all()
+                .auth().oauth2(accessToken)
+                .when().post("/api/admin/flight-recorder/dump")
+                .then().log().headers()
+                .extract().statusCode()).isEqualTo(HttpStatus.OK.value());
+    }
+
+    @DisplayName("토큰이 없으면 401, 관리자가 아니면 403 으로 거절한다")
+    @Test
+    void rejectNonAdmin() {
+        회원_가입되어_있음("customer", "password1234");
+        String customerToken = 로그인되어_있음("customer", "password1234");
+
+        ExtractableResponse<Response> anonymous = RestAssured
+                .given().log().all()
+                .when().post("/api/admin/flight-recorder/start")
+                .then().log().all()
+                .extract();
+
+        assertThat(anonymous.statusCode()).isEqualTo(HttpStatus.UNAUTHORIZED.value());
+        assertThat(기록_시작_요청(customerToken).statusCode()).isEqualTo(HttpStatus.FORBIDDEN.value());
+        assertThat(flightRecordings.isRecording()).isFalse();
+    }
+
+    public static ExtractableResponse<Response> 기록_시작_요청(String accessToken) {
+        return RestAssured
+                .given().log().all()
+                .auth().oauth2(accessToken)
+                .when().post("/api/admin/flight-recorder/start")
+                .then().log().all()
+                .extract();
+    }
+
+    public static ExtractableResponse<Response> 기록_종료_요청(String accessToken) {
+        return RestAssured
+                .given().log().all()
+                .auth().oauth2(accessToken)
+                .when().post("/api/admin/flight-recorder/stop")
+                .then().log().headers()
+                .extract();
+    }
+
+    private static List<RecordedEvent> 기록_이벤트(ExtractableResponse<Response> response) throws IOException {
+        Path file = Files.createTempFile("recording", ".jfr");
+        Files.write(file, response.asByteArray());
+        return RecordingFile.readAllEvents(file);
+    }
+}
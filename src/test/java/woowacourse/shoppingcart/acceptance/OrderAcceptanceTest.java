@@ -8,22 +8,38 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
 import woowacourse.shoppingcart.dto.OrderRequest;
 import woowacourse.shoppingcart.domain.Orders;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static woowacourse.shoppingcart.acceptance.CartAcceptanceTest.장바구니_아이템_추가되어_있음;
 import static woowacourse.shoppingcart.acceptance.ProductAcceptanceTest.상품_등록되어_있음;
+import static woowacourse.shoppingcart.acceptance.ProductAcceptanceTest.상품_삭제_요청;
+import static woowacourse.shoppingcart.acceptance.ProductAcceptanceTest.재고_조회됨;
 
 @DisplayName("주문 관련 기능")
+// 여러 고객의 주문을 한 클라이언트에서 보내므로 요청 제한을 넉넉히 둔다.
+@TestPropertySource(properties = {
+        "shoppingcart.rate-limit.carts.capacity=100",
+        "shoppingcart.rate-limit.orders.capacity=100"
+})
 public class OrderAcceptanceTest extends AcceptanceTest {
     private static final String USER = "puterism";
+    private Long productId1;
     private Long cartId1;
     private Long cartId2;
 
@@ -32,8 +48,8 @@ public class OrderAcceptanceTest extends AcceptanceTest {
     public void setUp() {
         super.setUp();
 
-        Long productId1 = 상품_등록되어_있음("치킨", 10_000, "http://example.com/chicken.jpg");
-        Long productId2 = 상품_등록되어_있음("맥주", 20_000, "http://example.com/beer.jpg");
+        productId1 = 상품_등록되어_있음("치킨", 10_000, "http://example.com/chicken.jpg", 100);
+        Long productId2 = 상품_등록되어_있음("맥주", 20_000, "http://example.com/beer.jpg", 100);
 
         cartId1 = 장바구니_아이템_추가되어_있음(USER, productId1);
         cartId2 = 장바구니_아이템_추가되어_있음(USER, productId2);
@@ -77,6 +93,131 @@ public class OrderAcceptanceTest extends AcceptanceTest {
         주문_조회됨(response, orderId);
     }
 
+    @DisplayName("재고보다 많이 주문하면 주문 전체가 취소되고 재고는 그대로다")
+    @Test
+    void addOrderOutOfStock() {
+        List<OrderRequest> orderRequests = Arrays.asList(
+                new OrderRequest(cartId1, 30),
+                new OrderRequest(cartId2, 101)
+        );
+
+        ExtractableResponse<Response> response = 주문하기_요청(USER, orderRequests);
+
+        assertThat(response.statusCode()).isEqualTo(HttpStatus.CONFLICT.value());
+        assertThat(response.jsonPath().getString("code")).isEqualTo("OUT_OF_STOCK");
+        재고_조회됨(productId1, 100);
+        assertThat(주문_내역_조회_요청(USER).jsonPath().getList(".")).isEmpty();
+    }
+
+    @DisplayName("여러 고객이 동시에 주문해도 재고만큼만 주문된다")
+    @Test
+    void addOrderConcurrently() throws Exception {
+        Long productId = 상품_등록되어_있음("한정판", 50_000, "http://example.com/limited.jpg", 10);
+        List<String> customers = List.of("tanney-102", "jho2301", "365kim", "dudtjr913", "jum0", "hyuuunjukim",
+                "zereight", "devhyun637", "swon3210", "bigsaigon333", "yungo1846", "zigsong", "iborymagic",
+                "0307kwon", "gwangyeol-im", "shinsehantan", "ddongule", "seojihwan", "0imbean0", "sunyoungkwon");
+        Map<String, Long> cartIds = customers.stream()
+                .collect(Collectors.toMap(customer -> customer, customer -> 장바구니_아이템_추가되어_있음(customer, productId)));
+
+        ExecutorService executorService = Executors.newFixedThreadPool(customers.size());
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> statuses = new ArrayList<>();
+        for (String customer : customers) {
+            statuses.add(executorService.submit(() -> {
+                start.await();
+                return 주문하기_요청(customer, List.of(new OrderRequest(cartIds.get(customer), 1))).statusCode();
+            }));
+        }
+        start.countDown();
+        List<Integer> results = new ArrayList<>();
+        for (Future<Integer> status : statuses) {
+            results.add(status.get(30, TimeUnit.SECONDS));
+        }
+        executorService.shutdown();
+
+        assertThat(results).filteredOn(status -> status == HttpStatus.CREATED.value()).hasSize(10);
+        assertThat(results).filteredOn(status -> status == HttpStatus.CONFLICT.value()).hasSize(10);
+        재고_조회됨(productId, 0);
+    }
+
+    @DisplayName("주문한 수량만큼 많이 팔린 상품 목록에 반영된다")
+    @Test
+    void getBestSellers() {
+        주문하기_요청_성공되어_있음(USER, Arrays.asList(new OrderRequest(cartId1, 2), new OrderRequest(cartId2, 5)));
+
+        ExtractableResponse<Response> response = RestAssured
+                .given().log().all()
+                .when().get("/api/products/best-sellers?limit=2")
+                .then().log().all()
+                .extract();
+
+        assertThat(response.statusCode()).isEqualTo(HttpStatus.OK.value());
+        assertThat(response.jsonPath().getList("name", String.class)).containsExactly("맥주", "치킨");
+        assertThat(response.jsonPath().getList("quantity", Integer.class)).containsExactly(5, 2);
+    }
+
+    @DisplayName("같은 주문에 담긴 상품이 함께 산 상품으로 조회된다")
+    @Test
+    void getBoughtTogether() {
+        주문하기_요청_성공되어_있음(USER, Arrays.asList(new OrderRequest(cartId1, 1), new OrderRequest(cartId2, 1)));
+
+        ExtractableResponse<Response> response = RestAssured
+                .given().log().all()
+                .when().get("/api/products/{productId}/bought-together", productId1)
+                .then().log().all()
+                .extract();
+
+        assertThat(response.statusCode()).isEqualTo(HttpStatus.OK.value());
+        assertThat(response.jsonPath().getList("name", String.class)).containsExactly("맥주");
+        assertThat(response.jsonPath().getList("orderCount", Integer.class)).containsExactly(1);
+    }
+
+    @DisplayName("주문한 상품이 삭제되어도 주문 내역에 남는다")
+    @Test
+    void getOrderAfterProductDeleted() {
+        Long orderId = 주문하기_요청_성공되어_있음(USER, Collections.singletonList(new OrderRequest(cartId1, 2)));
+
+        상품_삭제_요청(productId1);
+        ExtractableResponse<Response> response = 주문_단일_조회_요청(USER, orderId);
+
+        주문_조회_응답됨(response);
+        assertThat(response.jsonPath().getList("orderDetails.name", String.class)).containsExactly("치킨");
+    }
+
+    @DisplayName("주문한 상품의 매출이 상품별로 집계된다")
+    @Test
+    void getRevenueByProduct() {
+        주문하기_요청_성공되어_있음(USER, Arrays.asList(new OrderRequest(cartId1, 3), new OrderRequest(cartId2, 1)));
+
+        ExtractableResponse<Response> response = RestAssured
+                .given().log().all()
+                .auth().oauth2(관리자로_로그인되어_있음())
+                .when().get("/api/admin/analytics/revenue-by-product")
+                .then().log().all()
+                .extract();
+
+        assertThat(response.statusCode()).isEqualTo(HttpStatus.OK.value());
+        assertThat(response.jsonPath().getList("name", String.class)).containsExactly("치킨", "맥주");
+        assertThat(response.jsonPath().getList("revenue", Integer.class)).containsExactly(30_000, 20_000);
+    }
+
+    @DisplayName("주문한 고객의 매출이 고객별로 집계된다")
+    @Test
+    void getRevenueByCustomer() {
+        주문하기_요청_성공되어_있음(USER, Arrays.asList(new OrderRequest(cartId1, 3), new OrderRequest(cartId2, 1)));
+
+        ExtractableResponse<Response> response = RestAssured
+                .given().log().all()
+                .auth().oauth2(관리자로_로그인되어_있음())
+                .when().get("/api/admin/analytics/revenue-by-customer")
+                .then().log().all()
+                .extract();
+
+        assertThat(response.statusCode()).isEqualTo(HttpStatus.OK.value());
+        assertThat(response.jsonPath().getList("userName", String.class)).containsExactly(USER);
+        assertThat(response.jsonPath().getList("revenue", Integer.class)).containsExactly(50_000);
+    }
+
     public static ExtractableResponse<Response> 주문하기_요청(String userName, List<OrderRequest> orderRequests) {
         return RestAssured
                 .given().log().all()
@@ -0,0 +1,60 @@
+package woowacourse.shoppingcart.acceptance;
+
+import io.restassured.response.ExtractableResponse;
+import io.restassured.response.Response;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import woowacourse.shoppingcart.application.OrderArchiver;
+import woowacourse.shoppingcart.dto.OrderRequest;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static woowacourse.shoppingcart.acceptance.CartAcceptanceTest.장바구니_아이템_추가되어_있음;
+import static woowacourse.shoppingcart.acceptance.OrderAcceptanceTest.주문_내역_포함됨;
+import static woowacourse.shoppingcart.acceptance.OrderAcceptanceTest.주문_내역_조회_요청;
+import static woowacourse.shoppingcart.acceptance.OrderAcceptanceTest.주문_단일_조회_요청;
+import static woowacourse.shoppingcart.acceptance.OrderAcceptanceTest.주문_조회_응답됨;
+import static woowacourse.shoppingcart.acceptance.OrderAcceptanceTest.주문하기_요청_성공되어_있음;
+import static woowacourse.shoppingcart.acceptance.ProductAcceptanceTest.상품_등록되어_있음;
+
+@DisplayName("보관된 주문 조회 기능")
+public class OrderArchiveAcceptanceTest extends AcceptanceTest {
+    private static final String USER = "puterism";
+
+    @Autowired
+    private OrderArchiver orderArchiver;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void orderArchiveDirectory(final DynamicPropertyRegistry registry) throws IOException {
+        final String directory = Files.createTempDirectory("order-archive").toString();
+        registry.add("shoppingcart.order-archive.directory", () -> directory);
+    }
+
+    @DisplayName("보관 파일로 옮겨진 주문도 주문 내역과 단일 조회로 조회된다")
+    @Test
+    void findArchivedOrders() {
+        Long productId = 상품_등록되어_있음("치킨", 10_000, "http://example.com/chicken.jpg", 10);
+        Long oldOrderId = 주문하기_요청_성공되어_있음(USER,
+                List.of(new OrderRequest(장바구니_아이템_추가되어_있음(USER, productId), 2)));
+        Long newOrderId = 주문하기_요청_성공되어_있음(USER,
+                List.of(new OrderRequest(장바구니_아이템_추가되어_있음(USER, productId), 1)));
+        jdbcTemplate.update("UPDATE orders SET ordered_at = DATEADD('YEAR', -2, ordered_at) WHERE id = ?",
+                oldOrderId);
+
+        assertThat(orderArchiver.archive()).isOne();
+
+        주문_내역_포함됨(주문_내역_조회_요청(USER), oldOrderId, newOrderId);
+        ExtractableResponse<Response> response = 주문_단일_조회_요청(USER, oldOrderId);
+        주문_조회_응답됨(response);
+        assertThat(response.jsonPath().getList("orderDetails.quantity", Integer.class)).containsExactly(2);
+    }
+}
@@ -7,8 +7,12 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
 import woowacourse.shoppingcart.domain.Product;
+import woowacourse.shoppingcart.domain.Stock;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -16,6 +20,12 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 @DisplayName("상품 관련 기능")
 public class ProductAcceptanceTest extends AcceptanceTest {
+
+    @DynamicPropertySource
+    static void smallPages(final DynamicPropertyRegistry registry) {
+        registry.add("shoppingcart.products.page-size", () -> "2");
+    }
+
     @DisplayName("상품을 추가한다")
     @Test
     void addProduct() {
@@ -36,6 +46,21 @@ public class ProductAcceptanceTest extends AcceptanceTest {
         상품_목록_포함됨(productId1, productId2, response);
     }
 
+    @DisplayName("상품 목록이 한 페이지보다 많아도 모두 id 순서로 조회한다")
+    @Test
+    void getProductsOverPages() {
+        List<Long> productIds = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            productIds.add(상품_등록되어_있음("상품" + i, 1_000, "http://example.com/" + i + ".jpg"));
+        }
+        상품_삭제_요청(productIds.remove(2));
+
+        ExtractableResponse<Response> response = 상품_목록_조회_요청();
+
+        조회_응답됨(response);
+        assertThat(response.jsonPath().getList("id", Long.class)).isEqualTo(productIds);
+    }
+
     @DisplayName("상품을 조회한다")
     @Test
     void getProduct() {
@@ -57,6 +82,18 @@ public class ProductAcceptanceTest extends AcceptanceTest {
         상품_삭제됨(response);
     }
 
+    @DisplayName("상품 재고를 추가하고 조회한다")
+    @Test
+    void addStock() {
+        Long productId = 상품_등록되어_있음("치킨", 10_000, "http://example.com/chicken.jpg");
+        재고_추가_요청(productId, 3);
+
+        ExtractableResponse<Response> response = 재고_추가_요청(productId, 7);
+
+        assertThat(response.statusCode()).isEqualTo(HttpStatus.NO_CONTENT.value());
+        재고_조회됨(productId, 10);
+    }
+
     public static ExtractableResponse<Response> 상품_등록_요청(String name, int price, String imageUrl) {
         Product productRequest = new Product(name, price, imageUrl);
 
@@ -96,6 +133,24 @@ public class ProductAcceptanceTest extends AcceptanceTest {
                 .extract();
     }
 
+    public static ExtractableResponse<Response> 재고_추가_요청(Long productId, int quantity) {
+        return RestAssured
+                .given().log().all()
+                .contentType(MediaType.APPLICATION_JSON_VALUE)
+                .body(new Stock(null, quantity))
+                .when().post("/api/products/{productId}/stock", productId)
+                .then().log().all()
+                .extract();
+    }
+
+    public static ExtractableResponse<Response> 재고_조회_요청(Long productId) {
+        return RestAssured
+                .given().log().all()
+                .when().get("/api/products/{productId}/stock", productId)
+                .then().log().all()
+                .extract();
+    }
+
     public static void 상품_추가됨(ExtractableResponse<Response> response) {
         assertThat(response.statusCode()).isEqualTo(HttpStatus.CREATED.value());
         assertThat(response.header("Location")).isNotBlank();
@@ -106,6 +161,12 @@ public class ProductAcceptanceTest extends AcceptanceTest {
         return Long.parseLong(response.header("Location").split("/products/")[1]);
     }
 
+    public static Long 상품_등록되어_있음(String name, int price, String imageUrl, int stock) {
+        Long productId = 상품_등록되어_있음(name, price, imageUrl);
+        재고_추가_요청(productId, stock);
+        return productId;
+    }
+
     public static void 조회_응답됨(ExtractableResponse<Response> response) {
         assertThat(response.statusCode()).isEqualTo(HttpStatus.OK.value());
     }
@@ -125,4 +186,10 @@ public class ProductAcceptanceTest extends AcceptanceTest {
     public static void 상품_삭제됨(ExtractableResponse<Response> response) {
         assertThat(response.statusCode()).isEqualTo(HttpStatus.NO_CONTENT.value());
     }
+
+    public static void 재고_조회됨(Long productId, int quantity) {
+        ExtractableResponse<Response> response = 재고_조회_요청(productId);
+        assertThat(response.statusCode()).isEqualTo(HttpStatus.OK.value());
+        assertThat(response.as(Stock.class).getQuantity()).isEqualTo(quantity);
+    }
 }
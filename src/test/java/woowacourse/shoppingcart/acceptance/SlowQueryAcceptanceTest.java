@@ -0,0 +1,78 @@
+package woowacourse.shoppingcart.acceptance;
+
+import io.restassured.RestAssured;
+import io.restassured.response.ExtractableResponse;
+import io.restassured.response.Response;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import woowacourse.shoppingcart.domain.SlowQuery;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static woowacourse.shoppingcart.acceptance.CartAcceptanceTest.장바구니_아이템_목록_조회_요청;
+
+@DisplayName("느린 쿼리 관련 기능")
+public class SlowQueryAcceptanceTest extends AcceptanceTest {
+
+    @DynamicPropertySource
+    static void recordEveryQuery(final DynamicPropertyRegistry registry) {
+        registry.add("shoppingcart.slow-query.threshold-millis", () -> "0");
+    }
+
+    @DisplayName("느린 쿼리를 걸린 시간의 합이 큰 순서로 조회하고, 고객 이름은 가려서 보여 준다")
+    @Test
+    void findSlowQueries() {
+        장바구니_아이템_목록_조회_요청("puterism");
+
+        ExtractableResponse<Response> response = 느린_쿼리_조회_요청(관리자로_로그인되어_있음(), 100);
+
+        assertThat(response.statusCode()).isEqualTo(HttpStatus.OK.value());
+        List<SlowQuery> slowQueries = response.jsonPath().getList(".", SlowQuery.class);
+        assertThat(slowQueries).isSortedAccordingTo((left, right) ->
+                Long.compare(right.getTotalMillis(), left.getTotalMillis()));
+        assertThat(slowQueries).anySatisfy(slowQuery -> {
+            assertThat(slowQuery.getSql()).isEqualTo("SELECT id FROM customer WHERE username = ?");
+            assertThat(slowQuery.getSqlId()).isEqualTo("CustomerDao.findIdByUserName");
+            assertThat(slowQuery.getLastParameters()).containsExactly("****");
+        });
+        assertThat(response.asString()).doesNotContain("puterism");
+    }
+
+    @DisplayName("모은 느린 쿼리를 비운다")
+    @Test
+    void clearSlowQueries() {
+        장바구니_아이템_목록_조회_요청("puterism");
+        String accessToken = 관리자로_로그인되어_있음();
+
+        ExtractableResponse<Response> response = RestAssured
+                .given().log().all()
+                .auth().oauth2(accessToken)
+                .when().delete("/api/admin/slow-queries")
+                .then().log().all()
+                .extract();
+
+        assertThat(response.statusCode()).isEqualTo(HttpStatus.NO_CONTENT.value());
+        assertThat(느린_쿼리_조회_요청(accessToken, 100).jsonPath().getList("sql", String.class))
+                .doesNotContain("SELECT id FROM customer WHERE username = ?");
+    }
+
+    @DisplayName("조회 개수가 범위를 벗어나면 거절한다")
+    @Test
+    void rejectInvalidLimit() {
+        assertThat(느린_쿼리_조회_요청(관리자로_로그인되어_있음(), 0).statusCode()).isEqualTo(HttpStatus.BAD_REQUEST.value());
+    }
+
+    public static ExtractableResponse<Response> 느린_쿼리_조회_요청(String accessToken, int limit) {
+        return RestAssured
+                .given().log().all()
+                .auth().oauth2(accessToken)
+                .queryParam("limit", limit)
+                .when().get("/api/admin/slow-queries")
+                .then().log().all()
+                .extract();
+    }
+}
@@ -0,0 +1,183 @@
+package woowacourse.shoppingcart.application;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import woowacourse.shoppingcart.dao.OrderDao;
+import woowacourse.shoppingcart.dao.OrdersDetailDao;
+import woowacourse.shoppingcart.dao.ProductDao;
+import woowacourse.shoppingcart.domain.BestSeller;
+import woowacourse.shoppingcart.domain.Product;
+import woowacourse.shoppingcart.support.CustomerShards;
+import woowacourse.shoppingcart.support.ExactBestSellerCounter;
+import woowacourse.shoppingcart.support.OrderArchive;
+import woowacourse.shoppingcart.support.ParallelRangeScan;
+import woowacourse.shoppingcart.support.ShardRebalancer;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BestSellerServiceTest {
+    private static final int CUSTOMERS = 25;
+    private static final int PRODUCTS = 30;
+
+    @TempDir
+    Path directory;
+
+    private JdbcTemplate global;
+    private CustomerShards customerShards;
+    private ProductDao productDao;
+    private OrderDao orderDao;
+    private OrdersDetailDao ordersDetailDao;
+    private OrderArchiver orderArchiver;
+    private final List<Long> productIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        global = h2("best-seller-0");
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql"), new ClassPathResource("data.sql"))
+                .execute(global.getDataSource());
+        customerShards = new CustomerShards(global, List.of(h2("best-seller-1")));
+        new ShardRebalancer(customerShards).initialize();
+        productDao = new ProductDao(global, customerShards);
+        orderDao = new OrderDao(customerShards);
+        ordersDetailDao = new OrdersDetailDao(customerShards);
+        orderArchiver = new OrderArchiver(new OrderArchive(directory), orderDao, ordersDetailDao,
+                customerShards, Duration.ofDays(365), 100, Clock.systemDefaultZone());
+        for (int i = 0; i < PRODUCTS; i++) {
+            productIds.add(productDao.save(new Product("product-" + i, 1_000, "woowa.com")));
+        }
+    }
+
+    @DisplayName("샤드마다 구간을 나눠 병렬로 다시 쌓은 결과가 GROUP BY 로 센 결과와 같다.")
+    @Test
+    void rebuildMatchesSql() {
+        final int rows = addOrders(new Random(7), 3_000);
+        final BestSellerService bestSellerService = new BestSellerService(new ExactBestSellerCounter(),
+                orderDao, ordersDetailDao, productDao, customerShards, new ParallelRangeScan(4, 97), orderArchiver);
+
+        assertThat(bestSellerService.rebuild()).isEqualTo(rows);
+
+        final List<BestSeller> actual = bestSellerService.findBestSellers(PRODUCTS);
+        assertThat(actual).extracting(BestSeller::getProductId)
+                .containsExactlyElementsOf(bestSellersBySql().stream().map(BestSeller::getProductId)::iterator);
+        assertThat(actual).extracting(BestSeller::getQuantity)
+                .containsExactlyElementsOf(bestSellersBySql().stream().map(BestSeller::getQuantity)::iterator);
+        assertThat(actual.get(0).getName()).startsWith("product-");
+    }
+
+    @DisplayName("다시 쌓을 때는 카운터를 비우고, 서비스가 만들어진 뒤에 저장된 주문까지 읽는다.")
+    @Test
+    void rebuildRowsSavedAfterCreation() {
+        final ExactBestSellerCounter bestSellerCounter = new ExactBestSellerCounter();
+        final BestSellerService bestSellerService = new BestSellerService(bestSellerCounter,
+                orderDao, ordersDetailDao, productDao, customerShards, new ParallelRangeScan(2, 10), orderArchiver);
+        final int rows = addOrders(new Random(7), 100);
+        bestSellerCounter.add(productIds.get(0), 1_000);
+
+        assertThat(bestSellerService.rebuild()).isEqualTo(rows);
+        assertThat(bestSellerService.findBestSellers(PRODUCTS)).extracting(BestSeller::getQuantity)
+                .containsExactlyElementsOf(bestSellersBySql().stream().map(BestSeller::getQuantity)::iterator);
+    }
+
+    @DisplayName("다시 쌓는 동안 커밋된 주문은 다시 쌓기가 읽을 주문이면 세지 않고, 그 뒤에 저장된 주문만 더한다.")
+    @Test
+    void countOrdersCommittedDuringRebuild() {
+        final int rows = addOrders(new Random(7), 100);
+        final int shard = customerShards.shardOf(1L);
+        final BestSellerService[] bestSellerService = new BestSellerService[1];
+        final ParallelRangeScan rebuildScan = new ParallelRangeScan(2, 10) {
+            @Override
+            public void run(final long[] fromIds, final long[] toIds, final ChunkScanner scanner) {
+                bestSellerService[0].countOrder(shard, toIds[shard], Map.of(productIds.get(0), 1_000));
+                final Long ordersId = orderDao.addOrders(1L);
+                ordersDetailDao.addOrdersDetail(1L, ordersId, productIds.get(1), 7);
+                bestSellerService[0].countOrder(shard, ordersId, Map.of(productIds.get(1), 7));
+                super.run(fromIds, toIds, scanner);
+            }
+        };
+        bestSellerService[0] = new BestSellerService(new ExactBestSellerCounter(),
+                orderDao, ordersDetailDao, productDao, customerShards, rebuildScan, orderArchiver);
+
+        assertThat(bestSellerService[0].rebuild()).isEqualTo(rows);
+        assertThat(bestSellerService[0].findBestSellers(PRODUCTS)).extracting(BestSeller::getQuantity)
+                .containsExactlyElementsOf(bestSellersBySql().stream().map(BestSeller::getQuantity)::iterator);
+    }
+
+    @DisplayName("보관 파일로 옮긴 주문도 다시 쌓는다.")
+    @Test
+    void rebuildArchivedOrders() {
+        final int rows = addOrders(new Random(7), 300);
+        final List<BestSeller> expected = bestSellersBySql();
+        orderArchiver.archiveBefore(LocalDateTime.now().plusDays(1));
+        final BestSellerService bestSellerService = new BestSellerService(new ExactBestSellerCounter(),
+                orderDao, ordersDetailDao, productDao, customerShards, new ParallelRangeScan(2, 10), orderArchiver);
+
+        assertThat(bestSellerService.rebuild()).isEqualTo(rows);
+        assertThat(bestSellerService.findBestSellers(PRODUCTS)).extracting(BestSeller::getQuantity)
+                .containsExactlyElementsOf(expected.stream().map(BestSeller::getQuantity)::iterator);
+    }
+
+    @DisplayName("삭제된 상품을 빼고도 limit 개를 채운다.")
+    @Test
+    void skipDeletedProducts() {
+        final ExactBestSellerCounter bestSellerCounter = new ExactBestSellerCounter();
+        final BestSellerService bestSellerService = new BestSellerService(bestSellerCounter,
+                orderDao, ordersDetailDao, productDao, customerShards, new ParallelRangeScan(2, 10), orderArchiver);
+        for (int i = 0; i < 5; i++) {
+            bestSellerCounter.add(productIds.get(i), 10 - i);
+        }
+        productDao.delete(productIds.get(0));
+        productDao.delete(productIds.get(1));
+
+        assertThat(bestSellerService.findBestSellers(3)).extracting(BestSeller::getProductId)
+                .containsExactly(productIds.get(2), productIds.get(3), productIds.get(4));
+    }
+
+    private int addOrders(final Random random, final int rows) {
+        for (int i = 0; i < rows; i++) {
+            final long customerId = 1 + random.nextInt(CUSTOMERS);
+            final Long ordersId = orderDao.addOrders(customerId);
+            final Long productId = productIds.get((int) Math.min(PRODUCTS - 1, Math.abs(random.nextGaussian()) * 8));
+            ordersDetailDao.addOrdersDetail(customerId, ordersId, productId, 1 + random.nextInt(5));
+        }
+        return rows;
+    }
+
+    private List<BestSeller> bestSellersBySql() {
+        final Map<Long, Long> quantities = new HashMap<>();
+        for (int shard = 0; shard < customerShards.size(); shard++) {
+            customerShards.jdbcTemplateAt(shard).query(
+                    "SELECT product_id, SUM(quantity) AS quantity FROM orders_detail GROUP BY product_id",
+                    rs -> {
+                        quantities.merge(rs.getLong("product_id"), rs.getLong("quantity"), Long::sum);
+                    });
+        }
+        return quantities.entrySet().stream()
+                .map(entry -> new BestSeller(entry.getKey(), entry.getValue()))
+                .sorted(Comparator.comparingLong(BestSeller::getQuantity).reversed()
+                        .thenComparing(BestSeller::getProductId))
+                .collect(Collectors.toList());
+    }
+
+    private JdbcTemplate h2(final String name) {
+        return new JdbcTemplate(new DriverManagerDataSource(
+                "jdbc:h2:mem:" + name + ";MODE=MYSQL;DB_CLOSE_DELAY=-1", "sa", ""));
+    }
+}
@@ -0,0 +1,145 @@
+package woowacourse.shoppingcart.application;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import woowacourse.shoppingcart.dao.OrderDao;
+import woowacourse.shoppingcart.dao.OrdersDetailDao;
+import woowacourse.shoppingcart.dao.ProductDao;
+import woowacourse.shoppingcart.domain.CoPurchase;
+import woowacourse.shoppingcart.domain.Product;
+import woowacourse.shoppingcart.support.CoPurchaseCounter;
+import woowacourse.shoppingcart.support.CustomerShards;
+import woowacourse.shoppingcart.support.OrderArchive;
+import woowacourse.shoppingcart.support.ParallelRangeScan;
+import woowacourse.shoppingcart.support.ShardRebalancer;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CoPurchaseServiceTest {
+    private static final int CUSTOMERS = 25;
+    private static final int PRODUCTS = 12;
+
+    @TempDir
+    Path directory;
+
+    private CustomerShards customerShards;
+    private ProductDao productDao;
+    private OrderDao orderDao;
+    private OrdersDetailDao ordersDetailDao;
+    private final List<Long> productIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        final JdbcTemplate global = h2("co-purchase-0");
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql"), new ClassPathResource("data.sql"))
+                .execute(global.getDataSource());
+        customerShards = new CustomerShards(global, List.of(h2("co-purchase-1")));
+        new ShardRebalancer(customerShards).initialize();
+        productDao = new ProductDao(global, customerShards);
+        orderDao = new OrderDao(customerShards);
+        ordersDetailDao = new OrdersDetailDao(customerShards);
+        for (int i = 0; i < PRODUCTS; i++) {
+            productIds.add(productDao.save(new Product("product-" + i, 1_000, "woowa.com")));
+        }
+    }
+
+    @DisplayName("샤드마다 주문 구간을 나눠 병렬로 다시 쌓은 횟수가 같은 주문끼리 조인해 센 결과와 같다.")
+    @Test
+    void rebuildMatchesSql() {
+        final Random random = new Random(11);
+        final int orders = 500;
+        for (int i = 0; i < orders; i++) {
+            final long customerId = 1 + random.nextInt(CUSTOMERS);
+            final Long ordersId = orderDao.addOrders(customerId);
+            for (int line = 0; line < 1 + random.nextInt(4); line++) {
+                final Long productId = productIds.get(random.nextInt(PRODUCTS));
+                ordersDetailDao.addOrdersDetail(customerId, ordersId, productId, 1);
+            }
+        }
+        final CoPurchaseService coPurchaseService = new CoPurchaseService(new CoPurchaseCounter(PRODUCTS),
+                orderDao, ordersDetailDao, productDao, customerShards, new ParallelRangeScan(4, 37),
+                new OrderArchiver(new OrderArchive(directory), orderDao, ordersDetailDao, customerShards,
+                        Duration.ofDays(365), 100, Clock.systemDefaultZone()));
+
+        assertThat(coPurchaseService.rebuild()).isEqualTo(orders);
+
+        for (final Long productId : productIds) {
+            final Map<Long, Long> actual = new HashMap<>();
+            coPurchaseService.findCoPurchases(productId, PRODUCTS)
+                    .forEach(coPurchase -> actual.put(coPurchase.getProductId(), coPurchase.getOrderCount()));
+            assertThat(actual).isEqualTo(coPurchasesBySql(productId));
+        }
+    }
+
+    @DisplayName("다시 쌓는 동안 커밋된 주문은 다시 쌓기가 읽을 주문이면 세지 않고, 그 뒤에 저장된 주문만 더한다.")
+    @Test
+    void countOrdersCommittedDuringRebuild() {
+        final Random random = new Random(11);
+        for (int i = 0; i < 100; i++) {
+            final long customerId = 1 + random.nextInt(CUSTOMERS);
+            final Long ordersId = orderDao.addOrders(customerId);
+            ordersDetailDao.addOrdersDetail(customerId, ordersId, productIds.get(random.nextInt(PRODUCTS)), 1);
+            ordersDetailDao.addOrdersDetail(customerId, ordersId, productIds.get(random.nextInt(PRODUCTS)), 1);
+        }
+        final int shard = customerShards.shardOf(1L);
+        final CoPurchaseService[] coPurchaseService = new CoPurchaseService[1];
+        final ParallelRangeScan rebuildScan = new ParallelRangeScan(2, 10) {
+            @Override
+            public void run(final long[] fromIds, final long[] toIds, final ChunkScanner scanner) {
+                coPurchaseService[0].countOrder(shard, toIds[shard], List.of(productIds.get(0), productIds.get(1)));
+                final Long ordersId = orderDao.addOrders(1L);
+                ordersDetailDao.addOrdersDetail(1L, ordersId, productIds.get(2), 1);
+                ordersDetailDao.addOrdersDetail(1L, ordersId, productIds.get(3), 1);
+                coPurchaseService[0].countOrder(shard, ordersId, List.of(productIds.get(2), productIds.get(3)));
+                super.run(fromIds, toIds, scanner);
+            }
+        };
+        coPurchaseService[0] = new CoPurchaseService(new CoPurchaseCounter(PRODUCTS), orderDao, ordersDetailDao,
+                productDao, customerShards, rebuildScan,
+                new OrderArchiver(new OrderArchive(directory), orderDao, ordersDetailDao, customerShards,
+                        Duration.ofDays(365), 100, Clock.systemDefaultZone()));
+
+        coPurchaseService[0].rebuild();
+
+        for (final Long productId : productIds) {
+            final Map<Long, Long> actual = new HashMap<>();
+            coPurchaseService[0].findCoPurchases(productId, PRODUCTS)
+                    .forEach(coPurchase -> actual.put(coPurchase.getProductId(), coPurchase.getOrderCount()));
+            assertThat(actual).isEqualTo(coPurchasesBySql(productId));
+        }
+    }
+
+    private Map<Long, Long> coPurchasesBySql(final Long productId) {
+        final Map<Long, Long> orderCounts = new HashMap<>();
+        for (int shard = 0; shard < customerShards.size(); shard++) {
+            customerShards.jdbcTemplateAt(shard).query(
+                    "SELECT other.product_id, COUNT(DISTINCT base.orders_id) AS order_count "
+                            + "FROM orders_detail base JOIN orders_detail other ON other.orders_id = base.orders_id "
+                            + "WHERE base.product_id = ? AND other.product_id <> ? GROUP BY other.product_id",
+                    rs -> {
+                        orderCounts.merge(rs.getLong("product_id"), rs.getLong("order_count"), Long::sum);
+                    }, productId, productId);
+        }
+        return orderCounts;
+    }
+
+    private JdbcTemplate h2(final String name) {
+        return new JdbcTemplate(new DriverManagerDataSource(
+                "jdbc:h2:mem:" + name + ";MODE=MYSQL;DB_CLOSE_DELAY=-1", "sa", ""));
+    }
+}
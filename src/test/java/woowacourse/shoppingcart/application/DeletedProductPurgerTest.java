@@ -0,0 +1,84 @@
+package woowacourse.shoppingcart.application;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import woowacourse.shoppingcart.dao.CartItemDao;
+import woowacourse.shoppingcart.dao.OrderDao;
+import woowacourse.shoppingcart.dao.OrdersDetailDao;
+import woowacourse.shoppingcart.dao.ProductDao;
+import woowacourse.shoppingcart.domain.OrderDetail;
+import woowacourse.shoppingcart.domain.Product;
+import woowacourse.shoppingcart.support.CustomerShards;
+import woowacourse.shoppingcart.support.ShardRebalancer;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DeletedProductPurgerTest {
+    private static final int CUSTOMERS = 25;
+
+    private CustomerShards customerShards;
+    private ProductDao productDao;
+    private CartItemDao cartItemDao;
+
+    @BeforeEach
+    void setUp() {
+        final JdbcTemplate global = h2("product-purger-0");
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql"), new ClassPathResource("data.sql"))
+                .execute(global.getDataSource());
+        customerShards = new CustomerShards(global, List.of(h2("product-purger-1"), h2("product-purger-2")));
+        new ShardRebalancer(customerShards).initialize();
+        productDao = new ProductDao(global, customerShards);
+        cartItemDao = new CartItemDao(customerShards);
+    }
+
+    @DisplayName("삭제된 상품의 장바구니 행만 모든 샤드에서 지우고, 주문 상세는 그대로 둔다.")
+    @Test
+    void purge() {
+        final Long deletedId = productDao.save(new Product("banana", 1_000, "woowa1.com"));
+        final Long aliveId = productDao.save(new Product("apple", 2_000, "woowa2.com"));
+        for (long customerId = 1; customerId <= CUSTOMERS; customerId++) {
+            cartItemDao.addCartItem(customerId, deletedId);
+            cartItemDao.addCartItem(customerId, aliveId);
+        }
+        final Long ordersId = new OrderDao(customerShards).addOrders(1L);
+        new OrdersDetailDao(customerShards).addOrdersDetail(1L, ordersId, deletedId, 3);
+        productDao.delete(deletedId);
+
+        assertThat(new DeletedProductPurger(cartItemDao, customerShards, 4, 100, 0).purge()).isEqualTo(CUSTOMERS);
+
+        for (long customerId = 1; customerId <= CUSTOMERS; customerId++) {
+            assertThat(customerShards.jdbcTemplate(customerId).queryForList(
+                    "SELECT product_id FROM cart_item WHERE customer_id = ?", Long.class, customerId))
+                    .containsExactly(aliveId);
+        }
+        assertThat(new OrdersDetailDao(customerShards).findOrdersDetailsByOrderId(1L, ordersId))
+                .extracting(OrderDetail::getProductId).containsExactly(deletedId);
+    }
+
+    @DisplayName("한 번 실행할 때 샤드마다 maxBatches 번까지만 지운다.")
+    @Test
+    void boundedBatches() {
+        final Long deletedId = productDao.save(new Product("banana", 1_000, "woowa1.com"));
+        for (int i = 0; i < 10; i++) {
+            cartItemDao.addCartItem(1L, deletedId);
+        }
+        productDao.delete(deletedId);
+        final DeletedProductPurger purger = new DeletedProductPurger(cartItemDao, customerShards, 3, 2, 0);
+
+        assertThat(purger.purge()).isEqualTo(6);
+        assertThat(purger.purge()).isEqualTo(4);
+        assertThat(purger.purge()).isZero();
+    }
+
+    private JdbcTemplate h2(final String name) {
+        return new JdbcTemplate(new DriverManagerDataSource(
+                "jdbc:h2:mem:" + name + ";MODE=MYSQL;DB_CLOSE_DELAY=-1", "sa", ""));
+    }
+}
@@ -0,0 +1,109 @@
+package woowacourse.shoppingcart.application;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import woowacourse.shoppingcart.dao.OrderDao;
+import woowacourse.shoppingcart.dao.OrdersDetailDao;
+import woowacourse.shoppingcart.dao.ProductDao;
+import woowacourse.shoppingcart.domain.Product;
+import woowacourse.shoppingcart.support.CustomerShards;
+import woowacourse.shoppingcart.support.OrderArchive;
+
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 오래된 주문을 보관 파일로 옮기기 전과 후의 고객별 주문 id 조회 지연을 비교한다.
+ * 기본 test 태스크에서는 제외되며 {@code ./gradlew benchmark -Dbenchmark.orders=200000} 처럼 실행한다.
+ */
+@Tag("benchmark")
+class OrderArchiveBenchmarkTest {
+    private static final int CUSTOMERS = 25;
+    private static final LocalDateTime NOW = LocalDateTime.of(2022, 6, 1, 0, 0);
+
+    private final int orders = Integer.getInteger("benchmark.orders", 50_000);
+    private final double hotRatio = Double.parseDouble(System.getProperty("benchmark.hot-ratio", "0.1"));
+    private final int iterations = Integer.getInteger("benchmark.iterations", 2_000);
+    private final int rounds = Integer.getInteger("benchmark.rounds", 5);
+
+    @TempDir
+    Path directory;
+
+    private long sink;
+
+    @DisplayName("보관 파일로 옮긴 뒤 DB 에 남은 주문의 고객별 조회 지연을 측정한다.")
+    @Test
+    void hotTableLatency() {
+        final JdbcTemplate global = new JdbcTemplate(new DriverManagerDataSource(
+                "jdbc:h2:mem:order-archive-benchmark;MODE=MYSQL;DB_CLOSE_DELAY=-1", "sa", ""));
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql"), new ClassPathResource("data.sql"))
+                .execute(global.getDataSource());
+        final CustomerShards customerShards = new CustomerShards(global);
+        final OrderDao orderDao = new OrderDao(customerShards);
+        final Long productId = new ProductDao(global, customerShards).save(new Product("banana", 1_000, "woowa.com"));
+        seed(global, productId);
+
+        final long before = measure(orderDao);
+        final OrderArchiver orderArchiver = new OrderArchiver(new OrderArchive(directory), orderDao,
+                new OrdersDetailDao(customerShards), customerShards, Duration.ofDays(365), 1_000,
+                Clock.systemDefaultZone());
+        final long archived = orderArchiver.archiveBefore(NOW.minusDays(365));
+        final long after = measure(orderDao);
+
+        System.out.printf("hot orders latency (orders=%,d, archived=%,d, iterations=%d, rounds=%d)%n",
+                orders, archived, iterations, rounds);
+        System.out.printf("  before archiving : %,d ns/op%n", before);
+        System.out.printf("  after archiving  : %,d ns/op%n", after);
+        System.out.printf("  speedup          : %.1fx%n", (double) before / Math.max(1, after));
+        assertThat(after).isLessThan(before);
+    }
+
+    private void seed(final JdbcTemplate jdbcTemplate, final Long productId) {
+        final Random random = new Random(3);
+        final List<Object[]> orderRows = new ArrayList<>();
+        final List<Object[]> detailRows = new ArrayList<>();
+        for (long id = 1; id <= orders; id++) {
+            final LocalDateTime orderedAt = random.nextDouble() < hotRatio
+                    ? NOW.minusDays(random.nextInt(365))
+                    : NOW.minusDays(365 + random.nextInt(1_000));
+            orderRows.add(new Object[]{id, 1 + random.nextInt(CUSTOMERS), Timestamp.valueOf(orderedAt)});
+            detailRows.add(new Object[]{id, productId, 1 + random.nextInt(5)});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO orders (id, customer_id, ordered_at) VALUES (?, ?, ?)", orderRows);
+        jdbcTemplate.batchUpdate("INSERT INTO orders_detail (orders_id, product_id, quantity) VALUES (?, ?, ?)",
+                detailRows);
+    }
+
+    private long measure(final OrderDao orderDao) {
+        run(orderDao);
+        final long[] nanosPerOperation = new long[rounds];
+        for (int round = 0; round < rounds; round++) {
+            final long start = System.nanoTime();
+            run(orderDao);
+            nanosPerOperation[round] = (System.nanoTime() - start) / iterations;
+        }
+        Arrays.sort(nanosPerOperation);
+        return nanosPerOperation[rounds / 2];
+    }
+
+    private void run(final OrderDao orderDao) {
+        for (int i = 0; i < iterations; i++) {
+            sink += orderDao.findOrderIdsByCustomerId(1L + i % CUSTOMERS).size();
+        }
+    }
+}
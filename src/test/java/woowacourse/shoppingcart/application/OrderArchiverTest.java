@@ -0,0 +1,119 @@
+package woowacourse.shoppingcart.application;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import woowacourse.shoppingcart.dao.OrderDao;
+import woowacourse.shoppingcart.dao.OrdersDetailDao;
+import woowacourse.shoppingcart.dao.ProductDao;
+import woowacourse.shoppingcart.domain.ArchivedOrder;
+import woowacourse.shoppingcart.domain.OrderDetail;
+import woowacourse.shoppingcart.domain.Product;
+import woowacourse.shoppingcart.support.CustomerShards;
+import woowacourse.shoppingcart.support.OrderArchive;
+import woowacourse.shoppingcart.support.ShardRebalancer;
+
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OrderArchiverTest {
+    private static final int CUSTOMERS = 25;
+    private static final LocalDateTime NOW = LocalDateTime.of(2022, 6, 1, 0, 0);
+
+    @TempDir
+    Path directory;
+
+    private CustomerShards customerShards;
+    private OrderDao orderDao;
+    private OrdersDetailDao ordersDetailDao;
+    private Long productId;
+
+    @BeforeEach
+    void setUp() {
+        final JdbcTemplate global = h2("order-archiver-0");
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql"), new ClassPathResource("data.sql"))
+                .execute(global.getDataSource());
+        customerShards = new CustomerShards(global, List.of(h2("order-archiver-1"), h2("order-archiver-2")));
+        new ShardRebalancer(customerShards).initialize();
+        orderDao = new OrderDao(customerShards);
+        ordersDetailDao = new OrdersDetailDao(customerShards);
+        productId = new ProductDao(global, customerShards).save(new Product("banana", 1_000, "woowa1.com"));
+    }
+
+    @DisplayName("보관 기간이 지난 주문만 보관 파일로 옮기고 DB 에서 지운다.")
+    @Test
+    void archiveOldOrders() {
+        final List<Long> oldOrderIds = new ArrayList<>();
+        for (long customerId = 1; customerId <= CUSTOMERS; customerId++) {
+            oldOrderIds.add(order(customerId, NOW.minusDays(400 + customerId), (int) customerId));
+            order(customerId, NOW.minusDays(10), 1);
+        }
+        final OrderArchive orderArchive = new OrderArchive(directory);
+        final OrderArchiver orderArchiver = new OrderArchiver(orderArchive, orderDao, ordersDetailDao,
+                customerShards, Duration.ofDays(365), 4, Clock.systemDefaultZone());
+
+        assertThat(orderArchiver.archiveBefore(NOW.minusDays(365))).isEqualTo(CUSTOMERS);
+
+        for (long customerId = 1; customerId <= CUSTOMERS; customerId++) {
+            final Long oldOrderId = oldOrderIds.get((int) customerId - 1);
+            assertThat(orderDao.isValidOrderId(customerId, oldOrderId)).isFalse();
+            assertThat(orderDao.findOrderIdsByCustomerId(customerId)).hasSize(1);
+
+            final List<ArchivedOrder> archived = orderArchive.findOrders(customerId);
+            assertThat(archived).extracting(ArchivedOrder::getId).containsExactly(oldOrderId);
+            assertThat(archived.get(0).getOrderedAt()).isEqualTo(NOW.minusDays(400 + customerId));
+            assertThat(archived.get(0).getOrderDetails()).extracting(OrderDetail::getQuantity)
+                    .containsExactly((int) customerId);
+        }
+        assertThat(orderArchiver.archiveBefore(NOW.minusDays(365))).isZero();
+    }
+
+    @DisplayName("보관 파일에만 있는 주문을 넘기고, 지우지 못해 DB 에도 남은 주문은 건너뛴다.")
+    @Test
+    void forEachArchivedOrder() {
+        final List<Long> oldOrderIds = new ArrayList<>();
+        for (long customerId = 1; customerId <= CUSTOMERS; customerId++) {
+            oldOrderIds.add(order(customerId, NOW.minusDays(400), 1));
+            final Long recentOrderId = order(customerId, NOW.minusDays(10), 1);
+            orderArchive(customerId, recentOrderId);
+        }
+        final OrderArchiver orderArchiver = new OrderArchiver(new OrderArchive(directory), orderDao, ordersDetailDao,
+                customerShards, Duration.ofDays(365), 4, Clock.systemDefaultZone());
+        orderArchiver.archiveBefore(NOW.minusDays(365));
+
+        final List<Long> archivedOrderIds = new ArrayList<>();
+        orderArchiver.forEachArchivedOrder(order -> archivedOrderIds.add(order.getId()));
+
+        assertThat(archivedOrderIds).containsExactlyInAnyOrderElementsOf(oldOrderIds);
+    }
+
+    private void orderArchive(final Long customerId, final Long orderId) {
+        new OrderArchive(directory).write(customerId, List.of(new ArchivedOrder(orderId, customerId, NOW.minusDays(10),
+                List.of(new OrderDetail(productId, 1)))));
+    }
+
+    private Long order(final Long customerId, final LocalDateTime orderedAt, final int quantity) {
+        final Long ordersId = orderDao.addOrders(customerId);
+        ordersDetailDao.addOrdersDetail(customerId, ordersId, productId, quantity);
+        customerShards.jdbcTemplate(customerId)
+                .update("UPDATE orders SET ordered_at = ? WHERE id = ?", Timestamp.valueOf(orderedAt), ordersId);
+        return ordersId;
+    }
+
+    private JdbcTemplate h2(final String name) {
+        return new JdbcTemplate(new DriverManagerDataSource(
+                "jdbc:h2:mem:" + name + ";MODE=MYSQL;DB_CLOSE_DELAY=-1", "sa", ""));
+    }
+}
@@ -0,0 +1,161 @@
+package woowacourse.shoppingcart.application;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import woowacourse.shoppingcart.dao.CustomerDao;
+import woowacourse.shoppingcart.dao.CustomerNameFilter;
+import woowacourse.shoppingcart.dao.OrderDao;
+import woowacourse.shoppingcart.dao.OrdersDetailDao;
+import woowacourse.shoppingcart.dao.ProductDao;
+import woowacourse.shoppingcart.domain.CustomerRevenue;
+import woowacourse.shoppingcart.domain.Product;
+import woowacourse.shoppingcart.domain.ProductRevenue;
+import woowacourse.shoppingcart.support.CustomerShards;
+import woowacourse.shoppingcart.support.ForkJoinRangeScan;
+import woowacourse.shoppingcart.support.OrderArchive;
+import woowacourse.shoppingcart.support.ShardRebalancer;
+import woowacourse.shoppingcart.support.SingleFlight;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SalesAnalyticsServiceTest {
+    private static final int CUSTOMERS = 25;
+    private static final int PRODUCTS = 12;
+
+    @TempDir
+    Path directory;
+
+    private final ForkJoinPool pool = new ForkJoinPool(4);
+    private CustomerShards customerShards;
+    private OrderArchiver orderArchiver;
+    private SalesAnalyticsService salesAnalyticsService;
+
+    @BeforeEach
+    void setUp() {
+        final JdbcTemplate global = h2("sales-analytics-0");
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql"), new ClassPathResource("data.sql"))
+                .execute(global.getDataSource());
+        customerShards = new CustomerShards(global, List.of(h2("sales-analytics-1"), h2("sales-analytics-2")));
+        new ShardRebalancer(customerShards).initialize();
+        final ProductDao productDao = new ProductDao(global, customerShards);
+        final OrderDao orderDao = new OrderDao(customerShards);
+        final OrdersDetailDao ordersDetailDao = new OrdersDetailDao(customerShards);
+
+        final Random random = new Random(7);
+        final List<Long> productIds = new ArrayList<>();
+        for (int i = 0; i < PRODUCTS; i++) {
+            productIds.add(productDao.save(new Product("product-" + i, 100 * (1 + random.nextInt(50)), "woowa.com")));
+        }
+        for (int i = 0; i < 600; i++) {
+            final long customerId = 1 + random.nextInt(CUSTOMERS);
+            final Long ordersId = orderDao.addOrders(customerId);
+            for (int line = 0; line < 1 + random.nextInt(4); line++) {
+                ordersDetailDao.addOrdersDetail(customerId, ordersId,
+                        productIds.get(random.nextInt(PRODUCTS)), 1 + random.nextInt(5));
+            }
+        }
+        final CustomerDao customerDao = new CustomerDao(global, new CustomerNameFilter(1_000, 0.01),
+                new SingleFlight<>("customer", 1_000));
+        orderArchiver = new OrderArchiver(new OrderArchive(directory), orderDao, ordersDetailDao, customerShards,
+                Duration.ofDays(365), 50, Clock.systemDefaultZone());
+        salesAnalyticsService = new SalesAnalyticsService(orderDao, ordersDetailDao, productDao, customerDao,
+                customerShards, new ForkJoinRangeScan(pool, 16), orderArchiver);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @DisplayName("구간을 나눠 병렬로 모은 상품별 매출이 SQL 로 묶은 결과와 같다.")
+    @Test
+    void revenueByProductMatchesSql() {
+        final List<ProductRevenue> revenues = salesAnalyticsService.findRevenueByProduct(PRODUCTS);
+
+        final Map<Long, Long> actual = new HashMap<>();
+        final Map<Long, Long> quantities = new HashMap<>();
+        revenues.forEach(revenue -> {
+            actual.put(revenue.getProductId(), revenue.getRevenue());
+            quantities.put(revenue.getProductId(), revenue.getQuantity());
+        });
+        assertThat(actual).isEqualTo(sumBySql("d.product_id", "CAST(d.quantity AS BIGINT) * p.price"));
+        assertThat(quantities).isEqualTo(sumBySql("d.product_id", "d.quantity"));
+        assertThat(revenues).extracting(ProductRevenue::getRevenue).isSortedAccordingTo((a, b) -> Long.compare(b, a));
+        assertThat(revenues).extracting(ProductRevenue::getName).doesNotContainNull();
+    }
+
+    @DisplayName("구간을 나눠 병렬로 모은 고객별 매출이 SQL 로 묶은 결과와 같다.")
+    @Test
+    void revenueByCustomerMatchesSql() {
+        final List<CustomerRevenue> revenues = salesAnalyticsService.findRevenueByCustomer(CUSTOMERS);
+
+        final Map<Long, Long> actual = new HashMap<>();
+        revenues.forEach(revenue -> actual.put(revenue.getCustomerId(), revenue.getRevenue()));
+        assertThat(actual).isEqualTo(sumBySql("o.customer_id", "CAST(d.quantity AS BIGINT) * p.price"));
+        assertThat(revenues).extracting(CustomerRevenue::getUserName).doesNotContainNull();
+    }
+
+    @DisplayName("보관 파일로 옮긴 주문의 매출도 더한다.")
+    @Test
+    void includeArchivedOrders() {
+        final Map<Long, Long> expected = sumBySql("o.customer_id", "CAST(d.quantity AS BIGINT) * p.price");
+        for (int shard = 0; shard < customerShards.size(); shard++) {
+            customerShards.jdbcTemplateAt(shard)
+                    .update("UPDATE orders SET ordered_at = '2000-01-01 00:00:00' WHERE MOD(id, 2) = 0");
+        }
+        orderArchiver.archiveBefore(LocalDateTime.of(2001, 1, 1, 0, 0));
+
+        final Map<Long, Long> actual = new HashMap<>();
+        salesAnalyticsService.findRevenueByCustomer(CUSTOMERS)
+                .forEach(revenue -> actual.put(revenue.getCustomerId(), revenue.getRevenue()));
+        assertThat(sumBySql("o.customer_id", "CAST(d.quantity AS BIGINT) * p.price")).isNotEqualTo(expected);
+        assertThat(actual).isEqualTo(expected);
+    }
+
+    @DisplayName("limit 개만 매출이 큰 순서로 돌려준다.")
+    @Test
+    void topRevenues() {
+        final List<CustomerRevenue> all = salesAnalyticsService.findRevenueByCustomer(CUSTOMERS);
+
+        assertThat(salesAnalyticsService.findRevenueByCustomer(3))
+                .extracting(CustomerRevenue::getCustomerId)
+                .containsExactly(all.get(0).getCustomerId(), all.get(1).getCustomerId(), all.get(2).getCustomerId());
+    }
+
+    private Map<Long, Long> sumBySql(final String groupBy, final String amount) {
+        final Map<Long, Long> sums = new HashMap<>();
+        for (int shard = 0; shard < customerShards.size(); shard++) {
+            customerShards.jdbcTemplateAt(shard).query(
+                    "SELECT " + groupBy + " AS group_id, SUM(" + amount + ") AS amount FROM orders o "
+                            + "JOIN orders_detail d ON d.orders_id = o.id JOIN product p ON p.id = d.product_id "
+                            + "GROUP BY " + groupBy,
+                    rs -> {
+                        sums.merge(rs.getLong("group_id"), rs.getLong("amount"), Long::sum);
+                    });
+        }
+        return sums;
+    }
+
+    private JdbcTemplate h2(final String name) {
+        return new JdbcTemplate(new DriverManagerDataSource(
+                "jdbc:h2:mem:" + name + ";MODE=MYSQL;DB_CLOSE_DELAY=-1", "sa", ""));
+    }
+}
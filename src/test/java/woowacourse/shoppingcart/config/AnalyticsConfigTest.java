@@ -0,0 +1,74 @@
+package woowacourse.shoppingcart.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.ConnectionCallback;
+import woowacourse.shoppingcart.support.CustomerShards;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "shoppingcart.analytics.parallelism=64",
+        "shoppingcart.analytics.reserved-connections=1",
+        "shoppingcart.sharding.shards[0].jdbc-url=jdbc:h2:mem:analytics-config-1;MODE=MYSQL;DB_CLOSE_DELAY=-1",
+        "shoppingcart.sharding.shards[0].username=sa",
+        "shoppingcart.sharding.shards[0].maximum-pool-size=3",
+        "shoppingcart.sharding.shards[0].connection-timeout=1000"
+})
+class AnalyticsConfigTest {
+
+    @Autowired
+    private ForkJoinPool analyticsPool;
+
+    @Autowired
+    private CustomerShards customerShards;
+
+    @DisplayName("집계 풀의 스레드 수는 가장 작은 커넥션 풀에서 남겨 둘 커넥션을 뺀 수를 넘지 않는다.")
+    @Test
+    void capParallelismBelowPoolSize() {
+        assertThat(analyticsPool.getParallelism()).isEqualTo(2);
+    }
+
+    @DisplayName("집계 작업이 커넥션을 잡고 있는 동안에도 요청은 커넥션을 얻는다.")
+    @Test
+    void requestGetsConnectionDuringScan() throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch holding = new CountDownLatch(2);
+        final List<ForkJoinTask<?>> scans = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            scans.add(analyticsPool.submit(() -> customerShards.jdbcTemplateAt(1).execute(
+                    (ConnectionCallback<Void>) connection -> {
+                        holding.countDown();
+                        await(release);
+                        return null;
+                    })));
+        }
+
+        try {
+            assertThat(holding.await(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(customerShards.jdbcTemplateAt(1).queryForObject("SELECT 1", Integer.class)).isOne();
+        } finally {
+            release.countDown();
+            for (final ForkJoinTask<?> scan : scans) {
+                scan.get(10, TimeUnit.SECONDS);
+            }
+        }
+    }
+
+    private static void await(final CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package woowacourse.shoppingcart.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+import woowacourse.shoppingcart.application.CartService;
+import woowacourse.shoppingcart.application.ProductService;
+import woowacourse.shoppingcart.domain.Product;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "shoppingcart.datasource.replica.jdbc-url=jdbc:h2:mem:replica;MODE=MYSQL;DB_CLOSE_DELAY=-1",
+        "shoppingcart.datasource.replica.username=sa",
+        "shoppingcart.datasource.replica.lag-tolerance-millis=60000"
+})
+class ReplicaDataSourceConfigTest {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private CartService cartService;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primaryDataSource;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replicaDataSource;
+
+    private JdbcTemplate replicaJdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql"), new ClassPathResource("data.sql"))
+                .execute(replicaDataSource);
+        replicaJdbcTemplate = new JdbcTemplate(replicaDataSource);
+        replicaJdbcTemplate.update("INSERT INTO product (name, price, image_url) VALUES (?, ?, ?)",
+                "replica-only", 1_000, "replica.jpg");
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @DisplayName("읽기 전용 트랜잭션은 replica 에서 읽는다.")
+    @Test
+    void readOnlyTransactionUsesReplica() {
+        final Product product = productService.findProductById(1L);
+
+        assertThat(product.getName()).isEqualTo("replica-only");
+    }
+
+    @DisplayName("쓰기 트랜잭션은 primary 에 쓴다.")
+    @Test
+    void writeTransactionUsesPrimary() {
+        final Long productId = productService.addProduct(new Product("primary-only", 2_000, "primary.jpg"));
+
+        final String primaryName = new JdbcTemplate(primaryDataSource)
+                .queryForObject("SELECT name FROM product WHERE id = ?", String.class, productId);
+        final Integer replicaCount = replicaJdbcTemplate
+                .queryForObject("SELECT COUNT(*) FROM product WHERE name = 'primary-only'", Integer.class);
+        assertThat(primaryName).isEqualTo("primary-only");
+        assertThat(replicaCount).isZero();
+    }
+
+    @DisplayName("방금 쓰기를 커밋한 유저의 읽기는 primary 에서 읽는다.")
+    @Test
+    void readYourWrites() {
+        final Long productId = productService.addProduct(new Product("primary-only", 2_000, "primary.jpg"));
+
+        requestFor("puterism");
+        assertThat(cartService.findCartsByCustomerName("puterism")).isEmpty();
+
+        cartService.addCart(productId, "puterism");
+
+        assertThat(cartService.findCartsByCustomerName("puterism")).hasSize(1);
+        requestFor("jho2301");
+        assertThat(productService.findProductById(1L).getName()).isEqualTo("replica-only");
+    }
+
+    private void requestFor(final String customerName) {
+        final MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE, Map.of("customerName", customerName));
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+}
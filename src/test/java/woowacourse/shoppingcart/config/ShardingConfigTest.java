@@ -0,0 +1,48 @@
+package woowacourse.shoppingcart.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import woowacourse.shoppingcart.application.CartService;
+import woowacourse.shoppingcart.application.ProductService;
+import woowacourse.shoppingcart.domain.Cart;
+import woowacourse.shoppingcart.domain.Product;
+import woowacourse.shoppingcart.support.CustomerShards;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "shoppingcart.sharding.shards[0].jdbc-url=jdbc:h2:mem:sharding-config-1;MODE=MYSQL;DB_CLOSE_DELAY=-1",
+        "shoppingcart.sharding.shards[0].username=sa",
+        "shoppingcart.sharding.shards[1].jdbc-url=jdbc:h2:mem:sharding-config-2;MODE=MYSQL;DB_CLOSE_DELAY=-1",
+        "shoppingcart.sharding.shards[1].username=sa"
+})
+class ShardingConfigTest {
+
+    @Autowired
+    private CustomerShards customerShards;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private CartService cartService;
+
+    @DisplayName("설정한 샤드를 초기화하고, 고객의 장바구니를 그 고객의 샤드에 저장한다.")
+    @Test
+    void customerShards() {
+        final Long productId = productService.addProduct(new Product("banana", 1_000, "woowa1.com"));
+
+        final Long cartId = cartService.addCart(productId, "puterism");
+
+        final List<Cart> carts = cartService.findCartsByCustomerName("puterism");
+        final int shard = customerShards.shardOf(1L);
+        assertThat(customerShards.size()).isEqualTo(3);
+        assertThat(carts).extracting(Cart::getId).containsExactly(cartId);
+        assertThat(customerShards.jdbcTemplateAt(shard)
+                .queryForObject("SELECT COUNT(*) FROM cart_item WHERE id = ?", Integer.class, cartId)).isOne();
+    }
+}
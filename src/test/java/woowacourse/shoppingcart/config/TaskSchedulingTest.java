@@ -0,0 +1,22 @@
+package woowacourse.shoppingcart.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class TaskSchedulingTest {
+
+    @Autowired
+    private ThreadPoolTaskScheduler taskScheduler;
+
+    @DisplayName("재고 반영, 상품 정리, 주문 보관이 스케줄러 스레드를 하나씩 쓸 수 있다.")
+    @Test
+    void threadPerScheduledJob() {
+        assertThat(taskScheduler.getScheduledThreadPoolExecutor().getCorePoolSize()).isEqualTo(3);
+    }
+}
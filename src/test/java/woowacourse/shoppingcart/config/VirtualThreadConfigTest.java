@@ -0,0 +1,36 @@
+package woowacourse.shoppingcart.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class VirtualThreadConfigTest {
+
+    @DisplayName("Java 21 이상에서는 가상 스레드에서 작업을 실행한다.")
+    @Test
+    void newVirtualThreadPerTaskExecutor() throws Exception {
+        assumeTrue(Runtime.version().feature() >= 21);
+
+        final ExecutorService executor = VirtualThreadConfig.newVirtualThreadPerTaskExecutor();
+        final Future<Boolean> virtual = executor.submit(() ->
+                (Boolean) Thread.class.getMethod("isVirtual").invoke(Thread.currentThread()));
+
+        assertThat(virtual.get()).isTrue();
+        executor.shutdown();
+    }
+
+    @DisplayName("Java 21 미만에서는 가상 스레드 모드를 켤 수 없다.")
+    @Test
+    void newVirtualThreadPerTaskExecutorBeforeJava21() {
+        assumeTrue(Runtime.version().feature() < 21);
+
+        assertThatThrownBy(VirtualThreadConfig::newVirtualThreadPerTaskExecutor)
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
@@ -9,11 +9,16 @@ import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.TestConstructor;
 import org.springframework.test.context.jdbc.Sql;
+import woowacourse.shoppingcart.domain.Cart;
+import woowacourse.shoppingcart.domain.CartSummary;
 import woowacourse.shoppingcart.domain.Product;
+import woowacourse.shoppingcart.exception.InvalidCartItemException;
+import woowacourse.shoppingcart.support.CustomerShards;
 
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 @JdbcTest
 @AutoConfigureTestDatabase(replace = Replace.NONE)
@@ -26,8 +31,8 @@ public class CartItemDaoTest {
 
     public CartItemDaoTest(JdbcTemplate jdbcTemplate) {
         this.jdbcTemplate = jdbcTemplate;
-        cartItemDao = new CartItemDao(jdbcTemplate);
-        productDao = new ProductDao(jdbcTemplate);
+        cartItemDao = new CartItemDao(new CustomerShards(jdbcTemplate));
+        productDao = new ProductDao(jdbcTemplate, new CustomerShards(jdbcTemplate));
     }
 
     @BeforeEach
@@ -35,8 +40,8 @@ public class CartItemDaoTest {
         productDao.save(new Product("banana", 1_000, "woowa1.com"));
         productDao.save(new Product("apple", 2_000, "woowa2.com"));
 
-        jdbcTemplate.update("INSERT INTO cart_item(customer_id, product_id) VALUES(?, ?)", 1L, 1L);
-        jdbcTemplate.update("INSERT INTO cart_item(customer_id, product_id) VALUES(?, ?)", 1L, 2L);
+        jdbcTemplate.update("INSERT INTO cart_item(customer_id, product_id, price) VALUES(?, ?, ?)", 1L, 1L, 1_000);
+        jdbcTemplate.update("INSERT INTO cart_item(customer_id, product_id, price) VALUES(?, ?, ?)", 1L, 2L, 2_000);
     }
 
     @DisplayName("카트에 아이템을 담으면, 담긴 카트 아이디를 반환한다. ")
@@ -54,32 +59,39 @@ public class CartItemDaoTest {
         assertThat(cartId).isEqualTo(3L);
     }
 
-    @DisplayName("커스터머 아이디를 넣으면, 해당 커스터머가 구매한 상품의 아이디 목록을 가져온다.")
+    @DisplayName("Customer Id를 넣으면, 상품 정보를 포함한 장바구니 목록을 가져온다.")
     @Test
-    void findProductIdsByCustomerId() {
+    void findCartsByCustomerId() {
 
         // given
         final Long customerId = 1L;
 
         // when
-        final List<Long> productsIds = cartItemDao.findProductIdsByCustomerId(customerId);
+        final List<Cart> carts = cartItemDao.findCartsByCustomerId(customerId);
 
         // then
-        assertThat(productsIds).containsExactly(1L, 2L);
+        assertThat(carts).extracting(Cart::getId).containsExactly(1L, 2L);
+        assertThat(carts).extracting(Cart::getProductId).containsExactly(1L, 2L);
+        assertThat(carts).extracting(Cart::getName).containsExactly("banana", "apple");
+        assertThat(carts).extracting(Cart::getPrice).containsExactly(1_000, 2_000);
     }
 
-    @DisplayName("Customer Id를 넣으면, 해당 장바구니 Id들을 가져온다.")
+    @DisplayName("커스터머의 장바구니 아이디인지 확인한다.")
     @Test
-    void findIdsByCustomerId() {
+    void isValidCartItemId() {
 
         // given
         final Long customerId = 1L;
+        final Long otherCustomerId = 2L;
+        final Long cartId = 1L;
 
         // when
-        final List<Long> cartIds = cartItemDao.findIdsByCustomerId(customerId);
+        final boolean valid = cartItemDao.isValidCartItemId(customerId, cartId);
+        final boolean invalid = cartItemDao.isValidCartItemId(otherCustomerId, cartId);
 
         // then
-        assertThat(cartIds).containsExactly(1L, 2L);
+        assertThat(valid).isTrue();
+        assertThat(invalid).isFalse();
     }
 
     @DisplayName("Customer Id를 넣으면, 해당 장바구니 Id들을 가져온다.")
@@ -87,15 +99,162 @@ public class CartItemDaoTest {
     void deleteCartItem() {
 
         // given
+        final Long customerId = 1L;
         final Long cartId = 1L;
 
         // when
-        cartItemDao.deleteCartItem(cartId);
+        cartItemDao.deleteCartItem(customerId, cartId);
 
         // then
-        final Long customerId = 1L;
-        final List<Long> productIds = cartItemDao.findProductIdsByCustomerId(customerId);
+        final List<Cart> carts = cartItemDao.findCartsByCustomerId(customerId);
+
+        assertThat(carts).extracting(Cart::getProductId).containsExactly(2L);
+    }
+
+    @DisplayName("다른 고객의 장바구니 아이디로는 상품을 찾거나 지울 수 없다.")
+    @Test
+    void rejectOtherCustomersCartItem() {
+
+        // given
+        final Long otherCustomerId = 2L;
+        final Long cartId = 1L;
+
+        // when & then
+        assertThatThrownBy(() -> cartItemDao.findProductIdById(otherCustomerId, cartId))
+                .isInstanceOf(InvalidCartItemException.class);
+        assertThatThrownBy(() -> cartItemDao.deleteCartItem(otherCustomerId, cartId))
+                .isInstanceOf(InvalidCartItemException.class);
+        assertThat(cartItemDao.findCartsByCustomerId(1L)).extracting(Cart::getProductId).containsExactly(1L, 2L);
+    }
+
+    @DisplayName("장바구니에 담고 지우면, 요약의 개수와 합계가 함께 바뀐다.")
+    @Test
+    void cartSummary() {
+
+        // given
+        final Long customerId = 2L;
+        final Long bananaCartId = cartItemDao.addCartItem(customerId, 1L);
+        cartItemDao.addCartItem(customerId, 2L);
+        cartItemDao.addCartItem(customerId, 2L);
+
+        // when
+        cartItemDao.deleteCartItem(customerId, bananaCartId);
+
+        // then
+        final CartSummary summary = cartItemDao.findSummaryByCustomerId(customerId);
+        assertThat(summary.getItemCount()).isEqualTo(2);
+        assertThat(summary.getSubtotal()).isEqualTo(4_000L);
+    }
+
+    @DisplayName("장바구니에 담은 적이 없으면, 빈 요약을 반환한다.")
+    @Test
+    void emptyCartSummary() {
+
+        // when
+        final CartSummary summary = cartItemDao.findSummaryByCustomerId(3L);
+
+        // then
+        assertThat(summary.getItemCount()).isZero();
+        assertThat(summary.getSubtotal()).isZero();
+    }
+
+    @DisplayName("상품 가격이 바뀌면, 그 상품을 담은 행의 가격과 고객의 합계를 고치고 다시 불러도 같다.")
+    @Test
+    void reprice() {
+
+        // given
+        final Long customerId = 2L;
+        cartItemDao.addCartItem(customerId, 1L);
+        cartItemDao.addCartItem(customerId, 2L);
+        final Long cartId = cartItemDao.addCartItem(customerId, 2L);
+        productDao.updatePriceAt(0, 2L, 5_000);
+
+        // when
+        cartItemDao.repriceAt(0, 2L, 5_000);
+        cartItemDao.repriceAt(0, 2L, 5_000);
+        cartItemDao.deleteCartItem(customerId, cartId);
+
+        // then
+        final CartSummary summary = cartItemDao.findSummaryByCustomerId(customerId);
+        assertThat(summary.getItemCount()).isEqualTo(2);
+        assertThat(summary.getSubtotal()).isEqualTo(6_000L);
+    }
+
+    @DisplayName("담은 뒤에 가격이 바뀌어도, 뺄 때는 합계에 더한 가격만큼 뺀다.")
+    @Test
+    void deleteWithPriceAtAdd() {
+
+        // given
+        final Long customerId = 2L;
+        final Long cartId = cartItemDao.addCartItem(customerId, 1L);
+        productDao.updatePriceAt(0, 1L, 3_000);
+
+        // when
+        cartItemDao.deleteCartItem(customerId, cartId);
+
+        // then
+        final CartSummary summary = cartItemDao.findSummaryByCustomerId(customerId);
+        assertThat(summary.getItemCount()).isZero();
+        assertThat(summary.getSubtotal()).isZero();
+    }
+
+    @DisplayName("삭제된 상품은 장바구니 목록과 합계에서 빠진다.")
+    @Test
+    void hideDeletedProduct() {
+
+        // given
+        final Long customerId = 2L;
+        cartItemDao.addCartItem(customerId, 1L);
+        cartItemDao.addCartItem(customerId, 2L);
+
+        // when
+        cartItemDao.removeFromSummariesAt(0, 2L);
+        productDao.delete(2L);
+
+        // then
+        assertThat(cartItemDao.findCartsByCustomerId(customerId)).extracting(Cart::getName).containsExactly("banana");
+        final CartSummary summary = cartItemDao.findSummaryByCustomerId(customerId);
+        assertThat(summary.getItemCount()).isOne();
+        assertThat(summary.getSubtotal()).isEqualTo(1_000L);
+    }
+
+    @DisplayName("삭제된 상품을 담은 장바구니 행을 limit 개씩 지운다.")
+    @Test
+    void deleteCartItemsOfDeletedProducts() {
+
+        // given
+        cartItemDao.addCartItem(2L, 1L);
+        cartItemDao.addCartItem(3L, 1L);
+        productDao.delete(1L);
+
+        // when
+        final int first = cartItemDao.deleteCartItemsOfDeletedProductsAt(0, 2);
+        final int second = cartItemDao.deleteCartItemsOfDeletedProductsAt(0, 2);
+
+        // then
+        assertThat(first).isEqualTo(2);
+        assertThat(second).isOne();
+        assertThat(cartItemDao.deleteCartItemsOfDeletedProductsAt(0, 2)).isZero();
+        assertThat(jdbcTemplate.queryForList("SELECT product_id FROM cart_item WHERE customer_id = ?", Long.class, 1L))
+                .containsExactly(2L);
+    }
 
-        assertThat(productIds).containsExactly(2L);
+    @DisplayName("삭제된 상품을 지우면서, 상품 삭제와 동시에 담겨 합계에 남은 행도 합계에서 뺀다.")
+    @Test
+    void recountSummariesOfPurgedCustomers() {
+
+        // given
+        final Long customerId = 2L;
+        cartItemDao.addCartItem(customerId, 1L);
+        cartItemDao.addCartItem(customerId, 2L);
+        productDao.delete(2L);
+
+        // when
+        cartItemDao.deleteCartItemsOfDeletedProductsAt(0, 10);
+
+        // then
+        final CartSummary summary = cartItemDao.findSummaryByCustomerId(customerId);
+        assertThat(summary.getItemCount()).isOne();
+        assertThat(summary.getSubtotal()).isEqualTo(1_000L);
     }
 }
@@ -9,7 +9,13 @@ import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.TestConstructor;
 import org.springframework.test.context.jdbc.Sql;
 
+import woowacourse.shoppingcart.exception.InvalidCustomerException;
+import woowacourse.shoppingcart.support.SingleFlight;
+
+import java.util.List;
+
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 @JdbcTest
 @AutoConfigureTestDatabase(replace = Replace.NONE)
@@ -18,9 +24,11 @@ import static org.assertj.core.api.Assertions.assertThat;
 public class CustomerDaoTest {
 
     private final CustomerDao customerDao;
+    private final CustomerNameFilter customerNameFilter;
 
     public CustomerDaoTest(JdbcTemplate jdbcTemplate) {
-        customerDao = new CustomerDao(jdbcTemplate);
+        customerNameFilter = new CustomerNameFilter(100, 0.01);
+        customerDao = new CustomerDao(jdbcTemplate, customerNameFilter, new SingleFlight<>("customer", 1_000));
     }
 
     @DisplayName("username을 통해 아이디를 찾으면, id를 반환한다.")
@@ -50,4 +58,47 @@ public class CustomerDaoTest {
         // then
         assertThat(customerId).isEqualTo(16L);
     }
+
+    @DisplayName("username 으로 유저를 저장하면, 소문자로 저장하고 id를 반환한다.")
+    @Test
+    void save() {
+
+        // given
+        final String userName = "Tonic";
+
+        // when
+        final Long customerId = customerDao.save(userName);
+
+        // then
+        assertThat(customerDao.findIdByUserName("tonic")).isEqualTo(customerId);
+    }
+
+    @DisplayName("필터에 없는 username 은 조회하지 않고 예외가 발생한다.")
+    @Test
+    void findIdByUserNameRejectedByFilter() {
+
+        // given
+        final List<String> userNames = customerDao.findUserNames();
+        customerNameFilter.load(userNames);
+
+        // when // then
+        assertThatThrownBy(() -> customerDao.findIdByUserName("unknown-bot"))
+                .isInstanceOf(InvalidCustomerException.class);
+        assertThat(customerNameFilter.getRejectedCount()).isEqualTo(1L);
+    }
+
+    @DisplayName("필터 적재 후 저장한 username 도 조회된다.")
+    @Test
+    void findIdByUserNameSavedAfterLoad() {
+
+        // given
+        customerNameFilter.load(customerDao.findUserNames());
+        final Long customerId = customerDao.save("new-customer");
+
+        // when
+        final Long foundId = customerDao.findIdByUserName("new-customer");
+
+        // then
+        assertThat(foundId).isEqualTo(customerId);
+    }
 }
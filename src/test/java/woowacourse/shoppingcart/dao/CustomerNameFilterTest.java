@@ -0,0 +1,52 @@
+package woowacourse.shoppingcart.dao;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CustomerNameFilterTest {
+
+    @DisplayName("적재 전에는 모든 이름을 통과시킨다.")
+    @Test
+    void mightContainBeforeLoad() {
+        final CustomerNameFilter filter = new CustomerNameFilter(100, 0.01);
+
+        assertThat(filter.mightContain("anyone")).isTrue();
+    }
+
+    @DisplayName("적재한 이름은 항상 통과시킨다.")
+    @Test
+    void mightContainLoadedNames() {
+        final CustomerNameFilter filter = new CustomerNameFilter(1_000, 0.01);
+        final List<String> userNames = userNames("customer", 1_000);
+
+        filter.load(userNames);
+
+        assertThat(userNames).allMatch(filter::mightContain);
+    }
+
+    @DisplayName("오탐률은 설정값 근처로 유지된다.")
+    @Test
+    void falsePositiveProbability() {
+        final CustomerNameFilter filter = new CustomerNameFilter(10_000, 0.01);
+        filter.load(userNames("customer", 10_000));
+
+        final long falsePositives = userNames("bot", 10_000).stream()
+                .filter(filter::mightContain)
+                .count();
+
+        assertThat(falsePositives).isLessThan(200L);
+        assertThat(filter.getExpectedFalsePositiveProbability()).isLessThan(0.02);
+    }
+
+    private List<String> userNames(final String prefix, final int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> prefix + i)
+                .collect(Collectors.toList());
+    }
+}
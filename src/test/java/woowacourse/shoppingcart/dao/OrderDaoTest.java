@@ -8,6 +8,7 @@ import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.TestConstructor;
 import org.springframework.test.context.jdbc.Sql;
+import woowacourse.shoppingcart.support.CustomerShards;
 
 import java.util.List;
 
@@ -24,7 +25,7 @@ class OrderDaoTest {
 
     public OrderDaoTest(JdbcTemplate jdbcTemplate) {
         this.jdbcTemplate = jdbcTemplate;
-        this.orderDao = new OrderDao(jdbcTemplate);
+        this.orderDao = new OrderDao(new CustomerShards(jdbcTemplate));
     }
 
     @DisplayName("Order를 추가하는 기능")
@@ -10,6 +10,7 @@ import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.TestConstructor;
 import org.springframework.test.context.jdbc.Sql;
 import woowacourse.shoppingcart.domain.OrderDetail;
+import woowacourse.shoppingcart.support.CustomerShards;
 
 import java.util.List;
 
@@ -29,7 +30,7 @@ class OrdersDetailDaoTest {
 
     public OrdersDetailDaoTest(JdbcTemplate jdbcTemplate) {
         this.jdbcTemplate = jdbcTemplate;
-        this.ordersDetailDao = new OrdersDetailDao(jdbcTemplate);
+        this.ordersDetailDao = new OrdersDetailDao(new CustomerShards(jdbcTemplate));
     }
 
     @BeforeEach
@@ -51,7 +52,7 @@ class OrdersDetailDaoTest {
 
         //when
         Long orderDetailId = ordersDetailDao
-                .addOrdersDetail(ordersId, productId, quantity);
+                .addOrdersDetail(customerId, ordersId, productId, quantity);
 
         //then
         assertThat(orderDetailId).isEqualTo(1L);
@@ -70,7 +71,7 @@ class OrdersDetailDaoTest {
 
         //when
         final List<OrderDetail> ordersDetailsByOrderId = ordersDetailDao
-                .findOrdersDetailsByOrderId(ordersId);
+                .findOrdersDetailsByOrderId(customerId, ordersId);
 
         //then
         assertThat(ordersDetailsByOrderId).hasSize(insertCount);
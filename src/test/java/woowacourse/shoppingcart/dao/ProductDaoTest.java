@@ -9,10 +9,15 @@ import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.TestConstructor;
 import org.springframework.test.context.jdbc.Sql;
 import woowacourse.shoppingcart.domain.Product;
+import woowacourse.shoppingcart.exception.InvalidProductException;
+import woowacourse.shoppingcart.support.CustomerShards;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 @JdbcTest
 @AutoConfigureTestDatabase(replace = Replace.NONE)
@@ -23,7 +28,7 @@ public class ProductDaoTest {
     private final ProductDao productDao;
 
     public ProductDaoTest(JdbcTemplate jdbcTemplate) {
-        this.productDao = new ProductDao(jdbcTemplate);
+        this.productDao = new ProductDao(jdbcTemplate, new CustomerShards(jdbcTemplate));
     }
 
     @DisplayName("Product를 저장하면, id를 반환한다.")
@@ -72,6 +77,25 @@ public class ProductDaoTest {
         assertThat(products).size().isEqualTo(size);
     }
 
+    @DisplayName("id 가 주어진 값보다 큰 상품을 id 순서로 limit 개 조회한다.")
+    @Test
+    void findProductsAfter() {
+
+        // given
+        final Long chocolateId = productDao.save(new Product("초콜렛", 1_000, "www.test.com"));
+        productDao.save(new Product("사탕", 500, "www.test.com"));
+        productDao.save(new Product("젤리", 700, "www.test.com"));
+
+        // when
+        final List<Product> firstPage = productDao.findProductsAfter(0, 2);
+        final List<Product> nextPage = productDao.findProductsAfter(firstPage.get(1).getId(), 2);
+
+        // then
+        assertThat(firstPage).extracting(Product::getName).containsExactly("초콜렛", "사탕");
+        assertThat(firstPage.get(0).getId()).isEqualTo(chocolateId);
+        assertThat(nextPage).extracting(Product::getName).containsExactly("젤리");
+    }
+
     @DisplayName("싱품 삭제")
     @Test
     void deleteProduct() {
@@ -90,4 +114,37 @@ public class ProductDaoTest {
         final int afterSize = productDao.findProducts().size();
         assertThat(beforeSize - 1).isEqualTo(afterSize);
     }
+
+    @DisplayName("삭제한 상품은 조회되지 않지만 주문 내역용 조회로는 남아 있다.")
+    @Test
+    void deletedProductRemainsForHistory() {
+        // given
+        final Long productId = productDao.save(new Product("초콜렛", 1_000, "www.test.com"));
+
+        // when
+        productDao.delete(productId);
+
+        // then
+        assertThatThrownBy(() -> productDao.findProductById(productId))
+                .isInstanceOf(InvalidProductException.class);
+        assertThat(productDao.findProductByIdIncludingDeleted(productId).getName()).isEqualTo("초콜렛");
+    }
+
+    @DisplayName("재고는 한 번에 여러 상품을 줄이고, 남은 재고보다 많이는 줄이지 않는다.")
+    @Test
+    void decreaseStocks() {
+        // given
+        final Long chocolateId = productDao.save(new Product("초콜렛", 1_000, "www.test.com"));
+        final Long candyId = productDao.save(new Product("사탕", 500, "www.test.com"));
+        productDao.addStock(chocolateId, 10);
+        productDao.addStock(candyId, 2);
+
+        // when
+        final Set<Long> rejected = productDao.decreaseStocks(Map.of(chocolateId, 4, candyId, 3));
+
+        // then
+        assertThat(rejected).containsExactly(candyId);
+        assertThat(productDao.findStock(chocolateId)).isEqualTo(6);
+        assertThat(productDao.findStock(candyId)).isEqualTo(2);
+    }
 }
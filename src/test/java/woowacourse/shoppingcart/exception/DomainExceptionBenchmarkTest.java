@@ -0,0 +1,65 @@
+package woowacourse.shoppingcart.exception;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 요청 거절 경로에서 예외를 만들고 던지는 비용을 스택 트레이스를 채우는 예외와 비교한다.
+ * 기본 test 태스크에서는 제외되며 {@code ./gradlew benchmark -Dbenchmark.depth=200} 처럼 실행한다.
+ */
+@Tag("benchmark")
+class DomainExceptionBenchmarkTest {
+    private final int depth = Integer.getInteger("benchmark.depth", 128);
+    private final int iterations = Integer.getInteger("benchmark.iterations", 100_000);
+    private final int rounds = Integer.getInteger("benchmark.rounds", 5);
+
+    private long sink;
+
+    @DisplayName("스택 트레이스를 채우지 않는 도메인 예외의 실패 경로 비용을 측정한다.")
+    @Test
+    void failurePath() {
+        final long withStackTrace = measure(() -> new RuntimeException("존재하지 않는 유저입니다."));
+        final long stackless = measure(InvalidCustomerException::new);
+
+        System.out.printf("failure path (depth=%d, iterations=%d, rounds=%d)%n", depth, iterations, rounds);
+        System.out.printf("  with stack trace : %,d ns/op%n", withStackTrace);
+        System.out.printf("  stackless        : %,d ns/op%n", stackless);
+        System.out.printf("  speedup          : %.1fx%n", (double) withStackTrace / Math.max(1, stackless));
+        assertThat(stackless).isLessThan(withStackTrace);
+    }
+
+    private long measure(final Supplier<RuntimeException> exceptionFactory) {
+        run(exceptionFactory);
+        final long[] nanosPerOperation = new long[rounds];
+        for (int round = 0; round < rounds; round++) {
+            final long start = System.nanoTime();
+            run(exceptionFactory);
+            nanosPerOperation[round] = (System.nanoTime() - start) / iterations;
+        }
+        Arrays.sort(nanosPerOperation);
+        return nanosPerOperation[rounds / 2];
+    }
+
+    private void run(final Supplier<RuntimeException> exceptionFactory) {
+        for (int i = 0; i < iterations; i++) {
+            try {
+                throwAt(depth, exceptionFactory);
+            } catch (RuntimeException e) {
+                sink += e.getMessage().length();
+            }
+        }
+    }
+
+    private void throwAt(final int remaining, final Supplier<RuntimeException> exceptionFactory) {
+        if (remaining == 0) {
+            throw exceptionFactory.get();
+        }
+        throwAt(remaining - 1, exceptionFactory);
+    }
+}
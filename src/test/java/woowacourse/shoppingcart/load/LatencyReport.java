@@ -0,0 +1,74 @@
+package woowacourse.shoppingcart.load;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+class LatencyReport {
+    private final Map<String, Scenario> scenarios = new LinkedHashMap<>();
+    private final long elapsedNanos;
+
+    LatencyReport(final Map<String, long[]> latenciesByScenario, final Map<String, Integer> errorsByScenario,
+                  final long elapsedNanos) {
+        latenciesByScenario.forEach((name, latencies) ->
+                scenarios.put(name, new Scenario(latencies, errorsByScenario.getOrDefault(name, 0))));
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    String toText(final String title) {
+        final StringBuilder text = new StringBuilder();
+        text.append(title).append(System.lineSeparator());
+        text.append(String.format("elapsed: %.2fs, throughput: %.1f req/s%n",
+                elapsedNanos / 1e9, totalRequests() / (elapsedNanos / 1e9)));
+        text.append(String.format("%-14s %8s %8s %10s %10s %10s %10s %12s%n",
+                "scenario", "requests", "errors", "p50(ms)", "p95(ms)", "p99(ms)", "max(ms)", "req/s"));
+        scenarios.forEach((name, scenario) -> text.append(String.format("%-14s %8d %8d %10.2f %10.2f %10.2f %10.2f %12.1f%n",
+                name, scenario.latencies.length, scenario.errors,
+                scenario.percentileMillis(50), scenario.percentileMillis(95), scenario.percentileMillis(99),
+                scenario.percentileMillis(100), scenario.latencies.length / (elapsedNanos / 1e9))));
+        return text.toString();
+    }
+
+    String toCsv() {
+        final StringBuilder csv = new StringBuilder("scenario,requests,errors,p50_ms,p95_ms,p99_ms,max_ms,throughput_rps\n");
+        scenarios.forEach((name, scenario) -> csv.append(String.format("%s,%d,%d,%.3f,%.3f,%.3f,%.3f,%.1f%n",
+                name, scenario.latencies.length, scenario.errors,
+                scenario.percentileMillis(50), scenario.percentileMillis(95), scenario.percentileMillis(99),
+                scenario.percentileMillis(100), scenario.latencies.length / (elapsedNanos / 1e9))));
+        return csv.toString();
+    }
+
+    double errorRate() {
+        final long errors = scenarios.values().stream()
+                .mapToLong(scenario -> scenario.errors)
+                .sum();
+        return totalRequests() == 0 ? 0 : (double) errors / totalRequests();
+    }
+
+    private long totalRequests() {
+        return scenarios.values().stream()
+                .mapToLong(scenario -> scenario.latencies.length)
+                .sum();
+    }
+
+    private static class Scenario {
+        private final long[] latencies;
+        private final int errors;
+
+        private Scenario(final long[] latencies, final int errors) {
+            this.latencies = latencies.clone();
+            this.errors = errors;
+            Arrays.sort(this.latencies);
+        }
+
+        private double percentileMillis(final int percentile) {
+            if (latencies.length == 0) {
+                return 0;
+            }
+            final int rank = (int) Math.ceil(percentile / 100.0 * latencies.length);
+            final long nanos = latencies[Math.max(0, rank - 1)];
+            return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+        }
+    }
+}
@@ -0,0 +1,259 @@
+package woowacourse.shoppingcart.load;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+import woowacourse.shoppingcart.dao.CartItemDao;
+import woowacourse.shoppingcart.dao.CustomerDao;
+import woowacourse.shoppingcart.dao.ProductDao;
+import woowacourse.shoppingcart.domain.Product;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 내장 서버를 띄우고 상품/장바구니/주문 시나리오를 동시에 실행해 지연 시간 분포를 리포트로 남긴다.
+ * 기본 test 태스크에서는 제외되며 {@code ./gradlew loadTest -Dload.requests=20000} 처럼 실행한다.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "shoppingcart.rate-limit.carts.capacity=1000000",
+        "shoppingcart.rate-limit.carts.refill-per-second=1000000",
+        "shoppingcart.rate-limit.orders.capacity=1000000",
+        "shoppingcart.rate-limit.orders.refill-per-second=1000000"
+})
+public class LoadTest {
+    private static final String CUSTOMER_PREFIX = "load-customer-";
+
+    private final int customers = Integer.getInteger("load.customers", 50);
+    private final int products = Integer.getInteger("load.products", 200);
+    private final int cartItemsPerCustomer = Integer.getInteger("load.cartItemsPerCustomer", 5);
+    private final int threads = Integer.getInteger("load.threads", 16);
+    private final int warmupRequests = Integer.getInteger("load.warmupRequests", 200);
+    private final int requests = Integer.getInteger("load.requests", 2_000);
+    private final long seed = Long.getLong("load.seed", 42L);
+    private final double maxErrorRate = Double.parseDouble(System.getProperty("load.maxErrorRate", "0.01"));
+    private final String mix = System.getProperty("load.mix", "product:50,productList:5,cart:30,order:15");
+    private final Path reportDir = Paths.get(System.getProperty("load.reportDir", "build/reports/load-test"));
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private CustomerDao customerDao;
+
+    @Autowired
+    private ProductDao productDao;
+
+    @Autowired
+    private CartItemDao cartItemDao;
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final List<Long> productIds = new ArrayList<>();
+
+    @BeforeEach
+    void seed() {
+        final Random random = new Random(seed);
+        for (int i = 0; i < products; i++) {
+            final Long productId = productDao.save(new Product("load-product-" + i, 1_000 + random.nextInt(50_000),
+                    "http://example.com/load/" + i + ".jpg"));
+            productDao.addStock(productId, Integer.MAX_VALUE / 2);
+            productIds.add(productId);
+        }
+        for (int i = 0; i < customers; i++) {
+            final Long customerId = customerDao.save(CUSTOMER_PREFIX + i);
+            for (int j = 0; j < cartItemsPerCustomer; j++) {
+                cartItemDao.addCartItem(customerId, productIds.get(random.nextInt(productIds.size())));
+            }
+        }
+    }
+
+    @DisplayName("상품/장바구니/주문 혼합 부하를 실행하고 지연 시간 리포트를 남긴다.")
+    @Test
+    void run() throws Exception {
+        final Map<String, Integer> weights = parseMix(mix);
+
+        execute(weights, warmupRequests, seed - 1);
+        final long start = System.nanoTime();
+        final List<Samples> results = execute(weights, requests, seed);
+        final long elapsedNanos = System.nanoTime() - start;
+
+        final LatencyReport report = merge(results, elapsedNanos);
+        writeReport(report);
+
+        assertThat(report.errorRate()).isLessThanOrEqualTo(maxErrorRate);
+    }
+
+    private List<Samples> execute(final Map<String, Integer> weights, final int totalRequests, final long runSeed)
+            throws Exception {
+        final ExecutorService executorService = Executors.newFixedThreadPool(threads);
+        try {
+            final List<Future<Samples>> futures = new ArrayList<>();
+            for (int worker = 0; worker < threads; worker++) {
+                final int share = totalRequests / threads + (worker < totalRequests % threads ? 1 : 0);
+                final Random random = new Random(runSeed * 31 + worker);
+                futures.add(executorService.submit(() -> runWorker(weights, share, random)));
+            }
+            final List<Samples> results = new ArrayList<>();
+            for (final Future<Samples> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    private Samples runWorker(final Map<String, Integer> weights, final int share, final Random random)
+            throws IOException, InterruptedException {
+        final Samples samples = new Samples();
+        final int totalWeight = weights.values().stream().mapToInt(Integer::intValue).sum();
+        for (int i = 0; i < share; i++) {
+            final String customerName = CUSTOMER_PREFIX + random.nextInt(customers);
+            final long productId = productIds.get(random.nextInt(productIds.size()));
+            switch (pick(weights, totalWeight, random)) {
+                case "product":
+                    send(samples, "product.get", get("/api/products/" + productId));
+                    break;
+                case "productList":
+                    send(samples, "product.list", get("/api/products"));
+                    break;
+                case "cart":
+                    send(samples, "cart.list", get("/api/customers/" + customerName + "/carts"));
+                    send(samples, "cart.add", post("/api/customers/" + customerName + "/carts",
+                            "{\"id\":" + productId + "}"));
+                    break;
+                case "order":
+                    final HttpResponse<String> cartResponse = send(samples, "cart.add",
+                            post("/api/customers/" + customerName + "/carts", "{\"id\":" + productId + "}"));
+                    final String location = cartResponse.headers().firstValue("Location").orElse("");
+                    final String cartId = location.substring(location.lastIndexOf('/') + 1);
+                    send(samples, "order.add", post("/api/customers/" + customerName + "/orders",
+                            "[{\"cartId\":" + cartId + ",\"quantity\":1}]"));
+                    break;
+                default:
+                    throw new IllegalArgumentException("알 수 없는 시나리오입니다.");
+            }
+        }
+        return samples;
+    }
+
+    private HttpResponse<String> send(final Samples samples, final String label, final HttpRequest request)
+            throws IOException, InterruptedException {
+        final long start = System.nanoTime();
+        final HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        samples.record(label, System.nanoTime() - start, response.statusCode() < 400);
+        return response;
+    }
+
+    private HttpRequest get(final String path) {
+        return HttpRequest.newBuilder(uri(path)).GET().build();
+    }
+
+    private HttpRequest post(final String path, final String body) {
+        return HttpRequest.newBuilder(uri(path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private URI uri(final String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private String pick(final Map<String, Integer> weights, final int totalWeight, final Random random) {
+        int target = random.nextInt(totalWeight);
+        for (final Map.Entry<String, Integer> weight : weights.entrySet()) {
+            target -= weight.getValue();
+            if (target < 0) {
+                return weight.getKey();
+            }
+        }
+        throw new IllegalStateException();
+    }
+
+    private Map<String, Integer> parseMix(final String mix) {
+        final Map<String, Integer> weights = new LinkedHashMap<>();
+        for (final String entry : mix.split(",")) {
+            final String[] nameAndWeight = entry.trim().split(":");
+            weights.put(nameAndWeight[0], Integer.parseInt(nameAndWeight[1]));
+        }
+        return weights;
+    }
+
+    private LatencyReport merge(final List<Samples> results, final long elapsedNanos) {
+        final Map<String, long[]> latencies = new LinkedHashMap<>();
+        final Map<String, Integer> errors = new HashMap<>();
+        for (final Samples samples : results) {
+            samples.latencies.forEach((label, values) -> latencies.merge(label,
+                    Arrays.copyOf(values, samples.counts.get(label)), LoadTest::concat));
+            samples.errors.forEach((label, count) -> errors.merge(label, count, Integer::sum));
+        }
+        return new LatencyReport(latencies, errors, elapsedNanos);
+    }
+
+    private void writeReport(final LatencyReport report) throws IOException {
+        Files.createDirectories(reportDir);
+        final String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+        final String title = String.format("load test %s (threads=%d, requests=%d, mix=%s)",
+                timestamp, threads, requests, mix);
+        final String text = report.toText(title);
+        Files.write(reportDir.resolve("report-" + timestamp + ".txt"), text.getBytes(StandardCharsets.UTF_8));
+        Files.write(reportDir.resolve("report-" + timestamp + ".csv"), report.toCsv().getBytes(StandardCharsets.UTF_8));
+        System.out.println(text);
+    }
+
+    private static long[] concat(final long[] left, final long[] right) {
+        final long[] merged = Arrays.copyOf(left, left.length + right.length);
+        System.arraycopy(right, 0, merged, left.length, right.length);
+        return merged;
+    }
+
+    private static class Samples {
+        private final Map<String, long[]> latencies = new LinkedHashMap<>();
+        private final Map<String, Integer> counts = new HashMap<>();
+        private final Map<String, Integer> errors = new HashMap<>();
+
+        private void record(final String label, final long nanos, final boolean success) {
+            if (!success) {
+                errors.merge(label, 1, Integer::sum);
+            }
+            final int count = counts.getOrDefault(label, 0);
+            long[] values = latencies.computeIfAbsent(label, ignored -> new long[64]);
+            if (count == values.length) {
+                values = Arrays.copyOf(values, count * 2);
+                latencies.put(label, values);
+            }
+            values[count] = nanos;
+            counts.put(label, count + 1);
+        }
+    }
+}
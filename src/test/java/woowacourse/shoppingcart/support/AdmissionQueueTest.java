@@ -0,0 +1,89 @@
+package woowacourse.shoppingcart.support;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdmissionQueueTest {
+
+    @DisplayName("대기열이 가득 차면 기다리지 않고 거절한다.")
+    @Test
+    void rejectWhenFull() throws Exception {
+        final CountDownLatch writing = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final AdmissionQueue<Integer> queue = new AdmissionQueue<>("test", 2, 1, batch -> {
+            writing.countDown();
+            await(release);
+        });
+        queue.start();
+        assertThat(queue.offer(1)).isTrue();
+        assertThat(writing.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(queue.offer(2)).isTrue();
+        assertThat(queue.offer(3)).isTrue();
+        assertThat(queue.offer(4)).isFalse();
+
+        release.countDown();
+        queue.close();
+        assertThat(queue.getAcceptedCount()).isEqualTo(3);
+        assertThat(queue.getRejectedCount()).isOne();
+    }
+
+    @DisplayName("쓰는 동안 쌓인 요청을 batchSize 개씩 묶어 넘기고, 닫을 때 남은 요청을 모두 쓴다.")
+    @Test
+    void writeInBatches() throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+        final List<List<Integer>> batches = new CopyOnWriteArrayList<>();
+        final AdmissionQueue<Integer> queue = new AdmissionQueue<>("test", 100, 4, batch -> {
+            await(release);
+            batches.add(batch);
+        });
+        queue.start();
+        for (int i = 0; i < 10; i++) {
+            queue.offer(i);
+        }
+
+        release.countDown();
+        queue.close();
+
+        assertThat(batches).allSatisfy(batch -> assertThat(batch).hasSizeLessThanOrEqualTo(4));
+        assertThat(batches).flatExtracting(batch -> batch).containsExactly(0, 1, 2, 3, 4, 5, 6, 7, 8, 9);
+        assertThat(queue.getBatchCount()).isLessThan(10);
+        assertThat(queue.offer(10)).isFalse();
+    }
+
+    @DisplayName("묶음을 쓰다 예외가 나면 그 묶음을 failureHandler 에 넘기고 다음 묶음을 계속 쓴다.")
+    @Test
+    void continueAfterFailure() throws Exception {
+        final List<Integer> written = new CopyOnWriteArrayList<>();
+        final List<Integer> failed = new CopyOnWriteArrayList<>();
+        final AdmissionQueue<Integer> queue = new AdmissionQueue<>("test", 100, 1, batch -> {
+            if (batch.contains(1)) {
+                throw new IllegalStateException();
+            }
+            written.addAll(batch);
+        }, failed::addAll);
+        queue.start();
+        queue.offer(1);
+        queue.offer(2);
+
+        queue.close();
+
+        assertThat(written).containsExactly(2);
+        assertThat(failed).containsExactly(1);
+    }
+
+    private void await(final CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
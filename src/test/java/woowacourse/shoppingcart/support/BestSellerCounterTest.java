@@ -0,0 +1,80 @@
+package woowacourse.shoppingcart.support;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import woowacourse.shoppingcart.domain.BestSeller;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BestSellerCounterTest {
+    private static final int PRODUCTS = 2_000;
+
+    @DisplayName("많이 팔린 순으로, 수량이 같으면 상품 id 순으로 돌려준다.")
+    @Test
+    void exactTop() {
+        final ExactBestSellerCounter counter = new ExactBestSellerCounter();
+        counter.add(1L, 3);
+        counter.add(2L, 5);
+        counter.add(3L, 3);
+        counter.add(1L, 1);
+
+        final List<BestSeller> top = counter.top(2);
+
+        assertThat(top).extracting(BestSeller::getProductId).containsExactly(2L, 1L);
+        assertThat(top).extracting(BestSeller::getQuantity).containsExactly(5L, 4L);
+    }
+
+    @DisplayName("Count-Min Sketch 는 치우친 판매량에서 정확히 센 상위 상품과 같은 상품을 고르고, 실제보다 적게 추정하지 않는다.")
+    @Test
+    void sketchTop() {
+        final ExactBestSellerCounter exact = new ExactBestSellerCounter();
+        final SketchBestSellerCounter sketch = new SketchBestSellerCounter(1_024, 5, 50);
+        final Random random = new Random(42);
+        final double[] cumulative = zipf(PRODUCTS, 1.1);
+        for (int i = 0; i < 200_000; i++) {
+            final long productId = sample(cumulative, random.nextDouble());
+            final int quantity = 1 + random.nextInt(3);
+            exact.add(productId, quantity);
+            sketch.add(productId, quantity);
+        }
+
+        final List<BestSeller> expected = exact.top(10);
+
+        assertThat(sketch.top(10)).extracting(BestSeller::getProductId)
+                .containsExactlyElementsOf(expected.stream().map(BestSeller::getProductId)::iterator);
+        for (final BestSeller bestSeller : exact.top(PRODUCTS)) {
+            assertThat(sketch.estimate(bestSeller.getProductId())).isGreaterThanOrEqualTo(bestSeller.getQuantity());
+        }
+        assertThat(sketch.top(PRODUCTS)).hasSize(50);
+    }
+
+    private double[] zipf(final int size, final double exponent) {
+        final double[] cumulative = new double[size];
+        double sum = 0;
+        for (int rank = 1; rank <= size; rank++) {
+            sum += 1 / Math.pow(rank, exponent);
+            cumulative[rank - 1] = sum;
+        }
+        for (int i = 0; i < size; i++) {
+            cumulative[i] /= sum;
+        }
+        return cumulative;
+    }
+
+    private long sample(final double[] cumulative, final double random) {
+        int low = 0;
+        int high = cumulative.length - 1;
+        while (low < high) {
+            final int middle = (low + high) >>> 1;
+            if (cumulative[middle] < random) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low + 1;
+    }
+}
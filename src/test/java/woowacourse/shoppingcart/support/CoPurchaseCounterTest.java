@@ -0,0 +1,44 @@
+package woowacourse.shoppingcart.support;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import woowacourse.shoppingcart.domain.CoPurchase;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CoPurchaseCounterTest {
+
+    @DisplayName("같은 주문에 담긴 상품끼리 함께 산 주문 수를 센다.")
+    @Test
+    void addOrder() {
+        final CoPurchaseCounter counter = new CoPurchaseCounter(10);
+        counter.addOrder(List.of(1L, 2L, 3L));
+        counter.addOrder(List.of(1L, 2L, 2L));
+        counter.addOrder(List.of(1L));
+
+        final List<CoPurchase> coPurchases = counter.top(1L, 10);
+
+        assertThat(coPurchases).extracting(CoPurchase::getProductId).containsExactly(2L, 3L);
+        assertThat(coPurchases).extracting(CoPurchase::getOrderCount).containsExactly(2L, 1L);
+        assertThat(counter.top(3L, 10)).extracting(CoPurchase::getProductId).containsExactly(1L, 2L);
+        assertThat(counter.top(4L, 10)).isEmpty();
+    }
+
+    @DisplayName("함께 산 상품은 상품마다 정한 개수까지만 두고, 전체의 1/개수 보다 자주 함께 산 상품은 밀려나지 않는다.")
+    @Test
+    void capNeighbors() {
+        final CoPurchaseCounter counter = new CoPurchaseCounter(3);
+        for (long productId = 100; productId < 200; productId++) {
+            counter.addOrder(List.of(1L, productId));
+            counter.addOrder(List.of(1L, 2L));
+        }
+
+        final List<CoPurchase> coPurchases = counter.top(1L, 10);
+
+        assertThat(coPurchases).hasSize(3);
+        assertThat(coPurchases.get(0).getProductId()).isEqualTo(2L);
+        assertThat(coPurchases.get(0).getOrderCount()).isEqualTo(100L);
+    }
+}
@@ -0,0 +1,139 @@
+package woowacourse.shoppingcart.support;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import woowacourse.shoppingcart.dao.CartItemDao;
+import woowacourse.shoppingcart.dao.OrderDao;
+import woowacourse.shoppingcart.dao.OrdersDetailDao;
+import woowacourse.shoppingcart.dao.ProductDao;
+import woowacourse.shoppingcart.domain.Cart;
+import woowacourse.shoppingcart.domain.OrderDetail;
+import woowacourse.shoppingcart.domain.Product;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CustomerShardsTest {
+    private JdbcTemplate global;
+    private List<JdbcTemplate> shards;
+    private CustomerShards customerShards;
+
+    @BeforeEach
+    void setUp() {
+        global = h2("customer-shards-0");
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql"), new ClassPathResource("data.sql"))
+                .execute(global.getDataSource());
+        shards = List.of(h2("customer-shards-1"), h2("customer-shards-2"));
+        customerShards = new CustomerShards(global, shards);
+        new ShardRebalancer(customerShards).initialize();
+    }
+
+    @DisplayName("샤드 수를 늘리면 고객은 제자리에 있거나 새 샤드로만 옮겨 간다.")
+    @Test
+    void jumpConsistentHashMovesOnlyToNewShard() {
+        int moved = 0;
+        for (long customerId = 1; customerId <= 10_000; customerId++) {
+            final int before = CustomerShards.jumpConsistentHash(customerId, 3);
+            final int after = CustomerShards.jumpConsistentHash(customerId, 4);
+
+            assertThat(after).isIn(before, 3);
+            if (after != before) {
+                moved++;
+            }
+        }
+        assertThat(moved).isBetween(2_000, 3_000);
+    }
+
+    @DisplayName("샤드가 하나면 모든 고객이 기본 DB 로 간다.")
+    @Test
+    void singleShard() {
+        final CustomerShards single = new CustomerShards(global);
+
+        assertThat(single.shardOf(1L)).isZero();
+        assertThat(single.shardOf(Long.MAX_VALUE)).isZero();
+        assertThat(single.productReplicas()).isEmpty();
+    }
+
+    @DisplayName("상품은 모든 샤드에 같은 id 로 복제된다.")
+    @Test
+    void productIsReplicated() {
+        final ProductDao productDao = new ProductDao(global, customerShards);
+
+        final Long productId = productDao.save(new Product("banana", 1_000, "woowa1.com"));
+
+        for (final JdbcTemplate shard : shards) {
+            assertThat(shard.queryForObject("SELECT name FROM product WHERE id = ?", String.class, productId))
+                    .isEqualTo("banana");
+        }
+        productDao.delete(productId);
+        for (final JdbcTemplate shard : shards) {
+            assertThat(shard.queryForObject("SELECT deleted FROM product WHERE id = ?", Boolean.class, productId))
+                    .isTrue();
+        }
+    }
+
+    @DisplayName("장바구니와 주문은 고객의 샤드에만 저장되고, 그 샤드에서 조회된다.")
+    @Test
+    void cartAndOrderAreRoutedByCustomer() {
+        final Long productId = new ProductDao(global, customerShards).save(new Product("banana", 1_000, "woowa1.com"));
+        final CartItemDao cartItemDao = new CartItemDao(customerShards);
+        final OrderDao orderDao = new OrderDao(customerShards);
+        final OrdersDetailDao ordersDetailDao = new OrdersDetailDao(customerShards);
+
+        for (long customerId = 1; customerId <= 25; customerId++) {
+            cartItemDao.addCartItem(customerId, productId);
+            final Long ordersId = orderDao.addOrders(customerId);
+            ordersDetailDao.addOrdersDetail(customerId, ordersId, productId, 2);
+        }
+
+        for (int shard = 0; shard < customerShards.size(); shard++) {
+            final List<Long> customerIds = customerShards.jdbcTemplateAt(shard)
+                    .queryForList("SELECT customer_id FROM cart_item", Long.class);
+            for (final Long customerId : customerIds) {
+                assertThat(customerShards.shardOf(customerId)).isEqualTo(shard);
+            }
+        }
+        for (long customerId = 1; customerId <= 25; customerId++) {
+            final List<Cart> carts = cartItemDao.findCartsByCustomerId(customerId);
+            final List<Long> orderIds = orderDao.findOrderIdsByCustomerId(customerId);
+            final List<OrderDetail> details = ordersDetailDao.findOrdersDetailsByOrderId(customerId, orderIds.get(0));
+
+            assertThat(carts).extracting(Cart::getName).containsExactly("banana");
+            assertThat(orderIds).hasSize(1);
+            assertThat(details).extracting(OrderDetail::getQuantity).containsExactly(2);
+        }
+    }
+
+    @DisplayName("고객 샤드의 트랜잭션 안에서 예외가 나면 그 샤드의 쓰기가 롤백된다.")
+    @Test
+    void inTransactionRollsBack() {
+        final OrderDao orderDao = new OrderDao(customerShards);
+        final Long customerId = customerIdOnShard(2);
+
+        assertThatThrownBy(() -> customerShards.inTransaction(customerId, () -> {
+            orderDao.addOrders(customerId);
+            throw new IllegalStateException();
+        })).isInstanceOf(IllegalStateException.class);
+        assertThat(orderDao.findOrderIdsByCustomerId(customerId)).isEmpty();
+    }
+
+    private Long customerIdOnShard(final int shard) {
+        long customerId = 1;
+        while (customerShards.shardOf(customerId) != shard) {
+            customerId++;
+        }
+        return customerId;
+    }
+
+    static JdbcTemplate h2(final String name) {
+        return new JdbcTemplate(new DriverManagerDataSource(
+                "jdbc:h2:mem:" + name + ";MODE=MYSQL;DB_CLOSE_DELAY=-1", "sa", ""));
+    }
+}
@@ -0,0 +1,123 @@
+package woowacourse.shoppingcart.support;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.ResultSetMetaData;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 시작할 때 data.sql 처럼 행마다 INSERT 문을 재생하는 것과 이진 스냅샷을 되돌리는 것의 소요 시간을 비교한다.
+ * 두 경우 모두 schema.sql 로 표를 만든 뒤부터 잰다.
+ * 기본 test 태스크에서는 제외되며 {@code ./gradlew benchmark -Dbenchmark.customers=100000} 처럼 실행한다.
+ */
+@Tag("benchmark")
+class DatabaseSnapshotBenchmarkTest {
+    private static final String[] TABLES = {
+            "customer", "product", "cart_item", "cart_summary", "orders", "orders_detail"
+    };
+
+    private final int customers = Integer.getInteger("benchmark.customers", 10_000);
+    private final int products = Integer.getInteger("benchmark.products", 1_000);
+    private final int cartItems = Integer.getInteger("benchmark.cart-items", 30_000);
+    private final int orders = Integer.getInteger("benchmark.orders", 20_000);
+    private final int rounds = Integer.getInteger("benchmark.rounds", 3);
+
+    @TempDir
+    Path directory;
+
+    private int databases;
+
+    @DisplayName("행마다 INSERT 하는 SQL 스크립트와 이진 스냅샷의 적재 시간을 잰다.")
+    @Test
+    void startupLoad() throws IOException {
+        final CustomerShards source = new CustomerShards(emptyDatabase());
+        new SyntheticDataGenerator(source, 42, 1.1, 1_000, LocalDateTime.of(2024, 1, 1, 0, 0), 730)
+                .generate(customers, products, cartItems, orders);
+        final Path script = writeScript(source.jdbcTemplateAt(0), directory.resolve("data.sql"));
+        final Path snapshot = directory.resolve("shoppingcart.snapshot");
+        final long rows = new DatabaseSnapshot(source, 1_000).export(snapshot);
+
+        final long scriptMillis = measure(jdbcTemplate ->
+                new ResourceDatabasePopulator(new FileSystemResource(script)).execute(jdbcTemplate.getDataSource()));
+        final long snapshotMillis = measure(jdbcTemplate ->
+                new DatabaseSnapshot(new CustomerShards(jdbcTemplate), 1_000).restore(snapshot));
+
+        System.out.printf("startup load (rows=%,d, rounds=%d)%n", rows, rounds);
+        System.out.printf("  data.sql script   : %,d ms (%,d bytes)%n", scriptMillis, Files.size(script));
+        System.out.printf("  binary snapshot   : %,d ms (%,d bytes)%n", snapshotMillis, Files.size(snapshot));
+        System.out.printf("  speedup           : %.1fx%n", (double) scriptMillis / Math.max(1, snapshotMillis));
+        assertThat(snapshotMillis).isLessThan(scriptMillis);
+    }
+
+    private long measure(final Consumer<JdbcTemplate> load) {
+        final long[] millis = new long[rounds];
+        for (int round = 0; round < rounds; round++) {
+            final JdbcTemplate jdbcTemplate = emptyDatabase();
+            final long start = System.nanoTime();
+            load.accept(jdbcTemplate);
+            millis[round] = (System.nanoTime() - start) / 1_000_000;
+            jdbcTemplate.execute("DROP ALL OBJECTS");
+        }
+        Arrays.sort(millis);
+        return millis[rounds / 2];
+    }
+
+    private Path writeScript(final JdbcTemplate jdbcTemplate, final Path file) throws IOException {
+        try (final BufferedWriter writer = Files.newBufferedWriter(file)) {
+            for (final String table : TABLES) {
+                jdbcTemplate.query("SELECT * FROM " + table + " ORDER BY 1", resultSet -> {
+                    final ResultSetMetaData metaData = resultSet.getMetaData();
+                    final List<String> columns = new ArrayList<>();
+                    final List<String> values = new ArrayList<>();
+                    for (int column = 1; column <= metaData.getColumnCount(); column++) {
+                        columns.add(metaData.getColumnName(column).toLowerCase());
+                        values.add(literal(resultSet.getObject(column)));
+                    }
+                    try {
+                        writer.write("insert into " + table + " (" + String.join(", ", columns) + ") values ("
+                                + String.join(", ", values) + ");\n");
+                    } catch (final IOException e) {
+                        throw new IllegalStateException(e);
+                    }
+                });
+            }
+        }
+        return file;
+    }
+
+    private String literal(final Object value) {
+        if (value == null) {
+            return "null";
+        }
+        if (value instanceof String || value instanceof Timestamp) {
+            return "'" + value.toString().replace("'", "''") + "'";
+        }
+        return value.toString();
+    }
+
+    private JdbcTemplate emptyDatabase() {
+        final JdbcTemplate jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(
+                "jdbc:h2:mem:snapshot-benchmark-" + databases++ + ";MODE=MYSQL;DB_CLOSE_DELAY=-1", "sa", ""));
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql")).execute(jdbcTemplate.getDataSource());
+        return jdbcTemplate;
+    }
+}
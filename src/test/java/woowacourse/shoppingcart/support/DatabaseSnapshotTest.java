@@ -0,0 +1,148 @@
+package woowacourse.shoppingcart.support;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import woowacourse.shoppingcart.dao.CartItemDao;
+import woowacourse.shoppingcart.dao.OrderDao;
+import woowacourse.shoppingcart.dao.ProductDao;
+import woowacourse.shoppingcart.domain.Product;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DatabaseSnapshotTest {
+    private static final String[] DUMPS = {
+            "SELECT * FROM customer ORDER BY id",
+            "SELECT * FROM product ORDER BY id",
+            "SELECT * FROM cart_item ORDER BY id",
+            "SELECT * FROM cart_summary ORDER BY customer_id",
+            "SELECT * FROM orders ORDER BY id",
+            "SELECT * FROM orders_detail ORDER BY id"
+    };
+
+    @TempDir
+    Path directory;
+
+    private CustomerShards customerShards;
+    private DatabaseSnapshot databaseSnapshot;
+
+    @BeforeEach
+    void setUp() {
+        customerShards = shards("snapshot");
+        new SyntheticDataGenerator(customerShards, 5, 1.1, 100, LocalDateTime.of(2024, 1, 1, 0, 0), 30)
+                .generate(300, 40, 1_000, 500);
+        databaseSnapshot = new DatabaseSnapshot(customerShards, 64);
+    }
+
+    @DisplayName("내보낸 뒤 바뀐 데이터를 스냅샷으로 되돌리면 모든 샤드의 모든 표가 내보낼 때와 같다.")
+    @Test
+    void exportAndRestore() {
+        final List<List<Map<String, Object>>> before = dump(customerShards);
+        final Path file = directory.resolve("shoppingcart.snapshot");
+        final long exported = databaseSnapshot.export(file);
+        final ProductDao productDao = new ProductDao(customerShards.jdbcTemplateAt(0), customerShards);
+        final Long productId = productDao.save(new Product("banana", 1_000, "woowa1.com"));
+        new CartItemDao(customerShards).addCartItem(1L, productId);
+        productDao.delete(1L);
+
+        final long restored = databaseSnapshot.restore(file);
+
+        assertThat(restored).isEqualTo(exported);
+        assertThat(dump(customerShards)).isEqualTo(before);
+    }
+
+    @DisplayName("빈 DB 에 되돌린 뒤에도 DAO 로 저장하면 id 가 겹치지 않는다.")
+    @Test
+    void restoreIntoEmptyDatabase() {
+        final Path file = directory.resolve("shoppingcart.snapshot");
+        databaseSnapshot.export(file);
+        final CustomerShards empty = shards("snapshot-empty");
+
+        new DatabaseSnapshot(empty, 64).restore(file);
+
+        assertThat(dump(empty)).isEqualTo(dump(customerShards));
+        final Long productId = new ProductDao(empty.jdbcTemplateAt(0), empty)
+                .save(new Product("banana", 1_000, "woowa1.com"));
+        final Long orderId = new OrderDao(empty).addOrders(1L);
+        assertThat(productId).isEqualTo(41L);
+        assertThat(empty.jdbcTemplate(1L).queryForObject(
+                "SELECT COUNT(*) FROM orders WHERE id = ?", Long.class, orderId)).isEqualTo(1L);
+    }
+
+    @DisplayName("되돌리는 도중에 실패하면 그 샤드는 되돌리기 전 데이터가 그대로 남는다.")
+    @Test
+    void rollbackFailedRestore() throws IOException {
+        final Path file = directory.resolve("shoppingcart.snapshot");
+        databaseSnapshot.export(file);
+        final byte[] snapshot = Files.readAllBytes(file);
+        final Path broken = Files.write(directory.resolve("broken.snapshot"), Arrays.copyOf(snapshot, 200));
+        final List<List<Map<String, Object>>> before = dump(customerShards);
+
+        assertThatThrownBy(() -> databaseSnapshot.restore(broken)).isInstanceOf(UncheckedIOException.class);
+
+        assertThat(dump(customerShards)).isEqualTo(before);
+    }
+
+    @DisplayName("샤드 수가 다른 스냅샷은 되돌리지 않는다.")
+    @Test
+    void rejectDifferentShardCount() {
+        final Path file = directory.resolve("shoppingcart.snapshot");
+        databaseSnapshot.export(file);
+        final CustomerShards single = new CustomerShards(customerShards.jdbcTemplateAt(0));
+
+        assertThatThrownBy(() -> new DatabaseSnapshot(single, 64).restore(file))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @DisplayName("스냅샷 형식이 아닌 파일은 되돌리지 않는다.")
+    @Test
+    void rejectUnknownFile() throws IOException {
+        final Path file = Files.write(directory.resolve("data.sql"), new byte[]{1, 2, 3});
+
+        assertThatThrownBy(() -> databaseSnapshot.restore(file))
+                .isInstanceOf(UncheckedIOException.class);
+    }
+
+    private List<List<Map<String, Object>>> dump(final CustomerShards shards) {
+        final List<List<Map<String, Object>>> rows = new ArrayList<>();
+        for (int shard = 0; shard < shards.size(); shard++) {
+            for (final String query : DUMPS) {
+                if (shard > 0 && query.contains("FROM customer ")) {
+                    continue;
+                }
+                rows.add(shards.jdbcTemplateAt(shard).queryForList(query));
+            }
+        }
+        return rows;
+    }
+
+    private CustomerShards shards(final String name) {
+        final JdbcTemplate global = h2(name + "-0");
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql"), new ClassPathResource("data.sql"))
+                .execute(global.getDataSource());
+        final CustomerShards shards = new CustomerShards(global, List.of(h2(name + "-1"), h2(name + "-2")));
+        new ShardRebalancer(shards).initialize();
+        return shards;
+    }
+
+    private JdbcTemplate h2(final String name) {
+        return new JdbcTemplate(new DriverManagerDataSource(
+                "jdbc:h2:mem:" + name + ";MODE=MYSQL;DB_CLOSE_DELAY=-1", "sa", ""));
+    }
+}
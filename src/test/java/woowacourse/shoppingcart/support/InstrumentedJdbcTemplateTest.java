@@ -0,0 +1,95 @@
+package woowacourse.shoppingcart.support;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import woowacourse.shoppingcart.dao.ProductDao;
+import woowacourse.shoppingcart.domain.Product;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InstrumentedJdbcTemplateTest {
+    private static final String JDBC_CALL = "woowacourse.shoppingcart.JdbcCall";
+
+    @TempDir
+    Path directory;
+
+    private ProductDao productDao;
+
+    @BeforeEach
+    void setUp() {
+        final JdbcTemplate jdbcTemplate = new InstrumentedJdbcTemplate(new DriverManagerDataSource(
+                "jdbc:h2:mem:instrumented-jdbc-template;MODE=MYSQL;DB_CLOSE_DELAY=-1", "sa", ""));
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql"), new ClassPathResource("data.sql"))
+                .execute(jdbcTemplate.getDataSource());
+        productDao = new ProductDao(jdbcTemplate, new CustomerShards(jdbcTemplate));
+    }
+
+    @DisplayName("DAO 가 실행한 SQL 마다 DAO 메서드, SQL, 행 수를 담은 이벤트를 남긴다.")
+    @Test
+    void recordJdbcCalls() throws IOException {
+        final List<RecordedEvent> events = record(() -> {
+            final Long bananaId = productDao.save(new Product("banana", 1_000, "woowa1.com"));
+            final Long appleId = productDao.save(new Product("apple", 2_000, "woowa2.com"));
+            productDao.addStock(bananaId, 10);
+            productDao.addStock(appleId, 10);
+            productDao.findProducts();
+            productDao.findProductsIncludingDeleted(product -> {
+            });
+            productDao.decreaseStocks(Map.of(bananaId, 1, appleId, 1));
+        });
+
+        final Map<String, List<RecordedEvent>> bySqlId = events.stream()
+                .collect(Collectors.groupingBy(event -> event.getString("sqlId")));
+        assertThat(bySqlId.get("ProductDao.save")).hasSize(2)
+                .allSatisfy(event -> assertThat(event.getLong("rowCount")).isOne());
+        assertThat(bySqlId.get("ProductDao.findProducts")).singleElement().satisfies(event -> {
+            assertThat(event.getString("sql")).startsWith("SELECT id, name, price, image_url FROM product");
+            assertThat(event.getLong("rowCount")).isEqualTo(2);
+        });
+        assertThat(bySqlId.get("ProductDao.streamProducts")).singleElement()
+                .satisfies(event -> assertThat(event.getLong("rowCount")).isEqualTo(2));
+        assertThat(bySqlId.get("ProductDao.decreaseStocks")).singleElement()
+                .satisfies(event -> assertThat(event.getLong("rowCount")).isEqualTo(2));
+        assertThat(events).allSatisfy(event -> assertThat(event.getDuration()).isPositive());
+    }
+
+    @DisplayName("기록 중이 아니어도 조회와 변경 결과는 같다.")
+    @Test
+    void withoutRecording() {
+        final Long productId = productDao.save(new Product("banana", 1_000, "woowa1.com"));
+        productDao.addStock(productId, 3);
+
+        assertThat(productDao.findProducts()).extracting(Product::getName).containsExactly("banana");
+        assertThat(productDao.findProductsAfter(0, 10)).extracting(Product::getId).containsExactly(productId);
+        assertThat(productDao.findStock(productId)).isEqualTo(3);
+    }
+
+    private List<RecordedEvent> record(final Runnable action) throws IOException {
+        final Path file = directory.resolve("jdbc.jfr");
+        try (final Recording recording = new Recording()) {
+            recording.enable(JdbcCallEvent.class);
+            recording.start();
+            action.run();
+            recording.stop();
+            recording.dump(file);
+        }
+        return RecordingFile.readAllEvents(file).stream()
+                .filter(event -> event.getEventType().getName().equals(JDBC_CALL))
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,49 @@
+package woowacourse.shoppingcart.support;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LongLongMapTest {
+
+    @DisplayName("더하고 지우는 동작을 섞어도 HashMap 과 같은 결과를 낸다.")
+    @Test
+    void sameAsHashMap() {
+        final LongLongMap map = new LongLongMap(4);
+        final Map<Long, Long> expected = new HashMap<>();
+        final Random random = new Random(3);
+        for (int i = 0; i < 20_000; i++) {
+            final long key = 1 + random.nextInt(300);
+            if (random.nextInt(4) == 0) {
+                map.remove(key);
+                expected.remove(key);
+                continue;
+            }
+            final long delta = 1 + random.nextInt(10);
+            assertThat(map.addTo(key, delta)).isEqualTo(expected.merge(key, delta, Long::sum));
+        }
+
+        final Map<Long, Long> actual = new HashMap<>();
+        map.forEach(actual::put);
+        assertThat(actual).isEqualTo(expected);
+        assertThat(map.size()).isEqualTo(expected.size());
+        for (long key = 1; key <= 300; key++) {
+            assertThat(map.get(key)).isEqualTo(expected.getOrDefault(key, 0L));
+        }
+    }
+
+    @DisplayName("0 은 키로 쓸 수 없다.")
+    @Test
+    void zeroKey() {
+        final LongLongMap map = new LongLongMap(4);
+
+        assertThatThrownBy(() -> map.addTo(0, 1)).isInstanceOf(IllegalArgumentException.class);
+        assertThat(map.containsKey(0)).isFalse();
+    }
+}
@@ -0,0 +1,65 @@
+package woowacourse.shoppingcart.support;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import woowacourse.shoppingcart.domain.ArchivedOrder;
+import woowacourse.shoppingcart.domain.OrderDetail;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class OrderArchiveTest {
+    private static final LocalDateTime ORDERED_AT = LocalDateTime.of(2021, 5, 1, 12, 30, 15, 123_000_000);
+
+    @TempDir
+    Path directory;
+
+    @DisplayName("쓴 주문을 주문 시각과 상세까지 그대로 읽는다.")
+    @Test
+    void roundTrip() {
+        final OrderArchive orderArchive = new OrderArchive(directory);
+        orderArchive.write(7L, List.of(
+                order(12L, ORDERED_AT.plusDays(1), new OrderDetail(3L, 2)),
+                order(10L, ORDERED_AT, new OrderDetail(1L, 1), new OrderDetail(300_000L, 40))));
+
+        final List<ArchivedOrder> orders = orderArchive.findOrders(7L);
+
+        assertThat(orders).extracting(ArchivedOrder::getId).containsExactly(10L, 12L);
+        assertThat(orders).extracting(ArchivedOrder::getOrderedAt).containsExactly(ORDERED_AT, ORDERED_AT.plusDays(1));
+        assertThat(orders.get(0).getOrderDetails()).extracting(OrderDetail::getProductId, OrderDetail::getQuantity)
+                .containsExactly(tuple(1L, 1), tuple(300_000L, 40));
+        assertThat(orders).allSatisfy(order -> assertThat(order.getCustomerId()).isEqualTo(7L));
+    }
+
+    @DisplayName("여러 번 나눠 쓴 주문을 합쳐 읽고, 두 번 쓴 주문은 하나로 본다.")
+    @Test
+    void mergeFiles() {
+        final OrderArchive orderArchive = new OrderArchive(directory);
+        orderArchive.write(7L, List.of(order(1L, ORDERED_AT, new OrderDetail(1L, 1))));
+        orderArchive.write(7L, List.of(order(1L, ORDERED_AT, new OrderDetail(1L, 1)),
+                order(5L, ORDERED_AT, new OrderDetail(2L, 1))));
+        orderArchive.write(8L, List.of(order(3L, ORDERED_AT, new OrderDetail(2L, 1))));
+
+        assertThat(orderArchive.findOrders(7L)).extracting(ArchivedOrder::getId).containsExactly(1L, 5L);
+        assertThat(orderArchive.findOrder(7L, 5L)).get().extracting(ArchivedOrder::getId).isEqualTo(5L);
+        assertThat(orderArchive.findOrder(7L, 3L)).isEmpty();
+    }
+
+    @DisplayName("보관한 적 없는 고객은 빈 목록을 돌려준다.")
+    @Test
+    void emptyArchive() {
+        final OrderArchive orderArchive = new OrderArchive(directory.resolve("missing"));
+
+        assertThat(orderArchive.findOrders(1L)).isEmpty();
+        assertThat(orderArchive.findOrder(1L, 1L)).isEmpty();
+    }
+
+    private ArchivedOrder order(final Long id, final LocalDateTime orderedAt, final OrderDetail... orderDetails) {
+        return new ArchivedOrder(id, 7L, orderedAt, List.of(orderDetails));
+    }
+}
@@ -0,0 +1,100 @@
+package woowacourse.shoppingcart.support;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimiterTest {
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @DisplayName("버킷 용량만큼 연속 요청을 허용하고, 이후에는 대기 시간을 반환한다.")
+    @Test
+    void tryAcquireBurst() {
+        final RateLimiter rateLimiter = new RateLimiter(3, 1, 60_000, 100);
+        final long now = System.nanoTime();
+
+        assertThat(rateLimiter.tryAcquire("puterism", now)).isZero();
+        assertThat(rateLimiter.tryAcquire("puterism", now)).isZero();
+        assertThat(rateLimiter.tryAcquire("puterism", now)).isZero();
+        assertThat(rateLimiter.tryAcquire("puterism", now)).isEqualTo(SECOND);
+        assertThat(rateLimiter.tryAcquire("jho2301", now)).isZero();
+    }
+
+    @DisplayName("시간이 지나면 토큰이 다시 채워진다.")
+    @Test
+    void tryAcquireAfterRefill() {
+        final RateLimiter rateLimiter = new RateLimiter(1, 2, 60_000, 100);
+        final long now = System.nanoTime();
+
+        assertThat(rateLimiter.tryAcquire("puterism", now)).isZero();
+        assertThat(rateLimiter.tryAcquire("puterism", now + SECOND / 4)).isEqualTo(SECOND / 4);
+        assertThat(rateLimiter.tryAcquire("puterism", now + SECOND / 2)).isZero();
+    }
+
+    @DisplayName("오래 사용되지 않은 버킷은 제거된다.")
+    @Test
+    void evictIdleBuckets() {
+        final RateLimiter rateLimiter = new RateLimiter(1, 1, 1_000, 100);
+        final long now = System.nanoTime();
+        rateLimiter.tryAcquire("puterism", now);
+
+        rateLimiter.tryAcquire("jho2301", now + 3 * SECOND);
+
+        assertThat(rateLimiter.size()).isEqualTo(1);
+    }
+
+    @DisplayName("버킷 수가 한도에 차면 오래된 버킷을 정리한다.")
+    @Test
+    void limitBuckets() {
+        final RateLimiter rateLimiter = new RateLimiter(1, 1, 1_000, 2);
+        final long now = System.nanoTime();
+        rateLimiter.tryAcquire("puterism", now);
+        rateLimiter.tryAcquire("jho2301", now);
+
+        assertThat(rateLimiter.tryAcquire("365kim", now + 3 * SECOND)).isZero();
+        assertThat(rateLimiter.size()).isEqualTo(1);
+    }
+
+    @DisplayName("정리해도 자리가 없으면 가장 오래 쓰지 않은 버킷을 비우고 새 키를 받는다.")
+    @Test
+    void evictLeastRecentlyUsedBucket() {
+        final RateLimiter rateLimiter = new RateLimiter(1, 1, 1_000, 2);
+        final long now = System.nanoTime();
+        rateLimiter.tryAcquire("puterism", now);
+        rateLimiter.tryAcquire("jho2301", now + SECOND / 2);
+
+        assertThat(rateLimiter.tryAcquire("365kim", now + SECOND / 2)).isZero();
+        assertThat(rateLimiter.size()).isEqualTo(2);
+        assertThat(rateLimiter.tryAcquire("jho2301", now + SECOND / 2)).isEqualTo(SECOND);
+    }
+
+    @DisplayName("동시에 요청해도 용량 이상은 허용하지 않는다.")
+    @Test
+    void tryAcquireConcurrently() throws InterruptedException {
+        final int capacity = 100;
+        final RateLimiter rateLimiter = new RateLimiter(capacity, 0.001, 60_000, 100);
+        final ExecutorService executorService = Executors.newFixedThreadPool(8);
+        final CountDownLatch latch = new CountDownLatch(1_000);
+        final AtomicInteger acquired = new AtomicInteger();
+
+        for (int i = 0; i < 1_000; i++) {
+            executorService.execute(() -> {
+                if (rateLimiter.tryAcquire("puterism") == 0) {
+                    acquired.incrementAndGet();
+                }
+                latch.countDown();
+            });
+        }
+        latch.await();
+        executorService.shutdown();
+
+        assertThat(acquired.get()).isEqualTo(capacity);
+    }
+}
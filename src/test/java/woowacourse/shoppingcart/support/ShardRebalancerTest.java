@@ -0,0 +1,182 @@
+package woowacourse.shoppingcart.support;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import woowacourse.shoppingcart.dao.CartItemDao;
+import woowacourse.shoppingcart.dao.OrderDao;
+import woowacourse.shoppingcart.dao.OrdersDetailDao;
+import woowacourse.shoppingcart.dao.ProductDao;
+import woowacourse.shoppingcart.domain.Cart;
+import woowacourse.shoppingcart.domain.OrderDetail;
+import woowacourse.shoppingcart.domain.Product;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static woowacourse.shoppingcart.support.CustomerShardsTest.h2;
+
+class ShardRebalancerTest {
+    private static final int CUSTOMERS = 25;
+
+    private JdbcTemplate global;
+    private JdbcTemplate first;
+    private JdbcTemplate second;
+
+    @BeforeEach
+    void setUp() {
+        global = h2("shard-rebalancer-0");
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql"), new ClassPathResource("data.sql"))
+                .execute(global.getDataSource());
+        first = h2("shard-rebalancer-1");
+        second = h2("shard-rebalancer-2");
+        new ShardRebalancer(new CustomerShards(global, List.of(first, second))).initialize();
+    }
+
+    @DisplayName("샤드를 추가한 뒤 리밸런싱하면 고객 데이터가 새 배치로 옮겨지고 조회 결과는 그대로다.")
+    @Test
+    void rebalanceAfterAddingShard() {
+        final CustomerShards before = new CustomerShards(global, List.of(first));
+        final Long productId = new ProductDao(global, before).save(new Product("banana", 1_000, "woowa1.com"));
+        final Map<Long, Long> orderIdByCustomer = new HashMap<>();
+        for (long customerId = 1; customerId <= CUSTOMERS; customerId++) {
+            new CartItemDao(before).addCartItem(customerId, productId);
+            final Long ordersId = new OrderDao(before).addOrders(customerId);
+            new OrdersDetailDao(before).addOrdersDetail(customerId, ordersId, productId, (int) customerId);
+            orderIdByCustomer.put(customerId, ordersId);
+        }
+
+        final CustomerShards after = new CustomerShards(global, List.of(first, second));
+        final int moved = new ShardRebalancer(after).rebalance();
+
+        assertThat(moved).isPositive();
+        assertThat(count(second, "cart_item")).isEqualTo(moved);
+        assertThat(count(second, "cart_summary")).isEqualTo(moved);
+        assertThat(count(global, "cart_item") + count(first, "cart_item") + count(second, "cart_item"))
+                .isEqualTo(CUSTOMERS);
+        for (long customerId = 1; customerId <= CUSTOMERS; customerId++) {
+            final List<Cart> carts = new CartItemDao(after).findCartsByCustomerId(customerId);
+            final List<Long> orderIds = new OrderDao(after).findOrderIdsByCustomerId(customerId);
+            final List<OrderDetail> details = new OrdersDetailDao(after)
+                    .findOrdersDetailsByOrderId(customerId, orderIdByCustomer.get(customerId));
+
+            assertThat(carts).extracting(Cart::getName).containsExactly("banana");
+            assertThat(new CartItemDao(after).findSummaryByCustomerId(customerId).getSubtotal()).isEqualTo(1_000);
+            assertThat(orderIds).containsExactly(orderIdByCustomer.get(customerId));
+            assertThat(details).extracting(OrderDetail::getQuantity).containsExactly((int) customerId);
+        }
+    }
+
+    @DisplayName("리밸런싱은 여러 번 실행해도 결과가 같다.")
+    @Test
+    void rebalanceIsIdempotent() {
+        final CustomerShards before = new CustomerShards(global, List.of(first));
+        final Long productId = new ProductDao(global, before).save(new Product("banana", 1_000, "woowa1.com"));
+        for (long customerId = 1; customerId <= CUSTOMERS; customerId++) {
+            new CartItemDao(before).addCartItem(customerId, productId);
+        }
+        final ShardRebalancer rebalancer = new ShardRebalancer(new CustomerShards(global, List.of(first, second)));
+
+        rebalancer.rebalance();
+
+        assertThat(rebalancer.rebalance()).isZero();
+        assertThat(count(global, "cart_item") + count(first, "cart_item") + count(second, "cart_item"))
+                .isEqualTo(CUSTOMERS);
+    }
+
+    @DisplayName("번호가 큰 샤드의 id 를 가진 행을 옮겨 넣은 뒤에도, 새 행은 그 샤드의 id 구간에서 받는다.")
+    @Test
+    void keepIdRangeAfterMove() {
+        // second 를 1번 샤드로 쓰던 고객을, first 를 1번 샤드로 쓰는 배치로 옮긴다.
+        final CustomerShards before = new CustomerShards(global, List.of(second));
+        final CustomerShards after = new CustomerShards(global, List.of(first, second));
+        final Long productId = new ProductDao(global, after).save(new Product("banana", 1_000, "woowa1.com"));
+        final Long movingCustomerId = customerOn(before, 1);
+        final Long movedCartId = new CartItemDao(before).addCartItem(movingCustomerId, productId);
+
+        new ShardRebalancer(after).rebalance();
+        final Long newCartId = new CartItemDao(after).addCartItem(customerOn(after, 1, movingCustomerId), productId);
+
+        assertThat(movedCartId).isGreaterThan(2L << 40);
+        assertThat(newCartId).isBetween(1L << 40, 2L << 40);
+        assertThat(new CartItemDao(after).findCartsByCustomerId(movingCustomerId)).extracting(Cart::getId)
+                .containsExactly(movedCartId);
+    }
+
+    @DisplayName("옮길 행과 같은 id 의 행이 다른 고객의 것이면, 원래 샤드에서 지우지 않고 멈춘다.")
+    @Test
+    void stopOnIdCollision() {
+        final CustomerShards before = new CustomerShards(global, List.of(second));
+        final CustomerShards after = new CustomerShards(global, List.of(first, second));
+        final Long productId = new ProductDao(global, after).save(new Product("banana", 1_000, "woowa1.com"));
+        final Long movingCustomerId = customerOn(before, 1);
+        final Long movedCartId = new CartItemDao(before).addCartItem(movingCustomerId, productId);
+        first.update("INSERT INTO cart_item (id, customer_id, product_id, price) VALUES (?, ?, ?, ?)",
+                movedCartId, customerOn(after, 1, movingCustomerId), productId, 1_000);
+
+        assertThatThrownBy(() -> new ShardRebalancer(after).rebalance())
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(count(second, "cart_item")).isOne();
+    }
+
+    @DisplayName("복제본에 빠진 상품만 복사한다.")
+    @Test
+    void syncProducts() {
+        global.update("INSERT INTO product (name, price, image_url) VALUES (?, ?, ?)", "apple", 2_000, "woowa2.com");
+        final ShardRebalancer rebalancer = new ShardRebalancer(new CustomerShards(global, List.of(first, second)));
+
+        assertThat(rebalancer.syncProducts()).isEqualTo(2);
+        assertThat(rebalancer.syncProducts()).isZero();
+        assertThat(count(second, "product")).isOne();
+    }
+
+    @DisplayName("복제본의 가격과 삭제 여부를 기본 DB 에 맞추고, 그 상품을 담은 고객의 합계를 다시 센다.")
+    @Test
+    void syncDivergedProducts() {
+        final CustomerShards customerShards = new CustomerShards(global, List.of(first));
+        final ProductDao productDao = new ProductDao(global, customerShards);
+        final Long bananaId = productDao.save(new Product("banana", 1_000, "woowa1.com"));
+        final Long appleId = productDao.save(new Product("apple", 2_000, "woowa2.com"));
+        final Long customerId = customerOn(customerShards, 1);
+        final CartItemDao cartItemDao = new CartItemDao(customerShards);
+        cartItemDao.addCartItem(customerId, bananaId);
+        cartItemDao.addCartItem(customerId, appleId);
+        // 기본 DB 만 커밋되고 복제본이 실패했거나, 복제본만 커밋되고 기본 DB 가 롤백된 상태
+        productDao.updatePriceAt(0, bananaId, 3_000);
+        cartItemDao.removeFromSummariesAt(1, appleId);
+        productDao.deleteAt(1, appleId);
+
+        final ShardRebalancer rebalancer = new ShardRebalancer(customerShards);
+
+        assertThat(rebalancer.syncProducts()).isEqualTo(2);
+        assertThat(rebalancer.syncProducts()).isZero();
+        assertThat(first.queryForObject("SELECT price FROM product WHERE id = ?", Integer.class, bananaId))
+                .isEqualTo(3_000);
+        assertThat(cartItemDao.findCartsByCustomerId(customerId)).extracting(Cart::getProductId)
+                .containsExactly(bananaId, appleId);
+        assertThat(cartItemDao.findSummaryByCustomerId(customerId).getItemCount()).isEqualTo(2);
+        assertThat(cartItemDao.findSummaryByCustomerId(customerId).getSubtotal()).isEqualTo(5_000L);
+    }
+
+    private Long customerOn(final CustomerShards customerShards, final int shard) {
+        return customerOn(customerShards, shard, 0L);
+    }
+
+    private Long customerOn(final CustomerShards customerShards, final int shard, final Long exceptCustomerId) {
+        long customerId = 1;
+        while (customerShards.shardOf(customerId) != shard || customerId == exceptCustomerId) {
+            customerId++;
+        }
+        return customerId;
+    }
+
+    private int count(final JdbcTemplate jdbcTemplate, final String table) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Integer.class);
+    }
+}
@@ -0,0 +1,131 @@
+package woowacourse.shoppingcart.support;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import woowacourse.shoppingcart.exception.InvalidProductException;
+import woowacourse.shoppingcart.exception.LoadTimeoutException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightTest {
+    private static final int CALLERS = 16;
+
+    private final ExecutorService executorService = Executors.newFixedThreadPool(CALLERS);
+
+    @AfterEach
+    void tearDown() {
+        executorService.shutdownNow();
+    }
+
+    @DisplayName("같은 키를 동시에 조회하면 한 번만 조회하고 결과를 나눠 받는다.")
+    @Test
+    void collapseConcurrentCalls() throws Exception {
+        final SingleFlight<Long, String> singleFlight = new SingleFlight<>("test", 5_000);
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicInteger loads = new AtomicInteger();
+
+        final List<Future<String>> futures = submitAll(() -> singleFlight.execute(1L, () -> {
+            loads.incrementAndGet();
+            await(release);
+            return "banana";
+        }));
+        waitUntilCollapsed(singleFlight, CALLERS - 1);
+        release.countDown();
+
+        for (final Future<String> future : futures) {
+            assertThat(future.get(5, TimeUnit.SECONDS)).isEqualTo("banana");
+        }
+        assertThat(loads).hasValue(1);
+        assertThat(singleFlight.getLoadCount()).isOne();
+        assertThat(singleFlight.getCollapsedCount()).isEqualTo(CALLERS - 1);
+    }
+
+    @DisplayName("조회 중 발생한 예외는 기다리던 호출에도 그대로 전달된다.")
+    @Test
+    void propagateError() throws Exception {
+        final SingleFlight<Long, String> singleFlight = new SingleFlight<>("test", 5_000);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        final List<Future<String>> futures = submitAll(() -> singleFlight.execute(1L, () -> {
+            await(release);
+            throw new InvalidProductException();
+        }));
+        waitUntilCollapsed(singleFlight, CALLERS - 1);
+        release.countDown();
+
+        for (final Future<String> future : futures) {
+            assertThatThrownBy(() -> future.get(5, TimeUnit.SECONDS))
+                    .isInstanceOf(ExecutionException.class)
+                    .hasCauseInstanceOf(InvalidProductException.class);
+        }
+    }
+
+    @DisplayName("진행 중인 조회가 제한 시간 안에 끝나지 않으면 기다리던 호출은 시간 초과된다.")
+    @Test
+    void timeout() throws Exception {
+        final SingleFlight<Long, String> singleFlight = new SingleFlight<>("test", 50);
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch started = new CountDownLatch(1);
+        final Future<String> leader = executorService.submit(() -> singleFlight.execute(1L, () -> {
+            started.countDown();
+            await(release);
+            return "banana";
+        }));
+        started.await();
+
+        assertThatThrownBy(() -> singleFlight.execute(1L, () -> "apple"))
+                .isInstanceOf(LoadTimeoutException.class);
+        release.countDown();
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("banana");
+        assertThat(singleFlight.getTimeoutCount()).isOne();
+    }
+
+    @DisplayName("조회가 끝난 뒤의 호출은 다시 조회하고, 다른 키는 합쳐지지 않는다.")
+    @Test
+    void doNotCache() {
+        final SingleFlight<Long, String> singleFlight = new SingleFlight<>("test", 5_000);
+
+        assertThat(singleFlight.execute(1L, () -> "banana")).isEqualTo("banana");
+        assertThat(singleFlight.execute(1L, () -> "apple")).isEqualTo("apple");
+        assertThat(singleFlight.execute(2L, () -> "melon")).isEqualTo("melon");
+        assertThat(singleFlight.getLoadCount()).isEqualTo(3);
+        assertThat(singleFlight.getCollapsedCount()).isZero();
+    }
+
+    private List<Future<String>> submitAll(final Callable<String> call) {
+        final List<Future<String>> futures = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            futures.add(executorService.submit(call));
+        }
+        return futures;
+    }
+
+    private void waitUntilCollapsed(final SingleFlight<?, ?> singleFlight, final long expected)
+            throws InterruptedException {
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (singleFlight.getCollapsedCount() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+    }
+
+    private static void await(final CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
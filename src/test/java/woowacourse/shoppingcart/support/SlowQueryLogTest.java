@@ -0,0 +1,130 @@
+package woowacourse.shoppingcart.support;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import woowacourse.shoppingcart.domain.SlowQuery;
+
+import javax.sql.DataSource;
+import java.sql.PreparedStatement;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SlowQueryLogTest {
+
+    private final DataSource dataSource = new DriverManagerDataSource(
+            "jdbc:h2:mem:slow-query-log;MODE=MYSQL;DB_CLOSE_DELAY=-1", "sa", "");
+    private SlowQueryLog slowQueryLog;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql"), new ClassPathResource("data.sql"))
+                .execute(dataSource);
+        slowQueryLog = slowQueryLog(Duration.ZERO);
+        jdbcTemplate = new InstrumentedJdbcTemplate(dataSource, slowQueryLog);
+    }
+
+    @AfterEach
+    void tearDown() {
+        slowQueryLog.shutdown();
+    }
+
+    @DisplayName("리터럴, IN 목록, 여러 행 VALUES 만 다른 SQL 은 같은 모양으로 정규화한다.")
+    @Test
+    void normalize() {
+        assertThat(SqlNormalizer.normalize("SELECT * FROM product\n  WHERE id IN (1, 2, 3) AND name = 'it''s'"))
+                .isEqualTo("SELECT * FROM product WHERE id IN (?) AND name = ?");
+        assertThat(SqlNormalizer.normalize("INSERT INTO cart_item (customer_id, product_id) VALUES (?, ?), (?, ?)"))
+                .isEqualTo("INSERT INTO cart_item (customer_id, product_id) VALUES (?, ?)");
+        assertThat(SqlNormalizer.countPlaceholders("SELECT '?' FROM t WHERE a = ? AND b IN (?, ?)")).isEqualTo(3);
+    }
+
+    @DisplayName("지정한 열에 바인딩된 값만 가린다.")
+    @Test
+    void redactColumns() {
+        final ColumnParameterRedactor redactor = new ColumnParameterRedactor(Set.of("username"));
+
+        assertThat(redactor.redact("SELECT id FROM customer WHERE c.username = ? AND id > ?", List.of("puterism", 3L)))
+                .containsExactly("****", 3L);
+        assertThat(redactor.redact("SELECT id FROM customer WHERE username IN (?, ?)", List.of("a", "b")))
+                .containsExactly("****", "****");
+        assertThat(redactor.redact("INSERT INTO customer (id, username) VALUES (?, ?), (?, ?)",
+                List.of(1L, "a", 2L, "b")))
+                .containsExactly(1L, "****", 2L, "****");
+    }
+
+    @DisplayName("느린 쿼리를 모양별로 모으고, 가린 바인딩 값과 실행 계획을 붙인다.")
+    @Test
+    void aggregateSlowQueries() throws InterruptedException {
+        jdbcTemplate.queryForObject("SELECT id FROM customer WHERE username = ?", Long.class, "puterism");
+        jdbcTemplate.queryForObject("SELECT id FROM customer WHERE username = ?", Long.class, "jho2301");
+        jdbcTemplate.queryForObject("SELECT COUNT(*) FROM product", Long.class);
+
+        final SlowQuery customerQuery = findBySql("SELECT id FROM customer WHERE username = ?");
+        assertThat(customerQuery.getCount()).isEqualTo(2);
+        assertThat(customerQuery.getSqlId()).isEqualTo("SlowQueryLogTest.aggregateSlowQueries");
+        assertThat(customerQuery.getLastParameters()).containsExactly("****");
+        assertThat(awaitPlan(customerQuery.getSql())).containsIgnoringCase("customer");
+        assertThat(slowQueryLog.findTop(1)).hasSize(1);
+    }
+
+    @DisplayName("KeyHolder 로 INSERT 하면 감싼 연결에서 SQL 과 바인딩 값을 알아낸다.")
+    @Test
+    void captureKeyHolderInsert() {
+        jdbcTemplate.update(connection -> {
+            final PreparedStatement preparedStatement = connection.prepareStatement(
+                    "INSERT INTO product (name, price, image_url) VALUES (?, ?, ?)", new String[]{"id"});
+            preparedStatement.setString(1, "banana");
+            preparedStatement.setInt(2, 1_000);
+            preparedStatement.setString(3, "woowa.com");
+            return preparedStatement;
+        }, new GeneratedKeyHolder());
+
+        assertThat(findBySql("INSERT INTO product (name, price, image_url) VALUES (?, ?, ?)").getLastParameters())
+                .containsExactly("banana", "1000", "woowa.com");
+    }
+
+    @DisplayName("기준 시간보다 빨리 끝난 쿼리는 기록하지 않는다.")
+    @Test
+    void ignoreFastQueries() {
+        final SlowQueryLog hourThreshold = slowQueryLog(Duration.ofHours(1));
+        new InstrumentedJdbcTemplate(dataSource, hourThreshold).queryForList("SELECT * FROM product");
+
+        assertThat(hourThreshold.findTop(10)).isEmpty();
+        hourThreshold.shutdown();
+    }
+
+    private SlowQueryLog slowQueryLog(final Duration threshold) {
+        return new SlowQueryLog(threshold, 100, Duration.ofMinutes(10), 10,
+                new ColumnParameterRedactor(Set.of("username")), Clock.systemDefaultZone());
+    }
+
+    private SlowQuery findBySql(final String sql) {
+        return slowQueryLog.findTop(100).stream()
+                .filter(slowQuery -> slowQuery.getSql().equals(sql))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private String awaitPlan(final String sql) throws InterruptedException {
+        for (int i = 0; i < 100; i++) {
+            final String plan = findBySql(sql).getPlan();
+            if (plan != null) {
+                return plan;
+            }
+            Thread.sleep(50);
+        }
+        return null;
+    }
+}
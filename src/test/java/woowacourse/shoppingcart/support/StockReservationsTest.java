@@ -0,0 +1,216 @@
+package woowacourse.shoppingcart.support;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import woowacourse.shoppingcart.exception.OutOfStockException;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static woowacourse.shoppingcart.support.CustomerShardsTest.h2;
+
+class StockReservationsTest {
+    private static final int BUYERS = 32;
+
+    private final ExecutorService executorService = Executors.newFixedThreadPool(BUYERS);
+    private final Map<Long, Integer> stockInDb = new ConcurrentHashMap<>();
+
+    @AfterEach
+    void tearDown() {
+        executorService.shutdownNow();
+    }
+
+    @DisplayName("남은 재고보다 많이 예약하면 예외가 발생하고 재고는 그대로다.")
+    @Test
+    void outOfStock() {
+        final StockReservations stockReservations = stockReservations(4, 1L, 10);
+        stockReservations.reserve(1L, 7);
+
+        assertThatThrownBy(() -> stockReservations.reserve(1L, 4))
+                .isInstanceOf(OutOfStockException.class);
+        assertThat(stockReservations.available(1L)).isEqualTo(3);
+        assertThat(stockReservations.getRejectedCount()).isOne();
+    }
+
+    @DisplayName("한 스트라이프로 모자라면 여러 스트라이프의 재고를 모아 예약한다.")
+    @Test
+    void reserveAcrossStripes() {
+        final StockReservations stockReservations = stockReservations(8, 1L, 10);
+
+        stockReservations.reserve(1L, 10);
+
+        assertThat(stockReservations.available(1L)).isZero();
+        assertThat(stockReservations.getContendedCount()).isOne();
+    }
+
+    @DisplayName("동시에 예약해도 재고보다 많이 팔리지 않고 0 아래로 내려가지 않는다.")
+    @Test
+    void concurrentReservations() throws Exception {
+        final int stock = 1_000;
+        final StockReservations stockReservations = stockReservations(8, 1L, stock);
+        final CountDownLatch start = new CountDownLatch(1);
+        final AtomicInteger reserved = new AtomicInteger();
+
+        final List<Future<?>> futures = new ArrayList<>();
+        for (int buyer = 0; buyer < BUYERS; buyer++) {
+            final Random random = new Random(buyer);
+            futures.add(executorService.submit(() -> {
+                start.await();
+                for (int i = 0; i < 200; i++) {
+                    final int quantity = 1 + random.nextInt(3);
+                    try {
+                        stockReservations.reserve(1L, quantity);
+                        reserved.addAndGet(quantity);
+                        assertThat(stockReservations.available(1L)).isNotNegative();
+                    } catch (final OutOfStockException ignored) {
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (final Future<?> future : futures) {
+            future.get(10, TimeUnit.SECONDS);
+        }
+
+        assertThat(reserved.get()).isLessThanOrEqualTo(stock);
+        assertThat(stockReservations.available(1L)).isEqualTo(stock - reserved.get());
+        assertThat(stock - reserved.get()).isLessThan(3);
+    }
+
+    @DisplayName("트랜잭션이 롤백되면 예약한 재고를 되돌리고, 커밋되면 flush 때 DB 재고를 줄인다.")
+    @Test
+    void reserveInTransaction() {
+        final StockReservations stockReservations = stockReservations(4, 1L, 10);
+        final TransactionTemplate transactionTemplate =
+                new TransactionTemplate(new DataSourceTransactionManager(h2("stock-reservations").getDataSource()));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            stockReservations.reserveInTransaction(1L, 4);
+            status.setRollbackOnly();
+        });
+        assertThatThrownBy(() -> transactionTemplate.executeWithoutResult(status -> {
+            stockReservations.reserveInTransaction(1L, 3);
+            stockReservations.reserveInTransaction(1L, 8);
+        })).isInstanceOf(OutOfStockException.class);
+        transactionTemplate.executeWithoutResult(status -> stockReservations.reserveInTransaction(1L, 6));
+
+        assertThat(stockReservations.available(1L)).isEqualTo(4);
+        assertThat(stockInDb.get(1L)).isEqualTo(10);
+        assertThat(stockReservations.flush()).isOne();
+        assertThat(stockInDb.get(1L)).isEqualTo(4);
+        assertThat(stockReservations.flush()).isZero();
+    }
+
+    @DisplayName("트랜잭션 밖에서는 예약할 수 없다.")
+    @Test
+    void reserveOutsideTransaction() {
+        final StockReservations stockReservations = stockReservations(4, 1L, 10);
+
+        assertThatThrownBy(() -> stockReservations.reserveInTransaction(1L, 1))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(stockReservations.available(1L)).isEqualTo(10);
+    }
+
+    @DisplayName("DB 반영에 실패하면 다음 flush 에서 다시 반영한다.")
+    @Test
+    void retryFailedFlush() {
+        final AtomicInteger attempts = new AtomicInteger();
+        final StockReservations stockReservations = new StockReservations(4, stockInDb::get, decrements -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new IllegalStateException("DB 연결 실패");
+            }
+            decrements.forEach((productId, quantity) -> stockInDb.merge(productId, -quantity, Integer::sum));
+            return Set.of();
+        });
+        stockInDb.put(1L, 10);
+        stockReservations.reserve(1L, 3);
+        stockReservations.confirm(1L, 3);
+
+        assertThatThrownBy(stockReservations::flush).isInstanceOf(IllegalStateException.class);
+        assertThat(stockReservations.pending()).isEqualTo(3);
+        assertThat(stockReservations.flush()).isOne();
+        assertThat(stockInDb.get(1L)).isEqualTo(7);
+    }
+
+    @DisplayName("DB 재고가 메모리보다 적어 줄이지 못하면 예약을 되돌려 두고 예외를 던진다.")
+    @Test
+    void flushMismatchedStock() {
+        final StockReservations stockReservations = stockReservations(4, 1L, 10);
+        stockInDb.put(2L, 10);
+        stockReservations.reserve(1L, 6);
+        stockReservations.confirm(1L, 6);
+        stockReservations.reserve(2L, 3);
+        stockReservations.confirm(2L, 3);
+        stockInDb.put(1L, 5);
+
+        assertThatThrownBy(stockReservations::flush).isInstanceOf(IllegalStateException.class);
+
+        assertThat(stockInDb.get(1L)).isEqualTo(5);
+        assertThat(stockInDb.get(2L)).isEqualTo(7);
+        assertThat(stockReservations.pending()).isEqualTo(6);
+        stockInDb.put(1L, 6);
+        assertThat(stockReservations.flush()).isOne();
+        assertThat(stockInDb.get(1L)).isZero();
+    }
+
+    @DisplayName("메모리에서 내리는 상품의 반영하지 않은 예약은 DB 에 반영한다.")
+    @Test
+    void flushBeforeEvict() {
+        final StockReservations stockReservations = stockReservations(4, 1L, 10);
+        stockReservations.reserve(1L, 4);
+        stockReservations.confirm(1L, 4);
+
+        stockReservations.evict(1L);
+
+        assertThat(stockInDb.get(1L)).isEqualTo(6);
+        assertThat(stockReservations.pending()).isZero();
+    }
+
+    @DisplayName("재고를 늘리면 이미 읽어 온 상품은 메모리에도 더한다.")
+    @Test
+    void restock() {
+        final StockReservations stockReservations = stockReservations(4, 1L, 1);
+        stockReservations.reserve(1L, 1);
+
+        stockReservations.restock(1L, 5, () -> stockInDb.merge(1L, 5, Integer::sum));
+        stockReservations.restock(2L, 5, () -> stockInDb.put(2L, 5));
+
+        assertThat(stockReservations.available(1L)).isEqualTo(5);
+        assertThat(stockReservations.available(2L)).isEqualTo(5);
+    }
+
+    private StockReservations stockReservations(final int stripes, final Long productId, final int stock) {
+        stockInDb.put(productId, stock);
+        return new StockReservations(stripes, stockInDb::get, this::decreaseStocks);
+    }
+
+    // ProductDao.decreaseStocks 처럼 남은 재고보다 많이는 줄이지 않고, 줄이지 못한 상품 id 를 돌려준다.
+    private Set<Long> decreaseStocks(final Map<Long, Integer> decrements) {
+        final Set<Long> rejected = new HashSet<>();
+        decrements.forEach((id, quantity) -> {
+            if (stockInDb.get(id) < quantity) {
+                rejected.add(id);
+                return;
+            }
+            stockInDb.merge(id, -quantity, Integer::sum);
+        });
+        return rejected;
+    }
+}
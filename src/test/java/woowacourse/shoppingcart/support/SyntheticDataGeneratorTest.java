@@ -0,0 +1,188 @@
+package woowacourse.shoppingcart.support;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import woowacourse.auth.support.PasswordEncoder;
+import woowacourse.shoppingcart.dao.CartItemDao;
+import woowacourse.shoppingcart.dao.CustomerNameFilter;
+import woowacourse.shoppingcart.dao.CustomerDao;
+import woowacourse.shoppingcart.dao.OrderDao;
+import woowacourse.shoppingcart.dao.ProductDao;
+import woowacourse.shoppingcart.domain.Product;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SyntheticDataGeneratorTest {
+    private static final LocalDateTime UNTIL = LocalDateTime.of(2024, 1, 1, 0, 0);
+    private static final String[] DUMPS = {
+            "SELECT id, username FROM customer ORDER BY id",
+            "SELECT id, name, price FROM product ORDER BY id",
+            "SELECT customer_id, product_id FROM cart_item ORDER BY id",
+            "SELECT customer_id, item_count, subtotal FROM cart_summary ORDER BY customer_id",
+            "SELECT id, customer_id, ordered_at FROM orders ORDER BY id",
+            "SELECT orders_id, product_id, quantity FROM orders_detail ORDER BY id"
+    };
+
+    @DisplayName("요청한 수만큼 넣고, 장바구니 요약은 장바구니 행과 맞는다.")
+    @Test
+    void generate() {
+        final CustomerShards customerShards = shards("generator");
+
+        final Map<String, Long> written = generator(customerShards, 7, 3).generate(200, 50, 1_000, 300);
+
+        assertThat(written).containsEntry("customer", 200L)
+                .containsEntry("product", 50L)
+                .containsEntry("cart_item", 1_000L)
+                .containsEntry("orders", 300L);
+        assertThat(count(customerShards, "customer", 0)).isEqualTo(225);
+        assertThat(totalOnShards(customerShards, "SELECT COUNT(*) FROM cart_item")).isEqualTo(1_000);
+        assertThat(totalOnShards(customerShards, "SELECT COUNT(*) FROM orders")).isEqualTo(300);
+        assertThat(totalOnShards(customerShards, "SELECT COUNT(*) FROM orders_detail"))
+                .isEqualTo(written.get("orders_detail"));
+        for (int shard = 0; shard < customerShards.size(); shard++) {
+            assertThat(count(customerShards, "product", shard)).isEqualTo(count(customerShards, "product", 0));
+            assertThat(customerShards.jdbcTemplateAt(shard).queryForObject(
+                    "SELECT COUNT(*) FROM cart_summary s WHERE s.item_count <> "
+                            + "(SELECT COUNT(*) FROM cart_item c WHERE c.customer_id = s.customer_id) "
+                            + "OR s.subtotal <> (SELECT SUM(p.price) FROM cart_item c JOIN product p "
+                            + "ON c.product_id = p.id WHERE c.customer_id = s.customer_id)", Long.class)).isZero();
+        }
+    }
+
+    @DisplayName("같은 seed 로 만들면 모든 표의 내용이 같다.")
+    @Test
+    void reproducible() {
+        final CustomerShards first = shards("generator-first");
+        final CustomerShards second = shards("generator-second");
+
+        generator(first, 42, 1).generate(100, 30, 500, 200);
+        generator(second, 42, 1).generate(100, 30, 500, 200);
+
+        assertThat(dump(second)).isEqualTo(dump(first));
+    }
+
+    @DisplayName("장바구니에 담긴 상품은 소수의 인기 상품에 몰린다.")
+    @Test
+    void skewed() {
+        final CustomerShards customerShards = shards("generator-skew");
+
+        generator(customerShards, 1, 500).generate(1_000, 1_000, 20_000, 0);
+
+        final Map<Long, Long> byProduct = new HashMap<>();
+        for (int shard = 0; shard < customerShards.size(); shard++) {
+            customerShards.jdbcTemplateAt(shard).query(
+                    "SELECT product_id, COUNT(*) FROM cart_item GROUP BY product_id",
+                    resultSet -> {
+                        byProduct.merge(resultSet.getLong(1), resultSet.getLong(2), Long::sum);
+                    });
+        }
+        final long topTen = byProduct.values().stream()
+                .sorted(Comparator.reverseOrder())
+                .limit(10)
+                .mapToLong(Long::longValue)
+                .sum();
+        assertThat(topTen).isGreaterThan(20_000 / 3);
+    }
+
+    @DisplayName("넣은 뒤에도 DAO 로 새 행을 저장하면 id 가 겹치지 않는다.")
+    @Test
+    void daoInsertsAfterGenerate() {
+        final CustomerShards customerShards = shards("generator-dao");
+        generator(customerShards, 3, 2).generate(50, 20, 100, 100);
+        final JdbcTemplate global = customerShards.jdbcTemplateAt(0);
+
+        final Long customerId = new CustomerDao(global, new CustomerNameFilter(1_000, 0.01),
+                new SingleFlight<>("customer", 1_000)).save("new-customer");
+        final Long productId = new ProductDao(global, customerShards).save(new Product("banana", 1_000, "woowa1.com"));
+        final Long cartItemId = new CartItemDao(customerShards).addCartItem(customerId, productId);
+        final Long orderId = new OrderDao(customerShards).addOrders(customerId);
+
+        assertThat(customerId).isEqualTo(76L);
+        assertThat(productId).isEqualTo(21L);
+        assertThat(cartItemId).isNotNull();
+        assertThat(orderId).isNotNull();
+    }
+
+    @DisplayName("주문 id 는 샤드마다 그 샤드의 id 구간 안에서 잇는다.")
+    @Test
+    void orderIdsStayInShardRange() {
+        final CustomerShards customerShards = shards("generator-ranges");
+
+        generator(customerShards, 3, 7).generate(50, 20, 0, 100);
+        generator(customerShards, 4, 7).generate(50, 20, 0, 100);
+
+        for (int shard = 0; shard < customerShards.size(); shard++) {
+            final long firstId = ((long) shard << 40) + 1;
+            assertThat(customerShards.jdbcTemplateAt(shard).queryForObject(
+                    "SELECT COUNT(*) FROM orders WHERE id NOT BETWEEN ? AND ?", Long.class,
+                    firstId, firstId + (1L << 40) - 2)).isZero();
+        }
+    }
+
+    @DisplayName("만든 고객은 정해 둔 비밀번호로 로그인할 수 있다.")
+    @Test
+    void customersHavePassword() {
+        final CustomerShards customerShards = shards("generator-password");
+
+        generator(customerShards, 3, 7).generate(5, 5, 0, 0);
+
+        final String hash = customerShards.jdbcTemplateAt(0).queryForObject(
+                "SELECT password FROM customer WHERE username = 'synthetic-26'", String.class);
+        assertThat(new PasswordEncoder().matches(SyntheticDataGenerator.PASSWORD, hash)).isTrue();
+    }
+
+    private SyntheticDataGenerator generator(final CustomerShards customerShards, final long seed,
+                                             final int batchSize) {
+        return new SyntheticDataGenerator(customerShards, seed, 1.1, batchSize, UNTIL, 30);
+    }
+
+    private List<List<Map<String, Object>>> dump(final CustomerShards customerShards) {
+        final List<List<Map<String, Object>>> rows = new ArrayList<>();
+        for (int shard = 0; shard < customerShards.size(); shard++) {
+            for (final String query : DUMPS) {
+                if (shard > 0 && query.endsWith("FROM customer ORDER BY id")) {
+                    continue;
+                }
+                rows.add(customerShards.jdbcTemplateAt(shard).queryForList(query));
+            }
+        }
+        return rows;
+    }
+
+    private long count(final CustomerShards customerShards, final String table, final int shard) {
+        return customerShards.jdbcTemplateAt(shard).queryForObject("SELECT COUNT(*) FROM " + table, Long.class);
+    }
+
+    private long totalOnShards(final CustomerShards customerShards, final String query) {
+        long total = 0;
+        for (int shard = 0; shard < customerShards.size(); shard++) {
+            total += customerShards.jdbcTemplateAt(shard).queryForObject(query, Long.class);
+        }
+        return total;
+    }
+
+    private CustomerShards shards(final String name) {
+        final JdbcTemplate global = h2(name + "-0");
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql"), new ClassPathResource("data.sql"))
+                .execute(global.getDataSource());
+        final CustomerShards customerShards = new CustomerShards(global, List.of(h2(name + "-1"), h2(name + "-2")));
+        new ShardRebalancer(customerShards).initialize();
+        return customerShards;
+    }
+
+    private JdbcTemplate h2(final String name) {
+        return new JdbcTemplate(new DriverManagerDataSource(
+                "jdbc:h2:mem:" + name + ";MODE=MYSQL;DB_CLOSE_DELAY=-1", "sa", ""));
+    }
+}
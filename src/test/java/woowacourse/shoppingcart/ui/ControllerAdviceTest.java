@@ -0,0 +1,74 @@
+package woowacourse.shoppingcart.ui;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+import woowacourse.shoppingcart.application.OrderService;
+import woowacourse.shoppingcart.exception.InvalidOrderException;
+import woowacourse.shoppingcart.exception.LoadTimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class ControllerAdviceTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @MockBean
+    private OrderService orderService;
+
+    @DisplayName("도메인 예외는 에러 코드와 메시지로 응답하고, 에러 코드별로 집계한다.")
+    @Test
+    void handleDomainException() throws Exception {
+        // given
+        when(orderService.findOrderById(any(), any())).thenThrow(new InvalidOrderException("유효하지 않은 주문입니다."));
+        final double before = errorCount("INVALID_ORDER");
+
+        // when // then
+        mockMvc.perform(get("/api/customers/pobi/orders/1"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("code").value("INVALID_ORDER"))
+                .andExpect(jsonPath("message").value("유효하지 않은 주문입니다."));
+        assertThat(errorCount("INVALID_ORDER")).isEqualTo(before + 1);
+    }
+
+    @DisplayName("에러 코드마다 정해진 상태 코드로 응답한다.")
+    @Test
+    void statusByErrorCode() throws Exception {
+        // given
+        when(orderService.findOrdersByCustomerName(any())).thenThrow(new LoadTimeoutException());
+
+        // when // then
+        mockMvc.perform(get("/api/customers/pobi/orders"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("code").value("LOAD_TIMEOUT"));
+    }
+
+    @DisplayName("도메인 예외는 스택 트레이스를 채우지 않는다.")
+    @Test
+    void stackless() {
+        final InvalidOrderException exception = new InvalidOrderException();
+
+        assertThat(exception.getStackTrace()).isEmpty();
+        assertThat(exception.getErrorCode().name()).isEqualTo("INVALID_ORDER");
+    }
+
+    private double errorCount(final String code) {
+        return meterRegistry.counter("shoppingcart.errors", "code", code).count();
+    }
+}
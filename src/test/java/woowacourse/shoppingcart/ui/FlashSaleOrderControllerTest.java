@@ -0,0 +1,88 @@
+package woowacourse.shoppingcart.ui;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import woowacourse.shoppingcart.application.FlashSaleService;
+import woowacourse.shoppingcart.domain.OrderTicket;
+import woowacourse.shoppingcart.dto.OrderRequest;
+import woowacourse.shoppingcart.exception.OrderQueueFullException;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class FlashSaleOrderControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockBean
+    private FlashSaleService flashSaleService;
+
+    @DisplayName("플래시 세일 중에는 주문을 접수하고 ACCEPTED와 접수 번호를 반환한다.")
+    @Test
+    void admitOrder() throws Exception {
+        // given
+        final String customerName = "pobi";
+        final List<OrderRequest> requestDtos = List.of(new OrderRequest(1L, 5));
+        when(flashSaleService.admit(any(), eq(customerName)))
+                .thenReturn(new OrderTicket("ticket-1", customerName, 1L, requestDtos));
+
+        // when // then
+        mockMvc.perform(post("/api/customers/" + customerName + "/orders")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(requestDtos)))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "/api/customers/pobi/orders/tickets/ticket-1"))
+                .andExpect(jsonPath("id").value("ticket-1"))
+                .andExpect(jsonPath("status").value("PENDING"));
+    }
+
+    @DisplayName("대기열이 가득 차면 SERVICE_UNAVAILABLE을 반환한다.")
+    @Test
+    void queueFull() throws Exception {
+        // given
+        when(flashSaleService.admit(any(), any())).thenThrow(new OrderQueueFullException());
+
+        // when // then
+        mockMvc.perform(post("/api/customers/pobi/orders")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(new OrderRequest(1L, 5)))))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("code").value("ORDER_QUEUE_FULL"));
+    }
+
+    @DisplayName("접수 번호로 주문 결과를 조회한다.")
+    @Test
+    void findTicket() throws Exception {
+        // given
+        final OrderTicket ticket = new OrderTicket("ticket-1", "pobi", 1L, List.of(new OrderRequest(1L, 5)));
+        ticket.complete(7L);
+        when(flashSaleService.findTicket("pobi", "ticket-1")).thenReturn(ticket);
+
+        // when // then
+        mockMvc.perform(get("/api/customers/pobi/orders/tickets/ticket-1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("status").value("COMPLETED"))
+                .andExpect(jsonPath("orderId").value(7));
+    }
+}
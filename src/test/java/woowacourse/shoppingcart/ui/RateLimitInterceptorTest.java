@@ -0,0 +1,93 @@
+package woowacourse.shoppingcart.ui;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+import woowacourse.auth.support.JwtTokenProvider;
+import woowacourse.shoppingcart.application.CartService;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "shoppingcart.rate-limit.carts.capacity=1",
+        "shoppingcart.rate-limit.carts.refill-per-second=0.01"
+})
+@AutoConfigureMockMvc
+public class RateLimitInterceptorTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private CartService cartService;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    @DisplayName("클라이언트 주소별 허용량을 넘긴 장바구니 추가 요청은 429와 Retry-After를 반환한다.")
+    @Test
+    void throttleAddCartItem() throws Exception {
+        when(cartService.addCart(any(), anyString())).thenReturn(1L);
+
+        mockMvc.perform(addCartItem("puterism", "10.0.0.1"))
+                .andExpect(status().isCreated());
+        mockMvc.perform(addCartItem("jho2301", "10.0.0.1"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists(HttpHeaders.RETRY_AFTER));
+        mockMvc.perform(get("/api/customers/puterism/carts").with(from("10.0.0.1")))
+                .andExpect(status().isOk());
+    }
+
+    @DisplayName("다른 고객 이름으로 요청해도 그 고객의 허용량을 쓰지 않는다.")
+    @Test
+    void doNotThrottleVictim() throws Exception {
+        when(cartService.addCart(any(), anyString())).thenReturn(1L);
+
+        mockMvc.perform(addCartItem("puterism", "10.0.0.2"));
+        mockMvc.perform(addCartItem("puterism", "10.0.0.2"))
+                .andExpect(status().isTooManyRequests());
+
+        mockMvc.perform(addCartItem("puterism", "10.0.0.3"))
+                .andExpect(status().isCreated());
+    }
+
+    @DisplayName("로그인한 고객은 주소가 달라도 같은 허용량을 쓴다.")
+    @Test
+    void throttleByLoginCustomer() throws Exception {
+        when(cartService.addCart(any(), anyString())).thenReturn(1L);
+        final String token = jwtTokenProvider.createToken(1L, "puterism");
+
+        mockMvc.perform(addCartItem("puterism", "10.0.0.4").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isCreated());
+        mockMvc.perform(addCartItem("puterism", "10.0.0.5").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isTooManyRequests());
+    }
+
+    private MockHttpServletRequestBuilder addCartItem(final String customerName, final String remoteAddress) {
+        return post("/api/customers/" + customerName + "/carts")
+                .with(from(remoteAddress))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"id\": 1}");
+    }
+
+    private RequestPostProcessor from(final String remoteAddress) {
+        return request -> {
+            request.setRemoteAddr(remoteAddress);
+            return request;
+        };
+    }
+}